@@ -0,0 +1,115 @@
+package it.polimi.ingsw.model;
+
+import it.polimi.ingsw.model.board.Playground;
+import it.polimi.ingsw.model.board.Position;
+import it.polimi.ingsw.model.card.Card;
+import it.polimi.ingsw.model.card.Side;
+import it.polimi.ingsw.model.loader.CardsLoader;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * The BoardFixture class builds the boards measured by the model benchmarks.
+ * Boards are always built in the same way: the front of the first starter card in the origin, then resource and
+ * golden cards alternated in the order of the {@link CardsLoader}, each one placed in the available position closest
+ * to the origin, on its front if the resources of the board allow it and on its back otherwise.
+ */
+final class BoardFixture {
+    private static final Comparator<Position> CLOSEST_TO_ORIGIN = Comparator
+            .comparingInt((Position position) -> Math.abs(position.getX()) + Math.abs(position.getY()))
+            .thenComparingInt(Position::getY)
+            .thenComparingInt(Position::getX);
+
+    private BoardFixture() {
+    }
+
+    /**
+     * Returns the cards placed after the starter, in order.
+     *
+     * @return the resource and golden cards alternated.
+     */
+    static List<Card> cardSequence() {
+        List<Card> resourceCards = CardsLoader.getResourceCards();
+        List<Card> goldenCards = CardsLoader.getGoldenCards();
+        List<Card> sequence = new ArrayList<>();
+        for (int i = 0; i < Math.max(resourceCards.size(), goldenCards.size()); i++) {
+            if (i < resourceCards.size()) {
+                sequence.add(resourceCards.get(i));
+            }
+            if (i < goldenCards.size()) {
+                sequence.add(goldenCards.get(i));
+            }
+        }
+        return sequence;
+    }
+
+    /**
+     * Places cards of the sequence on the <code>playground</code>, until it holds <code>tiles</code> faces.
+     * The starter is placed first if the <code>playground</code> is empty.
+     *
+     * @param playground the playground to fill.
+     * @param tiles      the number of faces the playground holds once filled, starter included.
+     * @return the placements done, in order.
+     */
+    static List<Placement> fill(Playground playground, int tiles) {
+        List<Placement> placements = new ArrayList<>();
+        if (playground.getOccupiedPositions().isEmpty()) {
+            Placement starter = new Placement(CardsLoader.getStarterCards().getFirst(), Side.FRONT, new Position(0, 0));
+            place(playground, starter);
+            placements.add(starter);
+        }
+        int placedBefore = playground.getOccupiedPositions().size() - placements.size();
+        for (Card card : cardSequence()) {
+            if (placedBefore + placements.size() == tiles) {
+                break;
+            }
+            Placement placement = nextPlacement(playground, card);
+            place(playground, placement);
+            placements.add(placement);
+        }
+        return placements;
+    }
+
+    /**
+     * Returns where and on which side the <code>card</code> would be placed on the <code>playground</code>.
+     *
+     * @param playground the board being built.
+     * @param card       the next card of the sequence.
+     * @return the placement of the card.
+     */
+    static Placement nextPlacement(Playground playground, Card card) {
+        Position position = playground.getAvailablePositions().stream().min(CLOSEST_TO_ORIGIN).orElseThrow();
+        Side side = hasResourcesFor(playground, card) ? Side.FRONT : Side.BACK;
+        return new Placement(card, side, position);
+    }
+
+    private static boolean hasResourcesFor(Playground playground, Card card) {
+        return card.getRequiredResources().entrySet().stream()
+                .allMatch(requirement -> playground.getResourceCount(requirement.getKey()) >= requirement.getValue());
+    }
+
+    static void place(Playground playground, Placement placement) {
+        try {
+            playground.placeCard(placement.card.getFace(placement.side), placement.position);
+        } catch (Playground.UnavailablePositionException | Playground.NotEnoughResourcesException e) {
+            throw new IllegalStateException("The fixture placed a card where it can't be placed", e);
+        }
+    }
+
+    /**
+     * The Placement class is a card placed on a side at a position.
+     */
+    static final class Placement {
+        final Card card;
+        final Side side;
+        final Position position;
+
+        Placement(Card card, Side side, Position position) {
+            this.card = card;
+            this.side = side;
+            this.position = position;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package it.polimi.ingsw.model;
+
+import it.polimi.ingsw.model.card.Side;
+import it.polimi.ingsw.model.card.color.PlayerColor;
+import it.polimi.ingsw.model.player.Player;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the calculation of the winners of a game of four players, whose boards hold <code>tiles</code> faces each.
+ * The players go through the setup as in a real game, then their boards are filled by the {@link BoardFixture} and the
+ * game is ended. Starters and objectives are dealt by the game, hence they change between forks: the score is
+ * stable when averaged over several forks.
+ * Run it with <code>mvn -P benchmark package</code> and
+ * <code>java -jar target/benchmarks.jar GameBenchmark -prof gc</code> to report the allocation rate too.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(3)
+@State(Scope.Benchmark)
+public class GameBenchmark {
+    private static final List<String> USERNAMES = List.of("alice", "bob", "carl", "dave");
+
+    @Param({"10", "40", "80"})
+    public int tiles;
+
+    private Game game;
+
+    @Setup
+    public void setUp() throws Exception {
+        game = new Game(USERNAMES);
+        // the players have no listener, but the game skips the turns of disconnected players
+        for (Player player : game.getPlayers()) {
+            player.setNetworkStatus(true);
+        }
+        PlayerColor[] colors = PlayerColor.values();
+        for (int i = 0; i < USERNAMES.size(); i++) {
+            String username = USERNAMES.get(i);
+            game.placeStarter(username, Side.FRONT);
+            game.assignColor(username, colors[i]);
+            game.placeObjectiveCard(username, 0);
+        }
+        for (Player player : game.getPlayers()) {
+            BoardFixture.fill(player.getPlayground(), tiles);
+        }
+        game.terminateForInactivity();
+    }
+
+    @Benchmark
+    public List<String> getWinners() {
+        return game.getWinners();
+    }
+}
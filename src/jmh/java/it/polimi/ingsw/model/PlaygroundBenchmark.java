@@ -0,0 +1,52 @@
+package it.polimi.ingsw.model;
+
+import it.polimi.ingsw.model.board.Playground;
+import it.polimi.ingsw.model.board.Position;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the operations of the {@link Playground} done at every turn, on boards built by the {@link BoardFixture}:
+ * <ul>
+ *     <li><code>placeCards</code> places, on an empty playground, all the faces of a board of <code>tiles</code>
+ *     faces, hence a single placement costs the score divided by <code>tiles</code>;</li>
+ *     <li><code>getAvailablePositions</code> lists the available positions of a board of <code>tiles</code> faces.</li>
+ * </ul>
+ * Run it with <code>mvn -P benchmark package</code> and
+ * <code>java -jar target/benchmarks.jar PlaygroundBenchmark -prof gc</code> to report the allocation rate too.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PlaygroundBenchmark {
+    @Param({"10", "20", "40", "80"})
+    public int tiles;
+
+    private List<BoardFixture.Placement> placements;
+    private Playground board;
+
+    @Setup
+    public void setUp() {
+        board = new Playground();
+        placements = BoardFixture.fill(board, tiles);
+    }
+
+    @Benchmark
+    public Playground placeCards() {
+        Playground playground = new Playground();
+        for (BoardFixture.Placement placement : placements) {
+            BoardFixture.place(playground, placement);
+        }
+        return playground;
+    }
+
+    @Benchmark
+    public List<Position> getAvailablePositions() {
+        return board.getAvailablePositions();
+    }
+}
@@ -0,0 +1,96 @@
+package it.polimi.ingsw.model;
+
+import it.polimi.ingsw.model.board.Playground;
+import it.polimi.ingsw.model.board.Position;
+import it.polimi.ingsw.model.card.Condition;
+import it.polimi.ingsw.model.card.Face;
+import it.polimi.ingsw.model.card.ObjectiveCard;
+import it.polimi.ingsw.model.card.ObjectivePositionCard;
+import it.polimi.ingsw.model.card.ObjectiveResourceCard;
+import it.polimi.ingsw.model.card.strategies.CalculateCorners;
+import it.polimi.ingsw.model.card.strategies.CalculatePoints;
+import it.polimi.ingsw.model.card.strategies.CalculateResources;
+import it.polimi.ingsw.model.loader.CardsLoader;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the calculation of the points on boards of <code>tiles</code> faces built by the {@link BoardFixture}:
+ * <ul>
+ *     <li><code>objectivePositionCards</code> and <code>objectiveResourceCards</code> score all the objective cards
+ *     of the kind, as done at the end of the game;</li>
+ *     <li><code>calculateCorners</code> and <code>calculateResources</code> score a golden card placed on the board,
+ *     as done at every placement.</li>
+ * </ul>
+ * Run it with <code>mvn -P benchmark package</code> and
+ * <code>java -jar target/benchmarks.jar PointsBenchmark -prof gc</code> to report the allocation rate too.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PointsBenchmark {
+    @Param({"10", "20", "40", "80"})
+    public int tiles;
+
+    private final CalculatePoints calculateCorners = new CalculateCorners();
+    private final CalculatePoints calculateResources = new CalculateResources();
+    private Playground board;
+    private List<ObjectiveCard> positionObjectives;
+    private List<ObjectiveCard> resourceObjectives;
+    private Position cornersCardPosition;
+    private Position resourcesCardPosition;
+
+    @Setup
+    public void setUp() {
+        board = new Playground();
+        List<BoardFixture.Placement> placements = BoardFixture.fill(board, tiles);
+        positionObjectives = CardsLoader.getObjectiveCards().stream()
+                .filter(card -> card instanceof ObjectivePositionCard).toList();
+        resourceObjectives = CardsLoader.getObjectiveCards().stream()
+                .filter(card -> card instanceof ObjectiveResourceCard).toList();
+        // small boards may hold no golden front: the last face placed is scored then
+        Position lastPosition = placements.getLast().position;
+        cornersCardPosition = lastPlacedWith(placements, Condition.CORNERS, lastPosition);
+        resourcesCardPosition = lastPlacedWith(placements, Condition.NUM_QUILL, lastPosition);
+    }
+
+    private Position lastPlacedWith(List<BoardFixture.Placement> placements, Condition condition, Position otherwise) {
+        for (BoardFixture.Placement placement : placements.reversed()) {
+            Face face = placement.card.getFace(placement.side);
+            if (face.getCondition() == condition) {
+                return placement.position;
+            }
+        }
+        return otherwise;
+    }
+
+    @Benchmark
+    public void objectivePositionCards(Blackhole blackhole) {
+        for (ObjectiveCard objective : positionObjectives) {
+            blackhole.consume(objective.calculatePoints(board));
+        }
+    }
+
+    @Benchmark
+    public void objectiveResourceCards(Blackhole blackhole) {
+        for (ObjectiveCard objective : resourceObjectives) {
+            blackhole.consume(objective.calculatePoints(board));
+        }
+    }
+
+    @Benchmark
+    public int calculateCorners() {
+        return calculateCorners.calculatePoints(cornersCardPosition, board);
+    }
+
+    @Benchmark
+    public int calculateResources() {
+        return calculateResources.calculatePoints(resourcesCardPosition, board);
+    }
+}
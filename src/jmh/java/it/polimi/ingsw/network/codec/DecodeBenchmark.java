@@ -0,0 +1,102 @@
+package it.polimi.ingsw.network.codec;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import it.polimi.ingsw.model.Game;
+import it.polimi.ingsw.model.board.Position;
+import it.polimi.ingsw.model.card.CornerPosition;
+import it.polimi.ingsw.model.card.Side;
+import it.polimi.ingsw.model.card.Symbol;
+import it.polimi.ingsw.model.loader.CardsLoader;
+import it.polimi.ingsw.network.NetworkMessage;
+import it.polimi.ingsw.network.client.model.ClientGame;
+import it.polimi.ingsw.network.client.model.card.ClientCard;
+import it.polimi.ingsw.network.client.model.card.ClientFace;
+import it.polimi.ingsw.network.client.socket.message.UpdateAfterConnectionMessage;
+import it.polimi.ingsw.network.client.socket.message.UpdateAfterDrawMessage;
+import it.polimi.ingsw.network.client.socket.message.UpdateAfterPlaceMessage;
+import it.polimi.ingsw.network.client.socket.message.UpdateCurrentPlayerMessage;
+import it.polimi.ingsw.network.heartbeat.HeartBeatMessage;
+import it.polimi.ingsw.network.server.socket.message.PlaceCardMessage;
+import it.polimi.ingsw.model.gamephase.GamePhase;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of decoding a single socket message, for the most frequent types of message and the game
+ * snapshot:
+ * <ul>
+ *     <li><code>twoPassJson</code> parses the line into a NetworkMessage to read its type and then parses it again
+ *     into the concrete class, as the handlers used to do;</li>
+ *     <li><code>singlePassJson</code> tokenizes the line once through the {@link JsonCodec};</li>
+ *     <li><code>binary</code> decodes the frame of the {@link BinaryCodec}.</li>
+ * </ul>
+ * Run it with <code>mvn -P benchmark package</code> and <code>java -jar target/benchmarks.jar DecodeBenchmark</code>.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DecodeBenchmark {
+    @Param({"HEARTBEAT", "PLACE_CARD", "SHOW_UPDATE_CURRENT_PLAYER", "SHOW_UPDATE_AFTER_PLACE",
+            "SHOW_UPDATE_AFTER_DRAW", "UPDATE_AFTER_CONNECTION"})
+    public String type;
+
+    private final Gson gson = new GsonBuilder().enableComplexMapKeySerialization().create();
+    private String line;
+    private byte[] payload;
+
+    @Setup
+    public void setUp() throws Exception {
+        NetworkMessage message = createMessage();
+        line = JsonCodec.encode(message);
+        byte[] frame = BinaryCodec.encode(message);
+        // the payload follows the varint length
+        int lengthSize = 1;
+        while ((frame[lengthSize - 1] & 0x80) != 0) {
+            lengthSize++;
+        }
+        payload = Arrays.copyOfRange(frame, lengthSize, frame.length);
+    }
+
+    private NetworkMessage createMessage() throws Exception {
+        ClientCard card = new ClientCard(CardsLoader.getGoldenCards().getFirst());
+        return switch (type) {
+            case "HEARTBEAT" -> new HeartBeatMessage("alice", System.currentTimeMillis());
+            case "PLACE_CARD" -> new PlaceCardMessage("alice", 12, 52, Side.FRONT, new Position(-3, 2));
+            case "SHOW_UPDATE_CURRENT_PLAYER" -> new UpdateCurrentPlayerMessage(2, GamePhase.PlaceNormal);
+            case "SHOW_UPDATE_AFTER_PLACE" -> new UpdateAfterPlaceMessage(
+                    Map.of(new Position(1, 1), CornerPosition.LOWER_LEFT, new Position(-1, 1), CornerPosition.LOWER_RIGHT),
+                    List.of(new Position(2, 2), new Position(0, 2), new Position(-2, 2)), List.of(new Position(0, 2)),
+                    Map.of(Symbol.FUNGI, 3, Symbol.PLANT, 1, Symbol.QUILL, 2), 4, "alice",
+                    card, Side.FRONT, new Position(0, 2));
+            case "SHOW_UPDATE_AFTER_DRAW" -> new UpdateAfterDrawMessage(card,
+                    new ClientFace(CardsLoader.getResourceCards().getFirst().getFace(Side.BACK)), card, "alice", 2);
+            case "UPDATE_AFTER_CONNECTION" ->
+                    new UpdateAfterConnectionMessage(new ClientGame(new Game(List.of("alice", "bob", "carl", "dave"))));
+            default -> throw new IllegalArgumentException("Unknown type " + type);
+        };
+    }
+
+    @Benchmark
+    public NetworkMessage twoPassJson() {
+        NetworkMessage message = gson.fromJson(line, NetworkMessage.class);
+        return gson.fromJson(line, JsonCodec.messageClassOf(message.getNetworkType()));
+    }
+
+    @Benchmark
+    public NetworkMessage singlePassJson() throws MalformedMessageException {
+        return JsonCodec.decode(line);
+    }
+
+    @Benchmark
+    public NetworkMessage binary() throws MalformedMessageException {
+        return BinaryCodec.decode(payload);
+    }
+}
@@ -8,35 +8,47 @@ import it.polimi.ingsw.model.card.color.InvalidColorException;
 import it.polimi.ingsw.model.card.color.PlayerColor;
 import it.polimi.ingsw.model.chat.message.InvalidMessageException;
 import it.polimi.ingsw.model.chat.message.Message;
+import it.polimi.ingsw.model.listenerhandler.EventLog;
 import it.polimi.ingsw.model.listenerhandler.ListenerHandler;
 import it.polimi.ingsw.model.lobby.*;
 import it.polimi.ingsw.model.player.InvalidPlayerActionException;
 import it.polimi.ingsw.model.board.Position;
 import it.polimi.ingsw.model.player.Player;
 import it.polimi.ingsw.network.ClientHandler;
+import it.polimi.ingsw.network.server.SharedFrameBroadcaster;
 
 import java.util.*;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * The Controller class manages the entry of players through the use of a lobby, as well as their subsequent
  * disconnection.
  * It also allows the player to make moves in the playground and to choose his/her own username and token color
  * before the start of a game.
+ * The controller isn't thread-safe: all its methods are expected to be invoked by a single thread, that is the
+ * {@link GameEventLoop} of the game.
  */
 public class Controller implements GameRequest {
     private Lobby lobby;
     private Game game;
-    private Timer timerForSuspendedGame;
+    private final DeadlineScheduler deadlineScheduler;
+    private DeadlineScheduler.Deadline suspendedGameDeadline;
     private TurnCompletion turnCompletion;
+    private final Executor executor;
 
     private ListenerHandler<ClientHandler> listenerHandler;
 
     /**
-     * Constructs a new <code>Controller</code> with no parameters provided.
+     * Constructs a new <code>Controller</code> whose delayed tasks, such as the termination of a suspended game,
+     * are handed to the <code>executor</code>.
+     *
+     * @param executor the executor that serializes the work on the controller.
      */
-    public Controller() {
+    public Controller(Executor executor) {
+        this.executor = executor;
+        this.deadlineScheduler = DeadlineScheduler.getSharedInstance();
         lobby = new Lobby();
-        timerForSuspendedGame = new Timer();
         turnCompletion = new TurnCompletion();
         listenerHandler = new ListenerHandler<>();
     }
@@ -45,10 +57,41 @@ public class Controller implements GameRequest {
         return username != null && !username.isEmpty();
     }
 
-    public synchronized boolean isRegisteredUsername(String username) {
+    public boolean isRegisteredUsername(String username) {
         return listenerHandler.getIds().contains(username);
     }
 
+    /**
+     * Checks whether <code>username</code> belongs to this controller, that is, the user is connected to its lobby or
+     * game, or the user is a player of a game still in progress who may reconnect.
+     *
+     * @param username the user's name.
+     * @return true if the requests of <code>username</code> have to be handled by this controller, false otherwise.
+     */
+    public boolean isPlayerOf(String username) {
+        return listenerHandler.getIds().contains(username)
+                || (game != null && !game.isFinished() && game.hasPlayer(username));
+    }
+
+    /**
+     * Checks whether a new user can join this controller, that is, the game hasn't been created yet and the lobby
+     * isn't full.
+     *
+     * @return true if a new user can join the lobby, false otherwise.
+     */
+    public boolean canAcceptNewPlayers() {
+        return game == null && !lobby.isFull();
+    }
+
+    /**
+     * Checks whether the game handled by this controller has ended.
+     *
+     * @return true if the game has been created and is finished, false otherwise.
+     */
+    public boolean isFinished() {
+        return game != null && game.isFinished();
+    }
+
     /**
      * Handle connection of the user.
      * If the game is not already started, the user is added to the lobby;
@@ -58,7 +101,20 @@ public class Controller implements GameRequest {
      * @param user     the representation of the user.
      * @param username the user's name.
      */
-    public synchronized boolean handleConnection(String username, ClientHandler user) {
+    public boolean handleConnection(String username, ClientHandler user) {
+        return handleConnection(username, user, EventLog.NO_SEQUENCE_NUMBER);
+    }
+
+    /**
+     * Handle connection of the user, which has received the game updates up to <code>lastSequenceNumber</code>.
+     * A user rejoining the game is sent only the updates it has missed, if they are still available.
+     *
+     * @param username           the user's name.
+     * @param user               the representation of the user.
+     * @param lastSequenceNumber of the last game update received by the user.
+     * @return true if the user has been accepted, false otherwise.
+     */
+    public boolean handleConnection(String username, ClientHandler user, long lastSequenceNumber) {
         boolean isAccepted;
         if (!validFormat(username)) {
             user.resultOfLogin(false, "Wrong username format");
@@ -78,7 +134,7 @@ public class Controller implements GameRequest {
             lobby = new Lobby();
             isAccepted = joinLobby(username, user);
         } else {
-            isAccepted = joinGame(username, user);
+            isAccepted = joinGame(username, user, lastSequenceNumber);
         }
         return isAccepted;
     }
@@ -88,7 +144,7 @@ public class Controller implements GameRequest {
         int numPlayersToStartTheGame = lobby.getNumPlayersToStartTheGame();
         List<String> usersToGoInGame = usernames.subList(0, numPlayersToStartTheGame);
         List<String> exceededPlayers = usernames.subList(numPlayersToStartTheGame, usernames.size());
-        game = new Game(usersToGoInGame);
+        game = new Game(usersToGoInGame, new SharedFrameBroadcaster());
 
         for (String user : usersToGoInGame) {
             try {
@@ -129,13 +185,14 @@ public class Controller implements GameRequest {
     /**
      * Joins <code>username</code> to the game
      *
-     * @param username     of the player who joins the game.
-     * @param gameListener the game listener
+     * @param username           of the player who joins the game.
+     * @param gameListener       the game listener
+     * @param lastSequenceNumber of the last game update received by the player
      * @return true if the player has been added correctly, false otherwise
      */
-    private boolean joinGame(String username, ClientHandler gameListener) {
+    private boolean joinGame(String username, ClientHandler gameListener, long lastSequenceNumber) {
         try {
-            game.add(username, gameListener);
+            game.add(username, gameListener, lastSequenceNumber);
         } catch (InvalidUsernameException e) {
             gameListener.resultOfLogin(false, e.getMessage());
             return false;
@@ -143,9 +200,9 @@ public class Controller implements GameRequest {
         listenerHandler.add(username, gameListener);
 
         turnCompletion.handleJoin(game);
-        if (game.isActive()) {
-            timerForSuspendedGame.cancel();
-            timerForSuspendedGame = new Timer();
+        if (game.isActive() && suspendedGameDeadline != null) {
+            suspendedGameDeadline.cancel();
+            suspendedGameDeadline = null;
         }
         return true;
     }
@@ -157,7 +214,7 @@ public class Controller implements GameRequest {
      *
      * @param username the user's name.
      */
-    public synchronized void handleDisconnection(String username) {
+    public void handleDisconnection(String username) {
         if (!listenerHandler.getIds().contains(username)) {
             return;
         }
@@ -194,17 +251,13 @@ public class Controller implements GameRequest {
         try {
             game.remove(username);
             turnCompletion.handleLeave(game);
-            if (!game.isActive()) {
+            // the game has been suspended, unless the deadline of a previous suspension is still pending
+            if (!game.isActive() && (suspendedGameDeadline == null || !suspendedGameDeadline.isPending())) {
                 // make a copy to avoid the schedule to be executed on a new created game.
                 Game currentGame = game;
-                timerForSuspendedGame.schedule(new TimerTask() {
-                    @Override
-                    public void run() {
-                        synchronized (Controller.this) {
-                            currentGame.terminateForInactivity();
-                        }
-                    }
-                }, Game.MAX_DELAY_FOR_SUSPENDED_GAME);
+                suspendedGameDeadline = deadlineScheduler.schedule(
+                        () -> executor.execute(currentGame::terminateForInactivity),
+                        Game.MAX_DELAY_FOR_SUSPENDED_GAME, TimeUnit.MILLISECONDS);
             }
             listenerHandler.remove(username);
         } catch (InvalidUsernameException e) {
@@ -217,7 +270,7 @@ public class Controller implements GameRequest {
      * {@inheritDoc}
      */
     @Override
-    public synchronized void placeStarter(String username, Side side) {
+    public void placeStarter(String username, Side side) {
         if (lobby.isGameReady()) {
             try {
                 game.placeStarter(username, side);
@@ -231,7 +284,7 @@ public class Controller implements GameRequest {
      * {@inheritDoc}
      */
     @Override
-    public synchronized void chooseColor(String username, PlayerColor color) {
+    public void chooseColor(String username, PlayerColor color) {
         if (lobby.isGameReady()) {
             try {
                 game.assignColor(username, color);
@@ -246,7 +299,7 @@ public class Controller implements GameRequest {
      * {@inheritDoc}
      */
     @Override
-    public synchronized void placeObjectiveCard(String username, int chosenObjective) {
+    public void placeObjectiveCard(String username, int chosenObjective) {
         if (chosenObjective < 0 || chosenObjective > 1) {
             reportError(username, "Choose a valid card");
             return;
@@ -264,7 +317,7 @@ public class Controller implements GameRequest {
      * {@inheritDoc}
      */
     @Override
-    public synchronized void placeCard(String username, int frontId, int backId, Side side, Position position) {
+    public void placeCard(String username, int frontId, int backId, Side side, Position position) {
         if (lobby.isGameReady()) {
             Card cardToPlace;
             try {
@@ -287,7 +340,7 @@ public class Controller implements GameRequest {
      * {@inheritDoc}
      */
     @Override
-    public synchronized void draw(String username, int idToDraw) {
+    public void draw(String username, int idToDraw) {
         if (idToDraw < 0 || idToDraw > 5) {
             reportError(username, "Not valid id");
             return;
@@ -319,7 +372,7 @@ public class Controller implements GameRequest {
      * {@inheritDoc}
      */
     @Override
-    public synchronized void sendMessage(Message message) {
+    public void sendMessage(Message message) {
         if (lobby.isGameReady()) {
             try {
                 game.registerMessage(message);
@@ -333,7 +386,7 @@ public class Controller implements GameRequest {
      * {@inheritDoc}
      */
     @Override
-    public synchronized void setPlayersNumber(String username, int playersNumber) {
+    public void setPlayersNumber(String username, int playersNumber) {
         try {
             lobby.setNumPlayersToStartTheGame(playersNumber);
         } catch (InvalidPlayersNumberException e) {
@@ -0,0 +1,249 @@
+package it.polimi.ingsw.controller;
+
+import it.polimi.ingsw.network.logging.NetworkLog;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The DeadlineScheduler class runs the deadlines of all the games of the process, such as the termination of a
+ * suspended game, with a single thread.
+ * Deadlines are kept in a hashed wheel: the wheel is made of buckets, each one covering a tick, and a deadline falling
+ * beyond a round of the wheel waits in its bucket for the rounds left. Scheduling and cancelling a deadline cost O(1),
+ * whatever the number of deadlines, while the deadlines are run with the precision of a tick.
+ * The task of a deadline is run by the scheduler thread, hence it's expected to hand its work to the loop of the game
+ * rather than doing it.
+ */
+public class DeadlineScheduler {
+    /**
+     * The duration of a tick, in milliseconds, of the scheduler shared by the games.
+     */
+    public static final long DEFAULT_TICK_DURATION = 100;
+    private static final int DEFAULT_WHEEL_SIZE = 512;
+    private static final Logger logger = NetworkLog.getLogger(DeadlineScheduler.class);
+
+    private static final DeadlineScheduler sharedInstance = new DeadlineScheduler(DEFAULT_TICK_DURATION, DEFAULT_WHEEL_SIZE);
+
+    private final long tickDuration;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final long startTime;
+    private final Queue<Deadline> scheduledDeadlines;
+    private final Queue<Deadline> cancelledDeadlines;
+    private final ScheduledExecutorService ticker;
+    // accessed by the ticker thread only
+    private long currentTick;
+
+    /**
+     * The Deadline class is the handle of a task scheduled by the {@link DeadlineScheduler}.
+     */
+    public static class Deadline {
+        private static final int PENDING = 0;
+        private static final int CANCELLED = 1;
+        private static final int EXPIRED = 2;
+
+        private final DeadlineScheduler scheduler;
+        private final Runnable task;
+        private final long tick;
+        private final AtomicInteger state;
+        // accessed by the ticker thread only
+        private long remainingRounds;
+        private Bucket bucket;
+        private Deadline previous;
+        private Deadline next;
+
+        private Deadline(DeadlineScheduler scheduler, Runnable task, long tick) {
+            this.scheduler = scheduler;
+            this.task = task;
+            this.tick = tick;
+            this.state = new AtomicInteger(PENDING);
+        }
+
+        /**
+         * Cancels the deadline, if it hasn't been run yet.
+         *
+         * @return true if the deadline has been cancelled, false if it has already been run or cancelled.
+         */
+        public boolean cancel() {
+            if (!state.compareAndSet(PENDING, CANCELLED)) {
+                return false;
+            }
+            // the deadline is removed from its bucket by the ticker thread
+            scheduler.cancelledDeadlines.add(this);
+            return true;
+        }
+
+        /**
+         * Returns whether the deadline is still waiting to be run.
+         *
+         * @return true if the deadline has been neither run nor cancelled.
+         */
+        public boolean isPending() {
+            return state.get() == PENDING;
+        }
+
+        public boolean isCancelled() {
+            return state.get() == CANCELLED;
+        }
+
+        public boolean isExpired() {
+            return state.get() == EXPIRED;
+        }
+    }
+
+    /**
+     * The Bucket class is the doubly linked list of the deadlines falling in a slot of the wheel.
+     */
+    private static class Bucket {
+        private Deadline head;
+        private Deadline tail;
+
+        void add(Deadline deadline) {
+            deadline.bucket = this;
+            deadline.previous = tail;
+            deadline.next = null;
+            if (tail == null) {
+                head = deadline;
+            } else {
+                tail.next = deadline;
+            }
+            tail = deadline;
+        }
+
+        void remove(Deadline deadline) {
+            if (deadline.previous == null) {
+                head = deadline.next;
+            } else {
+                deadline.previous.next = deadline.next;
+            }
+            if (deadline.next == null) {
+                tail = deadline.previous;
+            } else {
+                deadline.next.previous = deadline.previous;
+            }
+            deadline.bucket = null;
+            deadline.previous = null;
+            deadline.next = null;
+        }
+    }
+
+    /**
+     * Constructs a scheduler whose wheel has <code>wheelSize</code> buckets of <code>tickDuration</code> milliseconds.
+     *
+     * @param tickDuration the duration of a tick, in milliseconds.
+     * @param wheelSize    the number of buckets, rounded up to a power of two.
+     */
+    DeadlineScheduler(long tickDuration, int wheelSize) {
+        this.tickDuration = tickDuration;
+        int size = Integer.highestOneBit(Math.max(1, wheelSize - 1)) << 1;
+        this.wheel = new Bucket[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = size - 1;
+        this.startTime = System.nanoTime();
+        this.scheduledDeadlines = new ConcurrentLinkedQueue<>();
+        this.cancelledDeadlines = new ConcurrentLinkedQueue<>();
+        this.currentTick = 0;
+        this.ticker = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("deadline-scheduler").daemon().factory());
+        ticker.scheduleAtFixedRate(this::tick, tickDuration, tickDuration, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Returns the scheduler shared by all the games of the process.
+     *
+     * @return the shared scheduler.
+     */
+    public static DeadlineScheduler getSharedInstance() {
+        return sharedInstance;
+    }
+
+    /**
+     * Schedules the <code>task</code> to be run once <code>delay</code> has elapsed.
+     *
+     * @param task  to run, on the scheduler thread.
+     * @param delay after which the task is run.
+     * @param unit  of the delay.
+     * @return the handle to cancel the task.
+     */
+    public Deadline schedule(Runnable task, long delay, TimeUnit unit) {
+        long elapsed = System.nanoTime() - startTime + unit.toNanos(Math.max(0, delay));
+        long tickNanos = TimeUnit.MILLISECONDS.toNanos(tickDuration);
+        // a deadline is never run before its delay has elapsed
+        Deadline deadline = new Deadline(this, task, (elapsed + tickNanos - 1) / tickNanos);
+        scheduledDeadlines.add(deadline);
+        return deadline;
+    }
+
+    /**
+     * Advances the wheel by one tick, running the deadlines of the bucket reached.
+     */
+    private void tick() {
+        try {
+            removeCancelledDeadlines();
+            addScheduledDeadlines();
+            expire(wheel[(int) (currentTick & mask)]);
+        } catch (RuntimeException e) {
+            // a failing deadline mustn't stop the wheel
+            logger.log(Level.WARNING, "Failed to run the deadlines", e);
+        } finally {
+            currentTick++;
+        }
+    }
+
+    private void removeCancelledDeadlines() {
+        Deadline deadline;
+        while ((deadline = cancelledDeadlines.poll()) != null) {
+            if (deadline.bucket != null) {
+                deadline.bucket.remove(deadline);
+            }
+        }
+    }
+
+    private void addScheduledDeadlines() {
+        Deadline deadline;
+        while ((deadline = scheduledDeadlines.poll()) != null) {
+            if (!deadline.isPending()) {
+                continue;
+            }
+            // deadlines already due are run by this tick
+            long tick = Math.max(deadline.tick, currentTick);
+            deadline.remainingRounds = (tick - currentTick) / wheel.length;
+            wheel[(int) (tick & mask)].add(deadline);
+        }
+    }
+
+    private void expire(Bucket bucket) {
+        Deadline deadline = bucket.head;
+        while (deadline != null) {
+            Deadline next = deadline.next;
+            if (deadline.remainingRounds <= 0) {
+                bucket.remove(deadline);
+                if (deadline.state.compareAndSet(Deadline.PENDING, Deadline.EXPIRED)) {
+                    try {
+                        deadline.task.run();
+                    } catch (RuntimeException e) {
+                        logger.log(Level.WARNING, "Failed to run the deadline", e);
+                    }
+                }
+            } else {
+                deadline.remainingRounds--;
+            }
+            deadline = next;
+        }
+    }
+
+    /**
+     * Stops the scheduler: pending deadlines are never run.
+     */
+    void shutdown() {
+        ticker.shutdownNow();
+    }
+}
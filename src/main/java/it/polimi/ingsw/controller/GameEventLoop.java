@@ -0,0 +1,232 @@
+package it.polimi.ingsw.controller;
+
+import it.polimi.ingsw.network.logging.NetworkLog;
+import it.polimi.ingsw.network.server.metrics.ServerMetrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The GameEventLoop class owns the {@link Controller} of a single game together with its mailbox.
+ * Every request is enqueued as a command and applied in order by one virtual thread, hence the controller is
+ * never accessed concurrently and doesn't need any lock.
+ * The loop also measures how long commands wait in the mailbox before being applied, and reports to the
+ * {@link ServerMetrics} the latency of every operation.
+ * Tasks can be deferred to the end of the command being applied, so that all the updates produced by a step of the
+ * game are handled together.
+ */
+public class GameEventLoop {
+    /**
+     * The name of the commands submitted without naming their operation.
+     */
+    public static final String UNNAMED_OPERATION = "other";
+    private static final String DEADLINE_OPERATION = "deadline";
+    private static final Logger logger = NetworkLog.getLogger(GameEventLoop.class);
+    private static final AtomicInteger loopCounter = new AtomicInteger();
+    private static final ThreadLocal<List<Runnable>> endOfCommandTasks = new ThreadLocal<>();
+
+    private final Controller controller;
+    private final ExecutorService mailbox;
+
+    private volatile boolean isAcceptingNewPlayers;
+    private volatile boolean isFinished;
+
+    private final LongAdder processedCommands;
+    private final LongAdder totalQueueingDelay;
+    private final AtomicLong maxQueueingDelay;
+
+    /**
+     * Constructs a new <code>GameEventLoop</code> with an empty lobby.
+     */
+    public GameEventLoop() {
+        mailbox = Executors.newSingleThreadExecutor(
+                Thread.ofVirtual().name("game-loop-" + loopCounter.incrementAndGet()).factory());
+        controller = new Controller(command -> execute(DEADLINE_OPERATION, command));
+        isAcceptingNewPlayers = true;
+        isFinished = false;
+        processedCommands = new LongAdder();
+        totalQueueingDelay = new LongAdder();
+        maxQueueingDelay = new AtomicLong();
+    }
+
+    /**
+     * Enqueues the <code>command</code> to be applied to the controller.
+     *
+     * @param command to apply.
+     */
+    public void submit(Consumer<Controller> command) {
+        submit(UNNAMED_OPERATION, command);
+    }
+
+    /**
+     * Enqueues the <code>command</code> to be applied to the controller, measuring its latency as the
+     * <code>operation</code>.
+     *
+     * @param operation the name of the operation.
+     * @param command   to apply.
+     */
+    public void submit(String operation, Consumer<Controller> command) {
+        execute(operation, () -> command.accept(controller));
+    }
+
+    /**
+     * Enqueues the <code>request</code> to be applied to the controller and waits for its result.
+     *
+     * @param request to apply.
+     * @param <T>     the type of the result.
+     * @return the result of the request, or null if the loop has been shut down.
+     */
+    public <T> T call(Function<Controller, T> request) {
+        return call(UNNAMED_OPERATION, request);
+    }
+
+    /**
+     * Enqueues the <code>request</code> to be applied to the controller and waits for its result, measuring its
+     * latency as the <code>operation</code>.
+     *
+     * @param operation the name of the operation.
+     * @param request   to apply.
+     * @param <T>       the type of the result.
+     * @return the result of the request, or null if the loop has been shut down.
+     */
+    public <T> T call(String operation, Function<Controller, T> request) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        boolean isEnqueued = execute(operation, () -> {
+            try {
+                result.complete(request.apply(controller));
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+                throw e;
+            }
+        });
+        return isEnqueued ? result.join() : null;
+    }
+
+    private boolean execute(String operation, Runnable command) {
+        long enqueueTime = System.nanoTime();
+        try {
+            mailbox.execute(() -> {
+                long startTime = System.nanoTime();
+                recordQueueingDelay(startTime - enqueueTime);
+                endOfCommandTasks.set(new ArrayList<>());
+                ServerMetrics.takeFanOutTime();
+                long executionTime = 0;
+                try {
+                    command.run();
+                } catch (RuntimeException e) {
+                    logger.log(Level.WARNING, "Command discarded by the game loop", e);
+                } finally {
+                    executionTime = System.nanoTime() - startTime;
+                    runEndOfCommandTasks();
+                }
+                // broadcasts happen while the command runs, deferred tasks after it: both are fan out
+                long broadcastTime = ServerMetrics.takeFanOutTime();
+                long fanOutTime = broadcastTime + System.nanoTime() - startTime - executionTime;
+                ServerMetrics.getInstance().recordOperation(operation, startTime - enqueueTime,
+                        executionTime - broadcastTime, fanOutTime);
+                isAcceptingNewPlayers = controller.canAcceptNewPlayers();
+                isFinished = controller.isFinished();
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+    }
+
+    private static void runEndOfCommandTasks() {
+        List<Runnable> tasks = endOfCommandTasks.get();
+        endOfCommandTasks.remove();
+        for (Runnable task : tasks) {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                logger.log(Level.WARNING, "Task failed at the end of the command", e);
+            }
+        }
+    }
+
+    /**
+     * Runs the <code>task</code> once the command being applied by the calling thread has been completed.
+     * If the calling thread isn't applying a command of a game loop, the <code>task</code> is run immediately.
+     *
+     * @param task to run at the end of the current command.
+     */
+    public static void runAfterCurrentCommand(Runnable task) {
+        List<Runnable> tasks = endOfCommandTasks.get();
+        if (tasks == null) {
+            task.run();
+        } else {
+            tasks.add(task);
+        }
+    }
+
+    private void recordQueueingDelay(long delay) {
+        processedCommands.increment();
+        totalQueueingDelay.add(delay);
+        maxQueueingDelay.accumulateAndGet(delay, Math::max);
+    }
+
+    /**
+     * Returns whether new users may join the lobby, as of the last applied command.
+     *
+     * @return true if the lobby may accept new users, false otherwise.
+     */
+    public boolean isAcceptingNewPlayers() {
+        return isAcceptingNewPlayers;
+    }
+
+    /**
+     * Returns whether the game has ended, as of the last applied command.
+     *
+     * @return true if the game is finished, false otherwise.
+     */
+    public boolean isFinished() {
+        return isFinished;
+    }
+
+    /**
+     * Returns the number of commands applied so far.
+     *
+     * @return the number of processed commands.
+     */
+    public long getProcessedCommands() {
+        return processedCommands.sum();
+    }
+
+    /**
+     * Returns the average time commands waited in the mailbox before being applied.
+     *
+     * @return the average queueing delay in nanoseconds.
+     */
+    public long getAverageQueueingDelay() {
+        long processed = processedCommands.sum();
+        return processed == 0 ? 0 : totalQueueingDelay.sum() / processed;
+    }
+
+    /**
+     * Returns the longest time a command waited in the mailbox before being applied.
+     *
+     * @return the maximum queueing delay in nanoseconds.
+     */
+    public long getMaxQueueingDelay() {
+        return maxQueueingDelay.get();
+    }
+
+    /**
+     * Stops the loop once the commands already enqueued have been applied; later commands are discarded.
+     */
+    public void shutdown() {
+        mailbox.shutdown();
+    }
+}
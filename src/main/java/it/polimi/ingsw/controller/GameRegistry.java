@@ -0,0 +1,220 @@
+package it.polimi.ingsw.controller;
+
+import it.polimi.ingsw.model.board.Position;
+import it.polimi.ingsw.model.card.Side;
+import it.polimi.ingsw.model.card.color.PlayerColor;
+import it.polimi.ingsw.model.chat.message.Message;
+import it.polimi.ingsw.model.listenerhandler.EventLog;
+import it.polimi.ingsw.network.ClientHandler;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * The GameRegistry class holds many independent lobby/game pairs, each one handled by its own {@link Controller}
+ * running on a dedicated {@link GameEventLoop}.
+ * New users are placed in the open lobby, i.e. the last one created, while the requests of users already connected
+ * are routed to the loop of the game they belong to.
+ * The work is serialized per game: requests from players of different games never wait on each other, connections
+ * included, since the registry waits for the loop of a game without holding any lock.
+ */
+public class GameRegistry implements GameRequest {
+    private static final String CONNECTION_OPERATION = "connect";
+    private static final String DISCONNECTION_OPERATION = "disconnect";
+
+    private final Set<GameEventLoop> loops;
+    private final Map<String, GameEventLoop> loopOfUser;
+    private final Lock lockOnOpenLobby;
+    private volatile GameEventLoop openLobby;
+
+    /**
+     * Constructs a new <code>GameRegistry</code> with no games.
+     */
+    public GameRegistry() {
+        loops = ConcurrentHashMap.newKeySet();
+        loopOfUser = new ConcurrentHashMap<>();
+        lockOnOpenLobby = new ReentrantLock();
+        openLobby = null;
+    }
+
+    /**
+     * Handles connection of the user.
+     * If the user is a player of a game still in progress, the user is sent back to that game; otherwise the user
+     * joins the open lobby, a new one is opened if the previous one is full or its game has started.
+     *
+     * @param username the user's name.
+     * @param user     the representation of the user.
+     * @return true if the user has been accepted, false otherwise.
+     */
+    public boolean handleConnection(String username, ClientHandler user) {
+        return handleConnection(username, user, EventLog.NO_SEQUENCE_NUMBER);
+    }
+
+    /**
+     * Handles connection of the user, which has received the game updates up to <code>lastSequenceNumber</code>.
+     * Connections of the same user are expected to be serialized by the caller.
+     *
+     * @param username           the user's name.
+     * @param user               the representation of the user.
+     * @param lastSequenceNumber of the last game update received by the user.
+     * @return true if the user has been accepted, false otherwise.
+     */
+    public boolean handleConnection(String username, ClientHandler user, long lastSequenceNumber) {
+        removeFinishedGames();
+
+        GameEventLoop loopOfTheUser = loopOfUser.get(username);
+        if (loopOfTheUser != null) {
+            Boolean isAccepted = loopOfTheUser.call(CONNECTION_OPERATION,
+                    controller -> controller.isPlayerOf(username) ? controller.handleConnection(username, user, lastSequenceNumber) : null);
+            if (isAccepted != null) {
+                return isAccepted;
+            }
+            loopOfUser.remove(username, loopOfTheUser);
+        }
+
+        GameEventLoop lobby = openLobby;
+        if (lobby == null || !lobby.isAcceptingNewPlayers()) {
+            lobby = replaceOpenLobby(lobby);
+        }
+        while (true) {
+            Boolean isAccepted = lobby.call(CONNECTION_OPERATION,
+                    controller -> controller.canAcceptNewPlayers() ? controller.handleConnection(username, user) : null);
+            if (isAccepted != null) {
+                return register(username, lobby, isAccepted);
+            }
+            // the lobby is full or its game has been created: new users go to a new one
+            lobby = replaceOpenLobby(lobby);
+        }
+    }
+
+    /**
+     * Opens a new lobby in place of the <code>closedLobby</code>, unless another connection has already replaced it.
+     *
+     * @param closedLobby the lobby that no longer accepts new users, null if no lobby has been opened yet.
+     * @return the open lobby.
+     */
+    private GameEventLoop replaceOpenLobby(GameEventLoop closedLobby) {
+        lockOnOpenLobby.lock();
+        try {
+            if (openLobby == closedLobby) {
+                openLobby = new GameEventLoop();
+                loops.add(openLobby);
+            }
+            return openLobby;
+        } finally {
+            lockOnOpenLobby.unlock();
+        }
+    }
+
+    private boolean register(String username, GameEventLoop loop, boolean isAccepted) {
+        if (isAccepted) {
+            loopOfUser.put(username, loop);
+        }
+        return isAccepted;
+    }
+
+    private void removeFinishedGames() {
+        for (GameEventLoop loop : loops) {
+            // only the caller removing the loop shuts it down
+            if (loop.isFinished() && loops.remove(loop)) {
+                loop.shutdown();
+            }
+        }
+    }
+
+    /**
+     * Handles disconnection of the <code>username</code> from the game or the lobby they belong to.
+     *
+     * @param username the user's name.
+     */
+    public void handleDisconnection(String username) {
+        GameEventLoop loop = loopOfUser.get(username);
+        if (loop == null) {
+            return;
+        }
+        loop.submit(DISCONNECTION_OPERATION, controller -> {
+            controller.handleDisconnection(username);
+            if (!controller.isPlayerOf(username)) {
+                loopOfUser.remove(username, loop);
+            }
+        });
+    }
+
+    /**
+     * Returns the number of games, either waiting in the lobby or in progress, currently hosted by the registry.
+     * Games that have just finished are counted until the next connection removes them.
+     * The count is read without any lock, hence it can be sampled at any time.
+     *
+     * @return the number of games not yet removed.
+     */
+    public int getNumberOfGames() {
+        return loops.size();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void placeStarter(String username, Side side) {
+        submit(username, "placeStarter", controller -> controller.placeStarter(username, side));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void chooseColor(String username, PlayerColor color) {
+        submit(username, "chooseColor", controller -> controller.chooseColor(username, color));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void placeObjectiveCard(String username, int chosenObjective) {
+        submit(username, "placeObjectiveCard", controller -> controller.placeObjectiveCard(username, chosenObjective));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void placeCard(String username, int frontId, int backId, Side side, Position position) {
+        submit(username, "placeCard", controller -> controller.placeCard(username, frontId, backId, side, position));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void draw(String username, int idToDraw) {
+        submit(username, "draw", controller -> controller.draw(username, idToDraw));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void sendMessage(Message message) {
+        submit(message.getSender(), "sendMessage", controller -> controller.sendMessage(message));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setPlayersNumber(String username, int playersNumber) {
+        submit(username, "setPlayersNumber", controller -> controller.setPlayersNumber(username, playersNumber));
+    }
+
+    private void submit(String username, String operation, Consumer<Controller> command) {
+        GameEventLoop loop = loopOfUser.get(username);
+        if (loop != null) {
+            loop.submit(operation, command);
+        }
+    }
+}
@@ -28,6 +28,8 @@ public class DeserializationHandler<T> {
         this.builder = new GsonBuilder().enableComplexMapKeySerialization();
         // registry the adapter to deal with Interfaces.
         builder.registerTypeAdapter(CalculatePoints.class, new InterfaceAdaptor<>());
+        // the deserialized cards are shared, hence their maps are read-only
+        builder.registerTypeAdapterFactory(new ReadOnlyMapAdapterFactory());
         gson = builder.create();
     }
 
@@ -0,0 +1,45 @@
+package it.polimi.ingsw.jsondeserializer;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Custom adapter factory making the maps deserialized read-only.
+ * The deserialized cards are shared by all the games, hence their maps, e.g. the corners of a face, can't be modified.
+ * Only the values declared as <code>Map</code> are wrapped, since an unmodifiable view can't be assigned to a
+ * concrete map type.
+ */
+public class ReadOnlyMapAdapterFactory implements TypeAdapterFactory {
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        if (type.getRawType() != Map.class) {
+            return null;
+        }
+        TypeAdapter<T> delegate = gson.getDelegateAdapter(this, type);
+        return new TypeAdapter<>() {
+            @Override
+            public void write(JsonWriter out, T value) throws IOException {
+                delegate.write(out, value);
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public T read(JsonReader in) throws IOException {
+                T map = delegate.read(in);
+                return map == null ? null : (T) Collections.unmodifiableMap((Map<?, ?>) map);
+            }
+        };
+    }
+}
@@ -8,6 +8,8 @@ import it.polimi.ingsw.model.card.color.InvalidColorException;
 import it.polimi.ingsw.model.card.color.PlayerColor;
 import it.polimi.ingsw.model.chat.ChatDatabase;
 import it.polimi.ingsw.model.gamephase.GamePhase;
+import it.polimi.ingsw.model.listenerhandler.Broadcaster;
+import it.polimi.ingsw.model.listenerhandler.EventLog;
 import it.polimi.ingsw.model.listenerhandler.ListenerHandler;
 import it.polimi.ingsw.model.loader.CardsLoader;
 import it.polimi.ingsw.model.lobby.InvalidUsernameException;
@@ -56,6 +58,10 @@ public class Game {
     private PhaseHandler phaseHandler;
 
     public static final int MAX_DELAY_FOR_SUSPENDED_GAME = 120000;
+    /**
+     * The number of broadcast updates kept to bring a rejoining player up to date without sending the whole game.
+     */
+    public static final int EVENT_LOG_CAPACITY = 256;
 
     private ListenerHandler<GameListener> listenerHandler;
 
@@ -77,15 +83,17 @@ public class Game {
 
     /**
      * Load all kind of cards to the game.
+     *
+     * @param random the source of the order of the decks.
      */
-    private void loadCards() {
-        this.resourceCards = new Deck<>(CardsLoader.getResourceCards());
+    private void loadCards(Random random) {
+        this.resourceCards = new Deck<>(CardsLoader.getResourceCards(), random);
 
-        this.goldenCards = new Deck<>(CardsLoader.getGoldenCards());
+        this.goldenCards = new Deck<>(CardsLoader.getGoldenCards(), random);
 
-        this.starterCards = new Deck<>(CardsLoader.getStarterCards());
+        this.starterCards = new Deck<>(CardsLoader.getStarterCards(), random);
 
-        this.objectiveCards = new Deck<>(CardsLoader.getObjectiveCards());
+        this.objectiveCards = new Deck<>(CardsLoader.getObjectiveCards(), random);
     }
 
     /**
@@ -121,14 +129,39 @@ public class Game {
      * Creates game based on the lobby
      */
     public Game(List<String> validUsernames) {
+        this(validUsernames, new Random());
+    }
+
+    /**
+     * Creates game based on the lobby, whose decks and order of the players are drawn from <code>random</code>: a
+     * seeded <code>random</code> deals the same game every time.
+     *
+     * @param validUsernames the usernames of the players.
+     * @param random         the source of the order of the decks and of the players.
+     */
+    public Game(List<String> validUsernames, Random random) {
+        this(validUsernames, (recipients, notifier) -> recipients.forEach(notifier::sendUpdate), random);
+    }
+
+    /**
+     * Creates game based on the lobby, whose broadcast updates are delivered by the <code>broadcaster</code>.
+     *
+     * @param validUsernames the usernames of the players.
+     * @param broadcaster    the strategy delivering an update to all the listeners of the game.
+     */
+    public Game(List<String> validUsernames, Broadcaster<GameListener> broadcaster) {
+        this(validUsernames, broadcaster, new Random());
+    }
+
+    private Game(List<String> validUsernames, Broadcaster<GameListener> broadcaster, Random random) {
         loadAvailableColors();
-        loadCards();
+        loadCards(random);
         try {
             players = new ArrayList<>();
             for (String username : validUsernames) {
                 players.add(createPlayer(username));
             }
-            Collections.shuffle(players);
+            Collections.shuffle(players, random);
 
             faceUpCards = new ArrayList<>();
             for (int i = 0; i < 4; ++i) {
@@ -150,7 +183,7 @@ public class Game {
         isActive = true;
         chatDatabase = new ChatDatabase();
         phaseHandler = new PhaseHandler(validUsernames.size());
-        listenerHandler = new ListenerHandler<>();
+        this.listenerHandler = new ListenerHandler<>(broadcaster, new EventLog<>(EVENT_LOG_CAPACITY));
     }
 
     // methods
@@ -247,6 +280,17 @@ public class Game {
         return availableColors;
     }
 
+    /**
+     * Checks whether <code>username</code> is one of the players the game has been created with, regardless of their
+     * network status.
+     *
+     * @param username of the player.
+     * @return true if the <code>username</code> belongs to a player of the game, false otherwise.
+     */
+    public boolean hasPlayer(String username) {
+        return validUsernames.contains(username);
+    }
+
     /**
      * Adds a <code>client</code> to the game.
      *
@@ -256,6 +300,21 @@ public class Game {
      *                                  is already connected in the game.
      */
     public void add(String username, GameListener client) throws InvalidUsernameException {
+        add(username, client, EventLog.NO_SEQUENCE_NUMBER);
+    }
+
+    /**
+     * Adds a <code>client</code> to the game.
+     * A client that has already received updates from this game is sent only the updates it has missed, if they are
+     * still available; otherwise it receives the whole representation of the game.
+     *
+     * @param username           of the player.
+     * @param client             to add.
+     * @param lastSequenceNumber of the last update received by the client, {@link EventLog#NO_SEQUENCE_NUMBER} if none.
+     * @throws InvalidUsernameException if the game has started but the <code>username</code> wasn't registered or if it
+     *                                  is already connected in the game.
+     */
+    public void add(String username, GameListener client, long lastSequenceNumber) throws InvalidUsernameException {
         // only previously connected users can join the game
         if (!validUsernames.contains(username)) {
             throw new InvalidUsernameException("The game is already started and there are no players registered with the username " + username);
@@ -271,9 +330,11 @@ public class Game {
 
         listenerHandler.notify(username, receiver -> receiver.resultOfLogin(true,""));
 
-        //   System.out.println("Notify the game representation.\tIsActive = " + isActive);
-        ClientGame clientRepresentationOfTheGame = new ClientGame(this);
-        listenerHandler.notify(username, receiver -> receiver.updateAfterConnection(clientRepresentationOfTheGame));
+        // the client catches up with the updates it missed, if they're still logged
+        if (!listenerHandler.replay(username, lastSequenceNumber)) {
+            ClientGame clientRepresentationOfTheGame = new ClientGame(this);
+            listenerHandler.notify(username, receiver -> receiver.updateAfterConnection(clientRepresentationOfTheGame));
+        }
 
         if (!isActive && getListOfActivePlayers().size() > 1) {
             System.out.println("Game is active after being suspended");
@@ -284,6 +345,15 @@ public class Game {
         listenerHandler.notifyBroadcast(receiver -> receiver.showUpdatePlayerStatus(true, username));
     }
 
+    /**
+     * Returns the sequence number of the last update broadcast to the players.
+     *
+     * @return the sequence number of the last update.
+     */
+    public long getLastSequenceNumber() {
+        return listenerHandler.getLastSequenceNumber();
+    }
+
     /**
      * Removes a <code>username</code> from the game and suspends the game if the number of players is less than two.
      *
@@ -357,16 +427,18 @@ public class Game {
             Position starterPosition = new Position(0, 0);
             Playground playground = player.getPlayground();
             Map<Position, CornerPosition> cornersBeingCovered = new HashMap<>(playground.getCornersBeingCoveredByTheTileAt(starterPosition));
-            List<Position> availablePositions = new ArrayList<>(playground.getAvailablePositions());
-            Map<Symbol, Integer> resources = new HashMap<>(playground.getResources());
-            Card starter = player.getStarter();
+            List<Position> addedAvailablePositions = playground.getLastAddedAvailablePositions();
+            List<Position> removedAvailablePositions = playground.getLastRemovedAvailablePositions();
+            Map<Symbol, Integer> changedResources = playground.getLastChangedResources();
+            ClientCard placedStarter = new ClientCard(player.getStarter());
             listenerHandler.notifyBroadcast(receiver -> receiver.showUpdateAfterPlace(
                     cornersBeingCovered,
-                    availablePositions,
-                    resources,
+                    addedAvailablePositions,
+                    removedAvailablePositions,
+                    changedResources,
                     0,
                     username,
-                    new ClientCard(starter),
+                    placedStarter,
                     side,
                     starterPosition
             ));
@@ -477,17 +549,20 @@ public class Game {
 
         Playground playground = currentPlayer.getPlayground();
         Map<Position, CornerPosition> cornersBeingCovered = new HashMap<>(playground.getCornersBeingCoveredByTheTileAt(position));
-        List<Position> availablePositions = new ArrayList<>(playground.getAvailablePositions());
-        Map<Symbol, Integer> resources = new HashMap<>(playground.getResources());
+        List<Position> addedAvailablePositions = playground.getLastAddedAvailablePositions();
+        List<Position> removedAvailablePositions = playground.getLastRemovedAvailablePositions();
+        Map<Symbol, Integer> changedResources = playground.getLastChangedResources();
         int score = currentPlayer.getPoints();
+        ClientCard placedCard = new ClientCard(card);
 
         listenerHandler.notifyBroadcast(receiver -> receiver.showUpdateAfterPlace(
                 cornersBeingCovered,
-                availablePositions,
-                resources,
+                addedAvailablePositions,
+                removedAvailablePositions,
+                changedResources,
                 score,
                 username,
-                new ClientCard(card),
+                placedCard,
                 side,
                 position
         ));
@@ -547,9 +622,11 @@ public class Game {
         }
 
         Card top = deck.getTop();
+        ClientCard drawnCard = new ClientCard(newCard);
+        ClientFace newTopDeck = top == null ? null : new ClientFace(top.getFace(Side.BACK));
         listenerHandler.notifyBroadcast(receiver -> receiver.showUpdateAfterDraw(
-                new ClientCard(newCard),
-                top == null ? null : new ClientFace(top.getFace(Side.BACK)),
+                drawnCard,
+                newTopDeck,
                 null,
                 username,
                 convertDeckTypeIntoId(deckType)));
@@ -622,10 +699,13 @@ public class Game {
 
         Card top = deckForReplacement.getTop();
         Card faceUpCard = faceUpCards.get(faceUpCardIdx);
+        ClientCard drawnCard = new ClientCard(newCard);
+        ClientFace newTopDeck = top == null ? null : new ClientFace(top.getFace(Side.BACK));
+        ClientCard newFaceUpCard = faceUpCard == null ? null : new ClientCard(faceUpCard);
         listenerHandler.notifyBroadcast(receiver -> receiver.showUpdateAfterDraw(
-                new ClientCard(newCard),
-                top == null ? null : new ClientFace(top.getFace(Side.BACK)),
-                faceUpCard == null ? null : new ClientCard(faceUpCard),
+                drawnCard,
+                newTopDeck,
+                newFaceUpCard,
                 username, faceUpCardIdx));
         GamePhase currPhase = phase;
         listenerHandler.notifyBroadcast(receiver -> receiver.showUpdateCurrentPlayer(currentPlayerIdx, currPhase));
@@ -720,19 +800,16 @@ public class Game {
      *
      * @return the list of players' name winning the game (they can be more than one in case of a tie).
      */
-    private List<String> getWinners() {
+    public List<String> getWinners() {
         if (phase != GamePhase.End) {
             System.err.println("Error: game not finished yet");
         }
 
-        int maxPointNormalTurns = 29;
         int maxPoints = -1;
         List<Player> winners = new ArrayList<>();
 
         for (Player player : players) {
-            int finalPoints = min(maxPointNormalTurns, player.getPoints()) +
-                    player.calculateExtraPoints(commonObjects) +
-                    player.calculateExtraPoints(player.getObjectives()); // private objective
+            int finalPoints = getFinalPoints(player);
             boolean win = false;
             boolean tie = false;
 
@@ -761,6 +838,18 @@ public class Game {
         return winners.stream().map(Player::getUsername).toList();
     }
 
+    /**
+     * Returns the points of the <code>player</code> at the end of the game: the points of the placed cards, up to the
+     * maximum reachable in the normal turns, and the points of the common and private objectives.
+     *
+     * @param player of the game.
+     * @return the final points of the <code>player</code>.
+     */
+    public int getFinalPoints(Player player) {
+        int maxPointNormalTurns = 29;
+        return min(maxPointNormalTurns, player.getPoints()) + player.calculateExtraPoints(commonObjects);
+    }
+
     public void terminateForInactivity() {
         System.err.println("Game is terminated for inactivity");
         phase = GamePhase.End;
@@ -772,11 +861,15 @@ public class Game {
         }
     }
 
+    /**
+     * Returns the back of the card on top of the deck <code>type</code>.
+     *
+     * @param type of the deck.
+     * @return the back of the top card, null if the deck is empty.
+     */
     public Face getTopDeckBack(DeckType type) {
-        if (type == DeckType.GOLDEN) {
-            return goldenCards.getTop().getFace(Side.BACK);
-        }
-        return resourceCards.getTop().getFace(Side.BACK);
+        Card top = type == DeckType.GOLDEN ? goldenCards.getTop() : resourceCards.getTop();
+        return top == null ? null : top.getFace(Side.BACK);
     }
 
     /**
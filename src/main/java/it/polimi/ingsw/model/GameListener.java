@@ -61,20 +61,20 @@ public interface GameListener {
 
     /**
      * Method used to show updated information after a place.
-     * The two list positions and tiles represent every new available tile added after the last place invocation
-     * symbols and total amount represents the new resources added after the last place invocation
-     * consider both couples like maps.
+     * Only the changes made by the placement are sent: the available positions added and removed and the
+     * resources whose amount changed.
      *
      * @param positionToCornerCovered a map with the covered corners.
-     * @param newAvailablePositions   a list with every new available tile added after the last placement.
-     * @param newResources            the new resources added after the last placement.
+     * @param addedAvailablePositions   a list with every available tile added by the placement.
+     * @param removedAvailablePositions a list with every tile that stopped being available with the placement.
+     * @param changedResources          the resources whose amount changed with the placement, with their new amount.
      * @param points                  the points present after the placement.
      * @param username                the username of the player.
      * @param placedCard              the card that has been placed.
      * @param placedSide              the side of the card that has been placed.
      * @param position                the position of the card in the playground.
      */
-    void showUpdateAfterPlace(Map<Position, CornerPosition> positionToCornerCovered, List<Position> newAvailablePositions, Map<Symbol, Integer> newResources, int points, String username, ClientCard placedCard, Side placedSide, Position position);
+    void showUpdateAfterPlace(Map<Position, CornerPosition> positionToCornerCovered, List<Position> addedAvailablePositions, List<Position> removedAvailablePositions, Map<Symbol, Integer> changedResources, int points, String username, ClientCard placedCard, Side placedSide, Position position);
 
     /**
      * Method used to notify the update after a draw.
@@ -3,7 +3,6 @@ package it.polimi.ingsw.model.board;
 import it.polimi.ingsw.model.card.*;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * Representation of the player's playground.
@@ -12,13 +11,36 @@ import java.util.stream.Collectors;
  */
 
 public class Playground {
-    private final Map<Position, Tile> area;
+    private final TileMap area;
     private int points;
-    private final Map<Symbol, Integer> resources;
+    private static final Symbol[] SYMBOLS = Symbol.values();
+
+    /**
+     * The amount of each resource owned by the player, indexed by the ordinal of its symbol.
+     */
+    private final int[] resources;
     /**
      * <code>positioningOrder</code> list contains the positions of the tiles in order of placement.
      */
     List<Position> positioningOrder;
+    /**
+     * The positions of the empty tiles, kept up to date by the placements: each empty tile knows its index in the
+     * list, so that it's removed in constant time by moving the last position in its place.
+     */
+    private final List<Position> availablePositions;
+    /**
+     * The read-only views handed out of the available and the occupied positions: the occupied positions are the
+     * positions in order of placement.
+     */
+    private final List<Position> availablePositionsView;
+    private final List<Position> occupiedPositionsView;
+    /**
+     * The changes made by the last placement: the positions that became available, the ones that stopped being
+     * available and the resources whose amount changed, with their new amount.
+     */
+    private final List<Position> lastAddedAvailablePositions;
+    private final List<Position> lastRemovedAvailablePositions;
+    private final Map<Symbol, Integer> lastChangedResources;
 
 
 
@@ -28,25 +50,34 @@ public class Playground {
     public Playground() {
 
         positioningOrder = new ArrayList<>();
-        this.area = new HashMap<>();
-        Position origin = new Position(0, 0);
+        this.area = new TileMap();
+        this.availablePositions = new ArrayList<>();
+        this.availablePositionsView = Collections.unmodifiableList(availablePositions);
+        this.occupiedPositionsView = Collections.unmodifiableList(positioningOrder);
         Availability s = Availability.EMPTY;
-        area.put(origin, new Tile(s));
+        Tile origin = new Tile(s);
+        area.put(0, 0, origin);
+        addAvailablePosition(origin, new Position(0, 0));
         this.points = 0;
-        this.resources = new HashMap<>();
-        resources.put(Symbol.ANIMAL, 0);
-        resources.put(Symbol.FUNGI, 0);
-        resources.put(Symbol.INKWELL, 0);
-        resources.put(Symbol.INSECT, 0);
-        resources.put(Symbol.PLANT, 0);
-        resources.put(Symbol.MANUSCRIPT, 0);
-        resources.put(Symbol.QUILL, 0);
+        this.resources = new int[SYMBOLS.length];
+        this.lastAddedAvailablePositions = new ArrayList<>();
+        this.lastRemovedAvailablePositions = new ArrayList<>();
+        this.lastChangedResources = new HashMap<>();
 
     }
 
 
+    /**
+     * Returns a copy of the area, from each position to its tile, in the order the tiles have been added.
+     *
+     * @return a map containing the tile at each position of the playground.
+     */
     public Map<Position, Tile> getArea() {
-        return area;
+        Map<Position, Tile> areaCopy = new LinkedHashMap<>();
+        for (int i = 0; i < area.size(); i++) {
+            areaCopy.put(new Position(area.getX(i), area.getY(i)), area.getTile(i));
+        }
+        return areaCopy;
     }
 
     /**
@@ -56,7 +87,18 @@ public class Playground {
      * @return the tile at position pos or null if there isn't a tile in that position.
      */
     public Tile getTile(Position pos) {
-        return area.get(pos);
+        return area.get(pos.getX(), pos.getY());
+    }
+
+    /**
+     * Returns the tile at the coordinates x and y.
+     *
+     * @param x the abscissa of the tile.
+     * @param y the ordinate of the tile.
+     * @return the tile at the coordinates or null if there isn't a tile there.
+     */
+    public Tile getTile(int x, int y) {
+        return area.get(x, y);
     }
 
 
@@ -69,10 +111,11 @@ public class Playground {
      * @return true if the tile at position <code>pos</code> has the same availability as <code>availability</code>.
      */
     public boolean sameAvailability(Position pos, Availability availability) {
-        if (!area.containsKey(pos))
+        if (pos == null)
             return false;
 
-        return area.get(pos).sameAvailability(availability);
+        Tile tile = area.get(pos.getX(), pos.getY());
+        return tile != null && tile.sameAvailability(availability);
     }
 
     /**
@@ -82,7 +125,18 @@ public class Playground {
      * @return true if the playground contains a tile in that position.
      */
     public boolean contains(Position position) {
-        return area.containsKey(position);
+        return area.contains(position.getX(), position.getY());
+    }
+
+    /**
+     * Checks if there is a Tile at the coordinates x and y.
+     *
+     * @param x the abscissa of the Tile to check.
+     * @param y the ordinate of the Tile to check.
+     * @return true if the playground contains a tile at the coordinates.
+     */
+    public boolean contains(int x, int y) {
+        return area.contains(x, y);
     }
 
 
@@ -92,17 +146,36 @@ public class Playground {
      * @return a set which contains all the position in which there's a tile.
      */
     public Set<Position> getAllPositions() {
-        return area.keySet();
+        Set<Position> positions = new LinkedHashSet<>();
+        for (int i = 0; i < area.size(); i++) {
+            positions.add(new Position(area.getX(i), area.getY(i)));
+        }
+        return positions;
     }
 
 
     /**
-     * Returns all the player's resources.
+     * Returns a copy of all the player's resources, to be sent in the messages: use {@link #getResourceCount(Symbol)}
+     * to read the amount of a resource.
      *
      * @return a map containing for each resource symbol the specific amount owned by the player.
      */
     public Map<Symbol, Integer> getResources() {
-        return new HashMap<>(resources);
+        Map<Symbol, Integer> resourcesCopy = new HashMap<>();
+        for (Symbol s : SYMBOLS) {
+            resourcesCopy.put(s, resources[s.ordinal()]);
+        }
+        return resourcesCopy;
+    }
+
+    /**
+     * Returns the amount of the resource owned by the player.
+     *
+     * @param symbol of the resource.
+     * @return the amount of the resource.
+     */
+    public int getResourceCount(Symbol symbol) {
+        return resources[symbol.ordinal()];
     }
 
 
@@ -128,20 +201,73 @@ public class Playground {
 
     /**
      * Returns all the available positions.
+     * The list is a read-only view, which follows the next placements.
      *
      * @return a list containing all the positions stored in the playground associated to an empty tile.
      */
     public List<Position> getAvailablePositions() {
-        return this.area.keySet().stream().filter(x -> this.area.get(x).sameAvailability(Availability.EMPTY)).collect(Collectors.toList());
+        return availablePositionsView;
     }
 
     /**
-     * Returns all the occupied positions.
+     * Returns the positions that became available with the last placement.
+     *
+     * @return a list containing the positions associated to an empty tile since the last placement.
+     */
+    public List<Position> getLastAddedAvailablePositions() {
+        return new ArrayList<>(lastAddedAvailablePositions);
+    }
+
+    /**
+     * Returns the positions that stopped being available with the last placement, including the one of the placed
+     * face.
+     *
+     * @return a list containing the positions no longer associated to an empty tile since the last placement.
+     */
+    public List<Position> getLastRemovedAvailablePositions() {
+        return new ArrayList<>(lastRemovedAvailablePositions);
+    }
+
+    /**
+     * Returns the resources whose amount has been changed by the last placement.
+     *
+     * @return a map containing for each changed resource symbol the amount owned by the player after the placement.
+     */
+    public Map<Symbol, Integer> getLastChangedResources() {
+        return new HashMap<>(lastChangedResources);
+    }
+
+    /**
+     * Returns all the occupied positions, in order of placement.
+     * The list is a read-only view, which follows the next placements.
      *
      * @return a list containing all the positions stored in the playground associated to an occupied tile.
      */
     public List<Position> getOccupiedPositions() {
-        return this.area.keySet().stream().filter(x -> this.area.get(x).sameAvailability(Availability.OCCUPIED)).collect(Collectors.toList());
+        return occupiedPositionsView;
+    }
+
+    private void addAvailablePosition(Tile tile, Position position) {
+        tile.availableIndex = availablePositions.size();
+        availablePositions.add(position);
+    }
+
+    /**
+     * Removes the position of the <code>tile</code>, which stops being empty, from the available positions.
+     *
+     * @param tile whose availability changes.
+     * @return the removed position.
+     */
+    private Position removeAvailablePosition(Tile tile) {
+        int index = tile.availableIndex;
+        Position removed = availablePositions.get(index);
+        Position last = availablePositions.removeLast();
+        if (index < availablePositions.size()) {
+            availablePositions.set(index, last);
+            area.get(last.getX(), last.getY()).availableIndex = index;
+        }
+        tile.availableIndex = -1;
+        return removed;
     }
 
     /**
@@ -151,13 +277,11 @@ public class Playground {
      */
     public Map<Position, CornerPosition> getCornersBeingCoveredByTheTileAt(Position position) {
         Map<Position, CornerPosition> positionToCornerCovered = new HashMap<>();
-        for (CornerPosition cornerPosition : CornerPosition.values()) {
-            Position adjacentPos = getAdjacentPosition(position, cornerPosition);
-            Tile adjacentTile = area.get(adjacentPos);
-            if (adjacentTile.sameAvailability(Availability.OCCUPIED)) {
-                Position diff = Position.diff(position, adjacentPos);
-                assert (CornerPosition.fromPositionToCornerPosition.get(diff) != null);
-                positionToCornerCovered.put(adjacentPos, CornerPosition.fromPositionToCornerPosition.get(diff));
+        for (CornerPosition cornerPosition : CornerPosition.CORNERS) {
+            if (isAdjacentTileOccupied(position.getX(), position.getY(), cornerPosition)) {
+                Position adjacentPos = new Position(position.getX() + cornerPosition.getDx(),
+                        position.getY() + cornerPosition.getDy());
+                positionToCornerCovered.put(adjacentPos, cornerPosition.opposite());
             }
         }
         return positionToCornerCovered;
@@ -167,11 +291,10 @@ public class Playground {
 
         List<Position> adjacentOccupiedPositions = new ArrayList<>();
 
-        for(CornerPosition cornerPosition : CornerPosition.values()){
-            Position adjacentPos = getAdjacentPosition(position, cornerPosition);
-            Tile adjacentTile = area.get(adjacentPos);
-            if (adjacentTile.sameAvailability(Availability.OCCUPIED)) {
-                adjacentOccupiedPositions.add(adjacentPos);
+        for(CornerPosition cornerPosition : CornerPosition.CORNERS){
+            if (isAdjacentTileOccupied(position.getX(), position.getY(), cornerPosition)) {
+                adjacentOccupiedPositions.add(new Position(position.getX() + cornerPosition.getDx(),
+                        position.getY() + cornerPosition.getDy()));
             }
         }
 
@@ -179,13 +302,37 @@ public class Playground {
     }
 
     /**
-     * Gets the adjacent position of <code>pos</code> respect to <code>corner</code>.
-     * @param pos the position from which the adjacent position is returned.
+     * Counts the occupied tiles adjacent to the tile at the coordinates x and y, without allocating.
+     *
+     * @param x the abscissa of the tile.
+     * @param y the ordinate of the tile.
+     * @return the number of adjacent tiles where a face is placed.
+     */
+    public int countAdjacentOccupiedTiles(int x, int y) {
+        int count = 0;
+        for (CornerPosition cornerPosition : CornerPosition.CORNERS) {
+            if (isAdjacentTileOccupied(x, y, cornerPosition)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the tile adjacent to the tile at the coordinates x and y respect to <code>corner</code>.
+     *
+     * @param x      the abscissa of the tile.
+     * @param y      the ordinate of the tile.
      * @param corner the corner of the tile.
-     * @return the position of the tile adjacent to the one at <code>pos</code> respect to <code>corner</code>.
+     * @return the adjacent tile, or null if there isn't a tile there.
      */
-    private Position getAdjacentPosition(Position pos, CornerPosition corner) {
-        return correspondingPosition(pos.getX(), pos.getY(), corner);
+    public Tile getAdjacentTile(int x, int y, CornerPosition corner) {
+        return area.get(x + corner.getDx(), y + corner.getDy());
+    }
+
+    private boolean isAdjacentTileOccupied(int x, int y, CornerPosition corner) {
+        Tile adjacentTile = getAdjacentTile(x, y, corner);
+        return adjacentTile != null && adjacentTile.sameAvailability(Availability.OCCUPIED);
     }
 
     /**
@@ -198,7 +345,10 @@ public class Playground {
      */
     public void placeCard(Face c, Position p) throws UnavailablePositionException, NotEnoughResourcesException {
 
-        if (!this.area.containsKey(p) || !this.area.get(p).sameAvailability(Availability.EMPTY)) {
+        int x = p.getX();
+        int y = p.getY();
+        Tile placementTile = this.area.get(x, y);
+        if (placementTile == null || !placementTile.sameAvailability(Availability.EMPTY)) {
             throw new UnavailablePositionException("This Position it's not available");
         }
 
@@ -207,56 +357,58 @@ public class Playground {
             throw new NotEnoughResourcesException("Insufficient resources");
         }
 
-        int x = p.getX();
-        int y = p.getY();
+        lastAddedAvailablePositions.clear();
+        lastRemovedAvailablePositions.clear();
+        lastChangedResources.clear();
 
         //update the current tile
-        this.area.get(p).setAvailability(Availability.OCCUPIED);
-        this.area.get(p).setFace(c);
-        positioningOrder.add(p);
+        placementTile.setAvailability(Availability.OCCUPIED);
+        placementTile.setFace(c);
+        Position placementPosition = removeAvailablePosition(placementTile);
+        positioningOrder.add(placementPosition);
+        lastRemovedAvailablePositions.add(placementPosition);
 
         CornerPosition corner_pos;
 
         //update for every corner the disposition
-        for (CornerPosition current_corner : CornerPosition.values()) {
-
-            Position pos = correspondingPosition(x, y, current_corner);
-
-            if (this.area.containsKey(pos) && this.area.get(pos).sameAvailability(Availability.OCCUPIED)) {
-                corner_pos = switch (current_corner) { //for each iteration the corner occupied in the card we are covering it is different
-                    //corner_pos represents the occupied corner position in the list
-                    case TOP_LEFT -> //rx low
-                            CornerPosition.LOWER_RIGHT;
-                    case TOP_RIGHT -> //sx low
-                            CornerPosition.LOWER_LEFT;
-                    case LOWER_RIGHT -> //sx high
-                            CornerPosition.TOP_LEFT;
-                    case LOWER_LEFT -> //rx high
-                            CornerPosition.TOP_RIGHT;
-                };
-
-                this.area.get(pos).getFace().getCorners().get(corner_pos).setCovered();
+        for (CornerPosition current_corner : CornerPosition.CORNERS) {
+
+            int adjacentX = x + current_corner.getDx();
+            int adjacentY = y + current_corner.getDy();
+            Tile adjacentTile = this.area.get(adjacentX, adjacentY);
+
+            if (adjacentTile != null && adjacentTile.sameAvailability(Availability.OCCUPIED)) {
+                //for each iteration the corner occupied in the card we are covering it is different
+                corner_pos = current_corner.opposite();
+
+                adjacentTile.coverCorner(corner_pos);
                 // the placement may cover a resource
-                Symbol s = this.area.get(pos).getFace().getCorners().get(corner_pos).getSymbol();
+                Symbol s = adjacentTile.getFace().getCorners().get(corner_pos).getSymbol();
                 if (s != null) {
-                    this.resources.put(s, this.resources.get(s) - 1);
+                    this.resources[s.ordinal()]--;
+                    lastChangedResources.put(s, this.resources[s.ordinal()]);
                 }
             }
 
             if (c.getCorners().containsKey(current_corner)) {
                 // check whether the current position define a new available position
-                if (!this.area.containsKey(pos)) {
-                    this.area.put(pos, new Tile(Availability.EMPTY));
+                if (adjacentTile == null) {
+                    Tile availableTile = new Tile(Availability.EMPTY);
+                    Position availablePosition = new Position(adjacentX, adjacentY);
+                    this.area.put(adjacentX, adjacentY, availableTile);
+                    addAvailablePosition(availableTile, availablePosition);
+                    lastAddedAvailablePositions.add(availablePosition);
                 }
             } else { //this branch it's never followed when the face is a back
-                if (this.area.containsKey(pos)) {
+                if (adjacentTile != null) {
                     // the placement may cause another adjacent corner card to become invalid without covering it.
-                    if (this.area.get(pos).sameAvailability(Availability.EMPTY)) {
-                        this.area.get(pos).setAvailability(Availability.NOTAVAILABLE);
+                    if (adjacentTile.sameAvailability(Availability.EMPTY)) {
+                        adjacentTile.setAvailability(Availability.NOTAVAILABLE);
+                        lastRemovedAvailablePositions.add(removeAvailablePosition(adjacentTile));
                     }
                 } else {
                     // not available position
-                    this.area.put(pos, new Tile(Availability.NOTAVAILABLE));
+                    this.area.put(adjacentX, adjacentY, new Tile(Availability.NOTAVAILABLE));
                 }
             }
         }
@@ -273,9 +425,18 @@ public class Playground {
      * @param f the face containing the resources to add to player's resources.
      */
     private void updateResources(Face f) {
-        Map<Symbol, Integer> x = f.getResources(); //needs to be implemented in face
-        for (Symbol s : x.keySet()) {
-            this.resources.put(s, this.resources.get(s) + x.get(s));
+        // the same resources as f.getResources(), without building the map
+        for (Corner corner : f.getCorners().values()) {
+            Symbol s = corner.getSymbol();
+            if (s != null) {
+                this.resources[s.ordinal()]++;
+                lastChangedResources.put(s, this.resources[s.ordinal()]);
+            }
+        }
+        for (Map.Entry<Symbol, Integer> centerResource : f.getBackCenterResources().entrySet()) {
+            Symbol s = centerResource.getKey();
+            this.resources[s.ordinal()] += centerResource.getValue();
+            lastChangedResources.put(s, this.resources[s.ordinal()]);
         }
     }
 
@@ -287,8 +448,8 @@ public class Playground {
      * @return true if the playground contains enough resource to place te card's face.
      */
     private boolean checkRequirements(Map<Symbol, Integer> req) {
-        for (Symbol s : req.keySet()) {
-            if (this.resources.get(s) < req.get(s)) {
+        for (Map.Entry<Symbol, Integer> requirement : req.entrySet()) {
+            if (this.resources[requirement.getKey().ordinal()] < requirement.getValue()) {
                 return false;
             }
         }
@@ -296,33 +457,6 @@ public class Playground {
     }
 
 
-    /**
-     * Returns the position on the playground associated to the position of a corner on a card's face.
-     *
-     * @param x      the abscissa of face's position.
-     * @param y      the ordinate of face's position.
-     * @param corner the corner position on the card's face.
-     * @return the position in the playground associated to the corner position on the face.
-     */
-    private Position correspondingPosition(int x, int y, CornerPosition corner) {
-
-        int k, j;
-
-        if (corner == CornerPosition.TOP_LEFT || corner == CornerPosition.TOP_RIGHT) {
-            j = y + 1;
-        } else {
-            j = y - 1;
-        }
-
-        if (corner == CornerPosition.TOP_RIGHT || corner == CornerPosition.LOWER_RIGHT) {
-            k = x + 1;
-        } else {
-            k = x - 1;
-        }
-
-        return new Position(k, j);
-    }
-
     /**
      * Returns a string representation of <code>Playground</code>
      *
@@ -330,7 +464,7 @@ public class Playground {
      */
     public String toString() {
 
-        return "Area: \n" + areaToString() + "\n\nResources:\n" + this.resources.toString() + "\n\nScore:\n" + points;
+        return "Area: \n" + areaToString() + "\n\nResources:\n" + getResources() + "\n\nScore:\n" + points;
 
     }
 
@@ -342,8 +476,9 @@ public class Playground {
     private String areaToString() {
         StringBuilder areaString = new StringBuilder();
 
-        for (Position p : this.area.keySet()) {
-            areaString.append("( ").append(p).append(" ) --> ").append(this.area.get(p)).append("\n");
+        for (int i = 0; i < this.area.size(); i++) {
+            areaString.append("( ").append(new Position(area.getX(i), area.getY(i))).append(" ) --> ")
+                    .append(this.area.getTile(i)).append("\n");
         }
 
         return String.valueOf(areaString);
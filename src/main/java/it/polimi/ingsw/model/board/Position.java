@@ -83,7 +83,8 @@ public class Position implements Serializable {
      */
     @Override
     public int hashCode() {
-        return this.x * this.y;
+        // unlike x * y, positions on the axes and symmetric positions don't collide
+        return 31 * this.x + this.y;
     }
     /* the override is needed in order to use position as a key of a map, and check if there's a key in the map with different
     reference, but with the same attributes */
@@ -1,5 +1,6 @@
 package it.polimi.ingsw.model.board;
 
+import it.polimi.ingsw.model.card.CornerPosition;
 import it.polimi.ingsw.model.card.Face;
 
 /**
@@ -10,6 +11,15 @@ public class Tile {
     private Face face;
 
     private Availability availability;
+    /**
+     * The corners of the face covered by the faces placed next to it, as a mask of bits indexed by the ordinal of the
+     * corner position.
+     */
+    private int coveredCorners;
+    /**
+     * The index of the position of the tile among the available positions of its playground, while the tile is empty.
+     */
+    int availableIndex = -1;
 
     public Availability getAvailability() {
         return availability;
@@ -65,6 +75,25 @@ public class Tile {
         this.face = face;
     }
 
+    /**
+     * Checks whether the corner of the face in the tile is covered by another face.
+     *
+     * @param corner the position of the corner.
+     * @return true if the corner is covered, false otherwise.
+     */
+    public boolean isCornerCovered(CornerPosition corner) {
+        return (coveredCorners & (1 << corner.ordinal())) != 0;
+    }
+
+    /**
+     * Covers the corner of the face in the tile.
+     *
+     * @param corner the position of the corner.
+     */
+    void coverCorner(CornerPosition corner) {
+        coveredCorners |= 1 << corner.ordinal();
+    }
+
     /**
      * Returns a string representation of the tile, including its availability and the eventual face placed in it.
      *
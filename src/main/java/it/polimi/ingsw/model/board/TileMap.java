@@ -0,0 +1,169 @@
+package it.polimi.ingsw.model.board;
+
+import java.util.Arrays;
+
+/**
+ * The TileMap class maps the coordinates of a playground to its tiles.
+ * Coordinates are packed in a <code>long</code> and looked up in an open addressing table with linear probing, so that
+ * neither lookups nor insertions allocate a {@link Position}.
+ * Tiles are never removed from a playground, hence the map only grows; its tiles are kept in order of insertion,
+ * which is also the order of iteration.
+ */
+final class TileMap {
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * The packed coordinates and the tiles, in order of insertion.
+     */
+    private long[] keys;
+    private Tile[] tiles;
+    private int size;
+    /**
+     * The open addressing table: each slot holds the index of a tile plus one, or zero if the slot is free.
+     * The table is kept at most half full.
+     */
+    private int[] slots;
+
+    /**
+     * Constructs an empty map.
+     */
+    TileMap() {
+        keys = new long[INITIAL_CAPACITY];
+        tiles = new Tile[INITIAL_CAPACITY];
+        slots = new int[INITIAL_CAPACITY * 2];
+    }
+
+    /**
+     * Packs the coordinates in a key.
+     *
+     * @param x the abscissa.
+     * @param y the ordinate.
+     * @return the key of the coordinates.
+     */
+    static long pack(int x, int y) {
+        return ((long) x << 32) | (y & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Returns the tile at the coordinates.
+     *
+     * @param x the abscissa.
+     * @param y the ordinate.
+     * @return the tile at the coordinates, or null if there isn't a tile there.
+     */
+    Tile get(int x, int y) {
+        int index = indexOf(pack(x, y));
+        return index < 0 ? null : tiles[index];
+    }
+
+    /**
+     * Checks whether there's a tile at the coordinates.
+     *
+     * @param x the abscissa.
+     * @param y the ordinate.
+     * @return true if there's a tile at the coordinates, false otherwise.
+     */
+    boolean contains(int x, int y) {
+        return indexOf(pack(x, y)) >= 0;
+    }
+
+    /**
+     * Puts the tile at the coordinates, replacing the previous one if any.
+     *
+     * @param x    the abscissa.
+     * @param y    the ordinate.
+     * @param tile to put.
+     */
+    void put(int x, int y, Tile tile) {
+        long key = pack(x, y);
+        int mask = slots.length - 1;
+        int slot = mix(key) & mask;
+        while (slots[slot] != 0) {
+            int index = slots[slot] - 1;
+            if (keys[index] == key) {
+                tiles[index] = tile;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        if (size == keys.length) {
+            grow();
+            put(x, y, tile);
+            return;
+        }
+        keys[size] = key;
+        tiles[size] = tile;
+        size++;
+        slots[slot] = size;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns the abscissa of the tile inserted as <code>index</code>-th.
+     *
+     * @param index of insertion of the tile.
+     * @return the abscissa of the tile.
+     */
+    int getX(int index) {
+        return (int) (keys[index] >> 32);
+    }
+
+    /**
+     * Returns the ordinate of the tile inserted as <code>index</code>-th.
+     *
+     * @param index of insertion of the tile.
+     * @return the ordinate of the tile.
+     */
+    int getY(int index) {
+        return (int) keys[index];
+    }
+
+    /**
+     * Returns the tile inserted as <code>index</code>-th.
+     *
+     * @param index of insertion of the tile.
+     * @return the tile.
+     */
+    Tile getTile(int index) {
+        return tiles[index];
+    }
+
+    private int indexOf(long key) {
+        int mask = slots.length - 1;
+        int slot = mix(key) & mask;
+        while (slots[slot] != 0) {
+            int index = slots[slot] - 1;
+            if (keys[index] == key) {
+                return index;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void grow() {
+        keys = Arrays.copyOf(keys, keys.length * 2);
+        tiles = Arrays.copyOf(tiles, tiles.length * 2);
+        slots = new int[keys.length * 2];
+        int mask = slots.length - 1;
+        for (int index = 0; index < size; index++) {
+            int slot = mix(keys[index]) & mask;
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = index + 1;
+        }
+    }
+
+    /**
+     * Spreads the bits of the key, since neighbouring coordinates differ in few low bits.
+     */
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
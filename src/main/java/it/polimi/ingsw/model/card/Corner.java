@@ -4,15 +4,12 @@ import java.io.Serializable;
 import java.util.Objects;
 
 /**
- * Corner represents the corner of a card
+ * Corner represents the corner of a card.
+ * Corners are immutable, since the loaded cards are shared by all the games: whether a corner is covered depends on
+ * the placement, and it's kept by the {@link it.polimi.ingsw.model.board.Tile} where the card is placed.
  */
 public class Corner implements Serializable {
 
-    /**
-     * Specifies whether the corner is covered or not.
-     */
-    private boolean isCovered;
-
     /**
      * Specifies the symbol that is present in the corner.
      */
@@ -22,7 +19,6 @@ public class Corner implements Serializable {
      * Constructs a corner with no parameters provided.
      */
     public Corner() {
-        this.isCovered = false;
         this.symbol = null;
     }
 
@@ -33,7 +29,6 @@ public class Corner implements Serializable {
      * @param symbol of the corner.
      */
     public Corner(Symbol symbol) {
-        this.isCovered = false;
         this.symbol = symbol;
     }
 
@@ -46,34 +41,13 @@ public class Corner implements Serializable {
         return symbol;
     }
 
-    /**
-     * Returns true if the corner is covered, false otherwise
-     *
-     * @return a boolean depending on the situation of the corner
-     */
-    public boolean isCovered() {
-        return isCovered;
-    }
-
-    /**
-     * Change the state of the corner to 'covered'
-     */
-    public void setCovered() {
-        this.isCovered = true;
-    }
-
-
     /**
      * Facilitates the deserialization of the cards.
      *
-     * @return "covered" if the corner is covered,"empty corner" if the corner is empty and the symbol that is present
-     * in the corner otherwise.
+     * @return "empty corner" if the corner is empty and the symbol that is present in the corner otherwise.
      */
     @Override
     public String toString() {
-        if (this.isCovered) {
-            return " Covered ";
-        }
         if (symbol == null) {
             return " EmptyCorner";
         }
@@ -91,7 +65,7 @@ public class Corner implements Serializable {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Corner corner = (Corner) o;
-        return isCovered == corner.isCovered && symbol == corner.symbol;
+        return symbol == corner.symbol;
     }
 
     /**
@@ -103,6 +77,6 @@ public class Corner implements Serializable {
      */
     @Override
     public int hashCode() {
-        return Objects.hash(isCovered, symbol);
+        return Objects.hashCode(symbol);
     }
 }
@@ -11,19 +11,59 @@ public enum CornerPosition {
     /**
      * Top Left, refers to the top left corner of the card.
      */
-    TOP_LEFT,
+    TOP_LEFT(-1, 1),
     /**
      * Top right, refers to top right corner of the card.
      */
-    TOP_RIGHT,
+    TOP_RIGHT(1, 1),
     /**
      * Lower right, refers to the lower right corner of the card.
      */
-    LOWER_RIGHT,
+    LOWER_RIGHT(1, -1),
     /**
      * Lower left, refers to the lower left corner of the card.
      */
-    LOWER_LEFT;
+    LOWER_LEFT(-1, -1);
+
+    /**
+     * The corner positions, in the order of declaration: unlike <code>values()</code>, the array isn't copied on each
+     * access, hence it must not be modified.
+     */
+    public static final CornerPosition[] CORNERS = values();
+
+    /**
+     * The offsets of the tile adjacent to the corner from the tile of the card: the same as
+     * {@link Position#getOffsets()}.
+     */
+    private final int dx;
+    private final int dy;
+
+    CornerPosition(int dx, int dy) {
+        this.dx = dx;
+        this.dy = dy;
+    }
+
+    public int getDx() {
+        return dx;
+    }
+
+    public int getDy() {
+        return dy;
+    }
+
+    /**
+     * Returns the corner of the adjacent card that this corner covers, or is covered by.
+     *
+     * @return the opposite corner.
+     */
+    public CornerPosition opposite() {
+        return switch (this) {
+            case TOP_LEFT -> LOWER_RIGHT;
+            case TOP_RIGHT -> LOWER_LEFT;
+            case LOWER_RIGHT -> TOP_LEFT;
+            case LOWER_LEFT -> TOP_RIGHT;
+        };
+    }
 
     public static Map<Position, CornerPosition> fromPositionToCornerPosition;
     public static Map<CornerPosition, Position> fromCornerPositionToPosition;
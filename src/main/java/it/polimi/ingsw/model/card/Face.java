@@ -109,7 +109,7 @@ abstract public class Face {
      * @return empty map: by default a face has no required resources.
      */
     public Map<Symbol, Integer> getRequiredResources() {
-        return new HashMap<>();
+        return Map.of();
     }
 
     /**
@@ -128,7 +128,7 @@ abstract public class Face {
     public abstract Condition getCondition();
 
     public Map<Symbol, Integer> getBackCenterResources(){
-        return new HashMap<>();
+        return Map.of();
     }
 
     /**
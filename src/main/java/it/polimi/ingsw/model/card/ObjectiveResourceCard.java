@@ -40,13 +40,8 @@ public final class ObjectiveResourceCard extends ObjectiveCard {
         assert !condition.isEmpty();
 
         int min = Integer.MAX_VALUE;
-        for(Symbol s : condition.keySet()) {
-            if(playground.getResources().containsKey(s)){
-                min = Math.min(min , playground.getResources().get(s) / condition.get(s));
-            }
-            else{
-                return 0;
-            }
+        for(Map.Entry<Symbol, Integer> required : condition.entrySet()) {
+            min = Math.min(min , playground.getResourceCount(required.getKey()) / required.getValue());
         }
         return multiplier * min;
     }
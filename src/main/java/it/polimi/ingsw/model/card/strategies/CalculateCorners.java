@@ -1,10 +1,7 @@
 package it.polimi.ingsw.model.card.strategies;
 
-import it.polimi.ingsw.model.board.Availability;
 import it.polimi.ingsw.model.board.Playground;
 import it.polimi.ingsw.model.board.Position;
-import it.polimi.ingsw.model.card.CornerPosition;
-import it.polimi.ingsw.model.card.Symbol;
 
 /**
  * Strategy used for golden cards that add points based on number of corners covered after it's placement
@@ -21,7 +18,7 @@ public class CalculateCorners implements CalculatePoints {
     @Override
     public int calculatePoints(Position pos, Playground playground) {
         int multiplier = playground.getTile(pos).getFace().getScore();
-        int count = playground.getAdjacentOccupiedPositions(pos).size();
+        int count = playground.countAdjacentOccupiedTiles(pos.getX(), pos.getY());
         return count * multiplier;
     }
 
@@ -26,8 +26,9 @@ public class CalculateResources implements CalculatePoints {
         int multiplier = playground.getTile(pos).getFace().getScore();
         int result = 0;
 
-        if (playground.getResources().containsKey(conditionSymbolConversion(calculatorCondition))) {
-            return playground.getResources().get(conditionSymbolConversion(calculatorCondition)) * multiplier;
+        Symbol conditionSymbol = conditionSymbolConversion(calculatorCondition);
+        if (conditionSymbol != null) {
+            return playground.getResourceCount(conditionSymbol) * multiplier;
         }
 
         return result;
@@ -20,9 +20,19 @@ import java.util.*;
 public class Deck<T> {
 
     /**
-     * Represents a deck of all types of cards.
+     * The cards of the deck, which are never modified since the loaded cards are shared by all the games.
      */
-    private final Stack<T> deck;
+    private final List<T> cards;
+    /**
+     * The cards added to the deck that aren't among the <code>cards</code>: their index follows the ones of the
+     * <code>cards</code>.
+     */
+    private final List<T> addedCards;
+    /**
+     * The indexes of the cards in the deck, the top of the deck last.
+     */
+    private int[] order;
+    private int size;
 
 
     /**
@@ -31,7 +41,13 @@ public class Deck<T> {
      * @param deck of cards.
      */
     public Deck(Stack<T> deck) {
-        this.deck = deck;
+        this.cards = deck;
+        this.addedCards = new ArrayList<>();
+        this.size = deck.size();
+        this.order = new int[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
     }
 
 
@@ -41,9 +57,31 @@ public class Deck<T> {
      * @param list of cards.
      */
     public Deck(List<T> list) {
-        Collections.shuffle(list);
-        deck = new Stack<>();
-        deck.addAll(list);
+        this(list, new Random());
+    }
+
+    /**
+     * Constructs a deck of any kind of cards using the list of cards provided, shuffled by <code>random</code>.
+     * The list is neither copied nor modified: the deck shuffles the indexes of its cards.
+     *
+     * @param list   of cards.
+     * @param random the source of the order of the cards.
+     */
+    public Deck(List<T> list, Random random) {
+        this.cards = list;
+        this.addedCards = new ArrayList<>();
+        this.size = list.size();
+        this.order = new int[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        // the same swaps as Collections.shuffle
+        for (int i = size; i > 1; i--) {
+            int j = random.nextInt(i);
+            int swapped = order[i - 1];
+            order[i - 1] = order[j];
+            order[j] = swapped;
+        }
     }
 
     /**
@@ -53,11 +91,16 @@ public class Deck<T> {
      * @throws EmptyDeckException if the deck is empty.
      */
     public T draw() throws EmptyDeckException {
-        if (deck.isEmpty()) {
+        if (size == 0) {
             throw new EmptyDeckException("EMPTY DECK");
         }
 
-        return deck.pop();
+        size--;
+        return cardAt(order[size]);
+    }
+
+    private T cardAt(int index) {
+        return index < cards.size() ? cards.get(index) : addedCards.get(index - cards.size());
     }
 
     /**
@@ -94,7 +137,7 @@ public class Deck<T> {
     }
 
     public T getTop() {
-        return deck.isEmpty() ? null : deck.peek();
+        return size == 0 ? null : cardAt(order[size - 1]);
     }
 
     /**
@@ -103,7 +146,7 @@ public class Deck<T> {
      * @return true if the deck is empty, false otherwise.
      */
     public boolean isEmpty() {
-        return deck.isEmpty();
+        return size == 0;
     }
 
     /**
@@ -112,6 +155,10 @@ public class Deck<T> {
      * @param obj referring to any type of card.
      */
     public void add(T obj) {
-        deck.push(obj);
+        if (size == order.length) {
+            order = Arrays.copyOf(order, Math.max(1, 2 * size));
+        }
+        order[size++] = cards.size() + addedCards.size();
+        addedCards.add(obj);
     }
 }
@@ -0,0 +1,21 @@
+package it.polimi.ingsw.model.listenerhandler;
+
+import it.polimi.ingsw.model.notifier.Notifier;
+
+import java.util.Collection;
+
+/**
+ * This interface represents the strategy used by a {@link ListenerHandler} to deliver a notification to all its
+ * listeners.
+ *
+ * @param <ListenerType> the type of the listeners.
+ */
+public interface Broadcaster<ListenerType> {
+    /**
+     * Delivers the update of the <code>notifier</code> to every recipient.
+     *
+     * @param recipients of the update.
+     * @param notifier   the update to deliver.
+     */
+    void broadcast(Collection<ListenerType> recipients, Notifier<ListenerType> notifier);
+}
@@ -0,0 +1,79 @@
+package it.polimi.ingsw.model.listenerhandler;
+
+import it.polimi.ingsw.model.notifier.Notifier;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * EventLog keeps the last notifications broadcast to the listeners, each one numbered with the sequence number following
+ * the one of the previous notification.
+ * A listener that knows the sequence number of the last notification it has received can be brought up to date by
+ * sending it only the notifications that followed, as long as they haven't been evicted from the log.
+ * Sequence numbers of a log start from a random value, so that a number issued by another log, e.g. the one of a
+ * previous game or of a previous run of the server, is very unlikely to fall in the range of this one.
+ */
+public class EventLog<ListenerType> {
+    /**
+     * The sequence number of a listener that has never received a notification.
+     */
+    public static final long NO_SEQUENCE_NUMBER = 0;
+
+    private final int capacity;
+    private final Deque<Notifier<ListenerType>> notifiers;
+    private long lastSequenceNumber;
+
+    /**
+     * Constructs an empty log keeping at most <code>capacity</code> notifications.
+     *
+     * @param capacity the maximum number of notifications kept, the oldest ones are evicted first.
+     */
+    public EventLog(int capacity) {
+        this.capacity = capacity;
+        this.notifiers = new ArrayDeque<>(capacity);
+        this.lastSequenceNumber = (long) ThreadLocalRandom.current().nextInt(1, Integer.MAX_VALUE) << Integer.SIZE;
+    }
+
+    /**
+     * Appends the <code>notifier</code> to the log, evicting the oldest notification if the log is full.
+     *
+     * @param notifier the notification broadcast.
+     * @return the sequence number of the notification.
+     */
+    public long append(Notifier<ListenerType> notifier) {
+        if (capacity > 0) {
+            if (notifiers.size() == capacity) {
+                notifiers.removeFirst();
+            }
+            notifiers.addLast(notifier);
+        }
+        return ++lastSequenceNumber;
+    }
+
+    /**
+     * Returns the sequence number of the last notification appended.
+     *
+     * @return the sequence number of the last notification, or the one preceding the first notification if the log is
+     * empty.
+     */
+    public long getLastSequenceNumber() {
+        return lastSequenceNumber;
+    }
+
+    /**
+     * Returns the notifications following the one with the <code>sequenceNumber</code> provided.
+     *
+     * @param sequenceNumber of the last notification received.
+     * @return the notifications following <code>sequenceNumber</code> in order, or null if some of them have been
+     * evicted or <code>sequenceNumber</code> wasn't issued by this log.
+     */
+    public List<Notifier<ListenerType>> getNotifiersAfter(long sequenceNumber) {
+        long missing = lastSequenceNumber - sequenceNumber;
+        if (sequenceNumber == NO_SEQUENCE_NUMBER || missing < 0 || missing > notifiers.size()) {
+            return null;
+        }
+        return notifiers.stream().skip(notifiers.size() - missing).toList();
+    }
+}
@@ -9,12 +9,36 @@ import java.util.*;
  */
 public class ListenerHandler<ListenerType> {
     private final Map<String, ListenerType> idToListener;
+    private final Broadcaster<ListenerType> broadcaster;
+    private final EventLog<ListenerType> eventLog;
 
     /**
      * Constructs a Listener Handler
      */
     public ListenerHandler() {
+        this((recipients, notifier) -> recipients.forEach(notifier::sendUpdate));
+    }
+
+    /**
+     * Constructs a Listener Handler whose broadcast notifications are delivered by the <code>broadcaster</code>
+     *
+     * @param broadcaster the strategy delivering broadcast notifications
+     */
+    public ListenerHandler(Broadcaster<ListenerType> broadcaster) {
+        this(broadcaster, new EventLog<>(0));
+    }
+
+    /**
+     * Constructs a Listener Handler whose broadcast notifications are delivered by the <code>broadcaster</code> and
+     * recorded in the <code>eventLog</code>
+     *
+     * @param broadcaster the strategy delivering broadcast notifications
+     * @param eventLog    the log of the broadcast notifications
+     */
+    public ListenerHandler(Broadcaster<ListenerType> broadcaster, EventLog<ListenerType> eventLog) {
         idToListener = new HashMap<>();
+        this.broadcaster = broadcaster;
+        this.eventLog = eventLog;
     }
 
     /**
@@ -89,9 +113,36 @@ public class ListenerHandler<ListenerType> {
      * @param notifier with players
      */
     public void notifyBroadcast(Notifier<ListenerType> notifier) {
-        for (Map.Entry<String, ListenerType> entry : idToListener.entrySet()) {
-            sendNotification(entry.getKey(), entry.getValue(), notifier);
+        eventLog.append(notifier);
+        broadcaster.broadcast(idToListener.values(), notifier);
+    }
+
+    /**
+     * Returns the sequence number of the last broadcast notification
+     *
+     * @return the sequence number of the last notification sent to all players
+     */
+    public long getLastSequenceNumber() {
+        return eventLog.getLastSequenceNumber();
+    }
+
+    /**
+     * Sends to a player the broadcast notifications that followed the one with the <code>lastSequenceNumber</code>
+     *
+     * @param username           of the player
+     * @param lastSequenceNumber of the last notification received by the player
+     * @return true if the player has been brought up to date, false if the notifications missing are no longer
+     * available and nothing has been sent
+     */
+    public boolean replay(String username, long lastSequenceNumber) {
+        List<Notifier<ListenerType>> missingNotifiers = eventLog.getNotifiersAfter(lastSequenceNumber);
+        if (missingNotifiers == null) {
+            return false;
+        }
+        for (Notifier<ListenerType> notifier : missingNotifiers) {
+            notify(username, notifier);
         }
+        return true;
     }
 
     /**
@@ -7,7 +7,10 @@ import it.polimi.ingsw.model.card.*;
 import java.io.FileNotFoundException;
 import java.io.InputStreamReader;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Loads cards and give them to the model
@@ -25,6 +28,9 @@ public class CardsLoader {
     private static List<Card> goldenCards;
     private static List<Card> starterCards;
     private static List<ObjectiveCard> objectiveCards;
+    // faces and objective cards by id, to resolve the ids received from the network
+    private static final Map<Integer, Face> facesById;
+    private static final Map<Integer, ObjectiveCard> objectiveCardsById;
 
     static {
         resourceCards = new ArrayList<>();
@@ -59,6 +65,26 @@ public class CardsLoader {
         } catch (FileNotFoundException e) {
             System.err.println("Error: "+ e.getMessage());
         }
+
+        // the cards are shared by all the games, hence they're read-only
+        resourceCards = Collections.unmodifiableList(resourceCards);
+        goldenCards = Collections.unmodifiableList(goldenCards);
+        starterCards = Collections.unmodifiableList(starterCards);
+        objectiveCards = Collections.unmodifiableList(objectiveCards);
+
+        facesById = new HashMap<>();
+        for (List<Card> cards : List.of(resourceCards, goldenCards, starterCards)) {
+            for (Card card : cards) {
+                for (Side side : Side.values()) {
+                    Face face = card.getFace(side);
+                    facesById.put(face.getId(), face);
+                }
+            }
+        }
+        objectiveCardsById = new HashMap<>();
+        for (ObjectiveCard objectiveCard : objectiveCards) {
+            objectiveCardsById.put(objectiveCard.getFrontId(), objectiveCard);
+        }
     }
 
     private static List<Card> createCardList(List<Front> fronts, List<Back> backs) {
@@ -105,4 +131,34 @@ public class CardsLoader {
     public static List<ObjectiveCard> getObjectiveCards() {
         return objectiveCards;
     }
+
+    /**
+     * Returns the face of a card, either front or back, with the <code>id</code> provided.
+     *
+     * @param id of the face.
+     * @return the face with the <code>id</code>.
+     * @throws InvalidCardIdException if no face has such <code>id</code>.
+     */
+    public static Face getFace(int id) throws InvalidCardIdException {
+        Face face = facesById.get(id);
+        if (face == null) {
+            throw new InvalidCardIdException();
+        }
+        return face;
+    }
+
+    /**
+     * Returns the objective card whose front has the <code>frontId</code> provided.
+     *
+     * @param frontId of the objective card.
+     * @return the objective card with the <code>frontId</code>.
+     * @throws InvalidCardIdException if no objective card has such <code>frontId</code>.
+     */
+    public static ObjectiveCard getObjectiveCard(int frontId) throws InvalidCardIdException {
+        ObjectiveCard objectiveCard = objectiveCardsById.get(frontId);
+        if (objectiveCard == null) {
+            throw new InvalidCardIdException();
+        }
+        return objectiveCard;
+    }
 }
@@ -53,8 +53,7 @@ public class Lobby {
             throw new InvalidUsernameException();
         }
 
-        int numListener = listenerHandler.getNumListener();
-        if (numListener == numPlayersToStartTheGame || numListener == MAX_NUMBER) {
+        if (isFull()) {
             throw new FullLobbyException();
         }
 
@@ -70,6 +69,17 @@ public class Lobby {
         listenerHandler.notifyBroadcast(receiver -> receiver.showUpdatePlayersInLobby(usernames));
     }
 
+    /**
+     * Checks whether the lobby can accept other players or not, that is, it contains 4 players or the number chosen
+     * by the creator of the lobby.
+     *
+     * @return true if the lobby is full, false otherwise.
+     */
+    public boolean isFull() {
+        int numListener = listenerHandler.getNumListener();
+        return numListener == numPlayersToStartTheGame || numListener == MAX_NUMBER;
+    }
+
     /**
      * Checks whether the game is ready or not, that is, there's sufficient players to start the game.
      *
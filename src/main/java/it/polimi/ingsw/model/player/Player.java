@@ -330,7 +330,8 @@ public class Player {
     }
 
     /**
-     * Calculates extra points from objective cards.
+     * Calculates extra points from the common objectives and the private objective of the player, updating the number
+     * of satisfied objectives.
      *
      * @param commonObjectives the list of common objectives in the game.
      * @return the extra points reached.
@@ -340,9 +341,11 @@ public class Player {
         assert totalObjectivesInGame.size() == 3;
 
         int extraPoints = 0;
+        numSatisfiedObjectives = 0;
         for (ObjectiveCard objective : totalObjectivesInGame) {
-            extraPoints = objective.calculatePoints(playground);
-            if (extraPoints > 0) {
+            int objectivePoints = objective.calculatePoints(playground);
+            extraPoints += objectivePoints;
+            if (objectivePoints > 0) {
                 ++numSatisfiedObjectives;
             }
         }
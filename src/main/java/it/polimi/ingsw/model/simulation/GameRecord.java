@@ -0,0 +1,48 @@
+package it.polimi.ingsw.model.simulation;
+
+/**
+ * The GameRecord class is the outcome of a simulated game.
+ * Players are listed by seat, that is in the order they play; each seat records the policy of its player, which is
+ * the index of the policy given to the {@link GameSimulator}.
+ */
+public final class GameRecord {
+    private final int[] policies;
+    private final int[] points;
+    private final boolean[] winners;
+    private final int placements;
+
+    /**
+     * Constructs the record of a game.
+     *
+     * @param policies   the index of the policy of the player of each seat.
+     * @param points     the final points of each seat.
+     * @param winners    whether the player of each seat has won, more than one in case of a tie.
+     * @param placements the number of cards placed after the setup.
+     */
+    GameRecord(int[] policies, int[] points, boolean[] winners, int placements) {
+        this.policies = policies;
+        this.points = points;
+        this.winners = winners;
+        this.placements = placements;
+    }
+
+    public int getNumPlayers() {
+        return points.length;
+    }
+
+    public int getPolicy(int seat) {
+        return policies[seat];
+    }
+
+    public int getPoints(int seat) {
+        return points[seat];
+    }
+
+    public boolean isWinner(int seat) {
+        return winners[seat];
+    }
+
+    public int getPlacements() {
+        return placements;
+    }
+}
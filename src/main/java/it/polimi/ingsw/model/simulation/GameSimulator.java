@@ -0,0 +1,200 @@
+package it.polimi.ingsw.model.simulation;
+
+import it.polimi.ingsw.model.Game;
+import it.polimi.ingsw.model.InvalidGamePhaseException;
+import it.polimi.ingsw.model.NonexistentPlayerException;
+import it.polimi.ingsw.model.SuspendedGameException;
+import it.polimi.ingsw.model.board.Playground;
+import it.polimi.ingsw.model.board.Position;
+import it.polimi.ingsw.model.card.Card;
+import it.polimi.ingsw.model.card.EmptyDeckException;
+import it.polimi.ingsw.model.card.InvalidFaceUpCardException;
+import it.polimi.ingsw.model.card.Side;
+import it.polimi.ingsw.model.card.Symbol;
+import it.polimi.ingsw.model.card.color.InvalidColorException;
+import it.polimi.ingsw.model.card.color.PlayerColor;
+import it.polimi.ingsw.model.deck.DeckType;
+import it.polimi.ingsw.model.gamephase.GamePhase;
+import it.polimi.ingsw.model.player.InvalidPlayerActionException;
+import it.polimi.ingsw.model.player.Player;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * The GameSimulator class plays whole games on the {@link Game}, without network and without listeners: every player
+ * is driven by a {@link Policy}.
+ * The setup choices are random, the colors are assigned by seat. A game is fully determined by its seed, so that any
+ * game of a simulation can be replayed.
+ * A simulator keeps no state between games, hence it plays games on many threads at once.
+ */
+public class GameSimulator {
+    /**
+     * The id of a draw from the golden deck; ids from 0 to 3 are the face up cards.
+     */
+    public static final int GOLDEN_DECK = 4;
+    /**
+     * The id of a draw from the resource deck.
+     */
+    public static final int RESOURCE_DECK = 5;
+    private static final int NUM_FACE_UP_CARDS = 4;
+    private static final List<PlayerColor> COLORS =
+            List.of(PlayerColor.RED, PlayerColor.BLUE, PlayerColor.GREEN, PlayerColor.YELLOW);
+
+    private final List<Policy> policies;
+    private final List<String> usernames;
+
+    /**
+     * Constructs a simulator of games among as many players as the <code>policies</code>.
+     *
+     * @param policies the policy of each player, from two to four.
+     * @throws IllegalArgumentException if the number of players isn't valid.
+     */
+    public GameSimulator(List<Policy> policies) {
+        if (policies.size() < 2 || policies.size() > COLORS.size()) {
+            throw new IllegalArgumentException("A game has from 2 to " + COLORS.size() + " players");
+        }
+        this.policies = List.copyOf(policies);
+        this.usernames = new ArrayList<>();
+        for (int i = 0; i < policies.size(); i++) {
+            usernames.add("player" + i);
+        }
+    }
+
+    public int getNumPlayers() {
+        return policies.size();
+    }
+
+    /**
+     * Plays a whole game.
+     *
+     * @param seed of the game: the same seed plays the same game.
+     * @return the outcome of the game.
+     * @throws IllegalStateException if a player can't make a legal move, which ends the game early.
+     */
+    public GameRecord play(long seed) {
+        Random random = new Random(seed);
+        Game game = new Game(usernames, random);
+        List<Player> seats = game.getPlayers();
+        try {
+            setUp(game, seats, random);
+            int placements = 0;
+            while (!game.isFinished()) {
+                Player player = game.getCurrentPlayer();
+                Policy policy = policyOf(player);
+                GamePhase phase = game.getPhase();
+                if (phase == GamePhase.PlaceNormal || phase == GamePhase.PlaceAdditional) {
+                    Placement placement = policy.choosePlacement(player, random);
+                    game.placeCard(player.getUsername(), placement.getCard(), placement.getSide(), placement.getPosition());
+                    placements++;
+                } else if (phase == GamePhase.DrawNormal) {
+                    draw(game, player, policy.chooseDraw(game, player, legalDraws(game), random));
+                } else {
+                    throw new IllegalStateException("The game can't go on in phase " + phase);
+                }
+            }
+            return record(game, seats, placements);
+        } catch (InvalidPlayerActionException | InvalidGamePhaseException | SuspendedGameException |
+                 InvalidColorException | NonexistentPlayerException | EmptyDeckException | InvalidFaceUpCardException |
+                 Playground.UnavailablePositionException | Playground.NotEnoughResourcesException e) {
+            throw new IllegalStateException("Illegal move in the game of seed " + seed + ": " + e, e);
+        }
+    }
+
+    private void setUp(Game game, List<Player> seats, Random random)
+            throws InvalidPlayerActionException, InvalidGamePhaseException, InvalidColorException,
+            NonexistentPlayerException {
+        // the game skips the turns of disconnected players
+        for (Player player : seats) {
+            player.setNetworkStatus(true);
+        }
+        for (int seat = 0; seat < seats.size(); seat++) {
+            String username = seats.get(seat).getUsername();
+            game.placeStarter(username, random.nextBoolean() ? Side.FRONT : Side.BACK);
+            game.assignColor(username, COLORS.get(seat));
+            game.placeObjectiveCard(username, random.nextInt(2));
+        }
+    }
+
+    private Policy policyOf(Player player) {
+        return policies.get(usernames.indexOf(player.getUsername()));
+    }
+
+    private static List<Integer> legalDraws(Game game) {
+        List<Integer> draws = new ArrayList<>();
+        List<Card> faceUpCards = game.getFaceUpCards();
+        for (int i = 0; i < NUM_FACE_UP_CARDS; i++) {
+            if (faceUpCards.get(i) != null) {
+                draws.add(i);
+            }
+        }
+        if (game.getTopDeckBack(DeckType.GOLDEN) != null) {
+            draws.add(GOLDEN_DECK);
+        }
+        if (game.getTopDeckBack(DeckType.RESOURCE) != null) {
+            draws.add(RESOURCE_DECK);
+        }
+        if (draws.isEmpty()) {
+            throw new IllegalStateException("There's no card left to draw");
+        }
+        return draws;
+    }
+
+    private static void draw(Game game, Player player, int draw) throws InvalidPlayerActionException,
+            InvalidGamePhaseException, EmptyDeckException, InvalidFaceUpCardException {
+        if (draw == GOLDEN_DECK) {
+            game.drawFromDeck(player.getUsername(), DeckType.GOLDEN);
+        } else if (draw == RESOURCE_DECK) {
+            game.drawFromDeck(player.getUsername(), DeckType.RESOURCE);
+        } else {
+            game.drawFromFaceUpCards(player.getUsername(), draw);
+        }
+    }
+
+    private GameRecord record(Game game, List<Player> seats, int placements) {
+        List<String> winners = game.getWinners();
+        int[] seatPolicies = new int[seats.size()];
+        int[] points = new int[seats.size()];
+        boolean[] isWinner = new boolean[seats.size()];
+        for (int seat = 0; seat < seats.size(); seat++) {
+            Player player = seats.get(seat);
+            seatPolicies[seat] = usernames.indexOf(player.getUsername());
+            points[seat] = game.getFinalPoints(player);
+            isWinner[seat] = winners.contains(player.getUsername());
+        }
+        return new GameRecord(seatPolicies, points, isWinner, placements);
+    }
+
+    /**
+     * Returns the available positions of the playground of the <code>player</code>, ordered by coordinates, so that
+     * the choices of the policies for a seed don't depend on how the playground keeps its positions.
+     *
+     * @param player who places a card.
+     * @return the positions where the player can place a card.
+     */
+    static List<Position> availablePositions(Player player) {
+        List<Position> positions = new ArrayList<>(player.getPlayground().getAvailablePositions());
+        positions.sort(Comparator.comparingInt(Position::getX).thenComparingInt(Position::getY));
+        return positions;
+    }
+
+    /**
+     * Checks whether the resources of the <code>player</code> allow placing the front of the <code>card</code>.
+     *
+     * @param player who places the card.
+     * @param card   to place.
+     * @return true if the front can be placed, false otherwise.
+     */
+    static boolean canPlaceFront(Player player, Card card) {
+        Playground playground = player.getPlayground();
+        for (Map.Entry<Symbol, Integer> requirement : card.getRequiredResources().entrySet()) {
+            if (playground.getResourceCount(requirement.getKey()) < requirement.getValue()) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,71 @@
+package it.polimi.ingsw.model.simulation;
+
+import it.polimi.ingsw.model.Game;
+import it.polimi.ingsw.model.board.Position;
+import it.polimi.ingsw.model.card.Card;
+import it.polimi.ingsw.model.card.Side;
+import it.polimi.ingsw.model.player.Player;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The GreedyPolicy class plays the front worth the most points among the ones the resources allow, falling back to
+ * the back of a random card, in a random available position.
+ * It draws the face up card whose front is worth the most points, or the golden deck if no face up card is worth
+ * points.
+ */
+public class GreedyPolicy implements Policy {
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Placement choosePlacement(Player player, Random random) {
+        List<Card> hand = player.getCards();
+        List<Position> positions = GameSimulator.availablePositions(player);
+        if (hand.isEmpty() || positions.isEmpty()) {
+            throw new IllegalStateException(player.getUsername() + " has no legal placement");
+        }
+        Position position = positions.get(random.nextInt(positions.size()));
+
+        Card bestCard = null;
+        for (Card card : hand) {
+            if (GameSimulator.canPlaceFront(player, card)
+                    && (bestCard == null || frontScore(card) > frontScore(bestCard))) {
+                bestCard = card;
+            }
+        }
+        if (bestCard == null) {
+            return new Placement(hand.get(random.nextInt(hand.size())), Side.BACK, position);
+        }
+        return new Placement(bestCard, Side.FRONT, position);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int chooseDraw(Game game, Player player, List<Integer> draws, Random random) {
+        int bestDraw = -1;
+        int bestScore = 0;
+        for (int draw : draws) {
+            if (draw < GameSimulator.GOLDEN_DECK) {
+                int score = frontScore(game.getFaceUpCards().get(draw));
+                if (score > bestScore) {
+                    bestDraw = draw;
+                    bestScore = score;
+                }
+            }
+        }
+        if (bestDraw >= 0) {
+            return bestDraw;
+        }
+        return draws.contains(GameSimulator.GOLDEN_DECK)
+                ? GameSimulator.GOLDEN_DECK
+                : draws.get(random.nextInt(draws.size()));
+    }
+
+    private static int frontScore(Card card) {
+        return card.getFace(Side.FRONT).getScore();
+    }
+}
@@ -0,0 +1,39 @@
+package it.polimi.ingsw.model.simulation;
+
+import it.polimi.ingsw.model.board.Position;
+import it.polimi.ingsw.model.card.Card;
+import it.polimi.ingsw.model.card.Side;
+
+/**
+ * The Placement class is the move of a simulated player: a card of the hand placed on a side at a position.
+ */
+public final class Placement {
+    private final Card card;
+    private final Side side;
+    private final Position position;
+
+    /**
+     * Constructs the placement.
+     *
+     * @param card     of the hand to place.
+     * @param side     of the card to place.
+     * @param position where the card is placed.
+     */
+    public Placement(Card card, Side side, Position position) {
+        this.card = card;
+        this.side = side;
+        this.position = position;
+    }
+
+    public Card getCard() {
+        return card;
+    }
+
+    public Side getSide() {
+        return side;
+    }
+
+    public Position getPosition() {
+        return position;
+    }
+}
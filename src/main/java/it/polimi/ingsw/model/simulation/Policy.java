@@ -0,0 +1,36 @@
+package it.polimi.ingsw.model.simulation;
+
+import it.polimi.ingsw.model.Game;
+import it.polimi.ingsw.model.player.Player;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The Policy interface chooses the moves of a simulated player.
+ * A policy only chooses among legal moves and keeps no state, so that a single instance plays any number of games on
+ * any number of threads; every random choice is drawn from the <code>random</code> of the game, which makes a seeded
+ * game repeatable.
+ */
+public interface Policy {
+    /**
+     * Chooses the placement of the <code>player</code>, whose turn it is.
+     *
+     * @param player whose turn it is.
+     * @param random the source of the random choices of the game.
+     * @return a legal placement: a card of the hand, on a side the resources allow, in an available position.
+     */
+    Placement choosePlacement(Player player, Random random);
+
+    /**
+     * Chooses where the <code>player</code> draws from.
+     *
+     * @param game   being played.
+     * @param player whose turn it is.
+     * @param draws  the ids of the legal draws, never empty, as defined by {@link GameSimulator#GOLDEN_DECK},
+     *               {@link GameSimulator#RESOURCE_DECK} and the indexes of the face up cards.
+     * @param random the source of the random choices of the game.
+     * @return one of the <code>draws</code>.
+     */
+    int chooseDraw(Game game, Player player, List<Integer> draws, Random random);
+}
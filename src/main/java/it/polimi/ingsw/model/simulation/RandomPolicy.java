@@ -0,0 +1,39 @@
+package it.polimi.ingsw.model.simulation;
+
+import it.polimi.ingsw.model.Game;
+import it.polimi.ingsw.model.board.Position;
+import it.polimi.ingsw.model.card.Card;
+import it.polimi.ingsw.model.card.Side;
+import it.polimi.ingsw.model.player.Player;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The RandomPolicy class plays a random card of the hand in a random available position, on its front whenever the
+ * resources allow it, and draws from a random source.
+ */
+public class RandomPolicy implements Policy {
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Placement choosePlacement(Player player, Random random) {
+        List<Card> hand = player.getCards();
+        List<Position> positions = GameSimulator.availablePositions(player);
+        if (hand.isEmpty() || positions.isEmpty()) {
+            throw new IllegalStateException(player.getUsername() + " has no legal placement");
+        }
+        Card card = hand.get(random.nextInt(hand.size()));
+        Side side = GameSimulator.canPlaceFront(player, card) ? Side.FRONT : Side.BACK;
+        return new Placement(card, side, positions.get(random.nextInt(positions.size())));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int chooseDraw(Game game, Player player, List<Integer> draws, Random random) {
+        return draws.get(random.nextInt(draws.size()));
+    }
+}
@@ -0,0 +1,181 @@
+package it.polimi.ingsw.model.simulation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * The SelfPlay class plays many games of the {@link GameSimulator} in parallel, on a fork-join pool, and reports how
+ * fast the rules engine plays them together with the statistics of the games.
+ * The games of a run are numbered, the seed of each game derives from its number and from the seed of the run: a run
+ * with the same seed plays the same games, whatever the parallelism.
+ */
+public class SelfPlay {
+    private static final int GAMES_PER_TASK = 256;
+    private static final String PLAYERS_FLAG = "--players=";
+    private static final String POLICIES_FLAG = "--policies=";
+    private static final String SEED_FLAG = "--seed=";
+    private static final String PARALLELISM_FLAG = "--parallelism=";
+
+    private SelfPlay() {
+    }
+
+    /**
+     * Plays <code>numGames</code> games on the <code>pool</code>.
+     *
+     * @param simulator the simulator of the games.
+     * @param numGames  the number of games to play.
+     * @param seed      of the run.
+     * @param pool      running the games.
+     * @return the statistics of the games.
+     */
+    public static SimulationStatistics run(GameSimulator simulator, long numGames, long seed, ForkJoinPool pool) {
+        return pool.invoke(new SimulationTask(simulator, seed, 0, numGames));
+    }
+
+    /**
+     * Returns the seed of the game number <code>game</code> of a run.
+     * The number is mixed with the seed of the run, so that neighbouring games don't start from similar seeds.
+     *
+     * @param seed of the run.
+     * @param game the number of the game.
+     * @return the seed of the game.
+     */
+    static long seedOf(long seed, long game) {
+        long z = seed + (game + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * The SimulationTask class plays a range of games, splitting it in halves until it's small enough.
+     */
+    private static class SimulationTask extends RecursiveTask<SimulationStatistics> {
+        private final GameSimulator simulator;
+        private final long seed;
+        private final long from;
+        private final long to;
+
+        SimulationTask(GameSimulator simulator, long seed, long from, long to) {
+            this.simulator = simulator;
+            this.seed = seed;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected SimulationStatistics compute() {
+            if (to - from > GAMES_PER_TASK) {
+                long middle = (from + to) >>> 1;
+                SimulationTask left = new SimulationTask(simulator, seed, from, middle);
+                left.fork();
+                SimulationStatistics statistics = new SimulationTask(simulator, seed, middle, to).compute();
+                statistics.merge(left.join());
+                return statistics;
+            }
+            SimulationStatistics statistics = new SimulationStatistics(simulator.getNumPlayers());
+            for (long game = from; game < to; game++) {
+                try {
+                    statistics.record(simulator.play(seedOf(seed, game)));
+                } catch (IllegalStateException e) {
+                    statistics.recordFailure(e.getMessage());
+                }
+            }
+            return statistics;
+        }
+    }
+
+    private static Policy policyNamed(String name) {
+        return switch (name) {
+            case "random" -> new RandomPolicy();
+            case "greedy" -> new GreedyPolicy();
+            default -> throw new IllegalArgumentException("Unknown policy " + name);
+        };
+    }
+
+    private static String report(SimulationStatistics statistics, List<String> policyNames, double seconds) {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format(Locale.ROOT, "%d games in %.2f s: %.0f games/s, %d failed%n",
+                statistics.getNumGames(), seconds, statistics.getNumGames() / seconds, statistics.getNumFailures()));
+        report.append(String.format(Locale.ROOT, "placements per game: mean %.1f, min %d, max %d%n",
+                statistics.getMeanPlacements(), statistics.getMinPlacements(), statistics.getMaxPlacements()));
+        report.append(String.format(Locale.ROOT, "final points: mean %.1f, p10 %d, p50 %d, p90 %d, p99 %d%n",
+                statistics.getMeanPoints(), statistics.getPointsPercentile(10), statistics.getPointsPercentile(50),
+                statistics.getPointsPercentile(90), statistics.getPointsPercentile(99)));
+        report.append("wins by seat:");
+        for (int seat = 0; seat < statistics.getNumPlayers(); seat++) {
+            report.append(String.format(Locale.ROOT, " %d=%.1f%%", seat + 1, 100 * statistics.getWinShareBySeat(seat)));
+        }
+        report.append(System.lineSeparator()).append("wins by player:");
+        for (int player = 0; player < statistics.getNumPlayers(); player++) {
+            report.append(String.format(Locale.ROOT, " %s#%d=%.1f%%", policyNames.get(player), player,
+                    100 * statistics.getWinShareByPolicy(player)));
+        }
+        report.append(String.format(Locale.ROOT, "%nties: %d", statistics.getTies()));
+        if (statistics.getFirstFailure() != null) {
+            report.append(System.lineSeparator()).append("first failure: ").append(statistics.getFirstFailure());
+        }
+        return report.toString();
+    }
+
+    /**
+     * Runs the self-play.
+     *
+     * @param args the number of games, optionally followed by the flags of the number of players, of the policies of
+     *             the players separated by commas (random or greedy), of the seed and of the parallelism.
+     */
+    public static void main(String[] args) {
+        int numPlayers = 4;
+        List<String> policyNames = new ArrayList<>();
+        long seed = System.nanoTime();
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        long numGames;
+        try {
+            if (args.length < 1) {
+                throw new IllegalArgumentException("Missing the number of games");
+            }
+            numGames = Long.parseLong(args[0]);
+            for (int i = 1; i < args.length; i++) {
+                String arg = args[i];
+                if (arg.startsWith(PLAYERS_FLAG)) {
+                    numPlayers = Integer.parseInt(arg.substring(PLAYERS_FLAG.length()));
+                } else if (arg.startsWith(POLICIES_FLAG)) {
+                    policyNames = List.of(arg.substring(POLICIES_FLAG.length()).split(","));
+                } else if (arg.startsWith(SEED_FLAG)) {
+                    seed = Long.parseLong(arg.substring(SEED_FLAG.length()));
+                } else if (arg.startsWith(PARALLELISM_FLAG)) {
+                    parallelism = Integer.parseInt(arg.substring(PARALLELISM_FLAG.length()));
+                } else {
+                    throw new IllegalArgumentException("Unknown option " + arg);
+                }
+            }
+            List<String> names = new ArrayList<>();
+            List<Policy> policies = new ArrayList<>();
+            for (int i = 0; i < numPlayers; i++) {
+                // the last policy plays for the players left
+                String name = policyNames.isEmpty() ? "random" : policyNames.get(Math.min(i, policyNames.size() - 1));
+                names.add(name);
+                policies.add(policyNamed(name));
+            }
+            policyNames = names;
+
+            GameSimulator simulator = new GameSimulator(policies);
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            System.out.println("Playing " + numGames + " games of " + numPlayers + " players on " + parallelism
+                    + " threads, seed " + seed);
+            long start = System.nanoTime();
+            SimulationStatistics statistics = run(simulator, numGames, seed, pool);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            pool.shutdown();
+            System.out.println(report(statistics, policyNames, seconds));
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+            System.out.println("Usage: SelfPlay <games> [" + PLAYERS_FLAG + "<2-4>] [" + POLICIES_FLAG
+                    + "<random|greedy>,...] [" + SEED_FLAG + "<seed>] [" + PARALLELISM_FLAG + "<threads>]");
+            System.exit(1);
+        }
+    }
+}
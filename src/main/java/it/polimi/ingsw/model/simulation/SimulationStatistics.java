@@ -0,0 +1,202 @@
+package it.polimi.ingsw.model.simulation;
+
+/**
+ * The SimulationStatistics class sums up the games of a simulation: how long they last, the distribution of the final
+ * points and how often each seat and each policy wins.
+ * Statistics are collected by a single thread; the statistics of different threads are then merged.
+ */
+public class SimulationStatistics {
+    /**
+     * Final points from this value up are counted together.
+     */
+    public static final int MAX_TRACKED_POINTS = 127;
+
+    private final int numPlayers;
+    private long numGames;
+    private long numFailures;
+    private long placements;
+    private int minPlacements;
+    private int maxPlacements;
+    private final long[] pointsHistogram;
+    private long totalPoints;
+    private final long[] winsBySeat;
+    private final long[] winsByPolicy;
+    private long ties;
+    private String firstFailure;
+
+    /**
+     * Constructs empty statistics of games among <code>numPlayers</code> players.
+     *
+     * @param numPlayers the number of players of each game.
+     */
+    public SimulationStatistics(int numPlayers) {
+        this.numPlayers = numPlayers;
+        this.minPlacements = Integer.MAX_VALUE;
+        this.maxPlacements = 0;
+        this.pointsHistogram = new long[MAX_TRACKED_POINTS + 1];
+        this.winsBySeat = new long[numPlayers];
+        this.winsByPolicy = new long[numPlayers];
+    }
+
+    /**
+     * Adds a game to the statistics.
+     *
+     * @param game the outcome of the game.
+     */
+    public void record(GameRecord game) {
+        numGames++;
+        placements += game.getPlacements();
+        minPlacements = Math.min(minPlacements, game.getPlacements());
+        maxPlacements = Math.max(maxPlacements, game.getPlacements());
+        int numWinners = 0;
+        for (int seat = 0; seat < game.getNumPlayers(); seat++) {
+            int points = game.getPoints(seat);
+            pointsHistogram[Math.min(Math.max(points, 0), MAX_TRACKED_POINTS)]++;
+            totalPoints += points;
+            if (game.isWinner(seat)) {
+                numWinners++;
+                winsBySeat[seat]++;
+                winsByPolicy[game.getPolicy(seat)]++;
+            }
+        }
+        if (numWinners > 1) {
+            ties++;
+        }
+    }
+
+    /**
+     * Counts a game that couldn't be completed.
+     *
+     * @param reason why the game couldn't be completed, kept for the first failure only.
+     */
+    public void recordFailure(String reason) {
+        numFailures++;
+        if (firstFailure == null) {
+            firstFailure = reason;
+        }
+    }
+
+    /**
+     * Adds the games of <code>other</code> to these statistics.
+     *
+     * @param other the statistics of games among the same number of players.
+     */
+    public void merge(SimulationStatistics other) {
+        numGames += other.numGames;
+        numFailures += other.numFailures;
+        placements += other.placements;
+        minPlacements = Math.min(minPlacements, other.minPlacements);
+        maxPlacements = Math.max(maxPlacements, other.maxPlacements);
+        for (int i = 0; i < pointsHistogram.length; i++) {
+            pointsHistogram[i] += other.pointsHistogram[i];
+        }
+        totalPoints += other.totalPoints;
+        for (int i = 0; i < numPlayers; i++) {
+            winsBySeat[i] += other.winsBySeat[i];
+            winsByPolicy[i] += other.winsByPolicy[i];
+        }
+        ties += other.ties;
+        if (firstFailure == null) {
+            firstFailure = other.firstFailure;
+        }
+    }
+
+    public int getNumPlayers() {
+        return numPlayers;
+    }
+
+    public long getNumGames() {
+        return numGames;
+    }
+
+    public long getNumFailures() {
+        return numFailures;
+    }
+
+    /**
+     * Returns why the first game that couldn't be completed failed.
+     *
+     * @return the reason of the first failure, null if there are no failures.
+     */
+    public String getFirstFailure() {
+        return firstFailure;
+    }
+
+    public long getTies() {
+        return ties;
+    }
+
+    public int getMinPlacements() {
+        return numGames == 0 ? 0 : minPlacements;
+    }
+
+    public int getMaxPlacements() {
+        return maxPlacements;
+    }
+
+    /**
+     * Returns the mean number of cards placed in a game, after the setup.
+     *
+     * @return the mean length of a game, 0 if there are no games.
+     */
+    public double getMeanPlacements() {
+        return numGames == 0 ? 0 : (double) placements / numGames;
+    }
+
+    /**
+     * Returns the mean of the final points of the players.
+     *
+     * @return the mean final points, 0 if there are no games.
+     */
+    public double getMeanPoints() {
+        return numGames == 0 ? 0 : (double) totalPoints / (numGames * numPlayers);
+    }
+
+    /**
+     * Returns the final points below which the <code>percentile</code> of the players stays.
+     *
+     * @param percentile between 0 and 100.
+     * @return the final points at the <code>percentile</code>, 0 if there are no games.
+     */
+    public int getPointsPercentile(double percentile) {
+        long rank = (long) Math.ceil(percentile / 100 * numGames * numPlayers);
+        long seen = 0;
+        for (int points = 0; points < pointsHistogram.length; points++) {
+            seen += pointsHistogram[points];
+            if (seen >= rank && seen > 0) {
+                return points;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Returns the number of players who ended the game with <code>points</code>.
+     *
+     * @param points the final points, up to {@link #MAX_TRACKED_POINTS}, which counts higher points too.
+     * @return the number of players.
+     */
+    public long getPlayersWithPoints(int points) {
+        return pointsHistogram[points];
+    }
+
+    /**
+     * Returns the share of the games won by the player of the <code>seat</code>, ties included.
+     *
+     * @param seat the position of the player in the order of play.
+     * @return the share of games won, between 0 and 1.
+     */
+    public double getWinShareBySeat(int seat) {
+        return numGames == 0 ? 0 : (double) winsBySeat[seat] / numGames;
+    }
+
+    /**
+     * Returns the share of the games won by the player of the <code>policy</code>, ties included.
+     *
+     * @param policy the index of the policy in the simulator.
+     * @return the share of games won, between 0 and 1.
+     */
+    public double getWinShareByPolicy(int policy) {
+        return numGames == 0 ? 0 : (double) winsByPolicy[policy] / numGames;
+    }
+}
@@ -1,4 +1,5 @@
 package it.polimi.ingsw.network;
+import it.polimi.ingsw.model.listenerhandler.EventLog;
 import it.polimi.ingsw.network.heartbeat.HeartBeatListener;
 
 import java.rmi.Remote;
@@ -12,10 +13,14 @@ public interface VirtualServer extends Remote, HeartBeatListener, GameActions {
     /**
      * Connects to the server.
      *
-     * @param clientHandler the representation of the client.
+     * @param clientHandler      the representation of the client.
+     * @param username           of the client.
+     * @param lastSequenceNumber the sequence number of the last game update received by the client, so that only the
+     *                           updates missed are sent if it is rejoining a game; {@link EventLog#NO_SEQUENCE_NUMBER}
+     *                           if it has never received an update.
      * @throws RemoteException in the event of an error occurring during the execution of a remote method.
      */
-    void connect(VirtualView clientHandler, String username) throws RemoteException;
+    void connect(VirtualView clientHandler, String username, long lastSequenceNumber) throws RemoteException;
 
     /**
      * Disconnects the <code>username</code> from the game.
@@ -89,13 +89,13 @@ public interface VirtualView extends HeartBeatListener, Remote {
 
     /**
      * Method used to show updated information after a place.
-     * The two list positions and tiles represent every new available tile added after the last place invocation
-     * symbols and total amount represents the new resources added after the last place invocation
-     * consider both couples like maps.
+     * Only the changes made by the placement are sent: the available positions added and removed and the
+     * resources whose amount changed.
      *
      * @param positionToCornerCovered a map with the covered corners.
-     * @param newAvailablePositions   a list with every new available tile added after the last placement.
-     * @param newResources            the new resources added after the last placement.
+     * @param addedAvailablePositions   a list with every available tile added by the placement.
+     * @param removedAvailablePositions a list with every tile that stopped being available with the placement.
+     * @param changedResources          the resources whose amount changed with the placement, with their new amount.
      * @param points                  the points present after the placement.
      * @param username                the username of the player.
      * @param placedCard              the card that has been placed.
@@ -103,7 +103,7 @@ public interface VirtualView extends HeartBeatListener, Remote {
      * @param position                the position of the card in the playground.
      * @throws RemoteException in the event of an error occurring during the execution of a remote method.
      */
-    void showUpdateAfterPlace(Map<Position, CornerPosition> positionToCornerCovered, List<Position> newAvailablePositions, Map<Symbol, Integer> newResources, int points, String username, ClientCard placedCard, Side placedSide , Position position) throws RemoteException;
+    void showUpdateAfterPlace(Map<Position, CornerPosition> positionToCornerCovered, List<Position> addedAvailablePositions, List<Position> removedAvailablePositions, Map<Symbol, Integer> changedResources, int points, String username, ClientCard placedCard, Side placedSide , Position position) throws RemoteException;
 
     /**
      * Method used to notify the update after a draw.
@@ -168,4 +168,14 @@ public interface VirtualView extends HeartBeatListener, Remote {
      * @throws RemoteException in the event of an error occurring during the execution of a remote method.
      */
     void resultOfLogin(boolean accepted, String username, String details) throws RemoteException;
-}
\ No newline at end of file
+
+    /**
+     * Method used to apply in a single call the <code>updates</code> produced by the same step of the game.
+     * Every update is the message the socket clients receive for the corresponding method of this interface, the
+     * updates are applied in order.
+     *
+     * @param updates the messages representing the updates.
+     * @throws RemoteException in the event of an error occurring during the execution of a remote method.
+     */
+    void applyUpdates(List<NetworkMessage> updates) throws RemoteException;
+}
@@ -1,5 +1,6 @@
 package it.polimi.ingsw.network.client;
 
+import it.polimi.ingsw.network.NetworkMessage;
 import it.polimi.ingsw.network.VirtualServer;
 import it.polimi.ingsw.network.VirtualView;
 import it.polimi.ingsw.network.client.controller.ClientController;
@@ -76,6 +77,16 @@ public abstract class Client implements VirtualView {
         return controller;
     }
 
+    /**
+     * Closes the connection to the server without notifying the view, as done by a client leaving on its own.
+     * The connection is closed even if the login has been refused.
+     */
+    public void close() {
+        synchronized (lockOnNetworkStatus) {
+            terminateConnection();
+        }
+    }
+
     public void handleServerCrash() {
         synchronized (lockOnNetworkStatus) {
             if (isConnected) {
@@ -104,7 +115,6 @@ public abstract class Client implements VirtualView {
     public void updateAfterConnection(ClientGame clientGame) {
         synchronized (lockOnNetworkStatus) {
             if (isConnected) {
-                System.out.println("Received updateAfterConnection which belongs to me");
                 controller.updateAfterConnection(clientGame);
                 clientView.showUpdateAfterConnection();
             }
@@ -165,6 +175,7 @@ public abstract class Client implements VirtualView {
         synchronized (lockOnNetworkStatus) {
             if (this.isConnected) {
                 controller.updatePlayerStatus(isConnected, username);
+                controller.registerUpdate();
                 clientView.showUpdatePlayerStatus();
             }
         }
@@ -179,6 +190,7 @@ public abstract class Client implements VirtualView {
         synchronized (lockOnNetworkStatus) {
             if (isConnected) {
                 controller.updateColor(color, username);
+                controller.registerUpdate();
                 clientView.showUpdateColor(username);
             }
         }
@@ -204,10 +216,11 @@ public abstract class Client implements VirtualView {
      * {@inheritDoc}
      */
     @Override
-    public void showUpdateAfterPlace(Map<Position, CornerPosition> positionToCornerCovered, List<Position> newAvailablePositions, Map<Symbol, Integer> newResources, int points, String username, ClientCard placedCard, Side placedSide, Position position) throws RemoteException {
+    public void showUpdateAfterPlace(Map<Position, CornerPosition> positionToCornerCovered, List<Position> addedAvailablePositions, List<Position> removedAvailablePositions, Map<Symbol, Integer> changedResources, int points, String username, ClientCard placedCard, Side placedSide, Position position) throws RemoteException {
         synchronized (lockOnNetworkStatus) {
             if (isConnected) {
-                controller.updateAfterPlace(positionToCornerCovered, newAvailablePositions, newResources, points, username, placedCard, placedSide, position);
+                controller.updateAfterPlace(positionToCornerCovered, addedAvailablePositions, removedAvailablePositions, changedResources, points, username, placedCard, placedSide, position);
+                controller.registerUpdate();
 
                 if (controller.getGamePhase().equals(GamePhase.Setup)) {
                     clientView.showStarterPlacement(username);
@@ -227,6 +240,7 @@ public abstract class Client implements VirtualView {
         synchronized (lockOnNetworkStatus) {
             if (isConnected) {
                 controller.updateAfterDraw(drawnCard, newTopDeck, newFaceUpCard, username, boardPosition);
+                controller.registerUpdate();
                 clientView.showUpdateAfterDraw(username);
             }
         }
@@ -240,6 +254,7 @@ public abstract class Client implements VirtualView {
         synchronized (lockOnNetworkStatus) {
             if (isConnected) {
                 controller.updateChat(message);
+                controller.registerUpdate();
                 clientView.showUpdateChat();
             }
         }
@@ -253,6 +268,7 @@ public abstract class Client implements VirtualView {
         synchronized (lockOnNetworkStatus) {
             if (isConnected) {
                 controller.updateCurrentPlayer(currentPlayerIdx, phase);
+                controller.registerUpdate();
                 clientView.showUpdateCurrentPlayer();
             }
         }
@@ -266,6 +282,7 @@ public abstract class Client implements VirtualView {
         synchronized (lockOnNetworkStatus) {
             if (isConnected) {
                 controller.updateSuspendedGame();
+                controller.registerUpdate();
                 clientView.showUpdateSuspendedGame();
             }
         }
@@ -282,11 +299,22 @@ public abstract class Client implements VirtualView {
 
         synchronized (lockOnNetworkStatus) {
             if (isConnected) {
+                controller.registerUpdate();
                 clientView.showWinners(winners);
             }
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void applyUpdates(List<NetworkMessage> updates) throws RemoteException {
+        for (NetworkMessage update : updates) {
+            NetworkMessageDispatcher.dispatch(update, this);
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
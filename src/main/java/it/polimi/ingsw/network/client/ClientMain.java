@@ -2,6 +2,8 @@ package it.polimi.ingsw.network.client;
 
 import it.polimi.ingsw.network.client.rmi.ClientRMI;
 import it.polimi.ingsw.network.client.socket.ClientSocket;
+import it.polimi.ingsw.network.codec.WireFormat;
+import it.polimi.ingsw.network.logging.NetworkLog;
 import it.polimi.ingsw.network.client.view.gui.ApplicationGUI;
 import it.polimi.ingsw.network.client.view.tui.ApplicationTUI;
 import it.polimi.ingsw.network.client.view.tui.terminal.TerminalException;
@@ -10,6 +12,8 @@ import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.PrintStream;
 import java.rmi.RemoteException;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * ClientMain is the class that starts the client in a GUI/TUI interface and in an RMI/Socket communication
@@ -19,6 +23,10 @@ public class ClientMain {
     private static final String OPTION_SOCKET = "socket";
     private static final String OPTION_TUI = "tui";
     private static final String OPTION_GUI = "gui";
+    private static final String JSON_FLAG = "--json";
+
+    // socket clients speak binary, unless json is requested to debug the communication
+    private static WireFormat socketWireFormat = WireFormat.BINARY;
 
     /**
      * Creates the client with the <code>typeConnection</code> provided
@@ -31,7 +39,7 @@ public class ClientMain {
         if (typeConnection.equals(OPTION_RMI)) {
             client = new ClientRMI(clientIp);
         } else {
-            client = new ClientSocket();
+            client = new ClientSocket(socketWireFormat);
         }
         return client;
     }
@@ -47,6 +55,16 @@ public class ClientMain {
         String typeView = OPTION_GUI;
         String clientIp = "127.0.0.1";
 
+        List<String> options = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.equals(JSON_FLAG)) {
+                socketWireFormat = WireFormat.JSON;
+            } else {
+                options.add(arg);
+            }
+        }
+        args = options.toArray(new String[0]);
+
         if (args.length < 3) {
             System.out.println("Running default configuration: " + "communication protocol: " + typeConnection + " client ip: " + clientIp + " user interface: " +  typeView);
         } else {
@@ -79,6 +97,7 @@ public class ClientMain {
             }
 
         }
+        NetworkLog.configure();
 
         try {
             ClientApplication application;
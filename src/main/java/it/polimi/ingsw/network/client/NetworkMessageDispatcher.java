@@ -0,0 +1,118 @@
+package it.polimi.ingsw.network.client;
+
+import it.polimi.ingsw.network.NetworkMessage;
+import it.polimi.ingsw.network.VirtualView;
+import it.polimi.ingsw.network.client.socket.message.*;
+import it.polimi.ingsw.network.heartbeat.HeartBeatMessage;
+import it.polimi.ingsw.network.server.socket.message.ResultOfLogin;
+import it.polimi.ingsw.network.logging.NetworkLog;
+
+import java.rmi.RemoteException;
+import java.util.logging.Logger;
+
+/**
+ * The NetworkMessageDispatcher class turns the messages sent by the server into the calls of the {@link VirtualView}
+ * they stand for.
+ * It is shared by the socket client, which receives every update as a message, and by the RMI client, which receives
+ * the updates in batches.
+ */
+public class NetworkMessageDispatcher {
+    private static final Logger logger = NetworkLog.getLogger(NetworkMessageDispatcher.class);
+    private NetworkMessageDispatcher() {
+    }
+
+    /**
+     * Calls the method of the <code>view</code> represented by the <code>message</code>.
+     *
+     * @param message the update sent by the server.
+     * @param view    the client the update is meant for.
+     * @throws RemoteException in the event of an error occurring during the execution of the method.
+     */
+    public static void dispatch(NetworkMessage message, VirtualView view) throws RemoteException {
+        switch (message.getNetworkType()) {
+            case RESULT_OF_LOGIN:
+                ResultOfLogin resultOfLogin = (ResultOfLogin) message;
+                view.resultOfLogin(resultOfLogin.getAccepted(), resultOfLogin.getSelectedUsername(), resultOfLogin.getDetails());
+                break;
+            case EXCEEDING_PLAYER:
+                view.showUpdateExceedingPlayer();
+                break;
+            case UPDATE_CREATOR:
+                view.updateCreator();
+                break;
+            case UPDATE_AFTER_LOBBY_CRASH:
+                view.updateAfterLobbyCrash();
+                break;
+            case UPDATE_AFTER_CONNECTION:
+                UpdateAfterConnectionMessage updateAfterConnectionMessage = (UpdateAfterConnectionMessage) message;
+                view.updateAfterConnection(updateAfterConnectionMessage.getGame());
+                break;
+            case SHOW_UPDATE_PLAYERS_IN_LOBBY:
+                UpdatePlayersInLobbyMessage updatePlayersInLobbyMessage = (UpdatePlayersInLobbyMessage) message;
+                view.showUpdatePlayersInLobby(updatePlayersInLobbyMessage.getUsernames());
+                break;
+            case SHOW_UPDATE_PLAYER_STATUS:
+                UpdatePlayerStatusMessage updatePlayerStatusMessage = (UpdatePlayerStatusMessage) message;
+                view.showUpdatePlayerStatus(updatePlayerStatusMessage.isConnected(), updatePlayerStatusMessage.getUsername());
+                break;
+            case SHOW_UPDATE_COLOR:
+                UpdateColorMessage updateColorMessage = (UpdateColorMessage) message;
+                view.showUpdateColor(updateColorMessage.getColorSelected(), updateColorMessage.getUsername());
+                break;
+            case SHOW_UPDATE_OBJECTIVE_CARD:
+                UpdateObjectiveCardMessage objectiveCardMessage = (UpdateObjectiveCardMessage) message;
+                view.showUpdateObjectiveCard(objectiveCardMessage.getChosenObjective(), objectiveCardMessage.getUsername());
+                break;
+            case SHOW_UPDATE_AFTER_PLACE:
+                UpdateAfterPlaceMessage updateAfterPlaceMessage = (UpdateAfterPlaceMessage) message;
+                view.showUpdateAfterPlace(
+                        updateAfterPlaceMessage.getPositionToCornerCovered(),
+                        updateAfterPlaceMessage.getAddedAvailablePositions(),
+                        updateAfterPlaceMessage.getRemovedAvailablePositions(),
+                        updateAfterPlaceMessage.getChangedResources(),
+                        updateAfterPlaceMessage.getPoints(),
+                        updateAfterPlaceMessage.getUsername(),
+                        updateAfterPlaceMessage.getPlacedCard(),
+                        updateAfterPlaceMessage.getPlacedSide(),
+                        updateAfterPlaceMessage.getPosition()
+                );
+                break;
+            case SHOW_UPDATE_AFTER_DRAW:
+                UpdateAfterDrawMessage updateAfterDrawMessage = (UpdateAfterDrawMessage) message;
+                view.showUpdateAfterDraw(
+                        updateAfterDrawMessage.getDrawnCard(),
+                        updateAfterDrawMessage.getNewTopDeck(),
+                        updateAfterDrawMessage.getNewFaceUpCard(),
+                        updateAfterDrawMessage.getUsername(),
+                        updateAfterDrawMessage.getBoardPosition());
+                break;
+            case SHOW_UPDATE_CHAT:
+                UpdateChatMessage updateChatMessage = (UpdateChatMessage) message;
+                view.showUpdateChat(updateChatMessage.getMessage());
+                break;
+            case SHOW_UPDATE_CURRENT_PLAYER:
+                UpdateCurrentPlayerMessage updateCurrentPlayerMessage = (UpdateCurrentPlayerMessage) message;
+                view.showUpdateCurrentPlayer(updateCurrentPlayerMessage.getCurrentPlayerIdx(), updateCurrentPlayerMessage.getCurrentPhase());
+                break;
+            case SHOW_UPDATE_SUSPENDED_GAME:
+                view.showUpdateGameState();
+                break;
+            case SHOW_WINNERS:
+                ShowWinnersMessage showWinnersMessage = (ShowWinnersMessage) message;
+                view.showWinners(showWinnersMessage.getWinners());
+                break;
+            case ERROR:
+                ReportErrorMessage errorMessage = (ReportErrorMessage) message;
+                view.reportError(errorMessage.getDetails());
+                break;
+            case HEARTBEAT:
+                HeartBeatMessage ping = (HeartBeatMessage) message;
+                view.receivePing(ping);
+                break;
+            default:
+                logger.warning(() -> "Unrecognised input from the server: " + message.getNetworkType());
+                assert(false);
+                break;
+        }
+    }
+}
@@ -0,0 +1,406 @@
+package it.polimi.ingsw.network.client.bot;
+
+import it.polimi.ingsw.model.board.Playground;
+import it.polimi.ingsw.model.board.Position;
+import it.polimi.ingsw.model.card.Side;
+import it.polimi.ingsw.model.card.color.PlayerColor;
+import it.polimi.ingsw.model.chat.message.Message;
+import it.polimi.ingsw.model.gamephase.GamePhase;
+import it.polimi.ingsw.network.client.Client;
+import it.polimi.ingsw.network.client.UnReachableServerException;
+import it.polimi.ingsw.network.client.controller.ClientController;
+import it.polimi.ingsw.network.client.view.View;
+import it.polimi.ingsw.network.logging.NetworkLog;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * The Bot class is a player without user interface: it drives a {@link ClientController} through the same calls of
+ * the views, choosing a legal move whenever it's its turn.
+ * Every connection to the server is a session, with its own client and controller; updates of a closed session are
+ * ignored. When a game ends, the bot joins a new game under a new name.
+ * The bot reacts to the updates on its own lane of the {@link LoadGenerator}, never on the threads of the client.
+ */
+class Bot {
+    private static final Logger logger = NetworkLog.getLogger(Bot.class);
+    private static final int[] DRAW_ORDER = {5, 4, 0, 1, 2, 3};
+    private static final long NO_PLACEMENT = 0;
+
+    private final LoadGenerator generator;
+    private final String baseName;
+    private final Executor lane;
+    private final Random random;
+
+    // accessed on the lane only
+    private Session session;
+    private int numGames;
+    private boolean isStarterRequested;
+    private boolean isColorRequested;
+    private boolean isObjectiveRequested;
+    private GamePhase requestedPhase;
+    private ScheduledFuture<?> chat;
+    private boolean isStopped;
+
+    /**
+     * Constructs the bot.
+     *
+     * @param generator the load generator running the bot.
+     * @param baseName  the name of the bot, the number of the game is appended to it.
+     * @param lane      the executor running the reactions of the bot in order.
+     * @param seed      of the random choices of the bot.
+     */
+    Bot(LoadGenerator generator, String baseName, Executor lane, long seed) {
+        this.generator = generator;
+        this.baseName = baseName;
+        this.lane = lane;
+        this.random = new Random(seed);
+        this.numGames = 0;
+        this.isStopped = false;
+    }
+
+    /**
+     * Connects the bot to the server, to join a new game.
+     */
+    void start() {
+        lane.execute(() -> connect(baseName + "-" + numGames));
+    }
+
+    /**
+     * Disconnects the bot, which won't connect again.
+     */
+    void stop() {
+        lane.execute(() -> {
+            isStopped = true;
+            leave();
+        });
+    }
+
+    private void connect(String username) {
+        if (isStopped) {
+            return;
+        }
+        Client client = generator.createClient();
+        Session newSession = new Session(username, client, new ClientController(client));
+        try {
+            newSession.controller.configureClient(newSession, generator.getServerIp(), generator.getServerPort());
+        } catch (UnReachableServerException e) {
+            generator.recordError();
+            logger.warning(() -> username + " can't reach the server: " + e.getMessage());
+            generator.schedule(() -> lane.execute(() -> connect(username)), LoadGenerator.RECONNECTION_DELAY);
+            return;
+        }
+        session = newSession;
+        isStarterRequested = false;
+        isColorRequested = false;
+        isObjectiveRequested = false;
+        requestedPhase = null;
+        newSession.controller.connect(username);
+        if (generator.getChatInterval() > 0) {
+            chat = generator.scheduleAtFixedRate(() -> lane.execute(this::chat), generator.getChatInterval());
+        }
+    }
+
+    private void leave() {
+        if (chat != null) {
+            chat.cancel(false);
+            chat = null;
+        }
+        if (session != null) {
+            session.controller.disconnect(session.username);
+            session.client.close();
+            session = null;
+        }
+    }
+
+    /**
+     * Leaves the game and joins it again after a while, as a player whose connection drops.
+     */
+    private void reconnect() {
+        String username = session.username;
+        leave();
+        generator.recordReconnection();
+        generator.schedule(() -> lane.execute(() -> connect(username)), LoadGenerator.RECONNECTION_DELAY);
+    }
+
+    private void chat() {
+        if (session == null || !session.hasGame) {
+            return;
+        }
+        try {
+            session.controller.sendMessage(new Message(session.username, "hello from " + session.username));
+            generator.recordChatMessage();
+        } catch (Exception e) {
+            generator.recordError();
+        }
+    }
+
+    /**
+     * Does the move the game expects from the bot, if any.
+     */
+    private void act() {
+        if (session == null || !session.hasGame || isStopped) {
+            return;
+        }
+        ClientController controller = session.controller;
+        try {
+            if (!controller.isGameActive()) {
+                return;
+            }
+            GamePhase phase = controller.getGamePhase();
+            if (phase == GamePhase.Setup) {
+                setUp(controller);
+            } else if (controller.isMainPlayerTurn() && phase != requestedPhase) {
+                if (phase == GamePhase.PlaceNormal || phase == GamePhase.PlaceAdditional) {
+                    requestedPhase = phase;
+                    place(controller);
+                } else if (phase == GamePhase.DrawNormal) {
+                    requestedPhase = phase;
+                    draw(controller);
+                }
+            } else if (!controller.isMainPlayerTurn()) {
+                requestedPhase = null;
+            }
+        } catch (Exception e) {
+            // the move is chosen again with the next update
+            requestedPhase = null;
+            session.placementTime = NO_PLACEMENT;
+            generator.recordError();
+            logger.fine(() -> session.username + " failed to move: " + e);
+        }
+    }
+
+    private void setUp(ClientController controller) throws Exception {
+        if (controller.isMainPlaygroundEmpty()) {
+            if (!isStarterRequested) {
+                isStarterRequested = true;
+                controller.placeStarter(random.nextBoolean() ? Side.FRONT : Side.BACK);
+            }
+        } else if (controller.getMainColor() == null) {
+            List<PlayerColor> colors = controller.getAvailableColors();
+            if (!isColorRequested && !colors.isEmpty()) {
+                isColorRequested = true;
+                controller.chooseColor(colors.get(random.nextInt(colors.size())));
+            }
+        } else if (controller.getPlayerObjectives().size() > 1 && !isObjectiveRequested) {
+            isObjectiveRequested = true;
+            controller.placeObjectiveCard(random.nextInt(2));
+        }
+    }
+
+    private void place(ClientController controller) throws Exception {
+        List<Position> positions = controller.getMainPlayerPlayground().getAvailablePositions();
+        int numCards = controller.getMainPlayerCards().size();
+        Position position = positions.get(random.nextInt(positions.size()));
+        int card = random.nextInt(numCards);
+        session.placementTime = System.nanoTime();
+        try {
+            controller.placeCard(card, Side.FRONT, position);
+        } catch (Playground.NotEnoughResourcesException e) {
+            // the back never requires resources
+            controller.placeCard(card, Side.BACK, position);
+        }
+    }
+
+    private void draw(ClientController controller) {
+        for (int id : DRAW_ORDER) {
+            try {
+                controller.draw(id);
+            } catch (Exception e) {
+                // empty slot or deck: try the next one
+                continue;
+            }
+            generator.recordDraw();
+            if (random.nextDouble() < generator.getReconnectionProbability()) {
+                reconnect();
+            }
+            return;
+        }
+    }
+
+    private void finishGame() {
+        generator.recordFinishedGame();
+        leave();
+        numGames++;
+        connect(baseName + "-" + numGames);
+    }
+
+    private void error(String details) {
+        generator.recordError();
+        logger.fine(() -> baseName + " received an error: " + details);
+        // the request has been refused: decide again
+        isStarterRequested = false;
+        isColorRequested = false;
+        isObjectiveRequested = false;
+        requestedPhase = null;
+        act();
+    }
+
+    /**
+     * The Session class is a connection of the bot to the server, and the view its client updates.
+     */
+    private class Session implements View {
+        private final String username;
+        private final Client client;
+        private final ClientController controller;
+        // written on the lane, read by the threads of the client
+        private volatile long placementTime;
+        // accessed on the lane only
+        private boolean hasGame;
+
+        Session(String username, Client client, ClientController controller) {
+            this.username = username;
+            this.client = client;
+            this.controller = controller;
+            this.placementTime = NO_PLACEMENT;
+            this.hasGame = false;
+        }
+
+        /**
+         * Runs the <code>reaction</code> on the lane of the bot, if this session is still the current one.
+         */
+        private void react(Runnable reaction) {
+            lane.execute(() -> {
+                if (session == this) {
+                    reaction.run();
+                }
+            });
+        }
+
+        @Override
+        public void runView() {
+        }
+
+        @Override
+        public void showServerCrash() {
+            react(() -> {
+                generator.recordError();
+                session = null;
+                generator.schedule(() -> lane.execute(() -> connect(username)), LoadGenerator.RECONNECTION_DELAY);
+            });
+        }
+
+        @Override
+        public void showUpdatePlayersInLobby() {
+        }
+
+        @Override
+        public void showUpdateCreator() {
+            react(() -> {
+                try {
+                    controller.setPlayersNumber(generator.getPlayersPerGame());
+                } catch (Exception e) {
+                    generator.recordError();
+                }
+            });
+        }
+
+        @Override
+        public void showUpdateAfterLobbyCrash() {
+            react(Bot.this::finishGame);
+        }
+
+        @Override
+        public void showUpdateExceedingPlayer() {
+            react(() -> {
+                session = null;
+                connect(username);
+            });
+        }
+
+        @Override
+        public void showInvalidLogin(String details) {
+            react(() -> {
+                generator.recordRejectedLogin();
+                logger.fine(() -> username + " has been refused: " + details);
+                client.close();
+                session = null;
+                generator.schedule(() -> lane.execute(() -> connect(username)), LoadGenerator.RECONNECTION_DELAY);
+            });
+        }
+
+        @Override
+        public void showUpdateAfterConnection() {
+            react(() -> {
+                hasGame = true;
+                act();
+            });
+        }
+
+        @Override
+        public void showUpdatePlayerStatus() {
+        }
+
+        @Override
+        public void showStarterPlacement(String username) {
+            react(Bot.this::act);
+        }
+
+        @Override
+        public void showUpdateColor(String username) {
+            react(Bot.this::act);
+        }
+
+        @Override
+        public void showUpdateObjectiveCard() {
+            react(Bot.this::act);
+        }
+
+        @Override
+        public void showUpdateAfterPlace(String username) {
+            if (username.equals(this.username)) {
+                long placementTime = this.placementTime;
+                long latency = System.nanoTime() - placementTime;
+                react(() -> {
+                    if (placementTime != NO_PLACEMENT) {
+                        generator.recordPlacement(latency);
+                        this.placementTime = NO_PLACEMENT;
+                    }
+                    act();
+                });
+            }
+        }
+
+        @Override
+        public void showUpdateAfterDraw(String username) {
+            react(Bot.this::act);
+        }
+
+        @Override
+        public void showUpdateChat() {
+        }
+
+        @Override
+        public void showUpdateCurrentPlayer() {
+            react(Bot.this::act);
+        }
+
+        @Override
+        public void showUpdateSuspendedGame() {
+            react(Bot.this::act);
+        }
+
+        @Override
+        public void showWinners(List<String> winners) {
+            react(Bot.this::finishGame);
+        }
+
+        @Override
+        public void reportError(String details) {
+            react(() -> error(details));
+        }
+
+        @Override
+        public void showConnectionLost() {
+            react(() -> {
+                generator.recordError();
+                session = null;
+                generator.schedule(() -> lane.execute(() -> connect(username)), LoadGenerator.RECONNECTION_DELAY);
+            });
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package it.polimi.ingsw.network.client.bot;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import it.polimi.ingsw.network.client.Client;
+import it.polimi.ingsw.network.client.rmi.ClientRMI;
+import it.polimi.ingsw.network.client.socket.ClientSocket;
+import it.polimi.ingsw.network.codec.WireFormat;
+import it.polimi.ingsw.network.logging.NetworkLog;
+import it.polimi.ingsw.network.server.metrics.LatencyHistogram;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The LoadGenerator class measures how many players a server sustains: it connects many {@link Bot}s, which form
+ * lobbies and play legal moves until the end of the run, optionally flooding the chat and dropping their connection
+ * at random.
+ * The latency of a placement is measured from the call of <code>placeCard</code> to the update of the placement,
+ * and reported as percentiles together with the throughput of the bots.
+ */
+public class LoadGenerator {
+    /**
+     * The delay, in milliseconds, before a bot connects again.
+     */
+    static final long RECONNECTION_DELAY = 1000;
+    private static final long REPORT_PERIOD = 10;
+    private static final long STAGGER_DELAY = 5;
+    private static final String OPTION_RMI = "rmi";
+    private static final String JSON_FLAG = "--json";
+    private static final String CHAT_INTERVAL_FLAG = "--chat-interval=";
+    private static final String RECONNECTION_PROBABILITY_FLAG = "--reconnection-probability=";
+    private static final String CLIENT_IP_FLAG = "--client-ip=";
+
+    private final String serverIp;
+    private final int serverPort;
+    private final String typeConnection;
+    private final String clientIp;
+    private final WireFormat wireFormat;
+    private final int playersPerGame;
+    private final long chatInterval;
+    private final double reconnectionProbability;
+    private final ExecutorService workers;
+    private final ScheduledExecutorService timer;
+
+    private final LatencyHistogram placementLatency;
+    private final LongAdder draws;
+    private final LongAdder chatMessages;
+    private final LongAdder finishedGames;
+    private final LongAdder reconnections;
+    private final LongAdder rejectedLogins;
+    private final LongAdder errors;
+
+    /**
+     * Constructs the load generator.
+     *
+     * @param serverIp                the ip of the server.
+     * @param serverPort              the port of the server for the <code>typeConnection</code>.
+     * @param typeConnection          either rmi or socket.
+     * @param clientIp                the ip of the bots, used by rmi.
+     * @param wireFormat              the format spoken by socket bots.
+     * @param playersPerGame          the number of players of the lobbies created by the bots.
+     * @param chatInterval            the milliseconds between two chat messages of a bot, 0 for no messages.
+     * @param reconnectionProbability the probability a bot drops its connection after a draw.
+     */
+    public LoadGenerator(String serverIp, int serverPort, String typeConnection, String clientIp, WireFormat wireFormat,
+                         int playersPerGame, long chatInterval, double reconnectionProbability) {
+        this.serverIp = serverIp;
+        this.serverPort = serverPort;
+        this.typeConnection = typeConnection;
+        this.clientIp = clientIp;
+        this.wireFormat = wireFormat;
+        this.playersPerGame = playersPerGame;
+        this.chatInterval = chatInterval;
+        this.reconnectionProbability = reconnectionProbability;
+        // a bot leaving waits for its requests to be sent, so the lanes can't share a fixed number of threads
+        this.workers = Executors.newCachedThreadPool(Thread.ofPlatform().name("bot-", 0).daemon().factory());
+        this.timer = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("bot-timer").daemon().factory());
+        this.placementLatency = new LatencyHistogram();
+        this.draws = new LongAdder();
+        this.chatMessages = new LongAdder();
+        this.finishedGames = new LongAdder();
+        this.reconnections = new LongAdder();
+        this.rejectedLogins = new LongAdder();
+        this.errors = new LongAdder();
+    }
+
+    /**
+     * Runs <code>numBots</code> bots for <code>duration</code> seconds, reporting the metrics periodically and at
+     * the end.
+     *
+     * @param numBots  the number of bots connected at the same time.
+     * @param duration of the run, in seconds.
+     * @throws InterruptedException if interrupted while waiting for the end of the run.
+     */
+    public void run(int numBots, long duration) throws InterruptedException {
+        List<Bot> bots = new ArrayList<>();
+        for (int i = 0; i < numBots; i++) {
+            Bot bot = new Bot(this, "bot" + i, MoreExecutors.newSequentialExecutor(workers), i);
+            bots.add(bot);
+            // logins are spread, otherwise they all wait for the same lobby
+            schedule(bot::start, i * STAGGER_DELAY);
+        }
+        long startTime = System.nanoTime();
+        timer.scheduleAtFixedRate(() -> System.out.println(report(System.nanoTime() - startTime)),
+                REPORT_PERIOD, REPORT_PERIOD, TimeUnit.SECONDS);
+        TimeUnit.SECONDS.sleep(duration);
+        long elapsed = System.nanoTime() - startTime;
+        bots.forEach(Bot::stop);
+        System.out.println("Final " + report(elapsed));
+    }
+
+    private String report(long elapsed) {
+        double seconds = elapsed / 1e9;
+        return String.format("report after %.0f s: placements=%d (%.1f/s) latency p50=%.2f p90=%.2f p99=%.2f max=%.2f ms, "
+                        + "draws=%d, chat=%d, finished games=%d, reconnections=%d, rejected logins=%d, errors=%d",
+                seconds, placementLatency.getCount(), placementLatency.getCount() / seconds,
+                toMillis(placementLatency.getPercentile(50)), toMillis(placementLatency.getPercentile(90)),
+                toMillis(placementLatency.getPercentile(99)), toMillis(placementLatency.getMax()),
+                draws.sum(), chatMessages.sum(), finishedGames.sum(), reconnections.sum(), rejectedLogins.sum(),
+                errors.sum());
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1e6;
+    }
+
+    Client createClient() {
+        return typeConnection.equals(OPTION_RMI) ? new ClientRMI(clientIp) : new ClientSocket(wireFormat);
+    }
+
+    ScheduledFuture<?> schedule(Runnable task, long delay) {
+        return timer.schedule(() -> workers.execute(task), delay, TimeUnit.MILLISECONDS);
+    }
+
+    ScheduledFuture<?> scheduleAtFixedRate(Runnable task, long period) {
+        return timer.scheduleAtFixedRate(() -> workers.execute(task), period, period, TimeUnit.MILLISECONDS);
+    }
+
+    String getServerIp() {
+        return serverIp;
+    }
+
+    int getServerPort() {
+        return serverPort;
+    }
+
+    int getPlayersPerGame() {
+        return playersPerGame;
+    }
+
+    long getChatInterval() {
+        return chatInterval;
+    }
+
+    double getReconnectionProbability() {
+        return reconnectionProbability;
+    }
+
+    void recordPlacement(long latency) {
+        placementLatency.record(latency);
+    }
+
+    void recordDraw() {
+        draws.increment();
+    }
+
+    void recordChatMessage() {
+        chatMessages.increment();
+    }
+
+    void recordFinishedGame() {
+        finishedGames.increment();
+    }
+
+    void recordReconnection() {
+        reconnections.increment();
+    }
+
+    void recordRejectedLogin() {
+        rejectedLogins.increment();
+    }
+
+    void recordError() {
+        errors.increment();
+    }
+
+    /**
+     * Runs the load generator.
+     *
+     * @param args server ip, server port, rmi or socket, number of bots, players per game and duration in seconds,
+     *             optionally followed by the flags of the chat interval, of the reconnection probability, of the
+     *             client ip and of the json format.
+     */
+    public static void main(String[] args) throws InterruptedException {
+        long chatInterval = 0;
+        double reconnectionProbability = 0;
+        String clientIp = "127.0.0.1";
+        WireFormat wireFormat = WireFormat.BINARY;
+
+        List<String> options = new ArrayList<>();
+        try {
+            for (String arg : args) {
+                if (arg.startsWith(CHAT_INTERVAL_FLAG)) {
+                    chatInterval = Long.parseLong(arg.substring(CHAT_INTERVAL_FLAG.length()));
+                } else if (arg.startsWith(RECONNECTION_PROBABILITY_FLAG)) {
+                    reconnectionProbability = Double.parseDouble(arg.substring(RECONNECTION_PROBABILITY_FLAG.length()));
+                } else if (arg.startsWith(CLIENT_IP_FLAG)) {
+                    clientIp = arg.substring(CLIENT_IP_FLAG.length());
+                } else if (arg.equals(JSON_FLAG)) {
+                    wireFormat = WireFormat.JSON;
+                } else {
+                    options.add(arg);
+                }
+            }
+            if (options.size() < 6) {
+                System.out.println("Usage: LoadGenerator <server ip> <port> <rmi|socket> <bots> <players per game> "
+                        + "<seconds> [" + CHAT_INTERVAL_FLAG + "<ms>] [" + RECONNECTION_PROBABILITY_FLAG + "<p>] ["
+                        + CLIENT_IP_FLAG + "<ip>] [" + JSON_FLAG + "]");
+                System.exit(1);
+            }
+            NetworkLog.configure();
+            LoadGenerator generator = new LoadGenerator(options.get(0), Integer.parseInt(options.get(1)), options.get(2),
+                    clientIp, wireFormat, Integer.parseInt(options.get(4)), chatInterval, reconnectionProbability);
+            generator.run(Integer.parseInt(options.get(3)), Long.parseLong(options.get(5)));
+        } catch (NumberFormatException e) {
+            System.out.println("Invalid number: " + e.getMessage());
+            System.exit(1);
+        }
+        // the controllers of the bots keep their request threads alive
+        System.exit(0);
+    }
+}
@@ -12,6 +12,7 @@ import it.polimi.ingsw.model.card.color.PlayerColor;
 import it.polimi.ingsw.model.chat.message.InvalidMessageException;
 import it.polimi.ingsw.model.chat.message.Message;
 import it.polimi.ingsw.model.gamephase.GamePhase;
+import it.polimi.ingsw.model.listenerhandler.EventLog;
 import it.polimi.ingsw.model.lobby.InvalidPlayersNumberException;
 import it.polimi.ingsw.network.VirtualServer;
 import it.polimi.ingsw.network.client.Client;
@@ -79,9 +80,10 @@ public class ClientController implements ClientActions {
      */
     @Override
     public void connect(String username) {
+        long lastSequenceNumber = getLastSequenceNumber(username);
         requestsForTheServer.submit(() -> {
             try {
-                server.connect(client.getInstanceForTheServer(), username);
+                server.connect(client.getInstanceForTheServer(), username, lastSequenceNumber);
             } catch (RemoteException e) {
                 System.err.println(e.getMessage());
                 handleServerCrash();
@@ -89,6 +91,30 @@ public class ClientController implements ClientActions {
         });
     }
 
+    /**
+     * Returns the sequence number of the last game update received by <code>username</code>.
+     *
+     * @param username of the player connecting.
+     * @return the sequence number of the last update applied to the game, if the player has already joined it;
+     * {@link EventLog#NO_SEQUENCE_NUMBER} otherwise.
+     */
+    private synchronized long getLastSequenceNumber(String username) {
+        if (game == null || !username.equals(mainPlayerUsername)) {
+            return EventLog.NO_SEQUENCE_NUMBER;
+        }
+        return game.getSequenceNumber();
+    }
+
+    /**
+     * Records that an update broadcast to all the players of the game has been received, so that a later reconnection
+     * asks only for the updates following it.
+     */
+    public synchronized void registerUpdate() {
+        if (game != null) {
+            game.incrementSequenceNumber();
+        }
+    }
+
     private void handleServerCrash() {
         client.handleServerCrash();
     }
@@ -302,8 +328,11 @@ public class ClientController implements ClientActions {
      * {@inheritDoc}
      */
     @Override
-    public synchronized void disconnect(String username) {
-        if (server != null && client.isConnected()) {
+    public void disconnect(String username) {
+        synchronized (this) {
+            if (server == null || !client.isConnected()) {
+                return;
+            }
             requestsForTheServer.submit(() -> {
                 try {
                     server.disconnect(username);
@@ -312,15 +341,16 @@ public class ClientController implements ClientActions {
                 }
             });
             requestsForTheServer.shutdown();
-            try {
-                boolean areTasksCompleted = requestsForTheServer.awaitTermination(3, TimeUnit.SECONDS);
-                if (areTasksCompleted) {
-                    System.out.println("All requests have been sent to the server");
-                } else {
-                    System.err.println("There are requests not sent to the server");
-                }
-            } catch (InterruptedException ignored) {
+        }
+        // the requests still queued read the controller: waiting while holding its monitor would block them
+        try {
+            boolean areTasksCompleted = requestsForTheServer.awaitTermination(3, TimeUnit.SECONDS);
+            if (areTasksCompleted) {
+                System.out.println("All requests have been sent to the server");
+            } else {
+                System.err.println("There are requests not sent to the server");
             }
+        } catch (InterruptedException ignored) {
         }
     }
 
@@ -379,23 +409,24 @@ public class ClientController implements ClientActions {
      * Updates the playground and the player's hand after a placement.
      *
      * @param positionToCornerCovered a map with the covered corners.
-     * @param newAvailablePositions   a list with the available positions.
-     * @param newResources            a map with the new acquired resources.
+     * @param addedAvailablePositions   a list with the available positions added by the placement.
+     * @param removedAvailablePositions a list with the positions no longer available after the placement.
+     * @param changedResources          a map with the resources whose amount changed.
      * @param points                  present after the placement.
      * @param username                of the player.
      * @param placedCard              the card that has been placed.
      * @param placedSide              the side of the card that has been placed.
      * @param position                of the card in the playground.
      */
-    public synchronized void updateAfterPlace(Map<Position, CornerPosition> positionToCornerCovered, List<Position> newAvailablePositions, Map<Symbol, Integer> newResources, int points, String username, ClientCard placedCard, Side placedSide, Position position) {
+    public synchronized void updateAfterPlace(Map<Position, CornerPosition> positionToCornerCovered, List<Position> addedAvailablePositions, List<Position> removedAvailablePositions, Map<Symbol, Integer> changedResources, int points, String username, ClientCard placedCard, Side placedSide, Position position) {
 
         ClientPlayground playground = game.getPlaygroundByUsername(username);
 
         playground.setPoints(points);
-        playground.addNewAvailablePositions(newAvailablePositions);
+        playground.updateAvailablePositions(addedAvailablePositions, removedAvailablePositions);
         playground.setCoveredCorner(positionToCornerCovered);
         playground.placeTile(position, new ClientTile(placedCard.getFace(placedSide)));
-        playground.updateResources(newResources);
+        playground.updateResources(changedResources);
 
         game.getPlayer(username).removePlayerCard(placedCard);
 
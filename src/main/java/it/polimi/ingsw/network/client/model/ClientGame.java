@@ -28,6 +28,7 @@ public class ClientGame implements Serializable {
     private ClientBoard clientBoard;
     private GamePhase currentPhase;
     private boolean isGameActive;
+    private long sequenceNumber; // of the last update applied to this representation.
 
     /**
      * Constructs a game with no parameters provided.
@@ -106,6 +107,45 @@ public class ClientGame implements Serializable {
 
         this.isGameActive = game.isActive();
         this.currentPhase = game.getPhase();
+        this.sequenceNumber = game.getLastSequenceNumber();
+    }
+
+    /**
+     * Constructs a game with all its attributes provided.
+     *
+     * @param currentPlayerIdx the index of the current player.
+     * @param players          the players of the game.
+     * @param messages         the messages of the chat.
+     * @param clientBoard      the board of the game.
+     * @param currentPhase     the phase of the game.
+     * @param isGameActive     true if the game is active, false otherwise.
+     * @param sequenceNumber   the sequence number of the last update applied to the game.
+     */
+    public ClientGame(int currentPlayerIdx, List<ClientPlayer> players, List<Message> messages, ClientBoard clientBoard,
+                      GamePhase currentPhase, boolean isGameActive, long sequenceNumber) {
+        this.currentPlayerIdx = currentPlayerIdx;
+        this.players = players;
+        this.messages = messages;
+        this.clientBoard = clientBoard;
+        this.currentPhase = currentPhase;
+        this.isGameActive = isGameActive;
+        this.sequenceNumber = sequenceNumber;
+    }
+
+    /**
+     * Returns the sequence number of the last update applied to the game.
+     *
+     * @return the sequence number, which is sent back to the server to receive only the missed updates when rejoining.
+     */
+    public long getSequenceNumber() {
+        return sequenceNumber;
+    }
+
+    /**
+     * Records that an update broadcast by the server has been applied to the game.
+     */
+    public void incrementSequenceNumber() {
+        sequenceNumber++;
     }
 
     /**
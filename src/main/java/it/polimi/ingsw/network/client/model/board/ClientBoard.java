@@ -47,6 +47,22 @@ public class ClientBoard implements Serializable {
         }
     }
 
+    /**
+     * Constructs a client board with the <code>faceUpCards</code>, <code>commonObjectives</code>,
+     * <code>goldenDeckTopBack</code> and <code>resourceDeckTopBack</code> already in the client's representation.
+     *
+     * @param faceUpCards         the four cards placed face up on the <code>ClientBoard</code>.
+     * @param commonObjectives    the two <code>commonObjectives</code> of the game.
+     * @param goldenDeckTopBack   the back of the first golden card found in the golden deck, null if it's empty.
+     * @param resourceDeckTopBack the back of the first resource card found in the resource deck, null if it's empty.
+     */
+    public ClientBoard(List<ClientCard> faceUpCards, List<ClientObjectiveCard> commonObjectives, ClientFace goldenDeckTopBack, ClientFace resourceDeckTopBack) {
+        this.faceUpCards = faceUpCards;
+        this.commonObjectives = commonObjectives;
+        this.goldenDeckTopBack = goldenDeckTopBack;
+        this.resourceDeckTopBack = resourceDeckTopBack;
+    }
+
     //getter methods
 
 
@@ -69,6 +69,22 @@ public class ClientPlayground implements Serializable {
         resources.put(Symbol.QUILL, 0);
     }
 
+    /**
+     * Constructs a playground with the <code>area</code>, <code>positioningOrder</code>, <code>resources</code> and
+     * <code>points</code> provided.
+     *
+     * @param area             the tiles of the playground, excluding the not available ones.
+     * @param positioningOrder the positions of the placed cards, in order of placement.
+     * @param resources        the amount of each symbol in the playground.
+     * @param points           the points of the player.
+     */
+    public ClientPlayground(Map<Position, ClientTile> area, List<Position> positioningOrder, Map<Symbol, Integer> resources, int points) {
+        this.area = area;
+        this.positioningOrder = positioningOrder;
+        this.resources = resources;
+        this.points = points;
+    }
+
     /**
      * Constructs a playground given a <code>playgroundToCopy</code>.
      *
@@ -163,23 +179,21 @@ public class ClientPlayground implements Serializable {
     // symbol in the resources map
 
     /**
-     * Adds <code>newAvailablePosition</code> to the playground
+     * Applies the changes of the available positions made by a placement.
+     * Only the positions provided are touched, hence the cost doesn't depend on the size of the playground.
      *
-     * @param newAvailablePosition list of new available positions to be added.
+     * @param addedAvailablePositions   list of new available positions to be added.
+     * @param removedAvailablePositions list of positions that are no longer available.
      */
-    public void addNewAvailablePositions(List<Position> newAvailablePosition) {
-        List<Position> emptyTiles = new ArrayList<>();
-        for (Position position : area.keySet()) {
-            if (getTile(position).sameAvailability(Availability.EMPTY)) {
-                emptyTiles.add(position);
+    public void updateAvailablePositions(List<Position> addedAvailablePositions, List<Position> removedAvailablePositions) {
+        for (Position position : removedAvailablePositions) {
+            ClientTile tile = area.get(position);
+            if (tile != null && tile.sameAvailability(Availability.EMPTY)) {
+                area.remove(position);
             }
         }
 
-        for (Position p : emptyTiles) {
-            area.remove(p);
-        }
-
-        for (Position position : newAvailablePosition) {
+        for (Position position : addedAvailablePositions) {
             placeTile(position, new ClientTile(Availability.EMPTY));
         }
     }
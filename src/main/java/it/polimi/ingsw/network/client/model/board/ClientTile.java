@@ -26,6 +26,13 @@ public class ClientTile implements Serializable {
         availability = tile.getAvailability();
         // null if it refers to a tile which has not already a face on it, because it represents an available position
         face = tile.getFace() == null ? null : new ClientFace(tile.getFace());
+        if (face != null) {
+            for (CornerPosition corner : CornerPosition.CORNERS) {
+                if (tile.isCornerCovered(corner)) {
+                    face.setCornerCovered(corner);
+                }
+            }
+        }
     }
 
     /**
@@ -47,6 +54,21 @@ public class ClientTile implements Serializable {
         availability = Availability.OCCUPIED;
     }
 
+    /**
+     * Constructs a tile with the <code>face</code> and the <code>availability</code> provided.
+     *
+     * @param face         contained in the tile, null if there's no face.
+     * @param availability the tile's availability.
+     */
+    public ClientTile(ClientFace face, Availability availability) {
+        this.face = face;
+        this.availability = availability;
+    }
+
+    public Availability getAvailability() {
+        return availability;
+    }
+
     /**
      * Returns the face contained in the tile.
      * @return a face representing the card's face placed in the tile.
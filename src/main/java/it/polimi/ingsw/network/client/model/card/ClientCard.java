@@ -31,6 +31,17 @@ public class ClientCard implements Serializable {
         back = new ClientFace(backID);
     }
 
+    /**
+     * Constructs a Client Card with the <code>front</code> and <code>back</code> provided.
+     *
+     * @param front of the card.
+     * @param back  of the card.
+     */
+    public ClientCard(ClientFace front, ClientFace back) {
+        this.front = front;
+        this.back = back;
+    }
+
     /**
      * Constructor used to copy the provided <code>card</code>.
      *
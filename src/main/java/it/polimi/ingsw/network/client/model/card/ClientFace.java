@@ -16,6 +16,11 @@ public class ClientFace implements Serializable {
 
     private Map<CornerPosition, Corner> corners;
 
+    /**
+     * The covered corners, as a mask of bits indexed by the ordinal of the corner position.
+     */
+    private int coveredCorners;
+
     private CardColor color;
 
     private Map<Symbol, Integer> backCenterResources;
@@ -31,7 +36,8 @@ public class ClientFace implements Serializable {
     }
 
     /**
-     * Constructs a face card with the <code>face</code> provided.
+     * Constructs a face card with the <code>face</code> provided, with no corner covered.
+     * The corners are shared with the <code>face</code>, since they're immutable.
      *
      * @param face from which the face card is to be constructed.
      */
@@ -68,9 +74,17 @@ public class ClientFace implements Serializable {
 
     public void setCornerCovered(CornerPosition cornerPosition) {
         assert (corners.containsKey(cornerPosition));
-        Corner corner = corners.get(cornerPosition);
-        assert (corner != null);
-        corner.setCovered();
+        coveredCorners |= 1 << cornerPosition.ordinal();
+    }
+
+    /**
+     * Checks whether the corner of the face is covered by another face.
+     *
+     * @param cornerPosition the position of the corner.
+     * @return true if the corner is covered, false otherwise.
+     */
+    public boolean isCornerCovered(CornerPosition cornerPosition) {
+        return (coveredCorners & (1 << cornerPosition.ordinal())) != 0;
     }
 
     public String getPath(){
@@ -61,6 +61,28 @@ public class ClientPlayer implements Serializable {
         this.objectiveCards = objectiveCards;
     }
 
+    /**
+     * Constructs a clientPlayer with all its attributes provided.
+     *
+     * @param username       the username of the player.
+     * @param playground     the playground of the player.
+     * @param color          the color of the player, null if not chosen yet.
+     * @param isConnected    true if the player is connected, false otherwise.
+     * @param starterCard    the starter card of the player.
+     * @param playerCards    the player's hand.
+     * @param objectiveCards the objective cards of the player.
+     */
+    public ClientPlayer(String username, ClientPlayground playground, PlayerColor color, boolean isConnected,
+                        ClientCard starterCard, List<ClientCard> playerCards, List<ClientObjectiveCard> objectiveCards) {
+        this.username = username;
+        this.playground = playground;
+        this.color = color;
+        this.isConnected = isConnected;
+        this.starterCard = starterCard;
+        this.playerCards = playerCards;
+        this.objectiveCards = objectiveCards;
+    }
+
     /**
      * Constructs a clientPlayer using the <code>player</code>.
      *
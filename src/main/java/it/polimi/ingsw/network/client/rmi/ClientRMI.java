@@ -8,17 +8,20 @@ import it.polimi.ingsw.network.heartbeat.HeartBeat;
 import it.polimi.ingsw.network.heartbeat.HeartBeatHandler;
 import it.polimi.ingsw.network.heartbeat.HeartBeatMessage;
 import it.polimi.ingsw.network.server.rmi.ServerRMI;
+import it.polimi.ingsw.network.logging.NetworkLog;
 
 import java.rmi.NotBoundException;
 import java.rmi.RemoteException;
 import java.rmi.registry.LocateRegistry;
 import java.rmi.registry.Registry;
 import java.rmi.server.UnicastRemoteObject;
+import java.util.logging.Logger;
 
 /**
  * The ClientRMI defines the methods to handle an RMI connection and inherits from Client the methods to update the client's model and view.
  */
 public class ClientRMI extends Client implements HeartBeatHandler {
+    private static final Logger logger = NetworkLog.getLogger(ClientRMI.class);
     private HeartBeat heartBeat;
     private VirtualView stub;
 
@@ -69,15 +72,13 @@ public class ClientRMI extends Client implements HeartBeatHandler {
      */
     @Override
     public void resultOfLogin(boolean accepted, String username, String details) throws RemoteException {
-        System.err.println("Received result of login");
         synchronized (lockOnNetworkStatus) {
             if (isConnected) {
-                System.err.println("I'm (" + username + ") already connected");
+                logger.fine(() -> "I'm (" + username + ") already connected");
                 return;
             }
 
-            System.err.println(" which belongs to me");
-            System.err.println(username + " is connected");
+            logger.fine(() -> "Received the result of the login of " + username + ": " + accepted);
             if (accepted) {
                 //System.out.println(username + " has been accepted");
                 controller.setMainPlayerUsername(username);
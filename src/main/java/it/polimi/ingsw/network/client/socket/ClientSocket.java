@@ -4,29 +4,46 @@ import it.polimi.ingsw.network.VirtualServer;
 import it.polimi.ingsw.network.VirtualView;
 import it.polimi.ingsw.network.client.Client;
 import it.polimi.ingsw.network.client.UnReachableServerException;
+import it.polimi.ingsw.network.codec.WireFormat;
 import it.polimi.ingsw.network.heartbeat.HeartBeat;
 import it.polimi.ingsw.network.heartbeat.HeartBeatHandler;
 import it.polimi.ingsw.network.heartbeat.HeartBeatMessage;
+import it.polimi.ingsw.network.logging.NetworkLog;
 
-import java.io.BufferedReader;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.PrintWriter;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.Socket;
 import java.net.UnknownHostException;
 import java.rmi.RemoteException;
+import java.util.logging.Logger;
 
 
 /**
  * The ClientSocket defines the methods to handle a Socket connection and inherits from Client the methods to update the client's model and view.
  */
 public class ClientSocket extends Client implements HeartBeatHandler {
+    private static final Logger logger = NetworkLog.getLogger(ClientSocket.class);
     private Socket socket;
-    private PrintWriter out;
-    private BufferedReader in;
+    private OutputStream out;
+    private InputStream in;
     private HeartBeat heartBeat;
+    private final WireFormat wireFormat;
 
-    public ClientSocket() {}
+    public ClientSocket() {
+        this(WireFormat.JSON);
+    }
+
+    /**
+     * Constructs a client which exchanges messages with the server in the <code>wireFormat</code> provided.
+     *
+     * @param wireFormat the encoding of the messages.
+     */
+    public ClientSocket(WireFormat wireFormat) {
+        this.wireFormat = wireFormat;
+    }
 
     /**
      * {@inheritDoc}
@@ -57,9 +74,9 @@ public class ClientSocket extends Client implements HeartBeatHandler {
     public VirtualServer bindServer(String ip, Integer port) throws UnReachableServerException {
         try {
             this.socket = new Socket(ip, port);
-            this.out = new PrintWriter(this.socket.getOutputStream(), true);
-            this.in = new BufferedReader(new InputStreamReader(socket.getInputStream()));
-            ServerHandler server = new ServerHandler(this, in, out);
+            this.out = new BufferedOutputStream(this.socket.getOutputStream());
+            this.in = new BufferedInputStream(socket.getInputStream());
+            ServerHandler server = new ServerHandler(this, in, out, wireFormat);
             heartBeat = new HeartBeat(this, "unknown", server, "server");
             server.start();
             return server;
@@ -88,7 +105,7 @@ public class ClientSocket extends Client implements HeartBeatHandler {
     public void resultOfLogin(boolean accepted, String username, String details) {
         synchronized (lockOnNetworkStatus) {
             if (isConnected) {
-                System.err.println("I'm (" + username + ") already connected");
+                logger.fine(() -> "I'm (" + username + ") already connected");
                 return;
             }
 
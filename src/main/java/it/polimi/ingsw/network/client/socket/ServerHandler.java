@@ -1,13 +1,14 @@
 package it.polimi.ingsw.network.client.socket;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
 import it.polimi.ingsw.model.card.Side;
 import it.polimi.ingsw.network.NetworkMessage;
-import it.polimi.ingsw.network.Type;
 import it.polimi.ingsw.network.VirtualServer;
 import it.polimi.ingsw.network.VirtualView;
-import it.polimi.ingsw.network.client.socket.message.*;
+import it.polimi.ingsw.network.client.NetworkMessageDispatcher;
+import it.polimi.ingsw.network.codec.BinaryCodec;
+import it.polimi.ingsw.network.codec.JsonCodec;
+import it.polimi.ingsw.network.codec.MalformedMessageException;
+import it.polimi.ingsw.network.codec.WireFormat;
 import it.polimi.ingsw.network.heartbeat.HeartBeatMessage;
 import it.polimi.ingsw.network.server.socket.message.ConnectMessage;
 import it.polimi.ingsw.network.server.socket.message.PlaceStarterMessage;
@@ -15,139 +16,116 @@ import it.polimi.ingsw.model.board.Position;
 import it.polimi.ingsw.model.card.color.PlayerColor;
 import it.polimi.ingsw.model.chat.message.Message;
 import it.polimi.ingsw.network.server.socket.message.*;
+import it.polimi.ingsw.network.logging.NetworkLog;
 
 import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.PrintWriter;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.rmi.RemoteException;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Logger;
 
 /**
  * Server Handler processes and sends the incoming commands to ClientSocket.
  */
 public class ServerHandler extends Thread implements VirtualServer {
-    private final BufferedReader in;
-    private final PrintWriter out;
+    private static final Logger logger = NetworkLog.getLogger(ServerHandler.class);
+    private static final Logger payloadLogger = NetworkLog.getPayloadLogger();
+    private final InputStream in;
+    private final BufferedReader reader;
+    private final OutputStream out;
+    private final Lock lockOnOutput;
     private final ClientSocket clientSocket;
-    private final Gson gson;
+    private final WireFormat wireFormat;
 
     /**
      * Constructs a <code>ServerHandler</code> with the <code>clientSocket</code>, <code>in</code> and <code>out</code>
-     * provided
+     * provided, speaking the <code>wireFormat</code> with the server.
+     * In the binary format, the handler announces itself with {@link BinaryCodec#MAGIC} before any message.
      *
      * @param clientSocket the representation of the clientSocket
-     * @param in           the reader
-     * @param out          the printer
+     * @param in           the stream from the server
+     * @param out          the stream to the server
+     * @param wireFormat   the encoding of the messages
      */
-    public ServerHandler(ClientSocket clientSocket, BufferedReader in, PrintWriter out) {
+    public ServerHandler(ClientSocket clientSocket, InputStream in, OutputStream out, WireFormat wireFormat) {
         this.in = in;
+        this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
         this.out = out;
+        this.lockOnOutput = new ReentrantLock();
         this.clientSocket = clientSocket;
-        GsonBuilder builder = new GsonBuilder().enableComplexMapKeySerialization();
-        this.gson = builder.create();
+        this.wireFormat = wireFormat;
+        if (wireFormat == WireFormat.BINARY) {
+            write(new byte[]{(byte) BinaryCodec.MAGIC});
+        }
+    }
+
+    /**
+     * Reads the next message from the server, blocking until it's complete.
+     *
+     * @return the message, or null if the server has closed the channel.
+     * @throws IOException if the channel fails.
+     * @throws MalformedMessageException if the server has sent an invalid message.
+     */
+    private NetworkMessage readMessage() throws IOException, MalformedMessageException {
+        if (wireFormat == WireFormat.BINARY) {
+            byte[] payload = BinaryCodec.readFrame(in);
+            return payload == null ? null : BinaryCodec.decode(payload);
+        }
+        String line = reader.readLine();
+        if (line == null) {
+            return null;
+        }
+        payloadLogger.finest(() -> "Received from the server: " + line);
+        return JsonCodec.decode(line);
     }
 
     @Override
     public void run() {
         //System.out.println("I'm hearing");
         try {
-            String line = in.readLine();
-            while (line != null) {
-                System.err.println("received from server: " + line);
-                NetworkMessage message = gson.fromJson(line, NetworkMessage.class);
-                Type type = message.getNetworkType();
-
-                switch (type) {
-                    case RESULT_OF_LOGIN:
-                        ResultOfLogin resultOfLogin = gson.fromJson(line, ResultOfLogin.class);
-                        clientSocket.resultOfLogin(resultOfLogin.getAccepted(), resultOfLogin.getSelectedUsername(), resultOfLogin.getDetails());
-                        break;
-                    case EXCEEDING_PLAYER:
-                        ExceedingPlayerMessage exceedingPlayerMessage = gson.fromJson(line, ExceedingPlayerMessage.class);
-                        clientSocket.showUpdateExceedingPlayer();
-                        break;
-                    case UPDATE_CREATOR:
-                        clientSocket.updateCreator();
-                        break;
-                    case UPDATE_AFTER_LOBBY_CRASH:
-                        clientSocket.updateAfterLobbyCrash();
-                        break;
-                    case UPDATE_AFTER_CONNECTION:
-                        UpdateAfterConnectionMessage updateAfterConnectionMessage = gson.fromJson(line, UpdateAfterConnectionMessage.class);
-                        clientSocket.updateAfterConnection(updateAfterConnectionMessage.getGame());
-                        break;
-                    case SHOW_UPDATE_PLAYERS_IN_LOBBY:
-                        UpdatePlayersInLobbyMessage updatePlayersInLobbyMessage = gson.fromJson(line, UpdatePlayersInLobbyMessage.class);
-                        clientSocket.showUpdatePlayersInLobby(updatePlayersInLobbyMessage.getUsernames());
-                        break;
-                    case SHOW_UPDATE_PLAYER_STATUS:
-                        UpdatePlayerStatusMessage updatePlayerStatusMessage = gson.fromJson(line, UpdatePlayerStatusMessage.class);
-                        clientSocket.showUpdatePlayerStatus(updatePlayerStatusMessage.isConnected(), updatePlayerStatusMessage.getUsername());
-                        break;
-                    case SHOW_UPDATE_COLOR:
-                        UpdateColorMessage updateColorMessage = gson.fromJson(line, UpdateColorMessage.class);
-                        clientSocket.showUpdateColor(updateColorMessage.getColorSelected(), updateColorMessage.getUsername());
-                        break;
-                    case SHOW_UPDATE_OBJECTIVE_CARD:
-                        UpdateObjectiveCardMessage objectiveCardMessage = gson.fromJson(line, UpdateObjectiveCardMessage.class);
-                        clientSocket.showUpdateObjectiveCard(objectiveCardMessage.getChosenObjective(), objectiveCardMessage.getUsername());
-                        break;
-                    case SHOW_UPDATE_AFTER_PLACE:
-                        UpdateAfterPlaceMessage updateAfterPlaceMessage = gson.fromJson(line, UpdateAfterPlaceMessage.class);
-                        clientSocket.showUpdateAfterPlace(
-                                updateAfterPlaceMessage.getPositionToCornerCovered(),
-                                updateAfterPlaceMessage.getNewAvailablePositions(),
-                                updateAfterPlaceMessage.getNewResources(),
-                                updateAfterPlaceMessage.getPoints(),
-                                updateAfterPlaceMessage.getUsername(),
-                                updateAfterPlaceMessage.getPlacedCard(),
-                                updateAfterPlaceMessage.getPlacedSide(),
-                                updateAfterPlaceMessage.getPosition()
-                        );
-                        break;
-                    case SHOW_UPDATE_AFTER_DRAW:
-                        UpdateAfterDrawMessage updateAfterDrawMessage = gson.fromJson(line, UpdateAfterDrawMessage.class);
-                        clientSocket.showUpdateAfterDraw(
-                                updateAfterDrawMessage.getDrawnCard(),
-                                updateAfterDrawMessage.getNewTopDeck(),
-                                updateAfterDrawMessage.getNewFaceUpCard(),
-                                updateAfterDrawMessage.getUsername(),
-                                updateAfterDrawMessage.getBoardPosition());
-                        break;
-                    case SHOW_UPDATE_CHAT:
-                        UpdateChatMessage updateChatMessage = gson.fromJson(line, UpdateChatMessage.class);
-                        clientSocket.showUpdateChat(updateChatMessage.getMessage());
-                        break;
-                    case SHOW_UPDATE_CURRENT_PLAYER:
-                        UpdateCurrentPlayerMessage updateCurrentPlayerMessage = gson.fromJson(line, UpdateCurrentPlayerMessage.class);
-                        clientSocket.showUpdateCurrentPlayer(updateCurrentPlayerMessage.getCurrentPlayerIdx(), updateCurrentPlayerMessage.getCurrentPhase());
-                        break;
-                    case SHOW_UPDATE_SUSPENDED_GAME:
-                        clientSocket.showUpdateGameState();
-                        break;
-                    case SHOW_WINNERS:
-                        ShowWinnersMessage showWinnersMessage = gson.fromJson(line, ShowWinnersMessage.class);
-                        clientSocket.showWinners(showWinnersMessage.getWinners());
-                        break;
-                    case ERROR:
-                        ReportErrorMessage errorMessage = gson.fromJson(line, ReportErrorMessage.class);
-                        clientSocket.reportError(errorMessage.getDetails());
-                        break;
-                    case HEARTBEAT:
-                        HeartBeatMessage ping = gson.fromJson(line, HeartBeatMessage.class);
-                        clientSocket.receivePing(ping);
-                        break;
-                    default:
-                        System.err.println("Unrecognised input from the server");
-                        assert(false);
-                        break;
-                }
-                line = in.readLine();
+            NetworkMessage message = readMessage();
+            while (message != null) {
+                NetworkMessageDispatcher.dispatch(message, clientSocket);
+                message = readMessage();
             }
-            System.err.println("Closed connection from server");
+            logger.info("Closed connection from server");
             clientSocket.handleServerCrash();
         } catch (IOException e) {
-            System.err.println("Stop hearing: channel has been closed");
+            logger.info("Stop hearing: channel has been closed");
             clientSocket.handleServerCrash();
+        } catch (MalformedMessageException e) {
+            logger.warning(() -> "Stop hearing: received malformed input from the server: " + e.getMessage());
+            clientSocket.handleServerCrash();
+        }
+    }
+
+    /**
+     * Sends the <code>message</code> to the server in the wire format of the handler.
+     *
+     * @param message to send.
+     */
+    private void send(NetworkMessage message) {
+        if (wireFormat == WireFormat.BINARY) {
+            write(BinaryCodec.encode(message));
+        } else {
+            write((JsonCodec.encode(message) + "\n").getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private void write(byte[] bytes) {
+        lockOnOutput.lock();
+        try {
+            out.write(bytes);
+            out.flush();
+        } catch (IOException e) {
+            logger.warning(() -> "Failed to write to the server: " + e.getMessage());
+        } finally {
+            lockOnOutput.unlock();
         }
     }
 
@@ -155,11 +133,8 @@ public class ServerHandler extends Thread implements VirtualServer {
      * {@inheritDoc}
      */
     @Override
-    public void connect(VirtualView client, String username) {
-        ConnectMessage message = new ConnectMessage(username);
-        String json = gson.toJson(message);
-        out.println(json);
-        out.flush();
+    public void connect(VirtualView client, String username, long lastSequenceNumber) {
+        send(new ConnectMessage(username, lastSequenceNumber));
     }
 
     /**
@@ -167,10 +142,7 @@ public class ServerHandler extends Thread implements VirtualServer {
      */
     @Override
     public void placeStarter(String username, Side side) {
-        PlaceStarterMessage message = new PlaceStarterMessage(username, side);
-        String json = gson.toJson(message);
-        out.println(json);
-        out.flush();
+        send(new PlaceStarterMessage(username, side));
     }
 
     /**
@@ -178,10 +150,7 @@ public class ServerHandler extends Thread implements VirtualServer {
      */
     @Override
     public void chooseColor(String username, PlayerColor color) {
-        ChooseColorMessage message = new ChooseColorMessage(username, color);
-        String json = gson.toJson(message);
-        out.println(json);
-        out.flush();
+        send(new ChooseColorMessage(username, color));
     }
 
     /**
@@ -189,10 +158,7 @@ public class ServerHandler extends Thread implements VirtualServer {
      */
     @Override
     public void placeObjectiveCard(String username, int chosenObjective) {
-        PlaceObjectiveMessage message = new PlaceObjectiveMessage(username, chosenObjective);
-        String json = gson.toJson(message);
-        out.println(json);
-        out.flush();
+        send(new PlaceObjectiveMessage(username, chosenObjective));
     }
 
     /**
@@ -200,10 +166,7 @@ public class ServerHandler extends Thread implements VirtualServer {
      */
     @Override
     public void placeCard(String username, int frontId, int backId, Side side, Position position) {
-        PlaceCardMessage message = new PlaceCardMessage(username, frontId, backId, side, position);
-        String json = gson.toJson(message);
-        out.println(json);
-        out.flush();
+        send(new PlaceCardMessage(username, frontId, backId, side, position));
     }
 
     /**
@@ -211,10 +174,7 @@ public class ServerHandler extends Thread implements VirtualServer {
      */
     @Override
     public void draw(String username, int idToDraw) {
-        DrawMessage message = new DrawMessage(username, idToDraw);
-        String json = gson.toJson(message);
-        out.println(json);
-        out.flush();
+        send(new DrawMessage(username, idToDraw));
     }
 
     /**
@@ -222,10 +182,7 @@ public class ServerHandler extends Thread implements VirtualServer {
      */
     @Override
     public void sendMessage(Message chatMessage) {
-        SendChatMessage message = new SendChatMessage(chatMessage.getSender(), chatMessage);
-        String json = gson.toJson(message);
-        out.println(json);
-        out.flush();
+        send(new SendChatMessage(chatMessage.getSender(), chatMessage));
     }
 
     /**
@@ -233,10 +190,7 @@ public class ServerHandler extends Thread implements VirtualServer {
      */
     @Override
     public void setPlayersNumber(String username, int playersNumber) {
-        SetPlayerNumberMessage message = new SetPlayerNumberMessage(username, playersNumber);
-        String json = gson.toJson(message);
-        out.println(json);
-        out.flush();
+        send(new SetPlayerNumberMessage(username, playersNumber));
     }
 
     /**
@@ -244,15 +198,12 @@ public class ServerHandler extends Thread implements VirtualServer {
      */
     @Override
     public void disconnect(String username) {
-        DisconnectMessage message = new DisconnectMessage(username);
-        String json = gson.toJson(message);
-        out.println(json);
-        out.flush();
+        send(new DisconnectMessage(username));
         try {
             in.close();
+            out.close();
         } catch (IOException ignored) {
         }
-        out.close();
     }
 
     //@Override
@@ -265,8 +216,6 @@ public class ServerHandler extends Thread implements VirtualServer {
     @Override
     public void receivePing(HeartBeatMessage ping) throws RemoteException {
         //System.out.println("Sending ping...");
-        String json = gson.toJson(ping);
-        out.println(json);
-        out.flush();
+        send(ping);
     }
 }
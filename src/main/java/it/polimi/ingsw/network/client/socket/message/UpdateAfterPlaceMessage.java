@@ -12,16 +12,18 @@ import java.util.List;
 import java.util.Map;
 
 /**
- * UpdateAfterPlaceMessage represents the message containing the updated position map, the new available position,
- * the new resources, the earned points, the position, the side and the placed card.
+ * UpdateAfterPlaceMessage represents the message containing the updated position map, the available positions added
+ * and removed, the changed resources, the earned points, the position, the side and the placed card.
  */
 public class UpdateAfterPlaceMessage extends NetworkMessage {
 
     private final Map<Position, CornerPosition> positionToCornerCovered;
 
-    private final List<Position> newAvailablePositions;
+    private final List<Position> addedAvailablePositions;
 
-    private final Map<Symbol, Integer> newResources;
+    private final List<Position> removedAvailablePositions;
+
+    private final Map<Symbol, Integer> changedResources;
 
     private final int points;
 
@@ -37,19 +39,21 @@ public class UpdateAfterPlaceMessage extends NetworkMessage {
      * Constructs a <code>UpdateAfterPlaceMessage</code>-
      *
      * @param positionToCornerCovered a map with the new covered corners.
-     * @param newAvailablePositions   a list with every new available tile added after the last placement.
-     * @param newResources            the new resources added after the last placement.
+     * @param addedAvailablePositions   a list with every available tile added by the placement.
+     * @param removedAvailablePositions a list with every tile that stopped being available with the placement.
+     * @param changedResources          the resources whose amount changed with the placement, with their new amount.
      * @param points                  the points present after the placement.
      * @param username                the username of the player.
      * @param placedCard              the card that has been placed.
      * @param placedSide              the side of the card that has been placed.
      * @param position                the position of the card in the playground.
      */
-    public UpdateAfterPlaceMessage(Map<Position, CornerPosition> positionToCornerCovered, List<Position> newAvailablePositions, Map<Symbol, Integer> newResources, int points, String username, ClientCard placedCard, Side placedSide, Position position) {
+    public UpdateAfterPlaceMessage(Map<Position, CornerPosition> positionToCornerCovered, List<Position> addedAvailablePositions, List<Position> removedAvailablePositions, Map<Symbol, Integer> changedResources, int points, String username, ClientCard placedCard, Side placedSide, Position position) {
         super(Type.SHOW_UPDATE_AFTER_PLACE, "server");
         this.positionToCornerCovered = positionToCornerCovered;
-        this.newAvailablePositions = newAvailablePositions;
-        this.newResources = newResources;
+        this.addedAvailablePositions = addedAvailablePositions;
+        this.removedAvailablePositions = removedAvailablePositions;
+        this.changedResources = changedResources;
         this.points = points;
         this.username = username;
         this.placedCard = placedCard;
@@ -69,16 +73,20 @@ public class UpdateAfterPlaceMessage extends NetworkMessage {
         return points;
     }
 
-    public List<Position> getNewAvailablePositions() {
-        return newAvailablePositions;
+    public List<Position> getAddedAvailablePositions() {
+        return addedAvailablePositions;
+    }
+
+    public List<Position> getRemovedAvailablePositions() {
+        return removedAvailablePositions;
     }
 
     public Map<Position, CornerPosition> getPositionToCornerCovered() {
         return positionToCornerCovered;
     }
 
-    public Map<Symbol, Integer> getNewResources() {
-        return newResources;
+    public Map<Symbol, Integer> getChangedResources() {
+        return changedResources;
     }
 
     public Position getPosition() {
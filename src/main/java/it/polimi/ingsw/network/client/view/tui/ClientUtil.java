@@ -213,7 +213,7 @@ public class ClientUtil {
         Map<Symbol, Integer> resources = face.getBackCenterResources();
         int points = face.getScore();
 
-        appendNewResources(cornerPositionCornerMap, cardMatrix, color);
+        appendNewResources(cornerPositionCornerMap, face::isCornerCovered, cardMatrix, color);
         appendMatrixLines(resources, pointsCondition, cardMatrix, color);
         if (resources.isEmpty()) {
             appendPoints(cardMatrix, pointsCondition, points, 0);
@@ -287,12 +287,12 @@ public class ClientUtil {
         int switchCase = positionOrResourcesSwitchCase(positionCondition, resourceCondition);
 
         if (switchCase == 1) {//it is a card with a position condition
-            appendNewResources(new HashMap<>(), cardMatrix, color);
+            appendNewResources(new HashMap<>(), corner -> false, cardMatrix, color);
             appendObjectiveMatrixLines(new HashMap<>(), cardMatrix, color);
             paintBackground(cardMatrix, positionCondition);
             appendPoints(cardMatrix, null, points, switchCase);
         } else if (switchCase == 2) {
-            appendNewResources(new HashMap<>(), cardMatrix, color);
+            appendNewResources(new HashMap<>(), corner -> false, cardMatrix, color);
             appendObjectiveMatrixLines(resourceCondition, cardMatrix, color);
             appendInternalResources(resourceCondition, cardMatrix, true);
             appendPoints(cardMatrix, null, points, switchCase);
@@ -543,10 +543,12 @@ public class ClientUtil {
      * Appends the vertices of the card to the <code>card</code>.
      *
      * @param cornerPositionCornerMap the map containing the vertices of the card.
+     * @param isCovered               tells whether the vertex at a corner position is covered.
      * @param card                    the card seen as an array of strings.
      * @param color                   the color of the card.
      */
-    public static void appendNewResources(Map<CornerPosition, Corner> cornerPositionCornerMap, String[][] card, ANSIColor color) {
+    public static void appendNewResources(Map<CornerPosition, Corner> cornerPositionCornerMap,
+                                          Predicate<CornerPosition> isCovered, String[][] card, ANSIColor color) {
         ArrayList<CornerPosition> cornerPositions = new ArrayList<>();
 
         int upperRight = card[0].length - 1;
@@ -558,28 +560,28 @@ public class ClientUtil {
 
             switch (entry.getKey()) {
                 case TOP_LEFT -> {
-                    if (entry.getValue().isCovered()) {
+                    if (isCovered.test(entry.getKey())) {
                         card[0][0] = YELLOW + "═╝" + RESET;
                     } else if (entry.getValue() != null) {
                         card[0][0] = printResources(entry.getValue().getSymbol());
                     }
                 }
                 case TOP_RIGHT -> {
-                    if (entry.getValue().isCovered()) {
+                    if (isCovered.test(entry.getKey())) {
                         card[0][upperRight] = YELLOW + "╚═" + RESET;
                     } else if (entry.getValue() != null) {
                         card[0][upperRight] = printResources(entry.getValue().getSymbol());
                     }
                 }
                 case LOWER_LEFT -> {
-                    if (entry.getValue().isCovered()) {
+                    if (isCovered.test(entry.getKey())) {
                         card[lowerLeft][0] = YELLOW + "═╗" + RESET;
                     } else if (entry.getValue() != null) {
                         card[lowerLeft][0] = printResources(entry.getValue().getSymbol());
                     }
                 }
                 case LOWER_RIGHT -> {
-                    if (entry.getValue().isCovered()) {
+                    if (isCovered.test(entry.getKey())) {
                         card[lowerLeft][upperRight] = YELLOW + "╔═" + RESET;
                     } else if (entry.getValue() != null) {
                         card[lowerLeft][upperRight] = printResources(entry.getValue().getSymbol());
@@ -0,0 +1,475 @@
+package it.polimi.ingsw.network.codec;
+
+import it.polimi.ingsw.model.board.Availability;
+import it.polimi.ingsw.model.board.Position;
+import it.polimi.ingsw.model.card.CornerPosition;
+import it.polimi.ingsw.model.card.InvalidCardIdException;
+import it.polimi.ingsw.model.card.Side;
+import it.polimi.ingsw.model.card.Symbol;
+import it.polimi.ingsw.model.card.color.PlayerColor;
+import it.polimi.ingsw.model.chat.message.InvalidMessageException;
+import it.polimi.ingsw.model.chat.message.Message;
+import it.polimi.ingsw.model.gamephase.GamePhase;
+import it.polimi.ingsw.model.loader.CardsLoader;
+import it.polimi.ingsw.network.NetworkMessage;
+import it.polimi.ingsw.network.Type;
+import it.polimi.ingsw.network.client.model.ClientGame;
+import it.polimi.ingsw.network.client.model.board.ClientBoard;
+import it.polimi.ingsw.network.client.model.board.ClientPlayground;
+import it.polimi.ingsw.network.client.model.board.ClientTile;
+import it.polimi.ingsw.network.client.model.card.ClientCard;
+import it.polimi.ingsw.network.client.model.card.ClientFace;
+import it.polimi.ingsw.network.client.model.card.ClientObjectiveCard;
+import it.polimi.ingsw.network.client.model.player.ClientPlayer;
+import it.polimi.ingsw.network.client.socket.message.*;
+import it.polimi.ingsw.network.heartbeat.HeartBeatMessage;
+import it.polimi.ingsw.network.server.socket.message.*;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The BinaryCodec class encodes the socket messages in a compact binary form.
+ * A frame is the varint length of the payload followed by the payload itself, which starts with the ordinal of the
+ * network type. Cards are sent by the ids of their faces and rebuilt by the receiver through the
+ * {@link CardsLoader}, which both endpoints load in the same order.
+ */
+public class BinaryCodec {
+    /**
+     * The first byte sent by a client which speaks the binary encoding.
+     * It can't be the first byte of a json message.
+     */
+    public static final int MAGIC = 0xC5;
+
+    /**
+     * The maximum size of the payload of a frame.
+     */
+    public static final int MAX_FRAME_SIZE = 1024 * 1024;
+
+    private static final Type[] TYPES = Type.values();
+
+    private BinaryCodec() {
+    }
+
+    /**
+     * Encodes the <code>message</code> into a frame.
+     *
+     * @param message to encode.
+     * @return the frame, length prefix included.
+     */
+    public static byte[] encode(NetworkMessage message) {
+        BinaryWriter out = new BinaryWriter();
+        Type type = message.getNetworkType();
+        out.writeVarInt(type.ordinal());
+
+        switch (type) {
+            case RESULT_OF_LOGIN -> {
+                ResultOfLogin m = (ResultOfLogin) message;
+                out.writeBoolean(m.getAccepted());
+                out.writeString(m.getSelectedUsername());
+                out.writeString(m.getDetails());
+            }
+            case EXCEEDING_PLAYER, UPDATE_CREATOR, UPDATE_AFTER_LOBBY_CRASH, SHOW_UPDATE_SUSPENDED_GAME, FULL_LOBBY -> {
+                // the type is the whole message
+            }
+            case UPDATE_AFTER_CONNECTION -> writeGame(out, ((UpdateAfterConnectionMessage) message).getGame());
+            case SHOW_UPDATE_PLAYERS_IN_LOBBY ->
+                    out.writeList(((UpdatePlayersInLobbyMessage) message).getUsernames(), out::writeString);
+            case SHOW_UPDATE_PLAYER_STATUS -> {
+                UpdatePlayerStatusMessage m = (UpdatePlayerStatusMessage) message;
+                out.writeBoolean(m.isConnected());
+                out.writeString(m.getUsername());
+            }
+            case SHOW_UPDATE_COLOR -> {
+                UpdateColorMessage m = (UpdateColorMessage) message;
+                out.writeString(m.getUsername());
+                out.writeEnum(m.getColorSelected());
+            }
+            case SHOW_UPDATE_OBJECTIVE_CARD -> {
+                UpdateObjectiveCardMessage m = (UpdateObjectiveCardMessage) message;
+                writeObjectiveCard(out, m.getChosenObjective());
+                out.writeString(m.getUsername());
+            }
+            case SHOW_UPDATE_AFTER_PLACE -> {
+                UpdateAfterPlaceMessage m = (UpdateAfterPlaceMessage) message;
+                out.writeMap(m.getPositionToCornerCovered(), out::writePosition, out::writeEnum);
+                out.writeList(m.getAddedAvailablePositions(), out::writePosition);
+                out.writeList(m.getRemovedAvailablePositions(), out::writePosition);
+                out.writeMap(m.getChangedResources(), out::writeEnum, out::writeInt);
+                out.writeInt(m.getPoints());
+                out.writeString(m.getUsername());
+                writeCard(out, m.getPlacedCard());
+                out.writeEnum(m.getPlacedSide());
+                out.writePosition(m.getPosition());
+            }
+            case SHOW_UPDATE_AFTER_DRAW -> {
+                UpdateAfterDrawMessage m = (UpdateAfterDrawMessage) message;
+                writeCard(out, m.getDrawnCard());
+                writeFace(out, m.getNewTopDeck());
+                writeCard(out, m.getNewFaceUpCard());
+                out.writeString(m.getUsername());
+                out.writeInt(m.getBoardPosition());
+            }
+            case SHOW_UPDATE_CHAT -> writeChatMessage(out, ((UpdateChatMessage) message).getMessage());
+            case SHOW_UPDATE_CURRENT_PLAYER -> {
+                UpdateCurrentPlayerMessage m = (UpdateCurrentPlayerMessage) message;
+                out.writeInt(m.getCurrentPlayerIdx());
+                out.writeEnum(m.getCurrentPhase());
+            }
+            case SHOW_WINNERS -> out.writeList(((ShowWinnersMessage) message).getWinners(), out::writeString);
+            case ERROR -> out.writeString(((ReportErrorMessage) message).getDetails());
+            case HEARTBEAT -> {
+                out.writeString(message.getSender());
+                out.writeDouble(((HeartBeatMessage) message).getId());
+            }
+            case PLACE_STARTER -> {
+                out.writeString(message.getSender());
+                out.writeEnum(((PlaceStarterMessage) message).getSide());
+            }
+            case CHOOSE_COLOR -> {
+                out.writeString(message.getSender());
+                out.writeEnum(((ChooseColorMessage) message).getColor());
+            }
+            case PLACE_OBJECTIVE -> {
+                out.writeString(message.getSender());
+                out.writeInt(((PlaceObjectiveMessage) message).getChosenObjective());
+            }
+            case PLACE_CARD -> {
+                PlaceCardMessage m = (PlaceCardMessage) message;
+                out.writeString(m.getSender());
+                out.writeInt(m.getFrontId());
+                out.writeInt(m.getBackId());
+                out.writeEnum(m.getSide());
+                out.writePosition(m.getPosition());
+            }
+            case DRAW -> {
+                out.writeString(message.getSender());
+                out.writeInt(((DrawMessage) message).getIdDraw());
+            }
+            case SEND_CHAT_MESSAGE -> {
+                out.writeString(message.getSender());
+                writeChatMessage(out, ((SendChatMessage) message).getMessage());
+            }
+            case SET_PLAYER_NUMBER -> {
+                out.writeString(message.getSender());
+                out.writeInt(((SetPlayerNumberMessage) message).getNumPlayers());
+            }
+            case CONNECT -> {
+                out.writeString(message.getSender());
+                out.writeLong(((ConnectMessage) message).getLastSequenceNumber());
+            }
+            // DISCONNECT and the messages without a dedicated class
+            default -> out.writeString(message.getSender());
+        }
+        return out.toFrame();
+    }
+
+    /**
+     * Decodes the <code>payload</code> of a frame.
+     *
+     * @param payload of the frame, without the length prefix.
+     * @return the decoded message.
+     * @throws MalformedMessageException if the <code>payload</code> doesn't encode a valid message.
+     */
+    public static NetworkMessage decode(byte[] payload) throws MalformedMessageException {
+        BinaryReader in = new BinaryReader(payload);
+        int ordinal = in.readVarInt();
+        if (ordinal < 0 || ordinal >= TYPES.length) {
+            throw new MalformedMessageException("Unknown type of message: " + ordinal);
+        }
+        Type type = TYPES[ordinal];
+
+        NetworkMessage message = switch (type) {
+            case RESULT_OF_LOGIN -> new ResultOfLogin(in.readBoolean(), in.readString(), in.readString());
+            case EXCEEDING_PLAYER -> new ExceedingPlayerMessage();
+            case UPDATE_CREATOR -> new UpdateCreatorMessage();
+            case UPDATE_AFTER_LOBBY_CRASH -> new UpdateAfterLobbyCrashMessage();
+            case SHOW_UPDATE_SUSPENDED_GAME -> new UpdateSuspendedGameMessage();
+            case FULL_LOBBY -> new FullLobbyMessage();
+            case UPDATE_AFTER_CONNECTION -> new UpdateAfterConnectionMessage(readGame(in));
+            case SHOW_UPDATE_PLAYERS_IN_LOBBY -> new UpdatePlayersInLobbyMessage(in.readList(in::readString));
+            case SHOW_UPDATE_PLAYER_STATUS -> new UpdatePlayerStatusMessage(in.readBoolean(), in.readString());
+            case SHOW_UPDATE_COLOR -> new UpdateColorMessage(in.readString(), in.readEnum(PlayerColor.values()));
+            case SHOW_UPDATE_OBJECTIVE_CARD -> new UpdateObjectiveCardMessage(readObjectiveCard(in), in.readString());
+            case SHOW_UPDATE_AFTER_PLACE -> new UpdateAfterPlaceMessage(
+                    in.readMap(in::readPosition, () -> in.readEnum(CornerPosition.values())),
+                    in.readList(in::readPosition),
+                    in.readList(in::readPosition),
+                    in.readMap(() -> in.readEnum(Symbol.values()), in::readInt),
+                    in.readInt(),
+                    in.readString(),
+                    readCard(in),
+                    in.readEnum(Side.values()),
+                    in.readPosition());
+            case SHOW_UPDATE_AFTER_DRAW ->
+                    new UpdateAfterDrawMessage(readCard(in), readFace(in), readCard(in), in.readString(), in.readInt());
+            case SHOW_UPDATE_CHAT -> new UpdateChatMessage(readChatMessage(in));
+            case SHOW_UPDATE_CURRENT_PLAYER ->
+                    new UpdateCurrentPlayerMessage(in.readInt(), in.readEnum(GamePhase.values()));
+            case SHOW_WINNERS -> new ShowWinnersMessage(in.readList(in::readString));
+            case ERROR -> new ReportErrorMessage(in.readString());
+            case HEARTBEAT -> new HeartBeatMessage(in.readString(), in.readDouble());
+            case CONNECT -> new ConnectMessage(in.readString(), in.readLong());
+            case DISCONNECT -> new DisconnectMessage(in.readString());
+            case PLACE_STARTER -> new PlaceStarterMessage(in.readString(), in.readEnum(Side.values()));
+            case CHOOSE_COLOR -> new ChooseColorMessage(in.readString(), in.readEnum(PlayerColor.values()));
+            case PLACE_OBJECTIVE -> new PlaceObjectiveMessage(in.readString(), in.readInt());
+            case PLACE_CARD -> new PlaceCardMessage(in.readString(), in.readInt(), in.readInt(),
+                    in.readEnum(Side.values()), in.readPosition());
+            case DRAW -> new DrawMessage(in.readString(), in.readInt());
+            case SEND_CHAT_MESSAGE -> new SendChatMessage(in.readString(), readChatMessage(in));
+            case SET_PLAYER_NUMBER -> new SetPlayerNumberMessage(in.readString(), in.readInt());
+            default -> new NetworkMessage(type, in.readString());
+        };
+
+        if (in.hasRemaining()) {
+            throw new MalformedMessageException("Unexpected bytes at the end of " + type);
+        }
+        return message;
+    }
+
+    /**
+     * Reads the payload of the next frame from the <code>input</code>, blocking until it's complete.
+     *
+     * @param input the stream of frames.
+     * @return the payload, or null if the stream has ended before a new frame.
+     * @throws IOException if the stream fails, ends in the middle of a frame or the frame is too large.
+     */
+    public static byte[] readFrame(InputStream input) throws IOException {
+        int length = 0;
+        for (int shift = 0; ; shift += 7) {
+            int b = input.read();
+            if (b < 0) {
+                if (shift == 0) {
+                    return null;
+                }
+                throw new EOFException("Stream ended in the length of a frame");
+            }
+            if (shift > 28) {
+                throw new IOException("Invalid length of a frame");
+            }
+            length |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                break;
+            }
+        }
+        if (length < 0 || length > MAX_FRAME_SIZE) {
+            throw new IOException("Frame of " + length + " bytes exceeds the maximum size");
+        }
+        byte[] payload = input.readNBytes(length);
+        if (payload.length < length) {
+            throw new EOFException("Stream ended in the middle of a frame");
+        }
+        return payload;
+    }
+
+    /*
+     * A face is written as its id shifted by two, so that 0 stands for null and 1 for the empty face, followed by the
+     * mask of its covered corners.
+     */
+    private static void writeFace(BinaryWriter out, ClientFace face) {
+        if (face == null) {
+            out.writeVarInt(0);
+            return;
+        }
+        out.writeVarInt(face.getFaceID() + 2);
+        if (face.getFaceID() > 0) {
+            int coveredCorners = 0;
+            for (CornerPosition cornerPosition : CornerPosition.CORNERS) {
+                if (face.isCornerCovered(cornerPosition)) {
+                    coveredCorners |= 1 << cornerPosition.ordinal();
+                }
+            }
+            out.writeByte(coveredCorners);
+        }
+    }
+
+    private static ClientFace readFace(BinaryReader in) throws MalformedMessageException {
+        int tag = in.readVarInt();
+        if (tag == 0) {
+            return null;
+        }
+        int faceID = tag - 2;
+        if (faceID == -1) {
+            return new ClientFace();
+        }
+        ClientFace face;
+        try {
+            face = new ClientFace(CardsLoader.getFace(faceID));
+        } catch (InvalidCardIdException e) {
+            throw new MalformedMessageException("Unknown face " + faceID);
+        }
+        int coveredCorners = in.readByte();
+        for (CornerPosition cornerPosition : CornerPosition.CORNERS) {
+            if ((coveredCorners & (1 << cornerPosition.ordinal())) != 0) {
+                if (!face.getCorners().containsKey(cornerPosition)) {
+                    throw new MalformedMessageException("Face " + faceID + " has no corner " + cornerPosition);
+                }
+                face.setCornerCovered(cornerPosition);
+            }
+        }
+        return face;
+    }
+
+    private static void writeCard(BinaryWriter out, ClientCard card) {
+        if (card == null) {
+            out.writeVarInt(0);
+            return;
+        }
+        out.writeVarInt(1);
+        writeFace(out, card.getFront());
+        writeFace(out, card.getBack());
+    }
+
+    private static ClientCard readCard(BinaryReader in) throws MalformedMessageException {
+        if (in.readVarInt() == 0) {
+            return null;
+        }
+        ClientFace front = readFace(in);
+        ClientFace back = readFace(in);
+        return new ClientCard(front, back);
+    }
+
+    private static void writeObjectiveCard(BinaryWriter out, ClientObjectiveCard objectiveCard) {
+        out.writeVarInt(objectiveCard == null ? 0 : objectiveCard.getFrontID());
+    }
+
+    private static ClientObjectiveCard readObjectiveCard(BinaryReader in) throws MalformedMessageException {
+        int frontID = in.readVarInt();
+        if (frontID == 0) {
+            return null;
+        }
+        try {
+            return new ClientObjectiveCard(CardsLoader.getObjectiveCard(frontID));
+        } catch (InvalidCardIdException e) {
+            throw new MalformedMessageException("Unknown objective card " + frontID);
+        }
+    }
+
+    private static void writeChatMessage(BinaryWriter out, Message message) {
+        out.writeString(message.getSender());
+        out.writeString(message.getRecipient());
+        out.writeString(message.getContent());
+        out.writeBoolean(message.isBroadcast());
+    }
+
+    private static Message readChatMessage(BinaryReader in) throws MalformedMessageException {
+        String sender = in.readString();
+        String recipient = in.readString();
+        String content = in.readString();
+        boolean isBroadcast = in.readBoolean();
+        try {
+            Message message = new Message(sender, recipient, content);
+            if (isBroadcast) {
+                message.setBroadcast();
+            }
+            return message;
+        } catch (InvalidMessageException e) {
+            throw new MalformedMessageException(e.getMessage());
+        }
+    }
+
+    private static void writeGame(BinaryWriter out, ClientGame game) {
+        out.writeInt(game.getCurrentPlayerIdx());
+        out.writeList(game.getPlayers(), player -> writePlayer(out, player));
+        out.writeList(game.getMessages(), message -> writeChatMessage(out, message));
+        writeBoard(out, game.getClientBoard());
+        out.writeEnum(game.getCurrentPhase());
+        out.writeBoolean(game.isGameActive());
+        out.writeLong(game.getSequenceNumber());
+    }
+
+    private static ClientGame readGame(BinaryReader in) throws MalformedMessageException {
+        int currentPlayerIdx = in.readInt();
+        List<ClientPlayer> players = in.readList(() -> readPlayer(in));
+        if (players == null) {
+            throw new MalformedMessageException("The game has no players");
+        }
+        List<Message> messages = in.readList(() -> readChatMessage(in));
+        ClientBoard board = readBoard(in);
+        GamePhase phase = in.readEnum(GamePhase.values());
+        boolean isGameActive = in.readBoolean();
+        long sequenceNumber = in.readLong();
+        return new ClientGame(currentPlayerIdx, players, messages, board, phase, isGameActive, sequenceNumber);
+    }
+
+    private static void writePlayer(BinaryWriter out, ClientPlayer player) {
+        out.writeString(player.getUsername());
+        writePlayground(out, player.getPlayground());
+        out.writeEnum(player.getColor());
+        out.writeBoolean(player.isConnected());
+        writeCard(out, player.getStarterCard());
+        out.writeList(player.getPlayerCards(), card -> writeCard(out, card));
+        out.writeList(player.getObjectiveCards(), objectiveCard -> writeObjectiveCard(out, objectiveCard));
+    }
+
+    private static ClientPlayer readPlayer(BinaryReader in) throws MalformedMessageException {
+        String username = in.readString();
+        ClientPlayground playground = readPlayground(in);
+        PlayerColor color = in.readEnum(PlayerColor.values());
+        boolean isConnected = in.readBoolean();
+        ClientCard starterCard = readCard(in);
+        List<ClientCard> playerCards = in.readList(() -> readCard(in));
+        List<ClientObjectiveCard> objectiveCards = in.readList(() -> readObjectiveCard(in));
+        return new ClientPlayer(username, playground, color, isConnected, starterCard, playerCards, objectiveCards);
+    }
+
+    private static void writePlayground(BinaryWriter out, ClientPlayground playground) {
+        if (playground == null) {
+            out.writeVarInt(0);
+            return;
+        }
+        out.writeVarInt(1);
+        out.writeMap(playground.getArea(), out::writePosition, tile -> {
+            out.writeEnum(tile.getAvailability());
+            writeFace(out, tile.getFace());
+        });
+        out.writeList(playground.getPositioningOrder(), out::writePosition);
+        out.writeMap(playground.getResources(), out::writeEnum, out::writeInt);
+        out.writeInt(playground.getPoints());
+    }
+
+    private static ClientPlayground readPlayground(BinaryReader in) throws MalformedMessageException {
+        if (in.readVarInt() == 0) {
+            return null;
+        }
+        Map<Position, ClientTile> area = in.readMap(in::readPosition, () -> {
+            Availability availability = in.readEnum(Availability.values());
+            return new ClientTile(readFace(in), availability);
+        });
+        List<Position> positioningOrder = in.readList(in::readPosition);
+        Map<Symbol, Integer> resources = in.readMap(() -> in.readEnum(Symbol.values()), in::readInt);
+        int points = in.readInt();
+        if (area == null || positioningOrder == null || resources == null) {
+            throw new MalformedMessageException("Incomplete playground");
+        }
+        return new ClientPlayground(new HashMap<>(area), positioningOrder, new HashMap<>(resources), points);
+    }
+
+    private static void writeBoard(BinaryWriter out, ClientBoard board) {
+        if (board == null) {
+            out.writeVarInt(0);
+            return;
+        }
+        out.writeVarInt(1);
+        out.writeList(board.getFaceUpCards(), card -> writeCard(out, card));
+        out.writeList(board.getCommonObjectives(), objectiveCard -> writeObjectiveCard(out, objectiveCard));
+        writeFace(out, board.getGoldenDeckTopBack());
+        writeFace(out, board.getResourceDeckTopBack());
+    }
+
+    private static ClientBoard readBoard(BinaryReader in) throws MalformedMessageException {
+        if (in.readVarInt() == 0) {
+            return null;
+        }
+        List<ClientCard> faceUpCards = in.readList(() -> readCard(in));
+        List<ClientObjectiveCard> commonObjectives = in.readList(() -> readObjectiveCard(in));
+        ClientFace goldenDeckTopBack = readFace(in);
+        ClientFace resourceDeckTopBack = readFace(in);
+        return new ClientBoard(faceUpCards, commonObjectives, goldenDeckTopBack, resourceDeckTopBack);
+    }
+}
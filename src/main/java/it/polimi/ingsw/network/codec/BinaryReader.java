@@ -0,0 +1,144 @@
+package it.polimi.ingsw.network.codec;
+
+import it.polimi.ingsw.model.board.Position;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The BinaryReader class reads back, in the same order, the fields written by a {@link BinaryWriter}.
+ * Every method fails with a {@link MalformedMessageException} instead of reading past the end of the payload.
+ */
+class BinaryReader {
+    /**
+     * This interface represents the reading of a single value, either an element of a collection or a field.
+     *
+     * @param <T> the type of the value.
+     */
+    interface ValueReader<T> {
+        T read() throws MalformedMessageException;
+    }
+
+    private final byte[] payload;
+    private int offset;
+
+    BinaryReader(byte[] payload) {
+        this.payload = payload;
+        this.offset = 0;
+    }
+
+    boolean hasRemaining() {
+        return offset < payload.length;
+    }
+
+    int readByte() throws MalformedMessageException {
+        if (offset >= payload.length) {
+            throw new MalformedMessageException("Unexpected end of the message");
+        }
+        return payload[offset++] & 0xFF;
+    }
+
+    int readVarInt() throws MalformedMessageException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = readByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new MalformedMessageException("Varint is too long");
+    }
+
+    int readInt() throws MalformedMessageException {
+        int value = readVarInt();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    boolean readBoolean() throws MalformedMessageException {
+        return readByte() != 0;
+    }
+
+    long readLong() throws MalformedMessageException {
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | readByte();
+        }
+        return value;
+    }
+
+    double readDouble() throws MalformedMessageException {
+        return Double.longBitsToDouble(readLong());
+    }
+
+    String readString() throws MalformedMessageException {
+        int tag = readVarInt();
+        if (tag == 0) {
+            return null;
+        }
+        int length = tag - 1;
+        if (length < 0 || length > payload.length - offset) {
+            throw new MalformedMessageException("Invalid length of a string");
+        }
+        String value = new String(payload, offset, length, StandardCharsets.UTF_8);
+        offset += length;
+        return value;
+    }
+
+    <E extends Enum<E>> E readEnum(E[] values) throws MalformedMessageException {
+        int tag = readVarInt();
+        if (tag == 0) {
+            return null;
+        }
+        if (tag < 0 || tag > values.length) {
+            throw new MalformedMessageException("Invalid ordinal of " + values.getClass().getComponentType().getSimpleName());
+        }
+        return values[tag - 1];
+    }
+
+    Position readPosition() throws MalformedMessageException {
+        int x = readInt();
+        int y = readInt();
+        return new Position(x, y);
+    }
+
+    <T> List<T> readList(ValueReader<T> elementReader) throws MalformedMessageException {
+        int size = readSize();
+        if (size < 0) {
+            return null;
+        }
+        List<T> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(elementReader.read());
+        }
+        return list;
+    }
+
+    <K, V> Map<K, V> readMap(ValueReader<K> keyReader, ValueReader<V> valueReader) throws MalformedMessageException {
+        int size = readSize();
+        if (size < 0) {
+            return null;
+        }
+        Map<K, V> map = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            K key = keyReader.read();
+            map.put(key, valueReader.read());
+        }
+        return map;
+    }
+
+    /**
+     * Reads the size of a collection, -1 if the collection is null.
+     */
+    private int readSize() throws MalformedMessageException {
+        int tag = readVarInt();
+        // every element takes at least a byte
+        if (tag < 0 || tag - 1 > payload.length - offset) {
+            throw new MalformedMessageException("Invalid size of a collection");
+        }
+        return tag - 1;
+    }
+}
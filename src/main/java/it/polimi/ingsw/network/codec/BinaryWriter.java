@@ -0,0 +1,141 @@
+package it.polimi.ingsw.network.codec;
+
+import it.polimi.ingsw.model.board.Position;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * The BinaryWriter class appends the fields of a message to a growing buffer.
+ * Integers are written as varints, enums as their ordinals, and nullable values are preceded by a tag which is 0 for
+ * null.
+ */
+class BinaryWriter {
+    private static final int INITIAL_SIZE = 64;
+
+    private byte[] buffer;
+    private int size;
+
+    BinaryWriter() {
+        buffer = new byte[INITIAL_SIZE];
+        size = 0;
+    }
+
+    private void ensureCapacity(int additionalBytes) {
+        if (size + additionalBytes > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + additionalBytes));
+        }
+    }
+
+    void writeByte(int value) {
+        ensureCapacity(1);
+        buffer[size++] = (byte) value;
+    }
+
+    /**
+     * Writes a non-negative <code>value</code> in 1 to 5 bytes, 7 bits per byte.
+     *
+     * @param value to write.
+     */
+    void writeVarInt(int value) {
+        ensureCapacity(5);
+        while ((value & ~0x7F) != 0) {
+            buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[size++] = (byte) value;
+    }
+
+    /**
+     * Writes a <code>value</code> which may be negative, mapping small absolute values to short varints.
+     *
+     * @param value to write.
+     */
+    void writeInt(int value) {
+        writeVarInt((value << 1) ^ (value >> 31));
+    }
+
+    void writeBoolean(boolean value) {
+        writeByte(value ? 1 : 0);
+    }
+
+    void writeLong(long value) {
+        ensureCapacity(8);
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            buffer[size++] = (byte) (value >>> shift);
+        }
+    }
+
+    void writeDouble(double value) {
+        writeLong(Double.doubleToLongBits(value));
+    }
+
+    void writeString(String value) {
+        if (value == null) {
+            writeVarInt(0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(bytes.length + 1);
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, size, bytes.length);
+        size += bytes.length;
+    }
+
+    void writeEnum(Enum<?> value) {
+        writeVarInt(value == null ? 0 : value.ordinal() + 1);
+    }
+
+    void writePosition(Position position) {
+        writeInt(position.getX());
+        writeInt(position.getY());
+    }
+
+    <T> void writeList(List<T> list, Consumer<T> elementWriter) {
+        if (list == null) {
+            writeVarInt(0);
+            return;
+        }
+        writeVarInt(list.size() + 1);
+        for (T element : list) {
+            elementWriter.accept(element);
+        }
+    }
+
+    <K, V> void writeMap(Map<K, V> map, Consumer<K> keyWriter, Consumer<V> valueWriter) {
+        if (map == null) {
+            writeVarInt(0);
+            return;
+        }
+        writeVarInt(map.size() + 1);
+        for (Map.Entry<K, V> entry : map.entrySet()) {
+            keyWriter.accept(entry.getKey());
+            valueWriter.accept(entry.getValue());
+        }
+    }
+
+    /**
+     * Returns the frame of the written bytes, that is, the bytes preceded by their length.
+     *
+     * @return the frame.
+     */
+    byte[] toFrame() {
+        int lengthSize = 1;
+        for (int length = size; (length & ~0x7F) != 0; length >>>= 7) {
+            lengthSize++;
+        }
+        byte[] frame = new byte[lengthSize + size];
+        int offset = 0;
+        int length = size;
+        while ((length & ~0x7F) != 0) {
+            frame[offset++] = (byte) ((length & 0x7F) | 0x80);
+            length >>>= 7;
+        }
+        frame[offset++] = (byte) length;
+        System.arraycopy(buffer, 0, frame, offset, size);
+        return frame;
+    }
+}
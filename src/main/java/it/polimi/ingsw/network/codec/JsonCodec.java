@@ -0,0 +1,127 @@
+package it.polimi.ingsw.network.codec;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import it.polimi.ingsw.network.NetworkMessage;
+import it.polimi.ingsw.network.Type;
+import it.polimi.ingsw.network.client.socket.message.*;
+import it.polimi.ingsw.network.heartbeat.HeartBeatMessage;
+import it.polimi.ingsw.network.server.socket.message.*;
+
+/**
+ * The JsonCodec class encodes the socket messages as json lines, which is the default encoding and the most
+ * convenient one to debug.
+ * Decoding tokenizes every line once: the network type is located in the raw line, where Gson writes it, and the line
+ * is parsed straight into the matching message class. Lines written differently are parsed into a tree, from which
+ * both the type and the message are read.
+ */
+public class JsonCodec {
+    private static final String TYPE_KEY = "\"networkType\":\"";
+
+    private static final Gson gson = new GsonBuilder()
+            .enableComplexMapKeySerialization()
+            .registerTypeAdapterFactory(new NetworkMessageAdapterFactory())
+            .create();
+
+    private JsonCodec() {
+    }
+
+    /**
+     * Encodes the <code>message</code> in json.
+     *
+     * @param message to encode.
+     * @return the json of the message, without line terminator.
+     */
+    public static String encode(NetworkMessage message) {
+        return gson.toJson(message);
+    }
+
+    /**
+     * Decodes the <code>line</code> into the message of the class matching its network type.
+     *
+     * @param line the json of the message.
+     * @return the decoded message.
+     * @throws MalformedMessageException if the <code>line</code> isn't a valid message.
+     */
+    public static NetworkMessage decode(String line) throws MalformedMessageException {
+        try {
+            Type type = peekType(line);
+            NetworkMessage message = type == null ? null : gson.fromJson(line, messageClassOf(type));
+            if (message == null || message.getNetworkType() != type) {
+                // the type isn't where Gson writes it, e.g. a nested key has been found
+                message = gson.fromJson(line, NetworkMessage.class);
+            }
+            if (message == null) {
+                throw new MalformedMessageException("Empty message");
+            }
+            return message;
+        } catch (JsonParseException e) {
+            throw new MalformedMessageException(e.getMessage());
+        }
+    }
+
+    /**
+     * Finds the network type of the message without parsing the <code>line</code>.
+     * Gson writes the fields of NetworkMessage after the ones of its subclasses, hence the type is searched from the
+     * end of the line.
+     *
+     * @param line the json of the message.
+     * @return the type found, or null if there's none.
+     */
+    private static Type peekType(String line) {
+        int keyStart = line.lastIndexOf(TYPE_KEY);
+        if (keyStart < 0) {
+            return null;
+        }
+        int valueStart = keyStart + TYPE_KEY.length();
+        int valueEnd = line.indexOf('"', valueStart);
+        if (valueEnd < 0) {
+            return null;
+        }
+        try {
+            return Type.valueOf(line.substring(valueStart, valueEnd));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns the class of the messages with the network <code>type</code> provided.
+     *
+     * @param type of the message.
+     * @return the class of the message.
+     */
+    static Class<? extends NetworkMessage> messageClassOf(Type type) {
+        return switch (type) {
+            case HEARTBEAT -> HeartBeatMessage.class;
+            case UPDATE_CREATOR -> UpdateCreatorMessage.class;
+            case UPDATE_AFTER_LOBBY_CRASH -> UpdateAfterLobbyCrashMessage.class;
+            case UPDATE_AFTER_CONNECTION -> UpdateAfterConnectionMessage.class;
+            case SHOW_UPDATE_PLAYERS_IN_LOBBY -> UpdatePlayersInLobbyMessage.class;
+            case SHOW_UPDATE_PLAYER_STATUS -> UpdatePlayerStatusMessage.class;
+            case SHOW_UPDATE_COLOR -> UpdateColorMessage.class;
+            case SHOW_UPDATE_OBJECTIVE_CARD -> UpdateObjectiveCardMessage.class;
+            case SHOW_UPDATE_AFTER_PLACE -> UpdateAfterPlaceMessage.class;
+            case SHOW_UPDATE_AFTER_DRAW -> UpdateAfterDrawMessage.class;
+            case SHOW_UPDATE_CHAT -> UpdateChatMessage.class;
+            case SHOW_UPDATE_CURRENT_PLAYER -> UpdateCurrentPlayerMessage.class;
+            case SHOW_UPDATE_SUSPENDED_GAME -> UpdateSuspendedGameMessage.class;
+            case SHOW_WINNERS -> ShowWinnersMessage.class;
+            case ERROR -> ReportErrorMessage.class;
+            case CONNECT -> ConnectMessage.class;
+            case PLACE_STARTER -> PlaceStarterMessage.class;
+            case CHOOSE_COLOR -> ChooseColorMessage.class;
+            case PLACE_OBJECTIVE -> PlaceObjectiveMessage.class;
+            case PLACE_CARD -> PlaceCardMessage.class;
+            case DRAW -> DrawMessage.class;
+            case SEND_CHAT_MESSAGE -> SendChatMessage.class;
+            case SET_PLAYER_NUMBER -> SetPlayerNumberMessage.class;
+            case DISCONNECT -> DisconnectMessage.class;
+            case RESULT_OF_LOGIN -> ResultOfLogin.class;
+            case FULL_LOBBY -> FullLobbyMessage.class;
+            case EXCEEDING_PLAYER -> ExceedingPlayerMessage.class;
+            case FROM_SERVER, GAME_ALREADY_STARTED -> NetworkMessage.class;
+        };
+    }
+}
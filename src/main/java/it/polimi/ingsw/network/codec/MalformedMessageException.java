@@ -0,0 +1,22 @@
+package it.polimi.ingsw.network.codec;
+
+/**
+ * Malformed Message Exception is thrown when the bytes received from the network don't encode a valid message.
+ */
+public class MalformedMessageException extends Exception {
+    /**
+     * Constructs a <code>MalformedMessageException</code> with no detail message.
+     */
+    public MalformedMessageException() {
+        super("Malformed message");
+    }
+
+    /**
+     * Constructs a <code>MalformedMessageException</code> with the <code>message</code> provided
+     *
+     * @param message the detail message
+     */
+    public MalformedMessageException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,94 @@
+package it.polimi.ingsw.network.codec;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import it.polimi.ingsw.network.NetworkMessage;
+import it.polimi.ingsw.network.Type;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * The NetworkMessageAdapterFactory class makes Gson decode a {@link NetworkMessage} into the class matching its
+ * network type.
+ * The json is tokenized once into a tree, from which both the type and the concrete message are read.
+ */
+class NetworkMessageAdapterFactory implements TypeAdapterFactory {
+    private static final String TYPE_FIELD = "networkType";
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> typeToken) {
+        if (typeToken.getRawType() != NetworkMessage.class) {
+            return null;
+        }
+        return (TypeAdapter<T>) new NetworkMessageAdapter(gson, gson.getDelegateAdapter(this, TypeToken.get(NetworkMessage.class)));
+    }
+
+    private static class NetworkMessageAdapter extends TypeAdapter<NetworkMessage> {
+        private final Gson gson;
+        private final TypeAdapter<NetworkMessage> baseAdapter;
+        private final TypeAdapter<JsonElement> treeAdapter;
+        private final TypeAdapter<Type> typeAdapter;
+        private final Map<Type, TypeAdapter<? extends NetworkMessage>> adapters;
+
+        NetworkMessageAdapter(Gson gson, TypeAdapter<NetworkMessage> baseAdapter) {
+            this.gson = gson;
+            this.baseAdapter = baseAdapter;
+            this.treeAdapter = gson.getAdapter(JsonElement.class);
+            this.typeAdapter = gson.getAdapter(Type.class);
+            this.adapters = new EnumMap<>(Type.class);
+            for (Type type : Type.values()) {
+                Class<? extends NetworkMessage> messageClass = JsonCodec.messageClassOf(type);
+                adapters.put(type, messageClass == NetworkMessage.class ? baseAdapter : gson.getAdapter(messageClass));
+            }
+        }
+
+        @Override
+        public void write(JsonWriter out, NetworkMessage message) throws IOException {
+            if (message == null) {
+                out.nullValue();
+                return;
+            }
+            if (message.getClass() == NetworkMessage.class) {
+                baseAdapter.write(out, message);
+            } else {
+                writeAs(out, gson.getAdapter(message.getClass()), message);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private <M extends NetworkMessage> void writeAs(JsonWriter out, TypeAdapter<M> adapter, NetworkMessage message) throws IOException {
+            // the runtime class of the message decides its fields, as when Gson serializes it directly
+            adapter.write(out, (M) message);
+        }
+
+        @Override
+        public NetworkMessage read(JsonReader in) throws IOException {
+            JsonElement tree = treeAdapter.read(in);
+            if (tree == null || tree.isJsonNull()) {
+                return null;
+            }
+            if (!tree.isJsonObject()) {
+                throw new JsonParseException("A message must be a json object");
+            }
+            JsonElement typeElement = ((JsonObject) tree).get(TYPE_FIELD);
+            Type type = typeElement == null ? null : typeAdapter.fromJsonTree(typeElement);
+            if (type == null) {
+                throw new JsonParseException("Message without a valid " + TYPE_FIELD);
+            }
+            return adapters.get(type).fromJsonTree(tree);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package it.polimi.ingsw.network.codec;
+
+/**
+ * Enumeration representing the encodings of the messages exchanged through a socket.
+ */
+public enum WireFormat {
+    /**
+     * JSON refers to messages encoded as json lines, readable while debugging.
+     */
+    JSON,
+    /**
+     * BINARY refers to length-prefixed messages encoded by the {@link BinaryCodec}.
+     * A client chooses it by sending {@link BinaryCodec#MAGIC} as first byte of the connection.
+     */
+    BINARY
+}
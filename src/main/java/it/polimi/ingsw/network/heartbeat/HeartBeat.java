@@ -1,26 +1,37 @@
 package it.polimi.ingsw.network.heartbeat;
 
 import com.google.common.util.concurrent.AtomicDouble;
+import it.polimi.ingsw.network.logging.NetworkLog;
+import it.polimi.ingsw.network.server.metrics.LatencyHistogram;
 
 import java.rmi.RemoteException;
-import java.util.*;
+import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
 
 /**
  * The HeartBeat class keeps track of the existence of the remote endpoint which can be the server for the client or the client for the server.
  * The HeartBeat must always reflect the state of the connection, that is, it has to be terminated {@link #terminate()} whenever a connection ends.
+ * The HeartBeat doesn't own any thread: it's periodically swept by a {@link HeartBeatScheduler}.
+ * The time taken to deliver the pings is recorded, for all the heart beats of the process, in a single histogram.
  */
-public class HeartBeat extends Thread {
+public class HeartBeat {
+    private static final Logger logger = NetworkLog.getLogger(HeartBeat.class);
+    private static final LatencyHistogram pingLatency = new LatencyHistogram();
     private String handlerName;
     private final Object handlerNameLock;
     private String listenerName;
     private HeartBeatHandler heartBeatHandler;
     private HeartBeatListener heartBeatListener;
     private static final double MAX_DELTA_MILLISECONDS = 10000; // it's in milliseconds
-    private static final int HEART_BEAT_PERIOD = 1000;
+    static final int HEART_BEAT_PERIOD = 1000;
     private static final int MAX_DELAY = 10000; // 5000
+    private static final long NO_PING_IN_FLIGHT = -1;
     private AtomicDouble mostRecentReceivedId;
     private AtomicBoolean isActive;
+    private final AtomicLong pingInFlightSince;
+    private final HeartBeatScheduler scheduler;
 
 
     /**
@@ -32,12 +43,28 @@ public class HeartBeat extends Thread {
      * @param listenerName      the identifier for the listener.
      */
     public HeartBeat(HeartBeatHandler heartBeatHandler, String handlerName, HeartBeatListener heartBeatListener, String listenerName) {
+        this(heartBeatHandler, handlerName, heartBeatListener, listenerName, HeartBeatScheduler.getSharedInstance());
+    }
+
+    /**
+     * Constructs the heart beat swept by the <code>scheduler</code>.
+     *
+     * @param heartBeatHandler  the local end point of the connection.
+     * @param handlerName       the identifier for the handler.
+     * @param heartBeatListener the remote end point of the connection.
+     * @param listenerName      the identifier for the listener.
+     * @param scheduler         the scheduler driving the heart beat.
+     */
+    HeartBeat(HeartBeatHandler heartBeatHandler, String handlerName, HeartBeatListener heartBeatListener,
+              String listenerName, HeartBeatScheduler scheduler) {
         this.heartBeatHandler = heartBeatHandler;
         this.handlerName = handlerName;
         this.heartBeatListener = heartBeatListener;
         this.handlerNameLock = new Object();
         this.listenerName = listenerName;
         this.mostRecentReceivedId = new AtomicDouble();
+        this.pingInFlightSince = new AtomicLong(NO_PING_IN_FLIGHT);
+        this.scheduler = scheduler;
         isActive = new AtomicBoolean(true);
     }
 
@@ -57,7 +84,9 @@ public class HeartBeat extends Thread {
      */
     public void startHeartBeat() {
         mostRecentReceivedId.set(System.currentTimeMillis());
-        this.start();
+        if (isActive.get()) {
+            scheduler.track(this);
+        }
     }
 
     /**
@@ -70,43 +99,64 @@ public class HeartBeat extends Thread {
     }
 
     /**
-     * Sends the heart beat to the remote reference notifying about the existence of the local end point.
+     * Checks the heart beat at time <code>now</code>: the remote end point is declared unresponsive if it has been
+     * silent for too long or if the previous ping is still being delivered after the maximum delay; otherwise a new
+     * ping is sent.
+     *
+     * @param now     the current time in milliseconds.
+     * @param senders the executor running the pings and the notifications of unresponsiveness.
      */
-    @Override
-    public void run() {
-        while (!isInterrupted()) {
-            HeartBeatMessage ping;
-            synchronized (handlerNameLock) {
-                ping = new HeartBeatMessage(handlerName, System.currentTimeMillis());
+    void sweep(long now, Executor senders) {
+        double delta = now - mostRecentReceivedId.get();
+        long sentAt = pingInFlightSince.get();
+        if (delta > MAX_DELTA_MILLISECONDS) {
+            logger.info(() -> "Delta for " + listenerName + " is too high: last_delta=" + delta);
+            scheduler.untrack(this);
+            senders.execute(this::notifyUnresponsiveness);
+        } else if (sentAt != NO_PING_IN_FLIGHT) {
+            if (now - sentAt > MAX_DELAY) {
+                logger.info(() -> "Timer for sending ping of " + listenerName + " has expired");
+                scheduler.untrack(this);
+                senders.execute(this::notifyUnresponsiveness);
             }
-            double delta = ping.getId() - mostRecentReceivedId.get();
-            System.err.println("Current delta: " + delta + " for " + handlerName + " to " + listenerName);
+        } else if (pingInFlightSince.compareAndSet(NO_PING_IN_FLIGHT, now)) {
+            senders.execute(() -> sendPing(now, delta));
+        }
+    }
 
-            if (delta <= MAX_DELTA_MILLISECONDS) {
-                try {
-                    Timer timerDelayForSendingPing = new Timer();
-                    timerDelayForSendingPing.schedule(new TimerTask() {
-                        @Override
-                        public void run() {
-                            System.err.println("Timer for sending ping of " + listenerName + " has expired");
-                            heartBeatHandler.handleUnresponsiveness(listenerName);
-                        }
-                    }, MAX_DELAY);
-                    heartBeatListener.receivePing(ping);
-                    timerDelayForSendingPing.cancel();
-                } catch (RemoteException e) {
-                    System.err.println("REMOTE EXCEPTION in Heartbeat: the listener has disconnected for this reason: " + e.getMessage());
-                    heartBeatHandler.handleUnresponsiveness(listenerName);
-                }
-            } else {
-                System.err.println("Delta for " + listenerName + " is too high: last_delta=" + delta);
-                heartBeatHandler.handleUnresponsiveness(listenerName);
-            }
-            try {
-                Thread.sleep(HEART_BEAT_PERIOD);
-            } catch (InterruptedException e) {
-                break;
-            }
+    /**
+     * Sends the heart beat to the remote reference notifying about the existence of the local end point.
+     */
+    private void sendPing(long now, double delta) {
+        HeartBeatMessage ping;
+        synchronized (handlerNameLock) {
+            ping = new HeartBeatMessage(handlerName, now);
+        }
+        logger.finest(() -> "Current delta: " + delta + " for " + ping.getSender() + " to " + listenerName);
+        try {
+            long startTime = System.nanoTime();
+            heartBeatListener.receivePing(ping);
+            pingLatency.record(System.nanoTime() - startTime);
+            pingInFlightSince.set(NO_PING_IN_FLIGHT);
+        } catch (RemoteException e) {
+            logger.info(() -> "The listener " + listenerName + " has disconnected for this reason: " + e.getMessage());
+            scheduler.untrack(this);
+            notifyUnresponsiveness();
+        }
+    }
+
+    /**
+     * Returns the histogram of the time taken to deliver a ping to the listener, which for RMI is a round trip.
+     *
+     * @return the latency of the pings sent by the process.
+     */
+    public static LatencyHistogram getPingLatency() {
+        return pingLatency;
+    }
+
+    private void notifyUnresponsiveness() {
+        if (isActive.get()) {
+            heartBeatHandler.handleUnresponsiveness(listenerName);
         }
     }
 
@@ -116,9 +166,9 @@ public class HeartBeat extends Thread {
      * All references to external objects become invalid to avoid running task to interfere with the state of such objects.
      */
     public void terminate() {
-        System.err.println("Terminate the heartbeat");
-        this.interrupt();
+        logger.fine(() -> "Terminate the heartbeat of " + listenerName);
         isActive.set(false);
+        scheduler.untrack(this);
     }
 
     /**
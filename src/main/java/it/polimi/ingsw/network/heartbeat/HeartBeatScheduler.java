@@ -0,0 +1,96 @@
+package it.polimi.ingsw.network.heartbeat;
+
+import it.polimi.ingsw.network.logging.NetworkLog;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * The HeartBeatScheduler class drives all the heart beats of the process with a single thread.
+ * Every period it sweeps the tracked heart beats in one batch: expired ones are reported as unresponsive, while the
+ * others get their ping sent.
+ * Pings and unresponsiveness notifications may block on the network, hence they run on virtual threads and never
+ * delay the sweep.
+ */
+public class HeartBeatScheduler {
+    private static final Logger logger = NetworkLog.getLogger(HeartBeatScheduler.class);
+    private static final HeartBeatScheduler sharedInstance = new HeartBeatScheduler(HeartBeat.HEART_BEAT_PERIOD);
+
+    private final Set<HeartBeat> heartBeats;
+    private final ScheduledExecutorService sweeper;
+    private final ExecutorService senders;
+
+    /**
+     * Constructs a scheduler sweeping its heart beats every <code>period</code> milliseconds.
+     *
+     * @param period of the sweep, in milliseconds.
+     */
+    HeartBeatScheduler(long period) {
+        heartBeats = ConcurrentHashMap.newKeySet();
+        sweeper = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("heart-beat-scheduler").daemon().factory());
+        senders = Executors.newVirtualThreadPerTaskExecutor();
+        sweeper.scheduleAtFixedRate(this::sweep, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Returns the scheduler shared by all the heart beats of the process.
+     *
+     * @return the shared scheduler.
+     */
+    public static HeartBeatScheduler getSharedInstance() {
+        return sharedInstance;
+    }
+
+    /**
+     * Starts tracking the <code>heartBeat</code>.
+     *
+     * @param heartBeat to track.
+     */
+    void track(HeartBeat heartBeat) {
+        heartBeats.add(heartBeat);
+    }
+
+    /**
+     * Stops tracking the <code>heartBeat</code>.
+     *
+     * @param heartBeat to stop tracking.
+     */
+    void untrack(HeartBeat heartBeat) {
+        heartBeats.remove(heartBeat);
+    }
+
+    /**
+     * Returns the number of heart beats currently tracked.
+     *
+     * @return the number of tracked heart beats.
+     */
+    public int getNumberOfHeartBeats() {
+        return heartBeats.size();
+    }
+
+    private void sweep() {
+        long now = System.currentTimeMillis();
+        for (HeartBeat heartBeat : heartBeats) {
+            try {
+                heartBeat.sweep(now, senders);
+            } catch (RuntimeException e) {
+                // a failing heart beat mustn't stop the periodic sweep
+                logger.warning(() -> "Failed to sweep the heart beat: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Stops the scheduler: the tracked heart beats are never swept again.
+     */
+    void shutdown() {
+        sweeper.shutdownNow();
+        senders.shutdownNow();
+    }
+}
@@ -0,0 +1,115 @@
+package it.polimi.ingsw.network.logging;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Formatter;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+
+/**
+ * The AsyncLogHandler class writes the log records on a thread of its own, so that the threads logging never wait for
+ * the console.
+ * Records are handed to the writer through a bounded queue: when the queue is full the record is dropped and counted,
+ * instead of slowing down the caller.
+ * Records are written to the standard error stream in use when they are written, which may be redirected to a file.
+ */
+public class AsyncLogHandler extends Handler {
+    private static final int MAX_RECORDS_PER_WRITE = 256;
+
+    private final BlockingQueue<LogRecord> records;
+    private final LongAdder droppedRecords;
+    private final Thread writer;
+    private volatile boolean isClosed;
+
+    /**
+     * Constructs the handler, whose queue holds at most <code>capacity</code> records.
+     *
+     * @param capacity  the maximum number of records waiting to be written.
+     * @param formatter the formatter of the records.
+     */
+    public AsyncLogHandler(int capacity, Formatter formatter) {
+        this.records = new ArrayBlockingQueue<>(capacity);
+        this.droppedRecords = new LongAdder();
+        this.isClosed = false;
+        setFormatter(formatter);
+        this.writer = Thread.ofPlatform().name("async-log-writer").daemon().start(this::write);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void publish(LogRecord record) {
+        if (isClosed || !isLoggable(record)) {
+            return;
+        }
+        if (!records.offer(record)) {
+            droppedRecords.increment();
+        }
+    }
+
+    private void write() {
+        List<LogRecord> batch = new ArrayList<>(MAX_RECORDS_PER_WRITE);
+        while (!isClosed || !records.isEmpty()) {
+            try {
+                batch.add(records.take());
+            } catch (InterruptedException e) {
+                // the handler is being closed: write what is left
+                isClosed = true;
+            }
+            records.drainTo(batch, MAX_RECORDS_PER_WRITE - batch.size());
+            writeBatch(batch);
+            batch.clear();
+        }
+    }
+
+    private void writeBatch(List<LogRecord> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        StringBuilder text = new StringBuilder();
+        for (LogRecord record : batch) {
+            try {
+                text.append(getFormatter().format(record));
+            } catch (RuntimeException e) {
+                text.append("Failed to format a log record: ").append(e.getMessage()).append(System.lineSeparator());
+            }
+        }
+        System.err.print(text);
+        System.err.flush();
+    }
+
+    /**
+     * Returns the number of records dropped because the queue was full.
+     *
+     * @return the number of records not written.
+     */
+    public long getDroppedRecords() {
+        return droppedRecords.sum();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void flush() {
+        System.err.flush();
+    }
+
+    /**
+     * Stops accepting records and waits for the writer to write the queued ones.
+     */
+    @Override
+    public void close() {
+        isClosed = true;
+        writer.interrupt();
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
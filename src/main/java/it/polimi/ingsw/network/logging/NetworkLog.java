@@ -0,0 +1,110 @@
+package it.polimi.ingsw.network.logging;
+
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.logging.Formatter;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+/**
+ * The NetworkLog class configures the logging of the application on top of <code>java.util.logging</code>.
+ * Classes log through their own logger, passing a supplier for any message that is expensive to build, so that it's
+ * built only if the level is enabled. Messages and payloads exchanged with the other end point are logged by the
+ * payload logger, which is off unless the <code>codex.log.payloads</code> property is true.
+ * Once configured, records are written by an {@link AsyncLogHandler}, at the level set by the
+ * <code>codex.log.level</code> property, INFO by default.
+ */
+public class NetworkLog {
+    /**
+     * The property holding the level of the application loggers.
+     */
+    public static final String LEVEL_PROPERTY = "codex.log.level";
+    /**
+     * The property enabling the logging of the payloads exchanged through the network.
+     */
+    public static final String PAYLOADS_PROPERTY = "codex.log.payloads";
+
+    private static final String ROOT_LOGGER_NAME = "it.polimi.ingsw";
+    private static final String PAYLOAD_LOGGER_NAME = "it.polimi.ingsw.network.payloads";
+    private static final int QUEUE_CAPACITY = 8192;
+
+    // loggers are kept referenced, otherwise their configuration may be garbage collected
+    private static final Logger rootLogger = Logger.getLogger(ROOT_LOGGER_NAME);
+    private static final Logger payloadLogger = Logger.getLogger(PAYLOAD_LOGGER_NAME);
+
+    static {
+        payloadLogger.setLevel(Boolean.getBoolean(PAYLOADS_PROPERTY) ? Level.ALL : Level.OFF);
+    }
+
+    private NetworkLog() {
+    }
+
+    /**
+     * Returns the logger of the <code>type</code>.
+     *
+     * @param type the class logging.
+     * @return the logger named after the class.
+     */
+    public static Logger getLogger(Class<?> type) {
+        return Logger.getLogger(type.getName());
+    }
+
+    /**
+     * Returns the logger of the payloads exchanged through the network, which logs at level FINEST.
+     *
+     * @return the payload logger.
+     */
+    public static Logger getPayloadLogger() {
+        return payloadLogger;
+    }
+
+    /**
+     * Makes the application loggers write their records asynchronously, at the configured level.
+     *
+     * @return the handler writing the records.
+     */
+    public static AsyncLogHandler configure() {
+        Level level;
+        try {
+            level = Level.parse(System.getProperty(LEVEL_PROPERTY, Level.INFO.getName()));
+        } catch (IllegalArgumentException e) {
+            level = Level.INFO;
+        }
+        AsyncLogHandler handler = new AsyncLogHandler(QUEUE_CAPACITY, new LineFormatter());
+        handler.setLevel(Level.ALL);
+        for (Handler oldHandler : rootLogger.getHandlers()) {
+            rootLogger.removeHandler(oldHandler);
+            oldHandler.close();
+        }
+        rootLogger.setLevel(level);
+        rootLogger.addHandler(handler);
+        rootLogger.setUseParentHandlers(false);
+        return handler;
+    }
+
+    /**
+     * The LineFormatter class writes a record on a single line: time, level, thread id, logger and message.
+     */
+    private static class LineFormatter extends Formatter {
+        @Override
+        public String format(LogRecord record) {
+            StringBuilder line = new StringBuilder()
+                    .append(LocalTime.ofInstant(Instant.ofEpochMilli(record.getMillis()), ZoneId.systemDefault()))
+                    .append(' ').append(record.getLevel().getName())
+                    .append(" [thread ").append(record.getLongThreadID()).append("] ")
+                    .append(simpleName(record.getLoggerName())).append(": ").append(formatMessage(record))
+                    .append(System.lineSeparator());
+            if (record.getThrown() != null) {
+                line.append("    ").append(record.getThrown()).append(System.lineSeparator());
+            }
+            return line.toString();
+        }
+
+        private static String simpleName(String loggerName) {
+            return loggerName == null ? "" : loggerName.substring(loggerName.lastIndexOf('.') + 1);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package it.polimi.ingsw.network.server;
+
+/**
+ * This interface represents a client handler able to send an update already encoded for the network, instead of
+ * building and encoding its own copy.
+ */
+public interface FrameRecipient {
+    /**
+     * Sends the <code>frame</code> to the client.
+     *
+     * @param frame the update shared among all the recipients of a broadcast.
+     */
+    void sendFrame(SharedFrame frame);
+}
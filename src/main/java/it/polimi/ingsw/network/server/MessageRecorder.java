@@ -0,0 +1,115 @@
+package it.polimi.ingsw.network.server;
+
+import it.polimi.ingsw.model.GameListener;
+import it.polimi.ingsw.model.board.Position;
+import it.polimi.ingsw.model.card.CornerPosition;
+import it.polimi.ingsw.model.card.Side;
+import it.polimi.ingsw.model.card.Symbol;
+import it.polimi.ingsw.model.card.color.PlayerColor;
+import it.polimi.ingsw.model.chat.message.Message;
+import it.polimi.ingsw.model.gamephase.GamePhase;
+import it.polimi.ingsw.model.notifier.Notifier;
+import it.polimi.ingsw.network.NetworkMessage;
+import it.polimi.ingsw.network.client.model.ClientGame;
+import it.polimi.ingsw.network.client.model.card.ClientCard;
+import it.polimi.ingsw.network.client.model.card.ClientFace;
+import it.polimi.ingsw.network.client.model.card.ClientObjectiveCard;
+import it.polimi.ingsw.network.client.socket.message.*;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The MessageRecorder class turns an update of the game into the message that socket clients receive for it,
+ * without depending on the recipient.
+ */
+class MessageRecorder implements GameListener {
+    private NetworkMessage message;
+
+    private MessageRecorder() {
+        message = null;
+    }
+
+    /**
+     * Records the message sent by the <code>notifier</code>.
+     *
+     * @param notifier the update to record.
+     * @return the message of the update, or null if the message depends on the recipient.
+     */
+    static NetworkMessage record(Notifier<GameListener> notifier) {
+        MessageRecorder recorder = new MessageRecorder();
+        notifier.sendUpdate(recorder);
+        return recorder.message;
+    }
+
+    @Override
+    public void updateAfterConnection(ClientGame clientGame) {
+        message = new UpdateAfterConnectionMessage(clientGame);
+    }
+
+    @Override
+    public void showUpdatePlayersInLobby(List<String> usernames) {
+        message = new UpdatePlayersInLobbyMessage(usernames);
+    }
+
+    @Override
+    public void showUpdateExceedingPlayer() {
+        message = new ExceedingPlayerMessage();
+    }
+
+    @Override
+    public void showUpdatePlayerStatus(boolean isConnected, String username) {
+        message = new UpdatePlayerStatusMessage(isConnected, username);
+    }
+
+    @Override
+    public void showUpdateColor(PlayerColor color, String username) {
+        message = new UpdateColorMessage(username, color);
+    }
+
+    @Override
+    public void showUpdateObjectiveCard(ClientObjectiveCard chosenObjective, String username) {
+        message = new UpdateObjectiveCardMessage(chosenObjective, username);
+    }
+
+    @Override
+    public void showUpdateAfterPlace(Map<Position, CornerPosition> positionToCornerCovered, List<Position> addedAvailablePositions, List<Position> removedAvailablePositions, Map<Symbol, Integer> changedResources, int points, String username, ClientCard placedCard, Side placedSide, Position position) {
+        message = new UpdateAfterPlaceMessage(positionToCornerCovered, addedAvailablePositions, removedAvailablePositions, changedResources, points, username, placedCard, placedSide, position);
+    }
+
+    @Override
+    public void showUpdateAfterDraw(ClientCard drawnCard, ClientFace newTopDeck, ClientCard newFaceUpCard, String username, int boardPosition) {
+        message = new UpdateAfterDrawMessage(drawnCard, newTopDeck, newFaceUpCard, username, boardPosition);
+    }
+
+    @Override
+    public void showUpdateChat(Message message) {
+        this.message = new UpdateChatMessage(message);
+    }
+
+    @Override
+    public void showUpdateCurrentPlayer(int currentPlayerIdx, GamePhase phase) {
+        message = new UpdateCurrentPlayerMessage(currentPlayerIdx, phase);
+    }
+
+    @Override
+    public void showUpdateGameState() {
+        message = new UpdateSuspendedGameMessage();
+    }
+
+    @Override
+    public void showWinners(List<String> winners) {
+        message = new ShowWinnersMessage(winners);
+    }
+
+    @Override
+    public void reportError(String details) {
+        message = new ReportErrorMessage(details);
+    }
+
+    @Override
+    public void resultOfLogin(boolean accepted, String details) {
+        // the message carries the username of the recipient
+        message = null;
+    }
+}
@@ -0,0 +1,79 @@
+package it.polimi.ingsw.network.server;
+
+import com.google.common.util.concurrent.MoreExecutors;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * The NotificationDispatcher class is the pool of threads sending the updates to all the clients of the server.
+ * Every client handler gets its own lane, which runs the tasks submitted to it one at a time and in order on the
+ * threads of the pool: the updates of a client are sent in the order they were produced, while the number of threads
+ * doesn't depend on how many handlers have been created.
+ */
+public class NotificationDispatcher {
+    /**
+     * The number of threads used when none is given on the command line: sending may block on slow clients, hence
+     * there are more threads than processors.
+     */
+    public static final int DEFAULT_NUM_THREADS = Math.max(4, 2 * Runtime.getRuntime().availableProcessors());
+
+    private final ExecutorService workers;
+    private final int numThreads;
+
+    private static class SharedDispatcherHolder {
+        private static final NotificationDispatcher sharedDispatcher = new NotificationDispatcher(DEFAULT_NUM_THREADS,
+                Thread.ofPlatform().name("notification-shared-", 0).daemon().factory());
+    }
+
+    /**
+     * Constructs the dispatcher.
+     *
+     * @param numThreads    the number of threads of the pool.
+     * @param threadFactory the factory of the threads of the pool.
+     */
+    public NotificationDispatcher(int numThreads, ThreadFactory threadFactory) {
+        this.numThreads = numThreads;
+        this.workers = Executors.newFixedThreadPool(numThreads, threadFactory);
+    }
+
+    /**
+     * Returns the dispatcher shared by the handlers created without one, whose threads don't keep the JVM alive.
+     *
+     * @return the shared dispatcher.
+     */
+    public static NotificationDispatcher getSharedDispatcher() {
+        return SharedDispatcherHolder.sharedDispatcher;
+    }
+
+    /**
+     * Creates a new lane, running its tasks one at a time and in the order they are submitted.
+     *
+     * @return the executor of the lane.
+     */
+    public Executor newLane() {
+        return MoreExecutors.newSequentialExecutor(workers);
+    }
+
+    /**
+     * Runs the <code>task</code> on a thread of the pool, outside any lane.
+     *
+     * @param task to run.
+     */
+    public void execute(Runnable task) {
+        workers.execute(task);
+    }
+
+    public int getNumThreads() {
+        return numThreads;
+    }
+
+    /**
+     * Stops the threads of the pool: the tasks not yet started are discarded.
+     */
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+}
@@ -0,0 +1,71 @@
+package it.polimi.ingsw.network.server;
+
+/**
+ * The OutboundLimits class holds the bounds of the {@link OutboundQueue} of every client.
+ * A client whose queue reaches the high watermark is slow, and it's considered so until its queue drops below the low
+ * watermark: a client that remains slow for longer than the maximum slow time, or whose queue exceeds the capacity,
+ * is disconnected.
+ */
+public class OutboundLimits {
+    /**
+     * The limits used when none are given on the command line.
+     */
+    public static final OutboundLimits DEFAULT = new OutboundLimits(64, 256, 1024, 5000);
+
+    private final int lowWatermark;
+    private final int highWatermark;
+    private final int capacity;
+    private final long maxSlowTime;
+
+    /**
+     * Constructs the limits of the outbound queues.
+     *
+     * @param lowWatermark  the number of queued updates below which a slow client is no longer slow.
+     * @param highWatermark the number of queued updates from which a client is slow.
+     * @param capacity      the maximum number of queued updates.
+     * @param maxSlowTime   the time, in milliseconds, a client can remain slow.
+     * @throws IllegalArgumentException if the watermarks aren't ordered or exceed the capacity.
+     */
+    public OutboundLimits(int lowWatermark, int highWatermark, int capacity, long maxSlowTime) {
+        if (lowWatermark < 0 || lowWatermark > highWatermark || highWatermark > capacity || maxSlowTime < 0) {
+            throw new IllegalArgumentException("Invalid outbound limits: low watermark " + lowWatermark
+                    + ", high watermark " + highWatermark + ", capacity " + capacity + ", max slow time " + maxSlowTime);
+        }
+        this.lowWatermark = lowWatermark;
+        this.highWatermark = highWatermark;
+        this.capacity = capacity;
+        this.maxSlowTime = maxSlowTime;
+    }
+
+    /**
+     * Parses the limits written as <code>lowWatermark,highWatermark,capacity,maxSlowTime</code>.
+     *
+     * @param limits the limits separated by commas.
+     * @return the limits parsed.
+     * @throws IllegalArgumentException if the limits are malformed or invalid.
+     */
+    public static OutboundLimits parse(String limits) {
+        String[] values = limits.split(",");
+        if (values.length != 4) {
+            throw new IllegalArgumentException("Expected lowWatermark,highWatermark,capacity,maxSlowTime");
+        }
+        return new OutboundLimits(Integer.parseInt(values[0].trim()), Integer.parseInt(values[1].trim()),
+                Integer.parseInt(values[2].trim()), Long.parseLong(values[3].trim()));
+    }
+
+    public int getLowWatermark() {
+        return lowWatermark;
+    }
+
+    public int getHighWatermark() {
+        return highWatermark;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public long getMaxSlowTime() {
+        return maxSlowTime;
+    }
+}
@@ -0,0 +1,297 @@
+package it.polimi.ingsw.network.server;
+
+import it.polimi.ingsw.network.NetworkMessage;
+import it.polimi.ingsw.network.Type;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.IntSupplier;
+
+/**
+ * The OutboundQueue class holds the updates waiting to be sent to a client, within the {@link OutboundLimits}.
+ * An update superseded by a later one, e.g. a list of players in the lobby followed by another, is dropped from the
+ * queue, so that the client receives only the latest one.
+ * The backlog of a client is the number of updates queued plus the number of the ones still pending in the
+ * connection: a client whose backlog remains over the high watermark for too long, or exceeds the capacity, is
+ * evicted, i.e. its queue is cleared, later updates are discarded and the handler is asked to disconnect it.
+ * The queue tells the producer when the updates have to be drained, so that a single drain is scheduled at a time.
+ *
+ * @param <T> the type of the updates queued.
+ */
+public class OutboundQueue<T> {
+    private static final LongAdder coalescedUpdates = new LongAdder();
+    private static final LongAdder slowConsumers = new LongAdder();
+    private static final LongAdder evictedConsumers = new LongAdder();
+
+    private final OutboundLimits limits;
+    private final Function<T, Object> coalescingKey;
+    private final IntSupplier pendingInConnection;
+    private final Runnable onEviction;
+    private final Lock lockOnQueue;
+    private final Deque<Entry<T>> entries;
+    private final Map<Object, Entry<T>> latestEntryOfKey;
+    private int size;
+    private boolean isDrainScheduled;
+    private long slowSince;
+    private boolean isEvicted;
+
+    private static class Entry<T> {
+        private final T update;
+        private boolean isSuperseded;
+
+        Entry(T update) {
+            this.update = update;
+            this.isSuperseded = false;
+        }
+    }
+
+    /**
+     * Constructs an empty queue.
+     *
+     * @param limits              the bounds of the queue.
+     * @param coalescingKey       the function returning the key of an update, updates with the same key supersede the
+     *                            previous ones; null keys are never superseded.
+     * @param pendingInConnection the supplier of the number of updates already drained but not yet written.
+     * @param onEviction          the action disconnecting the client, run once by the producer that evicts it.
+     */
+    public OutboundQueue(OutboundLimits limits, Function<T, Object> coalescingKey, IntSupplier pendingInConnection,
+                         Runnable onEviction) {
+        this.limits = limits;
+        this.coalescingKey = coalescingKey;
+        this.pendingInConnection = pendingInConnection;
+        this.onEviction = onEviction;
+        this.lockOnQueue = new ReentrantLock();
+        this.entries = new ArrayDeque<>();
+        this.latestEntryOfKey = new HashMap<>();
+        this.size = 0;
+        this.isDrainScheduled = false;
+        this.slowSince = -1;
+        this.isEvicted = false;
+    }
+
+    /**
+     * Queues the <code>update</code>, superseding the queued one with the same key, if any.
+     *
+     * @param update to send.
+     * @return true if the caller has to schedule a drain of the queue, false if one is already scheduled or the client
+     * has been evicted.
+     */
+    public boolean offer(T update) {
+        boolean evict = false;
+        boolean scheduleDrain;
+        lockOnQueue.lock();
+        try {
+            if (isEvicted) {
+                return false;
+            }
+            Entry<T> entry = new Entry<>(update);
+            Object key = coalescingKey.apply(update);
+            if (key != null) {
+                Entry<T> superseded = latestEntryOfKey.put(key, entry);
+                if (superseded != null) {
+                    superseded.isSuperseded = true;
+                    size--;
+                    coalescedUpdates.increment();
+                }
+            }
+            entries.addLast(entry);
+            size++;
+
+            int backlog = size + pendingInConnection.getAsInt();
+            if (backlog > limits.getCapacity() || isSlowForTooLong(backlog)) {
+                isEvicted = true;
+                evict = true;
+                entries.clear();
+                latestEntryOfKey.clear();
+                size = 0;
+                evictedConsumers.increment();
+            }
+            scheduleDrain = !evict && !isDrainScheduled;
+            isDrainScheduled = isDrainScheduled || scheduleDrain;
+        } finally {
+            lockOnQueue.unlock();
+        }
+        if (evict) {
+            onEviction.run();
+        }
+        return scheduleDrain;
+    }
+
+    /**
+     * Updates the slow state of the client, given its current <code>backlog</code>.
+     *
+     * @param backlog the number of updates not yet written.
+     * @return true if the client has been slow for longer than the maximum slow time.
+     */
+    private boolean isSlowForTooLong(int backlog) {
+        long now = System.nanoTime();
+        if (slowSince < 0) {
+            if (backlog >= limits.getHighWatermark()) {
+                slowSince = now;
+                slowConsumers.increment();
+            }
+            return false;
+        }
+        if (backlog < limits.getLowWatermark()) {
+            slowSince = -1;
+            return false;
+        }
+        return now - slowSince > TimeUnit.MILLISECONDS.toNanos(limits.getMaxSlowTime());
+    }
+
+    /**
+     * Removes the oldest update of the queue.
+     * If the queue is empty, the drain is over: the next update offered schedules a new one.
+     *
+     * @return the oldest update, or null if the queue is empty.
+     */
+    public T poll() {
+        lockOnQueue.lock();
+        try {
+            Entry<T> entry;
+            do {
+                entry = entries.pollFirst();
+            } while (entry != null && entry.isSuperseded);
+            if (entry == null) {
+                isDrainScheduled = false;
+                return null;
+            }
+            removeEntry(entry);
+            return entry.update;
+        } finally {
+            lockOnQueue.unlock();
+        }
+    }
+
+    /**
+     * Removes all the updates of the queue, ending the drain.
+     *
+     * @return the updates queued, in order.
+     */
+    public List<T> drain() {
+        lockOnQueue.lock();
+        try {
+            List<T> updates = new ArrayList<>(size);
+            for (Entry<T> entry : entries) {
+                if (!entry.isSuperseded) {
+                    updates.add(entry.update);
+                }
+            }
+            entries.clear();
+            latestEntryOfKey.clear();
+            size = 0;
+            isDrainScheduled = false;
+            updateSlowState();
+            return updates;
+        } finally {
+            lockOnQueue.unlock();
+        }
+    }
+
+    private void removeEntry(Entry<T> entry) {
+        Object key = coalescingKey.apply(entry.update);
+        if (key != null) {
+            latestEntryOfKey.remove(key, entry);
+        }
+        size--;
+        updateSlowState();
+    }
+
+    private void updateSlowState() {
+        if (slowSince >= 0 && size + pendingInConnection.getAsInt() < limits.getLowWatermark()) {
+            slowSince = -1;
+        }
+    }
+
+    /**
+     * Returns the number of updates queued, superseded ones excluded.
+     *
+     * @return the size of the queue.
+     */
+    public int size() {
+        lockOnQueue.lock();
+        try {
+            return size;
+        } finally {
+            lockOnQueue.unlock();
+        }
+    }
+
+    /**
+     * Returns whether the client is slow, i.e. its backlog has reached the high watermark and hasn't dropped below the
+     * low one since.
+     *
+     * @return true if the client is slow.
+     */
+    public boolean isSlow() {
+        lockOnQueue.lock();
+        try {
+            return slowSince >= 0;
+        } finally {
+            lockOnQueue.unlock();
+        }
+    }
+
+    /**
+     * Returns whether the client has been evicted.
+     *
+     * @return true if the queue discards the updates.
+     */
+    public boolean isEvicted() {
+        lockOnQueue.lock();
+        try {
+            return isEvicted;
+        } finally {
+            lockOnQueue.unlock();
+        }
+    }
+
+    /**
+     * Returns the key of the updates superseding each other: only the latest list of players in the lobby matters.
+     * The updates of a game are never superseded, since each one is numbered by the log of the game and the client
+     * counts the ones it receives: dropping one would make the client ask again for updates it has already applied
+     * when it rejoins.
+     *
+     * @param message the update.
+     * @return the key of the update, or null if the update is never superseded.
+     */
+    public static Object coalescingKeyOf(NetworkMessage message) {
+        return message.getNetworkType() == Type.SHOW_UPDATE_PLAYERS_IN_LOBBY ? message.getNetworkType() : null;
+    }
+
+    /**
+     * Returns the number of updates superseded since the server started.
+     *
+     * @return the number of updates dropped because a later one was queued.
+     */
+    public static long getCoalescedUpdates() {
+        return coalescedUpdates.sum();
+    }
+
+    /**
+     * Returns the number of times a client has become slow since the server started.
+     *
+     * @return the number of times a backlog has reached the high watermark.
+     */
+    public static long getSlowConsumers() {
+        return slowConsumers.sum();
+    }
+
+    /**
+     * Returns the number of clients evicted since the server started.
+     *
+     * @return the number of clients disconnected because they were too slow.
+     */
+    public static long getEvictedConsumers() {
+        return evictedConsumers.sum();
+    }
+}
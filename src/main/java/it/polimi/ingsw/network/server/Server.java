@@ -1,6 +1,7 @@
 package it.polimi.ingsw.network.server;
 
-import it.polimi.ingsw.controller.Controller;
+import com.google.common.util.concurrent.Striped;
+import it.polimi.ingsw.controller.GameRegistry;
 import it.polimi.ingsw.model.card.Side;
 import it.polimi.ingsw.network.ClientHandler;
 import it.polimi.ingsw.network.GameActions;
@@ -10,39 +11,95 @@ import it.polimi.ingsw.model.board.Position;
 import it.polimi.ingsw.model.card.color.PlayerColor;
 import it.polimi.ingsw.model.chat.message.Message;
 import it.polimi.ingsw.network.heartbeat.HeartBeatMessage;
+import it.polimi.ingsw.network.server.metrics.ServerMetrics;
 import it.polimi.ingsw.network.server.rmi.ServerRMI;
+import it.polimi.ingsw.network.server.socket.BlockingSocketConnection;
+import it.polimi.ingsw.network.server.socket.NioSocketServer;
 import it.polimi.ingsw.network.server.socket.SocketHandler;
+import it.polimi.ingsw.network.logging.NetworkLog;
 
 import java.util.Map;
 import java.io.IOException;
 import java.net.ServerSocket;
 import java.net.Socket;
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
-import java.io.PrintWriter;
 import java.rmi.registry.LocateRegistry;
 import java.rmi.registry.Registry;
 import java.rmi.AlreadyBoundException;
 import java.rmi.RemoteException;
 import java.rmi.server.UnicastRemoteObject;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.locks.Lock;
+import java.util.logging.Logger;
 
 /**
  * The class represents the server to which clients connect.
+ * Connections and disconnections are serialized per username, so that a slow login doesn't hold up the others, while
+ * pings are routed to the handlers without taking any lock.
  */
 public class Server implements HeartBeatHandler, GameActions {
-    private Map<String, ClientHandler> activeClients;
-    private Controller controller;
+    private static final Logger logger = NetworkLog.getLogger(Server.class);
+    private final Map<String, ClientHandler> activeClients;
+    private GameRegistry gameRegistry;
     private String ip;
     private int portForSocket;
     private int portForRMI;
-    private final Object lockOnConnections;
+    private final Striped<Lock> lockOnUsernames;
     private ServerRMI serverRMI;
+    private final ThreadFactory threadFactory;
+    private final OutboundLimits outboundLimits;
+    private final NotificationDispatcher notificationDispatcher;
+
+    private static final int CONNECTION_LOCK_STRIPES = 64;
+    private static final String VIRTUAL_THREADS_FLAG = "--virtual-threads";
+    private static final String NIO_FLAG = "--nio";
+    private static final String OUTBOUND_LIMITS_FLAG = "--outbound-limits=";
+    private static final String NOTIFICATION_THREADS_FLAG = "--notification-threads=";
+    private static final String METRICS_PERIOD_FLAG = "--metrics-period=";
+    private static final long DEFAULT_METRICS_PERIOD = 60;
 
     public Server(String ip, int portForSocket, int portForRMI) {
-        this.lockOnConnections = new Object();
-        this.controller = new Controller();
-        this.activeClients = new HashMap<>();
+        this(ip, portForSocket, portForRMI, false);
+    }
+
+    /**
+     * Constructs the server.
+     *
+     * @param ip                the ip of the server.
+     * @param portForSocket     the port for socket communication.
+     * @param portForRMI        the port for rmi communication.
+     * @param useVirtualThreads true if readers of the clients have to run on virtual threads, false to run them on
+     *                          platform threads.
+     */
+    public Server(String ip, int portForSocket, int portForRMI, boolean useVirtualThreads) {
+        this(ip, portForSocket, portForRMI, useVirtualThreads, OutboundLimits.DEFAULT,
+                NotificationDispatcher.DEFAULT_NUM_THREADS);
+    }
+
+    /**
+     * Constructs the server.
+     *
+     * @param ip                  the ip of the server.
+     * @param portForSocket       the port for socket communication.
+     * @param portForRMI          the port for rmi communication.
+     * @param useVirtualThreads   true if readers of the clients have to run on virtual threads, false to run them
+     *                            on platform threads.
+     * @param outboundLimits      the bounds of the queues of the updates for the clients.
+     * @param notificationThreads the number of threads sending the updates to the clients.
+     */
+    public Server(String ip, int portForSocket, int portForRMI, boolean useVirtualThreads,
+                  OutboundLimits outboundLimits, int notificationThreads) {
+        this.outboundLimits = outboundLimits;
+        this.threadFactory = useVirtualThreads
+                ? Thread.ofVirtual().name("client-", 0).factory()
+                : Thread.ofPlatform().factory();
+        this.notificationDispatcher = new NotificationDispatcher(notificationThreads,
+                Thread.ofPlatform().name("notification-", 0).factory());
+        this.lockOnUsernames = Striped.lock(CONNECTION_LOCK_STRIPES);
+        this.gameRegistry = new GameRegistry();
+        this.activeClients = new ConcurrentHashMap<>();
         this.ip = ip;
         this.portForSocket = portForSocket;
         this.portForRMI = portForRMI;
@@ -64,14 +121,27 @@ public class Server implements HeartBeatHandler, GameActions {
         System.out.println("Server socket is ready: IP = " + ip + " port = " + portForSocket);
         try {
             while ((clientSocket = listenSocket.accept()) != null) {
-                PrintWriter out = new PrintWriter(clientSocket.getOutputStream(), true);
-                BufferedReader in = new BufferedReader(new InputStreamReader(clientSocket.getInputStream()));
-                System.out.println("Received connection");
-                SocketHandler handler = new SocketHandler(this, in, out, clientSocket);
-                new Thread(handler::run).start();
+                BlockingSocketConnection connection = new BlockingSocketConnection(clientSocket);
+                logger.fine("Received connection");
+                SocketHandler handler = new SocketHandler(this, connection, notificationDispatcher, outboundLimits);
+                threadFactory.newThread(() -> connection.listen(handler)).start();
             }
         } catch (IOException e) {
-            System.err.println("Error while listening: " + e.getMessage());
+            logger.severe(() -> "Error while listening: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Starts the non-blocking socket server, whose clients are served by <code>numIoThreads</code> I/O threads.
+     *
+     * @param numIoThreads the number of I/O threads.
+     */
+    public void startNioServerSocket(int numIoThreads) {
+        try {
+            new NioSocketServer(this, portForSocket, numIoThreads).start();
+        } catch (IOException e) {
+            System.err.println("failure in creating the socket : " + e.getMessage());
+            System.exit(1);
         }
     }
 
@@ -110,17 +180,47 @@ public class Server implements HeartBeatHandler, GameActions {
         serverRMI = myServer;
     }
 
+    /**
+     * Returns the factory of the threads serving the clients.
+     *
+     * @return the thread factory, producing either virtual or platform threads.
+     */
+    public ThreadFactory getThreadFactory() {
+        return threadFactory;
+    }
+
+    /**
+     * Returns the pool of threads sending the updates to the clients.
+     *
+     * @return the notification dispatcher.
+     */
+    public NotificationDispatcher getNotificationDispatcher() {
+        return notificationDispatcher;
+    }
+
+    /**
+     * Returns the bounds of the queues of the updates for the clients.
+     *
+     * @return the outbound limits.
+     */
+    public OutboundLimits getOutboundLimits() {
+        return outboundLimits;
+    }
+
     /**
      * Adds the <code>clientHandler</code> to the list of clients being tracked by the server.
      * @param clientHandler the handler of the client connecting to the server.
      * @param username of the client connecting to the server.
+     * @param lastSequenceNumber of the last game update received by the client.
      */
-    public void connect(ClientHandler clientHandler, String username) {
-        synchronized (lockOnConnections) {
-            System.out.println("Received connection from " + username);
-            boolean hasBeenAccepted = controller.handleConnection(username, clientHandler);
+    public void connect(ClientHandler clientHandler, String username, long lastSequenceNumber) {
+        Lock lockOnConnection = lockOnUsernames.get(username);
+        lockOnConnection.lock();
+        try {
+            logger.fine(() -> "Received connection from " + username);
+            boolean hasBeenAccepted = gameRegistry.handleConnection(username, clientHandler, lastSequenceNumber);
             if (hasBeenAccepted) {
-                System.out.println("\thas been accepted");
+                logger.info(() -> username + " has been accepted");
                 ClientHandler oldHandler = activeClients.get(username);
                 if (oldHandler != null) {
                     oldHandler.terminate();
@@ -128,8 +228,10 @@ public class Server implements HeartBeatHandler, GameActions {
                 clientHandler.startHeartBeat();
                 activeClients.put(username, clientHandler);
             } else {
-                System.out.println("\thas not been accepted");
+                logger.info(() -> username + " has not been accepted");
             }
+        } finally {
+            lockOnConnection.unlock();
         }
     }
 
@@ -139,28 +241,36 @@ public class Server implements HeartBeatHandler, GameActions {
      * @param username of the client to disconnect.
      */
     public void disconnect(String username) {
-        synchronized (lockOnConnections) {
+        Lock lockOnConnection = lockOnUsernames.get(username);
+        lockOnConnection.lock();
+        try {
             ClientHandler client = activeClients.get(username);
             if (client != null) {
-                System.out.println("Spontaneous disconnection from " + username);
+                logger.info(() -> "Spontaneous disconnection from " + username);
                 handleDisconnection(username);
             }
+        } finally {
+            lockOnConnection.unlock();
         }
     }
 
     private void handleDisconnection(String username) {
-        synchronized (lockOnConnections) {
+        Lock lockOnConnection = lockOnUsernames.get(username);
+        lockOnConnection.lock();
+        try {
             ClientHandler handler = activeClients.get(username);
 
             if (handler == null) {
-                System.err.println("Request of disconnection from unknown connectionId");
+                logger.fine(() -> "Request of disconnection from unknown user " + username);
                 return;
             }
-            System.out.println("Handle disconnection of " + username);
-            controller.handleDisconnection(username);
+            logger.fine(() -> "Handle disconnection of " + username);
+            gameRegistry.handleDisconnection(username);
             handler.terminate();
             activeClients.remove(username);
-            System.out.println("User " + username + " left the server :(");
+            logger.info(() -> "User " + username + " left the server");
+        } finally {
+            lockOnConnection.unlock();
         }
     }
 
@@ -170,7 +280,7 @@ public class Server implements HeartBeatHandler, GameActions {
      */
     @Override
     public void placeStarter(String username, Side side) {
-        controller.placeStarter(username, side);
+        gameRegistry.placeStarter(username, side);
     }
 
     /**
@@ -178,7 +288,7 @@ public class Server implements HeartBeatHandler, GameActions {
      */
     @Override
     public void chooseColor(String username, PlayerColor color) {
-        controller.chooseColor(username, color);
+        gameRegistry.chooseColor(username, color);
     }
 
     /**
@@ -186,7 +296,7 @@ public class Server implements HeartBeatHandler, GameActions {
      */
     @Override
     public void placeObjectiveCard(String username, int chosenObjective) {
-        controller.placeObjectiveCard(username, chosenObjective);
+        gameRegistry.placeObjectiveCard(username, chosenObjective);
     }
 
     /**
@@ -194,7 +304,7 @@ public class Server implements HeartBeatHandler, GameActions {
      */
     @Override
     public void placeCard(String username, int frontId, int backId, Side side, Position position) {
-        controller.placeCard(username, frontId, backId, side, position);
+        gameRegistry.placeCard(username, frontId, backId, side, position);
     }
 
     /**
@@ -202,7 +312,7 @@ public class Server implements HeartBeatHandler, GameActions {
      */
     @Override
     public void draw(String username, int idToDraw) {
-        controller.draw(username, idToDraw);
+        gameRegistry.draw(username, idToDraw);
     }
 
     /**
@@ -210,7 +320,7 @@ public class Server implements HeartBeatHandler, GameActions {
      */
     @Override
     public void sendMessage(Message message) {
-        controller.sendMessage(message);
+        gameRegistry.sendMessage(message);
     }
 
     /**
@@ -218,7 +328,7 @@ public class Server implements HeartBeatHandler, GameActions {
      */
     @Override
     public void setPlayersNumber(String username, int playersNumber) {
-        controller.setPlayersNumber(username, playersNumber);
+        gameRegistry.setPlayersNumber(username, playersNumber);
     }
 
     /**
@@ -226,25 +336,35 @@ public class Server implements HeartBeatHandler, GameActions {
      */
     @Override
     public void handleUnresponsiveness(String inactiveUser) {
-        synchronized (lockOnConnections) {
-            System.out.println("Client " + inactiveUser + " is unresponsive");
-            handleDisconnection(inactiveUser);
+        logger.info(() -> "Client " + inactiveUser + " is unresponsive");
+        handleDisconnection(inactiveUser);
+    }
+
+    /**
+     * Exposes the metrics of the server through JMX and logs them every <code>period</code> seconds.
+     *
+     * @param period between two reports of the metrics, in seconds; no report is logged if it isn't positive.
+     */
+    public void publishMetrics(long period) {
+        ServerMetrics metrics = ServerMetrics.getInstance();
+        metrics.setGauges(gameRegistry::getNumberOfGames, activeClients::size);
+        metrics.register();
+        if (period > 0) {
+            metrics.startReport(period);
         }
     }
 
     /**
      * Receives ping from the client.
+     * The ping doesn't wait for connections in progress, not even the one of its sender.
      * @param ping sent by the client to the server.
      */
     public void receivePing(HeartBeatMessage ping) {
-        //System.out.println("Received ping from " + ping.getSender());
-        synchronized (lockOnConnections) {
-            ClientHandler client = activeClients.get(ping.getSender());
-            if (client == null) {
-                System.out.println("received ping from " + ping.getSender() + " which is unknown user: never connected or crashed");
-            } else {
-                client.registerPingFromClient(ping);
-            }
+        ClientHandler client = activeClients.get(ping.getSender());
+        if (client == null) {
+            logger.fine(() -> "Received ping from " + ping.getSender() + " which is unknown user: never connected or crashed");
+        } else {
+            client.registerPingFromClient(ping);
         }
     }
 
@@ -252,6 +372,47 @@ public class Server implements HeartBeatHandler, GameActions {
         String ip = "127.0.0.1";
         int portSocket = 1234;
         int portRMI = 1235;
+        boolean useVirtualThreads = false;
+        boolean useNio = false;
+        OutboundLimits outboundLimits = OutboundLimits.DEFAULT;
+        int notificationThreads = NotificationDispatcher.DEFAULT_NUM_THREADS;
+        long metricsPeriod = DEFAULT_METRICS_PERIOD;
+
+        List<String> options = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.equals(VIRTUAL_THREADS_FLAG)) {
+                useVirtualThreads = true;
+            } else if (arg.equals(NIO_FLAG)) {
+                useNio = true;
+            } else if (arg.startsWith(OUTBOUND_LIMITS_FLAG)) {
+                try {
+                    outboundLimits = OutboundLimits.parse(arg.substring(OUTBOUND_LIMITS_FLAG.length()));
+                } catch (IllegalArgumentException e) {
+                    System.out.println("Invalid outbound limits: " + e.getMessage());
+                    System.exit(1);
+                }
+            } else if (arg.startsWith(NOTIFICATION_THREADS_FLAG)) {
+                try {
+                    notificationThreads = Integer.parseInt(arg.substring(NOTIFICATION_THREADS_FLAG.length()));
+                } catch (NumberFormatException e) {
+                    notificationThreads = 0;
+                }
+                if (notificationThreads < 1) {
+                    System.out.println("The number of notification threads must be a positive integer");
+                    System.exit(1);
+                }
+            } else if (arg.startsWith(METRICS_PERIOD_FLAG)) {
+                try {
+                    metricsPeriod = Long.parseLong(arg.substring(METRICS_PERIOD_FLAG.length()));
+                } catch (NumberFormatException e) {
+                    System.out.println("The period of the metrics must be an integer");
+                    System.exit(1);
+                }
+            } else {
+                options.add(arg);
+            }
+        }
+        args = options.toArray(new String[0]);
 
         if (args.length < 3) {
             System.out.println("Running default configuration: " + "server ip: " + ip + " port for socket: " + portSocket + " port for rmi: " + portRMI);
@@ -266,8 +427,18 @@ public class Server implements HeartBeatHandler, GameActions {
             }
         }
 
-        Server server = new Server(ip, portSocket, portRMI);
+        NetworkLog.configure();
+        if (useVirtualThreads) {
+            System.out.println("Clients are served by virtual threads");
+        }
+        Server server = new Server(ip, portSocket, portRMI, useVirtualThreads, outboundLimits,
+                notificationThreads);
+        server.publishMetrics(metricsPeriod);
         server.exportRMIServer();
-        server.startServerSocket();
+        if (useNio) {
+            server.startNioServerSocket(Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+        } else {
+            server.startServerSocket();
+        }
     }
 }
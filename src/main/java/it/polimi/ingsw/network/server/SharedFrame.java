@@ -0,0 +1,66 @@
+package it.polimi.ingsw.network.server;
+
+import com.google.common.base.Suppliers;
+import it.polimi.ingsw.network.NetworkMessage;
+import it.polimi.ingsw.network.codec.BinaryCodec;
+import it.polimi.ingsw.network.codec.JsonCodec;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.Supplier;
+
+/**
+ * The SharedFrame class is an immutable update ready to be sent to many clients.
+ * The message is built once, and encoded at most once per wire format when the first recipient asks for its bytes:
+ * every other recipient reuses the same encoding.
+ */
+public class SharedFrame {
+    private final NetworkMessage message;
+    private final Supplier<String> json;
+    private final Supplier<byte[]> encodedLine;
+    private final Supplier<byte[]> binaryFrame;
+
+    /**
+     * Constructs the frame of the <code>message</code>.
+     *
+     * @param message to send.
+     */
+    public SharedFrame(NetworkMessage message) {
+        this.message = message;
+        this.json = Suppliers.memoize(() -> JsonCodec.encode(message));
+        this.encodedLine = Suppliers.memoize(() -> (json.get() + "\n").getBytes(StandardCharsets.UTF_8));
+        this.binaryFrame = Suppliers.memoize(() -> BinaryCodec.encode(message));
+    }
+
+    public NetworkMessage getMessage() {
+        return message;
+    }
+
+    /**
+     * Returns the message encoded in json.
+     *
+     * @return the json of the message.
+     */
+    public String getJson() {
+        return json.get();
+    }
+
+    /**
+     * Returns the message encoded in json as an UTF-8 line, terminator included.
+     * The returned array is shared, hence it must not be modified.
+     *
+     * @return the bytes of the line.
+     */
+    public byte[] getEncodedLine() {
+        return encodedLine.get();
+    }
+
+    /**
+     * Returns the message encoded by the {@link BinaryCodec}.
+     * The returned array is shared, hence it must not be modified.
+     *
+     * @return the bytes of the frame, length prefix included.
+     */
+    public byte[] getBinaryFrame() {
+        return binaryFrame.get();
+    }
+}
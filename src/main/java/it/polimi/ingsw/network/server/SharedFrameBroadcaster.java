@@ -0,0 +1,42 @@
+package it.polimi.ingsw.network.server;
+
+import it.polimi.ingsw.model.GameListener;
+import it.polimi.ingsw.model.listenerhandler.Broadcaster;
+import it.polimi.ingsw.model.notifier.Notifier;
+import it.polimi.ingsw.network.NetworkMessage;
+import it.polimi.ingsw.network.server.metrics.ServerMetrics;
+
+import java.util.Collection;
+
+/**
+ * The SharedFrameBroadcaster class delivers an update of the game to all its listeners building the message only
+ * once: the recipients able to send frames receive the same {@link SharedFrame}, while the others, such as RMI
+ * clients, are notified with the same arguments.
+ * The time spent broadcasting is accounted to the fan out of the command being applied.
+ */
+public class SharedFrameBroadcaster implements Broadcaster<GameListener> {
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void broadcast(Collection<GameListener> recipients, Notifier<GameListener> notifier) {
+        long startTime = System.nanoTime();
+        SharedFrame frame = null;
+        boolean isShareable = true;
+        for (GameListener recipient : recipients) {
+            if (isShareable && recipient instanceof FrameRecipient frameRecipient) {
+                if (frame == null) {
+                    NetworkMessage message = MessageRecorder.record(notifier);
+                    isShareable = message != null;
+                    frame = isShareable ? new SharedFrame(message) : null;
+                }
+                if (isShareable) {
+                    frameRecipient.sendFrame(frame);
+                    continue;
+                }
+            }
+            notifier.sendUpdate(recipient);
+        }
+        ServerMetrics.addFanOutTime(System.nanoTime() - startTime);
+    }
+}
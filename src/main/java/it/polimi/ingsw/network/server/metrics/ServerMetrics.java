@@ -0,0 +1,313 @@
+package it.polimi.ingsw.network.server.metrics;
+
+import it.polimi.ingsw.network.heartbeat.HeartBeat;
+import it.polimi.ingsw.network.logging.NetworkLog;
+import it.polimi.ingsw.network.server.OutboundQueue;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.IntSupplier;
+import java.util.function.ToLongFunction;
+import java.util.logging.Logger;
+
+/**
+ * The ServerMetrics class collects the metrics of the server process: the latency of every game operation, split in
+ * the time waited in the mailbox of the game, the time taken to apply it and the time taken to notify the clients;
+ * the messages and the bytes exchanged by every transport; the number of games and players. It also reports the time
+ * taken to deliver the pings, recorded by the {@link HeartBeat}.
+ * Recording a metric never takes a lock. The metrics are read through JMX, under the name
+ * {@value #OBJECT_NAME}, or through the report periodically logged once {@link #startReport(long)} is called.
+ */
+public class ServerMetrics implements ServerMetricsMXBean {
+    /**
+     * The JMX name of the metrics.
+     */
+    public static final String OBJECT_NAME = "it.polimi.ingsw:type=ServerMetrics";
+
+    private static final Logger logger = NetworkLog.getLogger(ServerMetrics.class);
+    private static final ServerMetrics instance = new ServerMetrics();
+    // fan out time accumulated by the command being applied on the current thread
+    private static final ThreadLocal<long[]> fanOutTime = ThreadLocal.withInitial(() -> new long[1]);
+
+    private final ConcurrentMap<String, OperationLatency> operations;
+    private final Map<Transport, TransportCounters> transports;
+    private volatile IntSupplier activeGames;
+    private volatile IntSupplier activePlayers;
+
+    /**
+     * The Transport enum lists the ways clients communicate with the server.
+     */
+    public enum Transport {
+        SOCKET, RMI
+    }
+
+    /**
+     * The OperationLatency class holds the histograms of a game operation.
+     */
+    private static class OperationLatency {
+        private final LatencyHistogram queued = new LatencyHistogram();
+        private final LatencyHistogram execution = new LatencyHistogram();
+        private final LatencyHistogram fanOut = new LatencyHistogram();
+    }
+
+    /**
+     * The TransportCounters class holds the traffic of a transport.
+     */
+    private static class TransportCounters {
+        private final LongAdder messagesIn = new LongAdder();
+        private final LongAdder messagesOut = new LongAdder();
+        private final LongAdder bytesIn = new LongAdder();
+        private final LongAdder bytesOut = new LongAdder();
+    }
+
+    ServerMetrics() {
+        operations = new ConcurrentHashMap<>();
+        transports = new EnumMap<>(Transport.class);
+        for (Transport transport : Transport.values()) {
+            transports.put(transport, new TransportCounters());
+        }
+        activeGames = () -> 0;
+        activePlayers = () -> 0;
+    }
+
+    /**
+     * Returns the metrics of the process.
+     *
+     * @return the metrics shared by the whole process.
+     */
+    public static ServerMetrics getInstance() {
+        return instance;
+    }
+
+    /**
+     * Records a game operation.
+     *
+     * @param operation the name of the operation.
+     * @param queued    the time waited in the mailbox, in nanoseconds.
+     * @param execution the time taken to apply the operation, excluding the notifications, in nanoseconds.
+     * @param fanOut    the time taken to notify the clients, in nanoseconds.
+     */
+    public void recordOperation(String operation, long queued, long execution, long fanOut) {
+        OperationLatency latency = operations.computeIfAbsent(operation, name -> new OperationLatency());
+        latency.queued.record(queued);
+        latency.execution.record(execution);
+        latency.fanOut.record(fanOut);
+    }
+
+    /**
+     * Adds <code>nanos</code> to the fan out time of the command being applied by the calling thread.
+     *
+     * @param nanos spent notifying the clients.
+     */
+    public static void addFanOutTime(long nanos) {
+        fanOutTime.get()[0] += nanos;
+    }
+
+    /**
+     * Returns the fan out time accumulated by the calling thread since the last call, and resets it.
+     *
+     * @return the fan out time in nanoseconds.
+     */
+    public static long takeFanOutTime() {
+        long[] time = fanOutTime.get();
+        long taken = time[0];
+        time[0] = 0;
+        return taken;
+    }
+
+    /**
+     * Records a message received through the <code>transport</code>.
+     *
+     * @param transport through which the message has been received.
+     * @param bytes     the size of the message, 0 if unknown.
+     */
+    public void recordMessageIn(Transport transport, long bytes) {
+        TransportCounters counters = transports.get(transport);
+        counters.messagesIn.increment();
+        counters.bytesIn.add(bytes);
+    }
+
+    /**
+     * Records <code>messages</code> sent through the <code>transport</code>.
+     *
+     * @param transport through which the messages have been sent.
+     * @param messages  the number of messages.
+     * @param bytes     the size of the messages, 0 if unknown.
+     */
+    public void recordMessagesOut(Transport transport, int messages, long bytes) {
+        TransportCounters counters = transports.get(transport);
+        counters.messagesOut.add(messages);
+        counters.bytesOut.add(bytes);
+    }
+
+    /**
+     * Sets the sources of the number of games and players.
+     *
+     * @param activeGames   the number of games not yet finished.
+     * @param activePlayers the number of players connected.
+     */
+    public void setGauges(IntSupplier activeGames, IntSupplier activePlayers) {
+        this.activeGames = activeGames;
+        this.activePlayers = activePlayers;
+    }
+
+    /**
+     * Registers the metrics in the platform MBean server.
+     */
+    public void register() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            server.registerMBean(this, new ObjectName(OBJECT_NAME));
+        } catch (InstanceAlreadyExistsException e) {
+            logger.fine("Metrics already registered");
+        } catch (JMException e) {
+            logger.warning(() -> "Failed to register the metrics: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Logs the report of the metrics every <code>period</code> seconds, on a daemon thread.
+     * It's meant to be called once, when the server starts.
+     *
+     * @param period between two reports, in seconds.
+     */
+    public void startReport(long period) {
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("metrics-reporter").daemon().factory());
+        reporter.scheduleAtFixedRate(() -> logger.info(this::getReport), period, period, TimeUnit.SECONDS);
+    }
+
+    private Map<String, Long> perOperation(ToLongFunction<OperationLatency> metric) {
+        Map<String, Long> values = new TreeMap<>();
+        operations.forEach((operation, latency) -> values.put(operation, metric.applyAsLong(latency)));
+        return values;
+    }
+
+    private Map<String, Double> p99PerOperation(Function<OperationLatency, LatencyHistogram> histogram) {
+        Map<String, Double> values = new TreeMap<>();
+        operations.forEach((operation, latency) ->
+                values.put(operation, toMillis(histogram.apply(latency).getPercentile(99))));
+        return values;
+    }
+
+    private Map<String, Long> perTransport(ToLongFunction<TransportCounters> counter) {
+        Map<String, Long> values = new TreeMap<>();
+        transports.forEach((transport, counters) -> values.put(transport.name(), counter.applyAsLong(counters)));
+        return values;
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<String, Long> getOperationCounts() {
+        return perOperation(latency -> latency.execution.getCount());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<String, Double> getQueuedP99Millis() {
+        return p99PerOperation(latency -> latency.queued);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<String, Double> getExecutionP99Millis() {
+        return p99PerOperation(latency -> latency.execution);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<String, Double> getFanOutP99Millis() {
+        return p99PerOperation(latency -> latency.fanOut);
+    }
+
+    @Override
+    public Map<String, Long> getMessagesIn() {
+        return perTransport(counters -> counters.messagesIn.sum());
+    }
+
+    @Override
+    public Map<String, Long> getMessagesOut() {
+        return perTransport(counters -> counters.messagesOut.sum());
+    }
+
+    @Override
+    public Map<String, Long> getBytesIn() {
+        return perTransport(counters -> counters.bytesIn.sum());
+    }
+
+    @Override
+    public Map<String, Long> getBytesOut() {
+        return perTransport(counters -> counters.bytesOut.sum());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getHeartBeatP99Millis() {
+        return toMillis(HeartBeat.getPingLatency().getPercentile(99));
+    }
+
+    @Override
+    public int getActiveGames() {
+        return activeGames.getAsInt();
+    }
+
+    @Override
+    public int getActivePlayers() {
+        return activePlayers.getAsInt();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getReport() {
+        StringBuilder report = new StringBuilder("Server metrics: games=").append(getActiveGames())
+                .append(" players=").append(getActivePlayers()).append(System.lineSeparator());
+        new TreeMap<>(operations).forEach((operation, latency) -> report.append("  ").append(operation)
+                .append(" count=").append(latency.execution.getCount())
+                .append(" queued=").append(summary(latency.queued))
+                .append(" execution=").append(summary(latency.execution))
+                .append(" fanOut=").append(summary(latency.fanOut)).append(System.lineSeparator()));
+        transports.forEach((transport, counters) -> report.append("  ").append(transport)
+                .append(" in=").append(counters.messagesIn.sum()).append(" msg/").append(counters.bytesIn.sum())
+                .append(" B out=").append(counters.messagesOut.sum()).append(" msg/").append(counters.bytesOut.sum())
+                .append(" B").append(System.lineSeparator()));
+        report.append("  heartBeat=").append(summary(HeartBeat.getPingLatency()))
+                .append(" coalescedUpdates=").append(OutboundQueue.getCoalescedUpdates())
+                .append(" slowConsumers=").append(OutboundQueue.getSlowConsumers())
+                .append(" evictedConsumers=").append(OutboundQueue.getEvictedConsumers());
+        return report.toString();
+    }
+
+    private static String summary(LatencyHistogram histogram) {
+        return String.format("[p50 %.3f p99 %.3f max %.3f ms]", toMillis(histogram.getPercentile(50)),
+                toMillis(histogram.getPercentile(99)), toMillis(histogram.getMax()));
+    }
+}
@@ -0,0 +1,63 @@
+package it.polimi.ingsw.network.server.metrics;
+
+import java.util.Map;
+
+/**
+ * The ServerMetricsMXBean interface exposes the {@link ServerMetrics} through JMX.
+ * Latencies are in milliseconds, and maps are keyed by the name of the game operation or of the transport.
+ */
+public interface ServerMetricsMXBean {
+    /**
+     * Returns the number of times each game operation has been applied.
+     *
+     * @return the number of requests per operation.
+     */
+    Map<String, Long> getOperationCounts();
+
+    /**
+     * Returns the 99th percentile of the time requests waited in the mailbox of their game, per operation.
+     *
+     * @return the queueing latency per operation.
+     */
+    Map<String, Double> getQueuedP99Millis();
+
+    /**
+     * Returns the 99th percentile of the time requests took to be applied, per operation.
+     *
+     * @return the execution latency per operation.
+     */
+    Map<String, Double> getExecutionP99Millis();
+
+    /**
+     * Returns the 99th percentile of the time requests took to notify the clients of their updates, per operation.
+     *
+     * @return the fan out latency per operation.
+     */
+    Map<String, Double> getFanOutP99Millis();
+
+    Map<String, Long> getMessagesIn();
+
+    Map<String, Long> getMessagesOut();
+
+    Map<String, Long> getBytesIn();
+
+    Map<String, Long> getBytesOut();
+
+    /**
+     * Returns the 99th percentile of the time taken to deliver a ping.
+     *
+     * @return the heart beat latency.
+     */
+    double getHeartBeatP99Millis();
+
+    int getActiveGames();
+
+    int getActivePlayers();
+
+    /**
+     * Returns all the metrics as text, in the same format of the periodic dump.
+     *
+     * @return the metrics.
+     */
+    String getReport();
+}
@@ -1,5 +1,6 @@
 package it.polimi.ingsw.network.server.rmi;
 
+import it.polimi.ingsw.controller.GameEventLoop;
 import it.polimi.ingsw.model.board.Position;
 import it.polimi.ingsw.model.card.color.PlayerColor;
 import it.polimi.ingsw.model.card.CornerPosition;
@@ -8,40 +9,76 @@ import it.polimi.ingsw.model.card.Symbol;
 import it.polimi.ingsw.model.chat.message.Message;
 import it.polimi.ingsw.model.gamephase.GamePhase;
 import it.polimi.ingsw.network.ClientHandler;
+import it.polimi.ingsw.network.NetworkMessage;
 import it.polimi.ingsw.network.VirtualView;
 import it.polimi.ingsw.network.client.model.ClientGame;
 import it.polimi.ingsw.network.client.model.card.ClientCard;
 import it.polimi.ingsw.network.client.model.card.ClientFace;
 import it.polimi.ingsw.network.client.model.card.ClientObjectiveCard;
+import it.polimi.ingsw.network.client.socket.message.*;
 import it.polimi.ingsw.network.heartbeat.HeartBeat;
 import it.polimi.ingsw.network.heartbeat.HeartBeatHandler;
 import it.polimi.ingsw.network.heartbeat.HeartBeatMessage;
+import it.polimi.ingsw.network.server.NotificationDispatcher;
+import it.polimi.ingsw.network.server.OutboundLimits;
+import it.polimi.ingsw.network.server.OutboundQueue;
 import it.polimi.ingsw.network.server.Server;
+import it.polimi.ingsw.network.server.metrics.ServerMetrics;
+import it.polimi.ingsw.network.server.socket.message.ResultOfLogin;
+import it.polimi.ingsw.network.logging.NetworkLog;
 
 import java.rmi.RemoteException;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicBoolean;
-
+import java.util.logging.Logger;
+
+/**
+ * The RMIHandler class represents the handler of a client connected through RMI.
+ * Updates aren't sent one remote call each: they are queued until the command of the game loop producing them has
+ * been completed, then all the updates queued are sent with a single call to {@link VirtualView#applyUpdates(List)}.
+ * Hence the updates produced by the same step of the game reach the client in one round trip.
+ * The updates wait in an {@link OutboundQueue}, so that a client that doesn't keep up is disconnected instead of making
+ * the queue grow without limit.
+ */
 public class RMIHandler implements ClientHandler, HeartBeatHandler {
+    private static final Logger logger = NetworkLog.getLogger(RMIHandler.class);
     private final VirtualView stub;
     private final String username;
     private final HeartBeat heartBeat;
     private final Server server;
-    private final ExecutorService notificationHandler;
+    private final NotificationDispatcher dispatcher;
+    private final Executor notificationLane;
     private final AtomicBoolean isActive;
+    private final OutboundQueue<NetworkMessage> outboundQueue;
 
     public RMIHandler(Server server, VirtualView stub, String username) {
+        this(server, stub, username, NotificationDispatcher.getSharedDispatcher(), OutboundLimits.DEFAULT);
+    }
+
+    /**
+     * Constructs the handler of an RMI client whose notifications are sent on a lane of the <code>dispatcher</code>.
+     *
+     * @param server        the server the client is connected to.
+     * @param stub          the remote reference of the client.
+     * @param username      of the client.
+     * @param dispatcher    the pool of threads sending the notifications.
+     * @param limits        the bounds of the queue of the updates for the client.
+     */
+    public RMIHandler(Server server, VirtualView stub, String username, NotificationDispatcher dispatcher,
+                      OutboundLimits limits) {
         this.server = server;
         this.stub = stub;
-        System.out.println("Is the stub null? " + (this.stub == null));
         assert this.stub != null;
         this.username = username;
         this.heartBeat = new HeartBeat(this, username + "_handler", stub, username);
         this.isActive = new AtomicBoolean(true);
-        this.notificationHandler = Executors.newSingleThreadExecutor();
+        this.dispatcher = dispatcher;
+        this.notificationLane = dispatcher.newLane();
+        // remote calls return once the client has received the updates, nothing is pending after them
+        this.outboundQueue = new OutboundQueue<>(limits, OutboundQueue::coalescingKeyOf, () -> 0, this::evict);
     }
 
     public String getUsername() {
@@ -61,16 +98,7 @@ public class RMIHandler implements ClientHandler, HeartBeatHandler {
      */
     @Override
     public void updateCreator() {
-        notificationHandler.submit(() -> {
-            System.out.println("Sending updateCreator");
-            if (isActive.get()) {
-                try {
-                    stub.updateCreator();
-                } catch (RemoteException ignored) {
-                    System.err.println("Crashed while sending the updateCreator");
-                }
-            }
-        });
+        enqueue(new UpdateCreatorMessage());
     }
 
     /**
@@ -78,18 +106,7 @@ public class RMIHandler implements ClientHandler, HeartBeatHandler {
      */
     @Override
     public void updateAfterConnection(ClientGame clientGame) {
-        notificationHandler.submit(() -> {
-            System.out.println("Sending update after connection");
-            if (isActive.get()) {
-                try {
-                    stub.updateAfterConnection(clientGame);
-                } catch (RemoteException ignored) {
-                    System.err.println("Crashed while sending updateAfterConnection");
-                }
-            } else {
-                System.out.println("update after connection is outdated, now the handler is inactive");
-            }
-        });
+        enqueue(new UpdateAfterConnectionMessage(clientGame));
     }
 
     /**
@@ -97,21 +114,59 @@ public class RMIHandler implements ClientHandler, HeartBeatHandler {
      */
     @Override
     public void showUpdatePlayersInLobby(List<String> usernames) {
-        notificationHandler.submit(() -> {
-            if (isActive.get()) {
-                try {
-                    stub.showUpdatePlayersInLobby(usernames);
-                } catch (RemoteException ignored) {
-                    System.err.println("Crashed while sending showUpdatePlayersInLobby");
-                }
+        enqueue(new UpdatePlayersInLobbyMessage(usernames));
+    }
+
+    /**
+     * Queues the <code>update</code>, scheduling the sending of the queue if it isn't already scheduled.
+     *
+     * @param update the message representing the update.
+     */
+    private void enqueue(NetworkMessage update) {
+        if (outboundQueue.offer(update)) {
+            GameEventLoop.runAfterCurrentCommand(this::submitFlush);
+        }
+    }
+
+    private void submitFlush() {
+        try {
+            notificationLane.execute(this::flush);
+        } catch (RejectedExecutionException e) {
+            // the dispatcher has been shut down, the updates are lost
+        }
+    }
+
+    /**
+     * Sends all the updates queued with a single remote call.
+     * A new flush is scheduled only after this one has taken the queue, and the notification thread runs them in
+     * order, hence the client receives the updates in the order they were produced.
+     */
+    private void flush() {
+        List<NetworkMessage> updates = outboundQueue.drain();
+        if (isActive.get()) {
+            try {
+                stub.applyUpdates(updates);
+                ServerMetrics.getInstance().recordMessagesOut(ServerMetrics.Transport.RMI, updates.size(), 0);
+            } catch (RemoteException e) {
+                logger.warning(() -> "Remote exception while sending " + updates.size() + " updates to " + username + ": " + e.getMessage());
             }
-        });
+        } else {
+            logger.fine(() -> updates.size() + " updates for " + username + " will be lost");
+        }
+    }
+
+    /**
+     * Disconnects the client, whose queue has exceeded the outbound limits.
+     * The disconnection runs on the dispatcher, since the producer of the update may be a game loop.
+     */
+    private void evict() {
+        logger.warning(() -> "Client " + username + " is too slow to receive the updates: it will be disconnected");
+        dispatcher.execute(() -> server.handleUnresponsiveness(username));
     }
 
     private void makeHandlerInvalid() {
         heartBeat.terminate();
         isActive.set(false);
-        notificationHandler.shutdownNow();
     }
 
     /**
@@ -135,15 +190,7 @@ public class RMIHandler implements ClientHandler, HeartBeatHandler {
      */
     @Override
     public void showUpdateExceedingPlayer() {
-        notificationHandler.submit(() -> {
-            if (isActive.get()) {
-                try {
-                    stub.showUpdateExceedingPlayer();
-                } catch (RemoteException ignored) {
-
-                }
-            }
-        });
+        enqueue(new ExceedingPlayerMessage());
     }
 
     /**
@@ -151,15 +198,7 @@ public class RMIHandler implements ClientHandler, HeartBeatHandler {
      */
     @Override
     public void updateAfterLobbyCrash() {
-        notificationHandler.submit(() -> {
-            if (isActive.get()) {
-                try {
-                    stub.updateAfterLobbyCrash();
-                } catch (RemoteException ignored) {
-
-                }
-            }
-        });
+        enqueue(new UpdateAfterLobbyCrashMessage());
     }
 
     /**
@@ -167,15 +206,7 @@ public class RMIHandler implements ClientHandler, HeartBeatHandler {
      */
     @Override
     public void showUpdatePlayerStatus(boolean isConnected, String username) {
-        notificationHandler.submit(() -> {
-            if (isActive.get()) {
-                try {
-                    stub.showUpdatePlayerStatus(isConnected, username);
-                } catch (RemoteException ignored) {
-
-                }
-            }
-        });
+        enqueue(new UpdatePlayerStatusMessage(isConnected, username));
     }
 
     /**
@@ -183,15 +214,7 @@ public class RMIHandler implements ClientHandler, HeartBeatHandler {
      */
     @Override
     public void showUpdateColor(PlayerColor color, String username) {
-        notificationHandler.submit(() -> {
-            if (isActive.get()) {
-                try {
-                    stub.showUpdateColor(color, username);
-                } catch (RemoteException ignored) {
-                    System.err.println("Remote exception in showUpdateColor: " + ignored.getMessage());
-                }
-            }
-        });
+        enqueue(new UpdateColorMessage(username, color));
     }
 
     /**
@@ -199,34 +222,15 @@ public class RMIHandler implements ClientHandler, HeartBeatHandler {
      */
     @Override
     public void showUpdateObjectiveCard(ClientObjectiveCard chosenObjective, String username) {
-        notificationHandler.submit(() -> {
-            if (isActive.get()) {
-                try {
-                    stub.showUpdateObjectiveCard(chosenObjective, username);
-                } catch (RemoteException ignored) {
-                    System.err.println("Remote exception in showUpdateObjectiveCard: " + ignored.getMessage());
-                }
-            }
-        });
+        enqueue(new UpdateObjectiveCardMessage(chosenObjective, username));
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public void showUpdateAfterPlace(Map<Position, CornerPosition> positionToCornerCovered, List<Position> newAvailablePositions, Map<Symbol, Integer> newResources, int points, String username, ClientCard placedCard, Side placedSide, Position position) {
-        notificationHandler.submit(() -> {
-            if (isActive.get()) {
-                System.out.println("Sending update after place");
-                try {
-                    stub.showUpdateAfterPlace(positionToCornerCovered, newAvailablePositions, newResources, points, username, placedCard, placedSide, position);
-                } catch (RemoteException ignored) {
-                    System.err.println("Remote exception in showUpdateAfterPlace" + ignored.getMessage());
-                }
-            } else {
-                System.out.println("Update will be lost");
-            }
-        });
+    public void showUpdateAfterPlace(Map<Position, CornerPosition> positionToCornerCovered, List<Position> addedAvailablePositions, List<Position> removedAvailablePositions, Map<Symbol, Integer> changedResources, int points, String username, ClientCard placedCard, Side placedSide, Position position) {
+        enqueue(new UpdateAfterPlaceMessage(positionToCornerCovered, addedAvailablePositions, removedAvailablePositions, changedResources, points, username, placedCard, placedSide, position));
     }
 
     /**
@@ -234,15 +238,7 @@ public class RMIHandler implements ClientHandler, HeartBeatHandler {
      */
     @Override
     public void showUpdateAfterDraw(ClientCard drawnCard, ClientFace newTopDeck, ClientCard newFaceUpCard, String username, int boardPosition) {
-        notificationHandler.submit(() -> {
-            if (isActive.get()) {
-                try {
-                    stub.showUpdateAfterDraw(drawnCard, newTopDeck, newFaceUpCard, username, boardPosition);
-                } catch (RemoteException ignored) {
-
-                }
-            }
-        });
+        enqueue(new UpdateAfterDrawMessage(drawnCard, newTopDeck, newFaceUpCard, username, boardPosition));
     }
 
     /**
@@ -250,15 +246,7 @@ public class RMIHandler implements ClientHandler, HeartBeatHandler {
      */
     @Override
     public void showUpdateChat(Message message) {
-        notificationHandler.submit(() -> {
-            if (isActive.get()) {
-                try {
-                    stub.showUpdateChat(message);
-                } catch (RemoteException ignored) {
-
-                }
-            }
-        });
+        enqueue(new UpdateChatMessage(message));
     }
 
     /**
@@ -266,15 +254,7 @@ public class RMIHandler implements ClientHandler, HeartBeatHandler {
      */
     @Override
     public void showUpdateCurrentPlayer(int currentPlayerIdx, GamePhase phase) {
-        notificationHandler.submit(() -> {
-            if (isActive.get()) {
-                try {
-                    stub.showUpdateCurrentPlayer(currentPlayerIdx, phase);
-                } catch (RemoteException ignored) {
-                    System.err.println("Remote exception in showUpdateCurrentPlayer: " + ignored.getMessage());
-                }
-            }
-        });
+        enqueue(new UpdateCurrentPlayerMessage(currentPlayerIdx, phase));
     }
 
     /**
@@ -282,15 +262,7 @@ public class RMIHandler implements ClientHandler, HeartBeatHandler {
      */
     @Override
     public void showUpdateGameState() {
-        notificationHandler.submit(() -> {
-            if (isActive.get()) {
-                try {
-                    stub.showUpdateGameState();
-                } catch (RemoteException ignored) {
-
-                }
-            }
-        });
+        enqueue(new UpdateSuspendedGameMessage());
     }
 
     /**
@@ -298,15 +270,7 @@ public class RMIHandler implements ClientHandler, HeartBeatHandler {
      */
     @Override
     public void showWinners(List<String> winners) {
-        notificationHandler.submit(() -> {
-            if (isActive.get()) {
-                try {
-                    stub.showWinners(winners);
-                } catch (RemoteException ignored) {
-
-                }
-            }
-        });
+        enqueue(new ShowWinnersMessage(winners));
     }
 
     /**
@@ -314,15 +278,7 @@ public class RMIHandler implements ClientHandler, HeartBeatHandler {
      */
     @Override
     public void reportError(String details) {
-        notificationHandler.submit(() -> {
-            if (isActive.get()) {
-                try {
-                    stub.reportError(details);
-                } catch (RemoteException ignored) {
-
-                }
-            }
-        });
+        enqueue(new ReportErrorMessage(details));
     }
 
     /**
@@ -330,16 +286,7 @@ public class RMIHandler implements ClientHandler, HeartBeatHandler {
      */
     @Override
     public void resultOfLogin(boolean accepted, String details) {
-        notificationHandler.submit(() -> {
-            System.out.println("Sending resultOfLogin for " + username);
-            if (isActive.get()) {
-                try {
-                    stub.resultOfLogin(accepted, username, details);
-                } catch (RemoteException ignored) {
-
-                }
-            }
-        });
+        enqueue(new ResultOfLogin(accepted, username, details));
     }
 
     /**
@@ -348,6 +295,7 @@ public class RMIHandler implements ClientHandler, HeartBeatHandler {
     @Override
     public void receivePing(HeartBeatMessage ping) throws RemoteException {
         stub.receivePing(ping);
+        ServerMetrics.getInstance().recordMessagesOut(ServerMetrics.Transport.RMI, 1, 0);
     }
 
     /**
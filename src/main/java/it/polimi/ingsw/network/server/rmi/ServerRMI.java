@@ -8,6 +8,7 @@ import it.polimi.ingsw.network.VirtualServer;
 import it.polimi.ingsw.network.VirtualView;
 import it.polimi.ingsw.network.heartbeat.HeartBeatMessage;
 import it.polimi.ingsw.network.server.Server;
+import it.polimi.ingsw.network.server.metrics.ServerMetrics;
 
 import java.rmi.RemoteException;
 
@@ -33,9 +34,11 @@ public class ServerRMI implements VirtualServer {
      * {@inheritDoc}
      */
     @Override
-    public void connect(VirtualView client, String username) throws RemoteException {
-        RMIHandler clientHandlerRMI = new RMIHandler(server, client, username);
-        server.connect(clientHandlerRMI, username);
+    public void connect(VirtualView client, String username, long lastSequenceNumber) throws RemoteException {
+        recordCall();
+        RMIHandler clientHandlerRMI = new RMIHandler(server, client, username, server.getNotificationDispatcher(),
+                server.getOutboundLimits());
+        server.connect(clientHandlerRMI, username, lastSequenceNumber);
     }
 
     /**
@@ -43,6 +46,7 @@ public class ServerRMI implements VirtualServer {
      */
     @Override
     public void disconnect(String username) throws RemoteException {
+        recordCall();
         server.disconnect(username);
     }
 
@@ -51,6 +55,7 @@ public class ServerRMI implements VirtualServer {
      */
     @Override
     public void placeStarter(String username, Side side) throws RemoteException {
+        recordCall();
         server.placeStarter(username, side);
     }
 
@@ -59,6 +64,7 @@ public class ServerRMI implements VirtualServer {
      */
     @Override
     public void chooseColor(String username, PlayerColor color) throws RemoteException {
+        recordCall();
         server.chooseColor(username,color);
     }
 
@@ -67,6 +73,7 @@ public class ServerRMI implements VirtualServer {
      */
     @Override
     public void placeObjectiveCard(String username, int chosenObjective) throws RemoteException {
+        recordCall();
         server.placeObjectiveCard(username,chosenObjective);
     }
 
@@ -75,6 +82,7 @@ public class ServerRMI implements VirtualServer {
      */
     @Override
     public void placeCard(String username, int frontId, int backId, Side side, Position position) throws RemoteException {
+        recordCall();
         server.placeCard(username, frontId, backId, side, position);
     }
 
@@ -83,6 +91,7 @@ public class ServerRMI implements VirtualServer {
      */
     @Override
     public void draw(String username, int idToDraw) throws RemoteException {
+        recordCall();
         server.draw(username, idToDraw);
     }
 
@@ -91,6 +100,7 @@ public class ServerRMI implements VirtualServer {
      */
     @Override
     public void sendMessage(Message message) throws RemoteException {
+        recordCall();
         server.sendMessage(message);
     }
 
@@ -99,6 +109,7 @@ public class ServerRMI implements VirtualServer {
      */
     @Override
     public void setPlayersNumber(String username, int playersNumber) throws RemoteException {
+        recordCall();
         server.setPlayersNumber(username, playersNumber);
     }
 
@@ -107,7 +118,15 @@ public class ServerRMI implements VirtualServer {
      */
     @Override
     public void receivePing(HeartBeatMessage ping) throws RemoteException {
+        recordCall();
         server.receivePing(ping);
     }
 
+
+    /**
+     * Counts a call received from a client; the size of RMI calls isn't known to the server.
+     */
+    private void recordCall() {
+        ServerMetrics.getInstance().recordMessageIn(ServerMetrics.Transport.RMI, 0);
+    }
 }
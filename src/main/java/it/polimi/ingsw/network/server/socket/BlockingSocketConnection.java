@@ -0,0 +1,145 @@
+package it.polimi.ingsw.network.server.socket;
+
+import it.polimi.ingsw.network.codec.BinaryCodec;
+import it.polimi.ingsw.network.codec.WireFormat;
+import it.polimi.ingsw.network.logging.NetworkLog;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Logger;
+
+/**
+ * The BlockingSocketConnection class is a connection whose messages are read by a thread dedicated to the client,
+ * blocked on the socket stream until a new message arrives.
+ */
+public class BlockingSocketConnection implements SocketConnection {
+    private static final Logger logger = NetworkLog.getLogger(BlockingSocketConnection.class);
+    private final Socket clientSocket;
+    private final InputStream input;
+    private final OutputStream outputStream;
+    private final PrintWriter out;
+    private final Lock lockOnOutput;
+    private volatile WireFormat wireFormat;
+
+    /**
+     * Constructs the connection on the streams of the <code>clientSocket</code>.
+     *
+     * @param clientSocket the socket of the client.
+     * @throws IOException if the streams of the socket cannot be opened.
+     */
+    public BlockingSocketConnection(Socket clientSocket) throws IOException {
+        this.clientSocket = clientSocket;
+        this.outputStream = clientSocket.getOutputStream();
+        this.out = new PrintWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), true);
+        this.lockOnOutput = new ReentrantLock();
+        this.input = new BufferedInputStream(clientSocket.getInputStream());
+        this.wireFormat = WireFormat.JSON;
+    }
+
+    /**
+     * Listens to the client until the channel is closed, passing every message to the <code>handler</code>.
+     * The first byte tells whether the client speaks json or binary.
+     *
+     * @param handler of the messages received.
+     */
+    public void listen(SocketHandler handler) {
+        logger.fine("ClientHandler has started");
+        try {
+            input.mark(1);
+            if (input.read() == BinaryCodec.MAGIC) {
+                wireFormat = WireFormat.BINARY;
+                listenToFrames(handler);
+            } else {
+                input.reset();
+                listenToLines(handler);
+            }
+        } catch (IOException e) {
+            logger.fine("server stops hearing: channel has been closed");
+        }
+    }
+
+    private void listenToLines(SocketHandler handler) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        String line = reader.readLine();
+        while (line != null && handler.handleLine(line)) {
+            line = reader.readLine();
+        }
+    }
+
+    private void listenToFrames(SocketHandler handler) throws IOException {
+        byte[] payload = BinaryCodec.readFrame(input);
+        while (payload != null && handler.handleFrame(payload)) {
+            payload = BinaryCodec.readFrame(input);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void send(String line) {
+        lockOnOutput.lock();
+        try {
+            out.println(line);
+            out.flush();
+        } finally {
+            lockOnOutput.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void send(byte[] encodedMessage) {
+        lockOnOutput.lock();
+        try {
+            outputStream.write(encodedMessage);
+            outputStream.flush();
+        } catch (IOException e) {
+            logger.fine(() -> "Failed to write to the client: " + e.getMessage());
+        } finally {
+            lockOnOutput.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public WireFormat getWireFormat() {
+        return wireFormat;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getPendingMessages() {
+        return 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() {
+        try {
+            clientSocket.close();
+            input.close();
+            out.close();
+        } catch (IOException e) {
+            logger.fine("input has already been closed");
+        }
+    }
+}
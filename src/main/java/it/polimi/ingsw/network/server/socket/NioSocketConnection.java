@@ -0,0 +1,293 @@
+package it.polimi.ingsw.network.server.socket;
+
+import it.polimi.ingsw.network.codec.BinaryCodec;
+import it.polimi.ingsw.network.codec.WireFormat;
+import it.polimi.ingsw.network.logging.NetworkLog;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+/**
+ * The NioSocketConnection class is a non-blocking connection served by one of the I/O threads of a
+ * {@link NioSocketServer}.
+ * Incoming bytes are split into lines, or into frames if the client speaks binary, which are handed in order to the
+ * handler on the <code>inboundLane</code>, while outgoing messages are queued and flushed with gathered writes whenever
+ * the channel is writable.
+ */
+public class NioSocketConnection implements SocketConnection {
+    private static final Logger logger = NetworkLog.getLogger(NioSocketConnection.class);
+    private static final int INITIAL_READ_BUFFER_SIZE = 8 * 1024;
+    private static final int MAX_MESSAGE_SIZE = BinaryCodec.MAX_FRAME_SIZE;
+    private static final int MAX_BUFFERS_PER_WRITE = 16;
+    private static final byte LINE_TERMINATOR = '\n';
+
+    private final SocketChannel channel;
+    private final NioSocketServer.IoLoop ioLoop;
+    private final Executor inboundLane;
+    private SocketHandler handler;
+    private SelectionKey key;
+
+    private ByteBuffer readBuffer;
+    private final Queue<ByteBuffer> outbound;
+    private final ByteBuffer[] gatheringBuffers;
+    private final AtomicInteger pendingMessages;
+    private final AtomicBoolean isWriteRequested;
+    private final AtomicBoolean isClosed;
+    private volatile WireFormat wireFormat;
+    // accessed by the I/O thread only
+    private boolean hasChosenWireFormat;
+
+    NioSocketConnection(SocketChannel channel, NioSocketServer.IoLoop ioLoop, Executor inboundLane) {
+        this.channel = channel;
+        this.ioLoop = ioLoop;
+        this.inboundLane = inboundLane;
+        this.readBuffer = ByteBuffer.allocate(INITIAL_READ_BUFFER_SIZE);
+        this.outbound = new ConcurrentLinkedQueue<>();
+        this.gatheringBuffers = new ByteBuffer[MAX_BUFFERS_PER_WRITE];
+        this.pendingMessages = new AtomicInteger();
+        this.isWriteRequested = new AtomicBoolean(false);
+        this.isClosed = new AtomicBoolean(false);
+        this.wireFormat = WireFormat.JSON;
+        this.hasChosenWireFormat = false;
+    }
+
+    void setHandler(SocketHandler handler) {
+        this.handler = handler;
+    }
+
+    void setKey(SelectionKey key) {
+        this.key = key;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void send(String line) {
+        if (isClosed.get()) {
+            return;
+        }
+        byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer frame = ByteBuffer.allocate(bytes.length + 1);
+        frame.put(bytes).put(LINE_TERMINATOR).flip();
+        enqueue(frame);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void send(byte[] encodedMessage) {
+        if (isClosed.get()) {
+            return;
+        }
+        // every recipient gets its own view over the same bytes
+        enqueue(ByteBuffer.wrap(encodedMessage));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public WireFormat getWireFormat() {
+        return wireFormat;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getPendingMessages() {
+        return pendingMessages.get();
+    }
+
+    private void enqueue(ByteBuffer frame) {
+        pendingMessages.incrementAndGet();
+        outbound.add(frame);
+        if (isWriteRequested.compareAndSet(false, true)) {
+            ioLoop.requestWrite(this);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() {
+        if (isClosed.compareAndSet(false, true)) {
+            outbound.clear();
+            pendingMessages.set(0);
+            try {
+                channel.close();
+            } catch (IOException e) {
+                logger.fine("channel has already been closed");
+            }
+        }
+    }
+
+    /**
+     * Reads the available bytes and dispatches every complete message.
+     * It's invoked by the I/O thread when the channel is readable.
+     */
+    void onReadable() {
+        int read;
+        try {
+            read = channel.read(readBuffer);
+        } catch (IOException e) {
+            read = -1;
+        }
+        if (read < 0) {
+            logger.fine("server stops hearing: channel has been closed");
+            close();
+            return;
+        }
+
+        readBuffer.flip();
+        if (!hasChosenWireFormat && readBuffer.hasRemaining()) {
+            hasChosenWireFormat = true;
+            if ((readBuffer.get(readBuffer.position()) & 0xFF) == BinaryCodec.MAGIC) {
+                readBuffer.get();
+                wireFormat = WireFormat.BINARY;
+            }
+        }
+        boolean isWellFormed = wireFormat == WireFormat.BINARY ? dispatchFrames() : dispatchLines();
+        if (!isWellFormed) {
+            logger.warning("Received malformed input: stop listening the channel");
+            close();
+            return;
+        }
+        readBuffer.compact();
+
+        if (!readBuffer.hasRemaining()) {
+            if (readBuffer.capacity() > MAX_MESSAGE_SIZE) {
+                logger.warning("Received malformed input: stop listening the channel");
+                close();
+                return;
+            }
+            ByteBuffer biggerBuffer = ByteBuffer.allocate(readBuffer.capacity() * 2);
+            readBuffer.flip();
+            biggerBuffer.put(readBuffer);
+            readBuffer = biggerBuffer;
+        }
+    }
+
+    /**
+     * Dispatches the complete lines of the read buffer, leaving its position at the beginning of the incomplete one.
+     *
+     * @return true, since any sequence of bytes can be split into lines.
+     */
+    private boolean dispatchLines() {
+        int lineStart = readBuffer.position();
+        for (int i = lineStart; i < readBuffer.limit(); i++) {
+            if (readBuffer.get(i) == LINE_TERMINATOR) {
+                String line = new String(readBuffer.array(), lineStart, i - lineStart, StandardCharsets.UTF_8);
+                inboundLane.execute(() -> {
+                    if (!isClosed.get() && !handler.handleLine(line)) {
+                        close();
+                    }
+                });
+                lineStart = i + 1;
+            }
+        }
+        readBuffer.position(lineStart);
+        return true;
+    }
+
+    /**
+     * Dispatches the complete frames of the read buffer, leaving its position at the beginning of the incomplete one.
+     *
+     * @return false if a frame exceeds the maximum size, true otherwise.
+     */
+    private boolean dispatchFrames() {
+        while (readBuffer.hasRemaining()) {
+            int frameStart = readBuffer.position();
+            int length = 0;
+            int shift = 0;
+            boolean isLengthComplete = false;
+            while (readBuffer.hasRemaining() && shift <= 28) {
+                int b = readBuffer.get() & 0xFF;
+                length |= (b & 0x7F) << shift;
+                shift += 7;
+                if ((b & 0x80) == 0) {
+                    isLengthComplete = true;
+                    break;
+                }
+            }
+            if (!isLengthComplete) {
+                readBuffer.position(frameStart);
+                return shift <= 28;
+            }
+            if (length < 0 || length > MAX_MESSAGE_SIZE) {
+                return false;
+            }
+            if (readBuffer.remaining() < length) {
+                readBuffer.position(frameStart);
+                return true;
+            }
+            byte[] payload = new byte[length];
+            readBuffer.get(payload);
+            inboundLane.execute(() -> {
+                if (!isClosed.get() && !handler.handleFrame(payload)) {
+                    close();
+                }
+            });
+        }
+        return true;
+    }
+
+    /**
+     * Writes as many queued messages as the channel accepts, gathering them in a single system call.
+     * It's invoked by the I/O thread when the channel is writable.
+     */
+    void onWritable() {
+        try {
+            while (!outbound.isEmpty()) {
+                int count = 0;
+                Iterator<ByteBuffer> iterator = outbound.iterator();
+                while (count < MAX_BUFFERS_PER_WRITE && iterator.hasNext()) {
+                    gatheringBuffers[count++] = iterator.next();
+                }
+                channel.write(gatheringBuffers, 0, count);
+                boolean isSocketBufferFull = gatheringBuffers[count - 1].hasRemaining();
+                for (int i = 0; i < count; i++) {
+                    gatheringBuffers[i] = null;
+                }
+
+                while (!outbound.isEmpty() && !outbound.peek().hasRemaining()) {
+                    outbound.poll();
+                    pendingMessages.decrementAndGet();
+                }
+                if (isSocketBufferFull) {
+                    // the socket buffer is full: wait for the channel to be writable again
+                    key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+                    return;
+                }
+            }
+        } catch (IOException e) {
+            logger.fine(() -> "Failed to write to the client: " + e.getMessage());
+            close();
+            return;
+        }
+
+        key.interestOps(SelectionKey.OP_READ);
+        isWriteRequested.set(false);
+        // a line may have been queued after the queue has been found empty
+        if (!outbound.isEmpty() && isWriteRequested.compareAndSet(false, true)) {
+            ioLoop.requestWrite(this);
+        }
+    }
+
+    boolean isClosed() {
+        return isClosed.get();
+    }
+}
@@ -0,0 +1,177 @@
+package it.polimi.ingsw.network.server.socket;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import it.polimi.ingsw.network.server.Server;
+import it.polimi.ingsw.network.logging.NetworkLog;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Logger;
+
+/**
+ * The NioSocketServer class accepts socket clients and serves them with a small, fixed set of I/O threads, each one
+ * multiplexing many non-blocking channels through its own {@link Selector}.
+ * Messages received from a client are handled in order on a serial lane backed by virtual threads, so that a slow
+ * request never stalls the I/O threads.
+ */
+public class NioSocketServer {
+    private static final Logger logger = NetworkLog.getLogger(NioSocketServer.class);
+    private final Server server;
+    private final int port;
+    private final IoLoop[] ioLoops;
+    private final ExecutorService inboundWorkers;
+    private int nextIoLoop;
+
+    /**
+     * Constructs the non-blocking socket server.
+     *
+     * @param server       the server the clients connect to.
+     * @param port         the port for socket communication.
+     * @param numIoThreads the number of I/O threads.
+     * @throws IOException if a selector cannot be opened.
+     */
+    public NioSocketServer(Server server, int port, int numIoThreads) throws IOException {
+        this.server = server;
+        this.port = port;
+        this.ioLoops = new IoLoop[numIoThreads];
+        for (int i = 0; i < numIoThreads; i++) {
+            ioLoops[i] = new IoLoop(Selector.open());
+        }
+        // handling a message may block, for instance waiting for the login to be processed by the game
+        this.inboundWorkers = Executors.newVirtualThreadPerTaskExecutor();
+        this.nextIoLoop = 0;
+    }
+
+    /**
+     * Starts the I/O threads and accepts clients until the server channel fails.
+     */
+    public void start() {
+        for (int i = 0; i < ioLoops.length; i++) {
+            Thread ioThread = new Thread(ioLoops[i], "nio-io-" + i);
+            ioThread.setDaemon(true);
+            ioThread.start();
+        }
+
+        ServerSocketChannel listenChannel = null;
+        try {
+            listenChannel = ServerSocketChannel.open();
+            listenChannel.bind(new InetSocketAddress(port));
+        } catch (IOException e) {
+            System.err.println("failure in creating the socket : " + e.getMessage());
+            System.exit(1);
+        }
+
+        System.out.println("Server socket (nio, " + ioLoops.length + " I/O threads) is ready: port = " + port);
+        try {
+            while (true) {
+                SocketChannel channel = listenChannel.accept();
+                logger.fine("Received connection");
+                ioLoops[nextIoLoop].register(channel);
+                nextIoLoop = (nextIoLoop + 1) % ioLoops.length;
+            }
+        } catch (IOException e) {
+            logger.severe(() -> "Error while listening: " + e.getMessage());
+        }
+    }
+
+    /**
+     * The IoLoop class is an I/O thread: it reads and writes all the channels registered to its selector.
+     */
+    class IoLoop implements Runnable {
+        private final Selector selector;
+        private final Queue<SocketChannel> pendingRegistrations;
+        private final Queue<NioSocketConnection> pendingWrites;
+
+        private IoLoop(Selector selector) {
+            this.selector = selector;
+            this.pendingRegistrations = new ConcurrentLinkedQueue<>();
+            this.pendingWrites = new ConcurrentLinkedQueue<>();
+        }
+
+        private void register(SocketChannel channel) {
+            pendingRegistrations.add(channel);
+            selector.wakeup();
+        }
+
+        /**
+         * Asks the I/O thread to flush the outbound queue of the <code>connection</code>.
+         *
+         * @param connection having lines to send.
+         */
+        void requestWrite(NioSocketConnection connection) {
+            pendingWrites.add(connection);
+            selector.wakeup();
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                try {
+                    selector.select();
+                } catch (IOException e) {
+                    logger.severe(() -> "Selector failure: " + e.getMessage());
+                    return;
+                }
+                registerPendingChannels();
+                flushPendingWrites();
+
+                Iterator<SelectionKey> selectedKeys = selector.selectedKeys().iterator();
+                while (selectedKeys.hasNext()) {
+                    SelectionKey key = selectedKeys.next();
+                    selectedKeys.remove();
+                    NioSocketConnection connection = (NioSocketConnection) key.attachment();
+                    try {
+                        if (key.isReadable()) {
+                            connection.onReadable();
+                        }
+                        if (key.isValid() && key.isWritable()) {
+                            connection.onWritable();
+                        }
+                    } catch (CancelledKeyException e) {
+                        connection.close();
+                    }
+                }
+            }
+        }
+
+        private void registerPendingChannels() {
+            SocketChannel channel;
+            while ((channel = pendingRegistrations.poll()) != null) {
+                NioSocketConnection connection =
+                        new NioSocketConnection(channel, this, MoreExecutors.newSequentialExecutor(inboundWorkers));
+                connection.setHandler(new SocketHandler(server, connection, server.getNotificationDispatcher(),
+                        server.getOutboundLimits()));
+                try {
+                    channel.configureBlocking(false);
+                    connection.setKey(channel.register(selector, SelectionKey.OP_READ, connection));
+                } catch (IOException e) {
+                    logger.warning(() -> "Failed to register the channel: " + e.getMessage());
+                    connection.close();
+                }
+            }
+        }
+
+        private void flushPendingWrites() {
+            NioSocketConnection connection;
+            while ((connection = pendingWrites.poll()) != null) {
+                if (!connection.isClosed()) {
+                    try {
+                        connection.onWritable();
+                    } catch (CancelledKeyException e) {
+                        connection.close();
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package it.polimi.ingsw.network.server.socket;
+
+import it.polimi.ingsw.network.codec.WireFormat;
+
+/**
+ * This interface represents the channel through which a {@link SocketHandler} exchanges messages with its client.
+ * Messages are either json lines or binary frames, depending on the wire format chosen by the client with the first
+ * byte of the connection: the connection is in charge of framing them.
+ */
+public interface SocketConnection {
+    /**
+     * Sends the <code>line</code> to the client.
+     *
+     * @param line the message to send, without the line terminator.
+     */
+    void send(String line);
+
+    /**
+     * Sends a message already encoded to the client.
+     *
+     * @param encodedMessage the bytes of the message, either a json line with its terminator or a binary frame;
+     *                       the array must not be modified.
+     */
+    void send(byte[] encodedMessage);
+
+    /**
+     * Returns the wire format spoken by the client.
+     *
+     * @return the wire format, {@link WireFormat#JSON} until the client has chosen otherwise.
+     */
+    WireFormat getWireFormat();
+
+    /**
+     * Returns the number of messages sent but not yet written to the channel.
+     *
+     * @return the number of messages waiting to be written, 0 if sending a message waits for it to be written.
+     */
+    int getPendingMessages();
+
+    /**
+     * Closes the connection: later messages are discarded.
+     */
+    void close();
+}
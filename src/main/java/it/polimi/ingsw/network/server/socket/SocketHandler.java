@@ -1,7 +1,5 @@
 package it.polimi.ingsw.network.server.socket;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
 import it.polimi.ingsw.model.board.Position;
 import it.polimi.ingsw.model.card.*;
 import it.polimi.ingsw.model.card.color.PlayerColor;
@@ -9,50 +7,74 @@ import it.polimi.ingsw.model.chat.message.Message;
 import it.polimi.ingsw.model.gamephase.GamePhase;
 import it.polimi.ingsw.network.ClientHandler;
 import it.polimi.ingsw.network.NetworkMessage;
-import it.polimi.ingsw.network.Type;
 import it.polimi.ingsw.network.client.model.ClientGame;
 import it.polimi.ingsw.network.client.model.card.ClientCard;
 import it.polimi.ingsw.network.client.model.card.ClientFace;
 import it.polimi.ingsw.network.client.model.card.ClientObjectiveCard;
 import it.polimi.ingsw.network.client.socket.message.*;
+import it.polimi.ingsw.network.codec.BinaryCodec;
+import it.polimi.ingsw.network.codec.JsonCodec;
+import it.polimi.ingsw.network.codec.MalformedMessageException;
+import it.polimi.ingsw.network.codec.WireFormat;
 import it.polimi.ingsw.network.heartbeat.HeartBeat;
 import it.polimi.ingsw.network.heartbeat.HeartBeatHandler;
 import it.polimi.ingsw.network.heartbeat.HeartBeatMessage;
+import it.polimi.ingsw.network.server.FrameRecipient;
+import it.polimi.ingsw.network.server.NotificationDispatcher;
+import it.polimi.ingsw.network.server.OutboundLimits;
+import it.polimi.ingsw.network.server.OutboundQueue;
 import it.polimi.ingsw.network.server.Server;
+import it.polimi.ingsw.network.server.SharedFrame;
+import it.polimi.ingsw.network.server.metrics.ServerMetrics;
 import it.polimi.ingsw.network.server.socket.message.*;
+import it.polimi.ingsw.network.logging.NetworkLog;
 
-import java.io.BufferedReader;
-import java.io.IOException;
-import java.io.PrintWriter;
-import java.net.Socket;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Logger;
 
 /**
  * Sends the commands received by the Server Socket to the Client Socket.
+ * Updates for the client are queued in an {@link OutboundQueue} and written in order by the notification thread, so
+ * that a client that doesn't keep up is disconnected instead of making the queue grow without limit.
  */
-public class SocketHandler implements ClientHandler, HeartBeatHandler {
+public class SocketHandler implements ClientHandler, HeartBeatHandler, FrameRecipient {
+    private static final Logger logger = NetworkLog.getLogger(SocketHandler.class);
+    private static final Logger payloadLogger = NetworkLog.getPayloadLogger();
+    private static final ServerMetrics metrics = ServerMetrics.getInstance();
     private final Server server;
-    private final PrintWriter out;
-    private final BufferedReader input;
-    private final Socket clientSocket;
-    private final Gson gson;
+    private final SocketConnection connection;
     private String username;
     private HeartBeat heartBeat;
-    private final ExecutorService notificationHandler;
+    private final NotificationDispatcher dispatcher;
+    private final Executor notificationLane;
+    private final OutboundQueue<SharedFrame> outboundQueue;
     private final AtomicBoolean isActive;
 
-    public SocketHandler(Server server, BufferedReader input, PrintWriter out, Socket clientSocket) {
+    public SocketHandler(Server server, SocketConnection connection) {
+        this(server, connection, NotificationDispatcher.getSharedDispatcher(), OutboundLimits.DEFAULT);
+    }
+
+    /**
+     * Constructs the handler of a socket client whose notifications are sent on a lane of the <code>dispatcher</code>.
+     *
+     * @param server        the server the client is connected to.
+     * @param connection    the channel to the client, either blocking or non-blocking.
+     * @param dispatcher    the pool of threads sending the notifications.
+     * @param limits        the bounds of the queue of the updates for the client.
+     */
+    public SocketHandler(Server server, SocketConnection connection, NotificationDispatcher dispatcher,
+                         OutboundLimits limits) {
         this.server = server;
-        this.out = out;
-        this.input = input;
-        this.clientSocket = clientSocket;
-        GsonBuilder builder = new GsonBuilder().enableComplexMapKeySerialization();
-        this.gson = builder.create();
-        notificationHandler = Executors.newSingleThreadExecutor();
+        this.connection = connection;
+        this.dispatcher = dispatcher;
+        notificationLane = dispatcher.newLane();
+        outboundQueue = new OutboundQueue<>(limits, frame -> OutboundQueue.coalescingKeyOf(frame.getMessage()),
+                connection::getPendingMessages, this::evict);
         isActive = new AtomicBoolean(true);
     }
 
@@ -72,88 +94,168 @@ public class SocketHandler implements ClientHandler, HeartBeatHandler {
         heartBeat.startHeartBeat();
     }
 
-    public void run() {
-        System.out.println("ClientHandler has started");
+    /**
+     * Handles a single json message received from the client.
+     *
+     * @param line the message, encoded in json.
+     * @return true if the channel has to be listened to further, false if the message is malformed.
+     */
+    public boolean handleLine(String line) {
+        payloadLogger.finest(() -> "Received from the client: " + line);
+        metrics.recordMessageIn(ServerMetrics.Transport.SOCKET, line.getBytes(StandardCharsets.UTF_8).length + 1);
         try {
-            String line = input.readLine();
-            while (line != null) {
-                System.out.println("Received from the client: " + line);
-                NetworkMessage message;
-                try {
-                    message = gson.fromJson(line, NetworkMessage.class);
-                } catch (Exception e) {
-                    System.err.println("Received malformed input: stop listening the channel");
-                    break;
-                }
-                Type type = message.getNetworkType();
-                String sender = message.getSender();
-
-                switch (type) {
-                    case CONNECT:
-                        username = sender;
-                        server.connect(this, sender);
-                        break;
-                    case PLACE_STARTER:
-                        PlaceStarterMessage placeStarterMessage = gson.fromJson(line, PlaceStarterMessage.class);
-                        server.placeStarter(sender, placeStarterMessage.getSide());
-                        break;
-                    case CHOOSE_COLOR:
-                        ChooseColorMessage chooseColorMessage = gson.fromJson(line, ChooseColorMessage.class);
-                        server.chooseColor(sender, chooseColorMessage.getColor());
-                        break;
-                    case PLACE_OBJECTIVE:
-                        PlaceObjectiveMessage placeObjectiveMessage = gson.fromJson(line, PlaceObjectiveMessage.class);
-                        server.placeObjectiveCard(sender, placeObjectiveMessage.getChosenObjective());
-                        break;
-                    case PLACE_CARD:
-                        PlaceCardMessage placeCardMessage = gson.fromJson(line, PlaceCardMessage.class);
-                        server.placeCard(sender, placeCardMessage.getFrontId(), placeCardMessage.getBackId(),
-                                placeCardMessage.getSide(), placeCardMessage.getPosition());
-                        break;
-                    case DRAW:
-                        DrawMessage drawMessage = gson.fromJson(line, DrawMessage.class);
-                        server.draw(sender, drawMessage.getIdDraw());
-                        break;
-
-                    case SEND_CHAT_MESSAGE:
-                        SendChatMessage sendChatMessage = gson.fromJson(line, SendChatMessage.class);
-                        server.sendMessage(sendChatMessage.getMessage());
-                        break;
-
-                    case SET_PLAYER_NUMBER:
-                        SetPlayerNumberMessage setPlayerNumberMessage = gson.fromJson(line, SetPlayerNumberMessage.class);
-                        server.setPlayersNumber(sender, setPlayerNumberMessage.getNumPlayers());
-                        break;
-
-                    case DISCONNECT:
-                        server.disconnect(sender);
-                        break;
-
-                    case HEARTBEAT:
-                        HeartBeatMessage ping = gson.fromJson(line, HeartBeatMessage.class);
-                        server.receivePing(ping);
-                        break;
+            handleMessage(JsonCodec.decode(line));
+        } catch (MalformedMessageException e) {
+            logger.warning(() -> "Received malformed input from " + username + ": stop listening the channel");
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Handles a single binary message received from the client.
+     *
+     * @param payload the message, encoded by the {@link BinaryCodec}.
+     * @return true if the channel has to be listened to further, false if the message is malformed.
+     */
+    public boolean handleFrame(byte[] payload) {
+        metrics.recordMessageIn(ServerMetrics.Transport.SOCKET, payload.length);
+        try {
+            NetworkMessage message = BinaryCodec.decode(payload);
+            payloadLogger.finest(() -> "Received from the client: " + message.getNetworkType() + " (" + payload.length + " bytes)");
+            handleMessage(message);
+        } catch (MalformedMessageException e) {
+            logger.warning(() -> "Received malformed input from " + username + ": stop listening the channel");
+            return false;
+        }
+        return true;
+    }
+
+    private void handleMessage(NetworkMessage message) {
+        String sender = message.getSender();
+
+        switch (message.getNetworkType()) {
+            case CONNECT:
+                username = sender;
+                server.connect(this, sender, ((ConnectMessage) message).getLastSequenceNumber());
+                break;
+            case PLACE_STARTER:
+                PlaceStarterMessage placeStarterMessage = (PlaceStarterMessage) message;
+                server.placeStarter(sender, placeStarterMessage.getSide());
+                break;
+            case CHOOSE_COLOR:
+                ChooseColorMessage chooseColorMessage = (ChooseColorMessage) message;
+                server.chooseColor(sender, chooseColorMessage.getColor());
+                break;
+            case PLACE_OBJECTIVE:
+                PlaceObjectiveMessage placeObjectiveMessage = (PlaceObjectiveMessage) message;
+                server.placeObjectiveCard(sender, placeObjectiveMessage.getChosenObjective());
+                break;
+            case PLACE_CARD:
+                PlaceCardMessage placeCardMessage = (PlaceCardMessage) message;
+                server.placeCard(sender, placeCardMessage.getFrontId(), placeCardMessage.getBackId(),
+                        placeCardMessage.getSide(), placeCardMessage.getPosition());
+                break;
+            case DRAW:
+                DrawMessage drawMessage = (DrawMessage) message;
+                server.draw(sender, drawMessage.getIdDraw());
+                break;
+
+            case SEND_CHAT_MESSAGE:
+                SendChatMessage sendChatMessage = (SendChatMessage) message;
+                server.sendMessage(sendChatMessage.getMessage());
+                break;
+
+            case SET_PLAYER_NUMBER:
+                SetPlayerNumberMessage setPlayerNumberMessage = (SetPlayerNumberMessage) message;
+                server.setPlayersNumber(sender, setPlayerNumberMessage.getNumPlayers());
+                break;
+
+            case DISCONNECT:
+                server.disconnect(sender);
+                break;
+
+            case HEARTBEAT:
+                server.receivePing((HeartBeatMessage) message);
+                break;
+        }
+    }
+
+    /**
+     * Queues the <code>frame</code>, scheduling the drain of the queue if it isn't already scheduled.
+     *
+     * @param frame the update to send.
+     */
+    private void enqueue(SharedFrame frame) {
+        if (outboundQueue.offer(frame)) {
+            try {
+                notificationLane.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                // the dispatcher has been shut down, the updates are lost
+            }
+        }
+    }
+
+    /**
+     * Writes the queued updates in order, until the queue is empty.
+     */
+    private void drain() {
+        SharedFrame frame;
+        while ((frame = outboundQueue.poll()) != null) {
+            if (isActive.get()) {
+                if (connection.getWireFormat() == WireFormat.BINARY) {
+                    write(frame.getBinaryFrame());
+                } else {
+                    write(frame.getEncodedLine());
                 }
-                line = input.readLine();
             }
-        } catch (IOException e) {
-            System.err.println("server stops hearing: channel has been closed");
         }
     }
 
+    /**
+     * Disconnects the client, whose queue has exceeded the outbound limits.
+     * The disconnection runs on the dispatcher, since the producer of the update may be a game loop.
+     */
+    private void evict() {
+        logger.warning(() -> "Client " + username + " is too slow to receive the updates: it will be disconnected");
+        dispatcher.execute(() -> {
+            if (username != null) {
+                server.handleUnresponsiveness(username);
+            } else {
+                terminate();
+            }
+        });
+    }
+
+    /**
+     * Sends the <code>message</code> to the client in the wire format it speaks.
+     *
+     * @param message to send.
+     */
+    private void send(NetworkMessage message) {
+        if (connection.getWireFormat() == WireFormat.BINARY) {
+            write(BinaryCodec.encode(message));
+        } else {
+            write(JsonCodec.encode(message));
+        }
+    }
+
+    private void write(byte[] encodedMessage) {
+        connection.send(encodedMessage);
+        metrics.recordMessagesOut(ServerMetrics.Transport.SOCKET, 1, encodedMessage.length);
+    }
+
+    private void write(String line) {
+        connection.send(line);
+        metrics.recordMessagesOut(ServerMetrics.Transport.SOCKET, 1, line.getBytes(StandardCharsets.UTF_8).length + 1);
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public void updateCreator() {
-        notificationHandler.submit(() -> {
-            if (isActive.get()) {
-                UpdateCreatorMessage message = new UpdateCreatorMessage();
-                String jsonMessage = gson.toJson(message);
-                out.println(jsonMessage);
-                out.flush();
-            }
-        });
+        enqueue(new SharedFrame(new UpdateCreatorMessage()));
     }
 
     /**
@@ -161,14 +263,7 @@ public class SocketHandler implements ClientHandler, HeartBeatHandler {
      */
     @Override
     public void updateAfterLobbyCrash() {
-        notificationHandler.submit(() -> {
-            if (isActive.get()) {
-                UpdateAfterLobbyCrashMessage message = new UpdateAfterLobbyCrashMessage();
-                String jsonMessage = gson.toJson(message);
-                out.println(jsonMessage);
-                out.flush();
-            }
-        });
+        enqueue(new SharedFrame(new UpdateAfterLobbyCrashMessage()));
     }
 
     /**
@@ -176,15 +271,7 @@ public class SocketHandler implements ClientHandler, HeartBeatHandler {
      */
     @Override
     public void updateAfterConnection(ClientGame clientGame) {
-        notificationHandler.submit(() -> {
-            if (isActive.get()) {
-                UpdateAfterConnectionMessage message = new UpdateAfterConnectionMessage(clientGame);
-                String jsonMessage = gson.toJson(message);
-                System.out.println("Message to send " + jsonMessage);
-                out.println(jsonMessage);
-                out.flush();
-            }
-        });
+        enqueue(new SharedFrame(new UpdateAfterConnectionMessage(clientGame)));
     }
 
     /**
@@ -192,38 +279,17 @@ public class SocketHandler implements ClientHandler, HeartBeatHandler {
      */
     @Override
     public void showUpdatePlayersInLobby(List<String> usernames) {
-        notificationHandler.submit(() -> {
-            if (isActive.get()) {
-                UpdatePlayersInLobbyMessage message = new UpdatePlayersInLobbyMessage(usernames);
-                String jsonMessage = gson.toJson(message);
-                out.println(jsonMessage);
-                out.flush();
-            }
-        });
+        enqueue(new SharedFrame(new UpdatePlayersInLobbyMessage(usernames)));
     }
 
     @Override
     public void showUpdateExceedingPlayer() {
-        notificationHandler.submit(() -> {
-            if (isActive.get()) {
-                ExceedingPlayerMessage message = new ExceedingPlayerMessage();
-                String jsonMessage = gson.toJson(message);
-                out.println(jsonMessage);
-                out.flush();
-            }
-        });
+        enqueue(new SharedFrame(new ExceedingPlayerMessage()));
     }
 
     @Override
     public void showUpdatePlayerStatus(boolean isConnected, String username) {
-        notificationHandler.submit(() -> {
-            if (isActive.get()) {
-                UpdatePlayerStatusMessage message = new UpdatePlayerStatusMessage(isConnected, username);
-                String jsonMessage = gson.toJson(message);
-                out.println(jsonMessage);
-                out.flush();
-            }
-        });
+        enqueue(new SharedFrame(new UpdatePlayerStatusMessage(isConnected, username)));
     }
 
     /**
@@ -231,14 +297,7 @@ public class SocketHandler implements ClientHandler, HeartBeatHandler {
      */
     @Override
     public void showUpdateColor(PlayerColor color, String username) {
-        notificationHandler.submit(() -> {
-            if (isActive.get()) {
-                UpdateColorMessage message = new UpdateColorMessage(username, color);
-                String jsonMessage = gson.toJson(message);
-                out.println(jsonMessage);
-                out.flush();
-            }
-        });
+        enqueue(new SharedFrame(new UpdateColorMessage(username, color)));
     }
 
     /**
@@ -246,29 +305,15 @@ public class SocketHandler implements ClientHandler, HeartBeatHandler {
      */
     @Override
     public void showUpdateObjectiveCard(ClientObjectiveCard chosenObjective, String username) {
-        notificationHandler.submit(() -> {
-            if (isActive.get()) {
-                UpdateObjectiveCardMessage message = new UpdateObjectiveCardMessage(chosenObjective, username);
-                String jsonMessage = gson.toJson(message);
-                out.println(jsonMessage);
-                out.flush();
-            }
-        });
+        enqueue(new SharedFrame(new UpdateObjectiveCardMessage(chosenObjective, username)));
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public void showUpdateAfterPlace(Map<Position, CornerPosition> positionToCornerCovered, List<Position> newAvailablePositions, Map<Symbol, Integer> newResources, int points, String username, ClientCard placedCard, Side placedSide, Position position) {
-        notificationHandler.submit(() -> {
-            if (isActive.get()) {
-                UpdateAfterPlaceMessage message = new UpdateAfterPlaceMessage(positionToCornerCovered, newAvailablePositions, newResources, points, username, placedCard, placedSide, position);
-                String jsonMessage = gson.toJson(message);
-                out.println(jsonMessage);
-                out.flush();
-            }
-        });
+    public void showUpdateAfterPlace(Map<Position, CornerPosition> positionToCornerCovered, List<Position> addedAvailablePositions, List<Position> removedAvailablePositions, Map<Symbol, Integer> changedResources, int points, String username, ClientCard placedCard, Side placedSide, Position position) {
+        enqueue(new SharedFrame(new UpdateAfterPlaceMessage(positionToCornerCovered, addedAvailablePositions, removedAvailablePositions, changedResources, points, username, placedCard, placedSide, position)));
     }
 
     /**
@@ -276,14 +321,7 @@ public class SocketHandler implements ClientHandler, HeartBeatHandler {
      */
     @Override
     public void showUpdateAfterDraw(ClientCard drawnCard, ClientFace newTopDeck, ClientCard newFaceUpCard, String username, int boardPosition) {
-        notificationHandler.submit(() -> {
-            if (isActive.get()) {
-                UpdateAfterDrawMessage message = new UpdateAfterDrawMessage(drawnCard, newTopDeck, newFaceUpCard, username, boardPosition);
-                String jsonMessage = gson.toJson(message);
-                out.println(jsonMessage);
-                out.flush();
-            }
-        });
+        enqueue(new SharedFrame(new UpdateAfterDrawMessage(drawnCard, newTopDeck, newFaceUpCard, username, boardPosition)));
     }
 
     /**
@@ -291,14 +329,7 @@ public class SocketHandler implements ClientHandler, HeartBeatHandler {
      */
     @Override
     public void showUpdateChat(Message message) {
-        notificationHandler.submit(() -> {
-            if (isActive.get()) {
-                UpdateChatMessage clientMessage = new UpdateChatMessage(message);
-                String jsonMessage = gson.toJson(clientMessage);
-                out.println(jsonMessage);
-                out.flush();
-            }
-        });
+        enqueue(new SharedFrame(new UpdateChatMessage(message)));
     }
 
     /**
@@ -306,14 +337,7 @@ public class SocketHandler implements ClientHandler, HeartBeatHandler {
      */
     @Override
     public void showUpdateCurrentPlayer(int currentPlayerIdx, GamePhase phase) {
-        notificationHandler.submit(() -> {
-            if (isActive.get()) {
-                UpdateCurrentPlayerMessage message = new UpdateCurrentPlayerMessage(currentPlayerIdx, phase);
-                String jsonMessage = gson.toJson(message);
-                out.println(jsonMessage);
-                out.flush();
-            }
-        });
+        enqueue(new SharedFrame(new UpdateCurrentPlayerMessage(currentPlayerIdx, phase)));
     }
 
     /**
@@ -321,14 +345,7 @@ public class SocketHandler implements ClientHandler, HeartBeatHandler {
      */
     @Override
     public void showUpdateGameState() {
-        notificationHandler.submit(() -> {
-            if (isActive.get()) {
-                UpdateSuspendedGameMessage message = new UpdateSuspendedGameMessage();
-                String jsonMessage = gson.toJson(message);
-                out.println(jsonMessage);
-                out.flush();
-            }
-        });
+        enqueue(new SharedFrame(new UpdateSuspendedGameMessage()));
     }
 
     /**
@@ -336,14 +353,7 @@ public class SocketHandler implements ClientHandler, HeartBeatHandler {
      */
     @Override
     public void showWinners(List<String> winners) {
-        notificationHandler.submit(() -> {
-            if (isActive.get()) {
-                ShowWinnersMessage message = new ShowWinnersMessage(winners);
-                String jsonMessage = gson.toJson(message);
-                out.println(jsonMessage);
-                out.flush();
-            }
-        });
+        enqueue(new SharedFrame(new ShowWinnersMessage(winners)));
     }
 
     /**
@@ -351,14 +361,7 @@ public class SocketHandler implements ClientHandler, HeartBeatHandler {
      */
     @Override
     public void reportError(String details) {
-        notificationHandler.submit(() -> {
-            if (isActive.get()) {
-                ReportErrorMessage message = new ReportErrorMessage(details);
-                String jsonMessage = gson.toJson(message);
-                out.println(jsonMessage);
-                out.flush();
-            }
-        });
+        enqueue(new SharedFrame(new ReportErrorMessage(details)));
     }
 
     /**
@@ -370,14 +373,15 @@ public class SocketHandler implements ClientHandler, HeartBeatHandler {
             assert username != null;
             heartBeat = new HeartBeat(this, username+"_handler", this, username);
         }
-        notificationHandler.submit(() -> {
-            if (isActive.get()) {
-                ResultOfLogin message = new ResultOfLogin(accepted, username, details);
-                String jsonMessage = gson.toJson(message);
-                out.println(jsonMessage);
-                out.flush();
-            }
-        });
+        enqueue(new SharedFrame(new ResultOfLogin(accepted, username, details)));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void sendFrame(SharedFrame frame) {
+        enqueue(frame);
     }
 
     /**
@@ -386,9 +390,7 @@ public class SocketHandler implements ClientHandler, HeartBeatHandler {
     @Override
     public void receivePing(HeartBeatMessage ping) {
         if (isActive.get()) {
-            String jsonMessage = gson.toJson(ping);
-            out.println(jsonMessage);
-            out.flush();
+            send(ping);
         }
     }
 
@@ -396,16 +398,11 @@ public class SocketHandler implements ClientHandler, HeartBeatHandler {
      * Closes all resources for this handler.
      */
     private void closeResources() {
-        try {
-            isActive.set(false);
-            notificationHandler.shutdownNow();
+        isActive.set(false);
+        if (heartBeat != null) {
             heartBeat.terminate();
-            clientSocket.close();
-            input.close();
-            out.close();
-        } catch (IOException e) {
-            System.out.println("input has already been closed");
         }
+        connection.close();
     }
 
     @Override
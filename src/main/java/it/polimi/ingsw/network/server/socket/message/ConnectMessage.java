@@ -1,5 +1,6 @@
 package it.polimi.ingsw.network.server.socket.message;
 
+import it.polimi.ingsw.model.listenerhandler.EventLog;
 import it.polimi.ingsw.network.NetworkMessage;
 import it.polimi.ingsw.network.Type;
 
@@ -8,12 +9,30 @@ import it.polimi.ingsw.network.Type;
  */
 public class ConnectMessage extends NetworkMessage {
 
+    private final long lastSequenceNumber;
+
     /**
      * Constructs a <code>ConnectMessage</code> with the <code>sender</code> provided.
      *
      * @param sender the username of the player to connect.
      */
     public ConnectMessage(String sender) {
+        this(sender, EventLog.NO_SEQUENCE_NUMBER);
+    }
+
+    /**
+     * Constructs a <code>ConnectMessage</code> with the <code>sender</code> and the <code>lastSequenceNumber</code>
+     * provided.
+     *
+     * @param sender             the username of the player to connect.
+     * @param lastSequenceNumber the sequence number of the last update received by the player.
+     */
+    public ConnectMessage(String sender, long lastSequenceNumber) {
         super(Type.CONNECT, sender);
+        this.lastSequenceNumber = lastSequenceNumber;
+    }
+
+    public long getLastSequenceNumber() {
+        return lastSequenceNumber;
     }
 }
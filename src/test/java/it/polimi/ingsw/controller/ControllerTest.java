@@ -10,12 +10,16 @@ import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 class ControllerTest {
     Controller controller;
     Server server; // just as placeholder
+    // delayed tasks are queued rather than run by the scheduler thread, so they never overlap the test
+    Queue<Runnable> delayedTasks;
 
     // could have been a socket handler. RMI as example
     private RMIHandler createRMIHandler (String username) {
@@ -30,7 +34,8 @@ class ControllerTest {
 
     @BeforeEach
     void setUp() {
-        controller = new Controller();
+        delayedTasks = new ConcurrentLinkedQueue<>();
+        controller = new Controller(delayedTasks::add);
     }
 
     @Test
@@ -0,0 +1,81 @@
+package it.polimi.ingsw.controller;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeadlineSchedulerTest {
+    private static final long TICK_DURATION = 1;
+    private static final int WHEEL_SIZE = 8;
+
+    private DeadlineScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new DeadlineScheduler(TICK_DURATION, WHEEL_SIZE);
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdown();
+    }
+
+    @Test
+    void schedule_taskIsNotRunBeforeItsDelay() throws InterruptedException {
+        CountDownLatch run = new CountDownLatch(1);
+        long start = System.nanoTime();
+        long[] runAfter = new long[1];
+        // the delay spans many rounds of the wheel
+        DeadlineScheduler.Deadline deadline = scheduler.schedule(() -> {
+            runAfter[0] = System.nanoTime() - start;
+            run.countDown();
+        }, 50, TimeUnit.MILLISECONDS);
+
+        assertTrue(run.await(5, TimeUnit.SECONDS));
+        assertTrue(runAfter[0] >= TimeUnit.MILLISECONDS.toNanos(50));
+        assertTrue(deadline.isExpired());
+        assertFalse(deadline.cancel());
+    }
+
+    @Test
+    void cancel_cancelledTaskIsNeverRun() throws InterruptedException {
+        AtomicInteger runs = new AtomicInteger();
+        DeadlineScheduler.Deadline cancelled = scheduler.schedule(runs::incrementAndGet, 20, TimeUnit.MILLISECONDS);
+        CountDownLatch later = new CountDownLatch(1);
+        scheduler.schedule(later::countDown, 40, TimeUnit.MILLISECONDS);
+
+        assertTrue(cancelled.cancel());
+        assertFalse(cancelled.cancel());
+        assertTrue(later.await(5, TimeUnit.SECONDS));
+        assertEquals(0, runs.get());
+        assertTrue(cancelled.isCancelled());
+    }
+
+    @Test
+    void schedule_thousandsOfDeadlinesShareTheWheel() throws InterruptedException {
+        int numDeadlines = 10000;
+        CountDownLatch run = new CountDownLatch(numDeadlines / 2);
+        AtomicInteger cancelledRuns = new AtomicInteger();
+        List<DeadlineScheduler.Deadline> toCancel = new ArrayList<>();
+        for (int i = 0; i < numDeadlines; i++) {
+            if (i % 2 == 0) {
+                scheduler.schedule(run::countDown, i % 100, TimeUnit.MILLISECONDS);
+            } else {
+                toCancel.add(scheduler.schedule(cancelledRuns::incrementAndGet, 50 + i % 100, TimeUnit.MILLISECONDS));
+            }
+        }
+        toCancel.forEach(DeadlineScheduler.Deadline::cancel);
+
+        assertTrue(run.await(5, TimeUnit.SECONDS));
+        Thread.sleep(200);
+        assertEquals(0, cancelledRuns.get());
+    }
+}
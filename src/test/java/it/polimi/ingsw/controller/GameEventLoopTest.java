@@ -0,0 +1,57 @@
+package it.polimi.ingsw.controller;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameEventLoopTest {
+    GameEventLoop loop;
+
+    @BeforeEach
+    void setUp() {
+        loop = new GameEventLoop();
+    }
+
+    @AfterEach
+    void tearDown() {
+        loop.shutdown();
+    }
+
+    @Test
+    void submit_commandsAreAppliedInOrder() {
+        List<Integer> applied = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            int command = i;
+            loop.submit(controller -> applied.add(command));
+        }
+        // the call is enqueued after all the commands, hence it sees all of them
+        List<Integer> seen = loop.call(controller -> new ArrayList<>(applied));
+
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            expected.add(i);
+        }
+        assertEquals(expected, seen);
+        assertEquals(101, loop.getProcessedCommands());
+        assertTrue(loop.getMaxQueueingDelay() >= loop.getAverageQueueingDelay());
+    }
+
+    @Test
+    void call_failingRequestDoesNotStopTheLoop() {
+        assertThrows(RuntimeException.class, () -> loop.call(controller -> {
+            throw new IllegalStateException();
+        }));
+        assertTrue(loop.call(Controller::canAcceptNewPlayers));
+    }
+
+    @Test
+    void shutdown_laterCommandsAreDiscarded() {
+        loop.shutdown();
+        assertNull(loop.call(Controller::canAcceptNewPlayers));
+    }
+}
@@ -0,0 +1,127 @@
+package it.polimi.ingsw.controller;
+
+import it.polimi.ingsw.network.client.rmi.ClientRMI;
+import it.polimi.ingsw.network.server.Server;
+import it.polimi.ingsw.network.server.rmi.RMIHandler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameRegistryTest {
+    GameRegistry gameRegistry;
+    Server server; // just as placeholder
+
+    private RMIHandler createRMIHandler(String username) {
+        return new RMIHandler(server, new ClientRMI("127.0.0.1"), username);
+    }
+
+    private void connect(String username) {
+        assertTrue(gameRegistry.handleConnection(username, createRMIHandler(username)));
+    }
+
+    @BeforeEach
+    void setUp() {
+        gameRegistry = new GameRegistry();
+    }
+
+    @Test
+    void handleConnection_fullLobbyOpensNewGame() {
+        for (int i = 0; i < 4; i++) {
+            connect("user" + i);
+        }
+        assertEquals(1, gameRegistry.getNumberOfGames());
+
+        // the first lobby is full, so a new one is created instead of refusing the user
+        connect("user4");
+        assertEquals(2, gameRegistry.getNumberOfGames());
+
+        // usernames are unique across all the games
+        assertFalse(gameRegistry.handleConnection("user0", createRMIHandler("user0")));
+        assertFalse(gameRegistry.handleConnection("user4", createRMIHandler("user4")));
+    }
+
+    @Test
+    void handleConnection_startedGameOpensNewGame() {
+        connect("first");
+        connect("second");
+        gameRegistry.setPlayersNumber("first", 2);
+
+        // the game has started, hence the next user must wait in another lobby
+        connect("third");
+        assertEquals(2, gameRegistry.getNumberOfGames());
+    }
+
+    @Test
+    void handleConnection_reconnectionToTheSameGame() {
+        connect("first");
+        connect("second");
+        connect("third");
+        gameRegistry.setPlayersNumber("first", 3);
+
+        connect("other");
+        assertEquals(2, gameRegistry.getNumberOfGames());
+
+        gameRegistry.handleDisconnection("second");
+        // the disconnected player goes back to their own game, no new lobby is created
+        connect("second");
+        assertEquals(2, gameRegistry.getNumberOfGames());
+    }
+
+    @Test
+    void handleDisconnection_lobby() {
+        connect("first");
+        connect("second");
+
+        // the creator leaves the lobby before choosing the number of players: the lobby is reset
+        gameRegistry.handleDisconnection("first");
+        connect("first");
+        connect("second");
+        assertEquals(1, gameRegistry.getNumberOfGames());
+
+        // unknown users are ignored
+        gameRegistry.handleDisconnection("unknown");
+    }
+
+    @Test
+    void handleConnection_stalledGameDoesNotDelayOtherGames() throws InterruptedException {
+        CountDownLatch stall = new CountDownLatch(1);
+        // the loop of the game is stuck while notifying the first player that another one has left
+        RMIHandler stallingHandler = new RMIHandler(server, new ClientRMI("127.0.0.1"), "first") {
+            @Override
+            public void showUpdatePlayerStatus(boolean isConnected, String username) {
+                if (!isConnected) {
+                    try {
+                        stall.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                super.showUpdatePlayerStatus(isConnected, username);
+            }
+        };
+        assertTrue(gameRegistry.handleConnection("first", stallingHandler));
+        connect("second");
+        gameRegistry.setPlayersNumber("first", 2);
+        gameRegistry.handleDisconnection("second");
+
+        // the rejoining player waits for the stalled loop
+        Thread rejoin = Thread.ofVirtual().start(() -> gameRegistry.handleConnection("second", createRMIHandler("second")));
+        try {
+            while (rejoin.getState() != Thread.State.WAITING) {
+                Thread.onSpinWait();
+            }
+            assertTimeoutPreemptively(Duration.ofSeconds(1), () -> {
+                connect("third");
+                connect("fourth");
+            });
+        } finally {
+            stall.countDown();
+        }
+        rejoin.join();
+        assertEquals(2, gameRegistry.getNumberOfGames());
+    }
+}
@@ -200,6 +200,33 @@ class DeserializationHandlerTest {
         Assertions.assertEquals(6, l.size());
     }
 
+    /**
+     * Test to check that the maps of the deserialized cards are read-only, since the cards are shared by all the games
+     *
+     * @throws FileNotFoundException if an error occurs during the opening of the file
+     */
+    @Test
+    void deserializedMaps_areReadOnly() throws FileNotFoundException {
+        GoldenFront goldenFront = new DeserializationHandler<GoldenFront>().jsonToList(CardsLoader.GOLDEN_FRONT_CARDS_PATH,
+                new TypeToken<>() {
+                }).getFirst();
+        Back startingBack = new DeserializationHandler<Back>().jsonToList(CardsLoader.STARTING_BACK_CARDS_PATH,
+                new TypeToken<>() {
+                }).getFirst();
+        ObjectiveResourceCard objective = new DeserializationHandler<ObjectiveResourceCard>().jsonToList(
+                CardsLoader.OBJECTIVE_RESOURCE_CARDS_PATH, new TypeToken<>() {
+                }).getFirst();
+
+        Assertions.assertThrows(UnsupportedOperationException.class,
+                () -> goldenFront.getCorners().remove(CornerPosition.TOP_LEFT));
+        Assertions.assertThrows(UnsupportedOperationException.class,
+                () -> goldenFront.getRequiredResources().put(Symbol.FUNGI, 1));
+        Assertions.assertThrows(UnsupportedOperationException.class,
+                () -> startingBack.getBackCenterResources().put(Symbol.FUNGI, 1));
+        Assertions.assertThrows(UnsupportedOperationException.class,
+                () -> objective.getResourceCondition().put(Symbol.FUNGI, 1));
+    }
+
     /**
      * Tests that every face has a different ID
      *
@@ -5,11 +5,14 @@ import it.polimi.ingsw.controller.TurnCompletion;
 import it.polimi.ingsw.model.board.Playground;
 import it.polimi.ingsw.model.board.Position;
 import it.polimi.ingsw.model.card.*;
+import it.polimi.ingsw.model.chat.message.InvalidMessageException;
+import it.polimi.ingsw.model.chat.message.Message;
 import it.polimi.ingsw.model.deck.DeckType;
 import it.polimi.ingsw.model.gamephase.GamePhase;
 import it.polimi.ingsw.model.lobby.InvalidUsernameException;
 import it.polimi.ingsw.model.player.InvalidPlayerActionException;
 import it.polimi.ingsw.model.player.Player;
+import it.polimi.ingsw.network.client.model.ClientGame;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -241,4 +244,104 @@ public class GameTest {
                     () -> game.drawFromDeck(player.getUsername(), DeckType.GOLDEN));
         }
     }
+
+    /**
+     * Test to check that an empty deck has no back on top, while the other deck still shows its own
+     */
+    @Test
+    void getTopDeckBack_emptyDeckHasNoBack() throws Exception {
+        finishSetup_phaseIsPlaceNormal();
+
+        while (true) {
+            Player currentPlayer = game.getCurrentPlayer();
+            game.placeCard(currentPlayer.getUsername(), currentPlayer.getCards().getFirst(), Side.BACK,
+                    currentPlayer.getPlayground().getAvailablePositions().getFirst());
+            try {
+                game.drawFromDeck(currentPlayer.getUsername(), DeckType.GOLDEN);
+            } catch (EmptyDeckException e) {
+                break;
+            }
+        }
+
+        assertNull(game.getTopDeckBack(DeckType.GOLDEN));
+        assertNotNull(game.getTopDeckBack(DeckType.RESOURCE));
+    }
+
+    /**
+     * Test to check that the final points count the three objectives of each player once, however many times they
+     * are asked
+     */
+    @Test
+    void getFinalPoints_countsEachObjectiveOnce() {
+        finishSetup_phaseIsPlaceNormal();
+
+        for (Player player : game.getPlayers()) {
+            assertEquals(1, player.getObjectives().size());
+            int objectivePoints = player.getObjectives().getFirst().calculatePoints(player.getPlayground());
+            for (ObjectiveCard objective : game.getCommonObjectives()) {
+                objectivePoints += objective.calculatePoints(player.getPlayground());
+            }
+            int finalPoints = Math.min(29, player.getPoints()) + objectivePoints;
+
+            assertEquals(finalPoints, game.getFinalPoints(player));
+            assertEquals(finalPoints, game.getFinalPoints(player));
+        }
+
+        List<String> winners = game.getWinners();
+        assertFalse(winners.isEmpty());
+        assertEquals(winners, game.getWinners());
+    }
+
+    /**
+     * Listener counting the whole representations of the game and the chat messages received
+     */
+    private static class RejoiningListener extends PlainGameListener {
+        private int snapshots;
+        private final List<String> chatMessages = new ArrayList<>();
+
+        @Override
+        public void updateAfterConnection(ClientGame clientGame) {
+            snapshots++;
+        }
+
+        @Override
+        public void showUpdateChat(Message message) {
+            chatMessages.add(message.getContent());
+        }
+    }
+
+    /**
+     * Test to check that a rejoining player receives only the updates it has missed while they are still logged,
+     * and the whole game otherwise
+     */
+    @Test
+    void add_rejoiningPlayerCatchesUp() throws InvalidUsernameException, InvalidMessageException {
+        String user = users.getFirst();
+        long lastSequenceNumber = game.getLastSequenceNumber();
+        game.remove(user);
+        game.registerMessage(new Message(users.get(1), "first"));
+        game.registerMessage(new Message(users.get(1), "second"));
+
+        RejoiningListener listener = new RejoiningListener();
+        game.add(user, listener, lastSequenceNumber);
+        assertEquals(0, listener.snapshots);
+        assertEquals(List.of("first", "second"), listener.chatMessages);
+
+        // updates of another game, or of another run of the server, can't be replayed
+        game.remove(user);
+        listener = new RejoiningListener();
+        game.add(user, listener, new Game(users).getLastSequenceNumber());
+        assertEquals(1, listener.snapshots);
+        assertTrue(listener.chatMessages.isEmpty());
+
+        // the missed updates have been evicted
+        lastSequenceNumber = game.getLastSequenceNumber();
+        game.remove(user);
+        for (int i = 0; i < Game.EVENT_LOG_CAPACITY; ++i) {
+            game.registerMessage(new Message(users.get(1), "message " + i));
+        }
+        listener = new RejoiningListener();
+        game.add(user, listener, lastSequenceNumber);
+        assertEquals(1, listener.snapshots);
+    }
 }
@@ -720,7 +720,7 @@ class PlaygroundTest {
      */
     private void checkCoveredCorner(Playground test, Position position, CornerPosition cornerPosition, boolean status) {
         if (test.getTile(position).getFace().getCorners().containsKey(cornerPosition)) {
-            assertEquals(test.getTile(position).getFace().getCorners().get(cornerPosition).isCovered(), status);
+            assertEquals(test.getTile(position).isCornerCovered(cornerPosition), status);
         } else {
             assertFalse(status);
         }
@@ -785,6 +785,7 @@ class PlaygroundTest {
      */
     private void checkResource(Playground test, Symbol resource, int expectedAmount) {
         assertEquals(test.getResources().get(resource), expectedAmount);
+        assertEquals(expectedAmount, test.getResourceCount(resource));
     }
 
     /**
@@ -798,6 +799,104 @@ class PlaygroundTest {
         assertTrue(Test.getAvailablePositions().containsAll(correctList) && correctList.containsAll(Test.getAvailablePositions()));
     }
 
+    /**
+     * Test to check that applying the changes of every placement to the initial playground yields the available
+     * positions and the resources of the whole playground.
+     *
+     * @throws Playground.UnavailablePositionException if the position is unavailable
+     * @throws Playground.NotEnoughResourcesException  if the player's resource are not enough to place a card
+     */
+    @Test
+    void placeCardDeltaTest() throws Playground.UnavailablePositionException, Playground.NotEnoughResourcesException {
+        Playground test = new Playground();
+        Set<Position> availablePositions = new HashSet<>(test.getAvailablePositions());
+        Map<Symbol, Integer> resources = test.getResources();
+
+        Map<Symbol, Integer> plantResource = new HashMap<>();
+        plantResource.put(Symbol.PLANT, 1);
+        List<Face> faces = List.of(
+                new Back(null, createCorners(new Corner(), new Corner(Symbol.PLANT), new Corner(), new Corner(Symbol.INSECT)), plantResource),
+                new Front(CardColor.RED, createCorners(new Corner(), new Corner(Symbol.FUNGI), null, new Corner()), 1),
+                new Front(CardColor.BLUE, createCorners(new Corner(Symbol.PLANT), null, new Corner(Symbol.MANUSCRIPT), null), 0),
+                new Back(CardColor.GREEN, createBackCorners(), plantResource),
+                new Front(CardColor.GREEN, createCorners(null, new Corner(), new Corner(Symbol.INSECT), new Corner()), 1));
+        List<Position> positions = List.of(new Position(0, 0), new Position(1, 1), new Position(-1, -1),
+                new Position(2, 2), new Position(-1, 1));
+
+        for (int i = 0; i < faces.size(); i++) {
+            test.placeCard(faces.get(i), positions.get(i));
+
+            assertTrue(test.getLastRemovedAvailablePositions().contains(positions.get(i)));
+            test.getLastRemovedAvailablePositions().forEach(availablePositions::remove);
+            availablePositions.addAll(test.getLastAddedAvailablePositions());
+            resources.putAll(test.getLastChangedResources());
+
+            assertEquals(new HashSet<>(test.getAvailablePositions()), availablePositions);
+            assertEquals(test.getResources(), resources);
+        }
+    }
+
+    /**
+     * Test to check that covering the corners of a face placed on a playground doesn't cover the same face placed on
+     * another playground, since the loaded cards are shared by all the games.
+     *
+     * @throws Playground.UnavailablePositionException if the position is unavailable
+     * @throws Playground.NotEnoughResourcesException  if the player's resource are not enough to place a card
+     */
+    @Test
+    void sharedFaceCoverageTest() throws Playground.UnavailablePositionException, Playground.NotEnoughResourcesException {
+        Face shared = new Back(CardColor.RED, createBackCorners(), new HashMap<>());
+        Playground first = new Playground();
+        Playground second = new Playground();
+        first.placeCard(shared, new Position(0, 0));
+        second.placeCard(shared, new Position(0, 0));
+
+        first.placeCard(new Back(CardColor.BLUE, createBackCorners(), new HashMap<>()), new Position(1, 1));
+
+        checkCoveredCorner(first, new Position(0, 0), CornerPosition.TOP_RIGHT, true);
+        for (CornerPosition corner : CornerPosition.values()) {
+            checkCoveredCorner(second, new Position(0, 0), corner, false);
+        }
+    }
+
+    /**
+     * Test to check that the available and occupied positions kept by the playground follow the availability of its
+     * tiles after every placement.
+     *
+     * @throws Playground.UnavailablePositionException if the position is unavailable
+     * @throws Playground.NotEnoughResourcesException  if the player's resource are not enough to place a card
+     */
+    @Test
+    void availableAndOccupiedPositionsTest() throws Playground.UnavailablePositionException, Playground.NotEnoughResourcesException {
+        Playground test = new Playground();
+        List<Position> availablePositions = test.getAvailablePositions();
+        List<Position> occupiedPositions = test.getOccupiedPositions();
+
+        List<Face> faces = List.of(
+                new Front(CardColor.RED, createCorners(new Corner(), new Corner(Symbol.FUNGI), null, new Corner()), 1),
+                new Back(CardColor.GREEN, createBackCorners(), new HashMap<>()),
+                new Front(CardColor.BLUE, createCorners(new Corner(Symbol.PLANT), null, new Corner(Symbol.MANUSCRIPT), null), 0),
+                new Front(CardColor.GREEN, createCorners(null, new Corner(), new Corner(Symbol.INSECT), new Corner()), 1),
+                new Back(CardColor.RED, createBackCorners(), new HashMap<>()));
+        List<Position> positions = List.of(new Position(0, 0), new Position(1, 1), new Position(2, 2),
+                new Position(-1, 1), new Position(0, 2));
+
+        for (int i = 0; i < faces.size(); i++) {
+            test.placeCard(faces.get(i), positions.get(i));
+
+            Set<Position> emptyTiles = new HashSet<>();
+            for (Map.Entry<Position, Tile> tile : test.getArea().entrySet()) {
+                if (tile.getValue().sameAvailability(Availability.EMPTY)) {
+                    emptyTiles.add(tile.getKey());
+                }
+            }
+            assertEquals(emptyTiles.size(), availablePositions.size());
+            assertEquals(emptyTiles, new HashSet<>(availablePositions));
+            assertEquals(positions.subList(0, i + 1), occupiedPositions);
+        }
+        assertThrows(UnsupportedOperationException.class, () -> availablePositions.remove(0));
+    }
+
     /**
      * Method used to check if a placement throws an <code>UnavailablePositionException</code>
      *
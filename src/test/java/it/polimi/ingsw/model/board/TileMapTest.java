@@ -0,0 +1,70 @@
+package it.polimi.ingsw.model.board;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test to check the correct functioning of the <code>TileMap</code>
+ */
+class TileMapTest {
+
+    @Test
+    void get_findsTheTilesOfCollidingCoordinates() {
+        TileMap map = new TileMap();
+        // all these coordinates have the same product x * y
+        Tile[] tiles = {new Tile(Availability.EMPTY), new Tile(Availability.OCCUPIED), new Tile(Availability.EMPTY),
+                new Tile(Availability.NOTAVAILABLE)};
+        map.put(2, 3, tiles[0]);
+        map.put(-2, -3, tiles[1]);
+        map.put(3, 2, tiles[2]);
+        map.put(-3, -2, tiles[3]);
+
+        assertSame(tiles[0], map.get(2, 3));
+        assertSame(tiles[1], map.get(-2, -3));
+        assertSame(tiles[2], map.get(3, 2));
+        assertSame(tiles[3], map.get(-3, -2));
+        assertNull(map.get(2, -3));
+        assertFalse(map.contains(-2, 3));
+    }
+
+    @Test
+    void put_keepsTheOrderOfInsertionWhileGrowing() {
+        TileMap map = new TileMap();
+        List<Tile> tiles = new ArrayList<>();
+        for (int x = -20; x <= 20; x++) {
+            for (int y = -20; y <= 20; y++) {
+                Tile tile = new Tile(Availability.EMPTY);
+                tiles.add(tile);
+                map.put(x, y, tile);
+            }
+        }
+
+        assertEquals(tiles.size(), map.size());
+        int i = 0;
+        for (int x = -20; x <= 20; x++) {
+            for (int y = -20; y <= 20; y++) {
+                assertEquals(x, map.getX(i));
+                assertEquals(y, map.getY(i));
+                assertSame(tiles.get(i), map.getTile(i));
+                assertSame(tiles.get(i), map.get(x, y));
+                i++;
+            }
+        }
+    }
+
+    @Test
+    void put_replacesTheTileAtTheSameCoordinates() {
+        TileMap map = new TileMap();
+        Tile replaced = new Tile(Availability.EMPTY);
+        Tile tile = new Tile(Availability.OCCUPIED);
+        map.put(0, 0, replaced);
+        map.put(0, 0, tile);
+
+        assertEquals(1, map.size());
+        assertSame(tile, map.get(0, 0));
+    }
+}
@@ -8,7 +8,9 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Random;
 
 /**
  * Test to check the correct draw and addition of cards to the deck
@@ -49,6 +51,43 @@ class DeckTest {
         Assertions.assertThrows(EmptyDeckException.class, deck::draw);
     }
 
+    /**
+     * Test to check that the cards the deck is built from aren't shuffled, since they are shared by all the games
+     */
+    @Test
+    void constructor_doesNotShuffleTheCardsProvided() {
+        List<Card> cards = new ArrayList<>();
+        for (int i = 0; i < 20; ++i) {
+            cards.add(new Card(new Front(), new Back()));
+        }
+        List<Card> copy = new ArrayList<>(cards);
+
+        new Deck<>(cards);
+
+        Assertions.assertEquals(copy, cards);
+    }
+
+    /**
+     * Test to check that the deck deals every card once, in the order given by the random source
+     */
+    @Test
+    void draw_dealsTheCardsShuffledByTheRandomSource() throws EmptyDeckException {
+        List<Card> cards = new ArrayList<>();
+        for (int i = 0; i < 20; ++i) {
+            cards.add(new Card(new Front(), new Back()));
+        }
+        List<Card> shuffled = new ArrayList<>(cards);
+        Collections.shuffle(shuffled, new Random(7));
+
+        Deck<Card> deck = new Deck<>(cards, new Random(7));
+        for (Card card : shuffled.reversed()) {
+            Assertions.assertSame(card, deck.getTop());
+            Assertions.assertSame(card, deck.draw());
+        }
+        Assertions.assertTrue(deck.isEmpty());
+        Assertions.assertNull(deck.getTop());
+    }
+
     /**
      * Test to check if a card is correctly added to the deck
      */
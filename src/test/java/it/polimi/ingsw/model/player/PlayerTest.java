@@ -0,0 +1,71 @@
+package it.polimi.ingsw.model.player;
+
+import it.polimi.ingsw.model.board.Playground;
+import it.polimi.ingsw.model.card.*;
+import it.polimi.ingsw.model.card.color.CardColor;
+import it.polimi.ingsw.model.player.action.ChooseObjective;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test to check the correct calculation of the extra points of the <code>Player</code>
+ */
+class PlayerTest {
+    private Player player;
+    private List<ObjectiveCard> commonObjectives;
+
+    /**
+     * Returns an objective card giving always the <code>points</code> provided.
+     *
+     * @param points given by the objective.
+     * @return the objective card.
+     */
+    private static ObjectiveCard objectiveGiving(int points) {
+        return new ObjectiveCard() {
+            @Override
+            public int calculatePoints(Playground p) {
+                return points;
+            }
+        };
+    }
+
+    /**
+     * Instances a player whose private objective gives 2 points, and two common objectives giving 3 and 0 points
+     */
+    @BeforeEach
+    void setUp() throws InvalidPlayerActionException {
+        Map<CornerPosition, Corner> corners = new HashMap<>();
+        Arrays.stream(CornerPosition.values()).forEach(cp -> corners.put(cp, new Corner()));
+        Card card = new Card(new Front(CardColor.BLUE, corners, 0), new Back(CardColor.BLUE, corners, new HashMap<>()));
+
+        player = new Player("pippo", card, new ArrayList<>(List.of(card, card, card)),
+                new ArrayList<>(List.of(objectiveGiving(2), objectiveGiving(5))));
+        player.setAction(new ChooseObjective());
+        player.placeObjectiveCard(0);
+        commonObjectives = List.of(objectiveGiving(3), objectiveGiving(0));
+    }
+
+    /**
+     * Test to check that the extra points are the sum of the points of the common and the private objectives
+     */
+    @Test
+    void calculateExtraPoints_sumsTheThreeObjectives() {
+        assertEquals(5, player.calculateExtraPoints(commonObjectives));
+        assertEquals(2, player.getNumSatisfiedObjectives());
+    }
+
+    /**
+     * Test to check that calculating the extra points again gives the same points and satisfied objectives
+     */
+    @Test
+    void calculateExtraPoints_repeatedCallsGiveTheSameResult() {
+        player.calculateExtraPoints(commonObjectives);
+
+        assertEquals(5, player.calculateExtraPoints(commonObjectives));
+        assertEquals(2, player.getNumSatisfiedObjectives());
+    }
+}
@@ -0,0 +1,60 @@
+package it.polimi.ingsw.model.simulation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameSimulatorTest {
+    private final GameSimulator simulator =
+            new GameSimulator(List.of(new RandomPolicy(), new GreedyPolicy(), new RandomPolicy()));
+
+    @Test
+    void play_sameSeedPlaysTheSameGame() {
+        GameRecord first = simulator.play(42);
+        GameRecord second = simulator.play(42);
+
+        assertEquals(first.getPlacements(), second.getPlacements());
+        for (int seat = 0; seat < first.getNumPlayers(); seat++) {
+            assertEquals(first.getPolicy(seat), second.getPolicy(seat));
+            assertEquals(first.getPoints(seat), second.getPoints(seat));
+            assertEquals(first.isWinner(seat), second.isWinner(seat));
+        }
+    }
+
+    @Test
+    void play_gameEndsWithTheBestPlayersAsWinners() {
+        for (long seed = 0; seed < 20; seed++) {
+            GameRecord game = simulator.play(seed);
+            int maxPoints = 0;
+            for (int seat = 0; seat < game.getNumPlayers(); seat++) {
+                maxPoints = Math.max(maxPoints, game.getPoints(seat));
+            }
+
+            assertTrue(game.getPlacements() > 0);
+            for (int seat = 0; seat < game.getNumPlayers(); seat++) {
+                if (game.isWinner(seat)) {
+                    assertEquals(maxPoints, game.getPoints(seat));
+                }
+            }
+        }
+    }
+
+    @Test
+    void run_statisticsDoNotDependOnTheParallelism() {
+        int numGames = 600;
+        SimulationStatistics sequential = SelfPlay.run(simulator, numGames, 7, new ForkJoinPool(1));
+        SimulationStatistics parallel = SelfPlay.run(simulator, numGames, 7, new ForkJoinPool(4));
+
+        assertEquals(numGames, sequential.getNumGames() + sequential.getNumFailures());
+        assertEquals(sequential.getNumGames(), parallel.getNumGames());
+        assertEquals(sequential.getMeanPlacements(), parallel.getMeanPlacements());
+        assertEquals(sequential.getMeanPoints(), parallel.getMeanPoints());
+        for (int seat = 0; seat < simulator.getNumPlayers(); seat++) {
+            assertEquals(sequential.getWinShareBySeat(seat), parallel.getWinShareBySeat(seat));
+            assertEquals(sequential.getWinShareByPolicy(seat), parallel.getWinShareByPolicy(seat));
+        }
+    }
+}
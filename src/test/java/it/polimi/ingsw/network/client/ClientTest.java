@@ -0,0 +1,41 @@
+package it.polimi.ingsw.network.client;
+
+import it.polimi.ingsw.network.client.rmi.ClientRMI;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test to check the correct functioning of the <code>Client</code>
+ */
+class ClientTest {
+
+    /**
+     * Client counting the times its connection has been terminated.
+     */
+    private static class TerminationCounter extends ClientRMI {
+        private int terminations;
+
+        TerminationCounter() {
+            super("");
+        }
+
+        @Override
+        protected void terminateConnection() {
+            terminations++;
+            super.terminateConnection();
+        }
+    }
+
+    /**
+     * Test to check that closing a client whose login has been refused still releases its connection
+     */
+    @Test
+    void close_releasesARefusedConnection() {
+        TerminationCounter client = new TerminationCounter();
+        assertFalse(client.isConnected());
+
+        client.close();
+        assertEquals(1, client.terminations);
+    }
+}
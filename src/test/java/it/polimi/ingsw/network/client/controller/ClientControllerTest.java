@@ -0,0 +1,58 @@
+package it.polimi.ingsw.network.client.controller;
+
+import it.polimi.ingsw.network.VirtualServer;
+import it.polimi.ingsw.network.client.rmi.ClientRMI;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test to check the correct functioning of the <code>ClientController</code>
+ */
+class ClientControllerTest {
+
+    /**
+     * Client connected to a server that records the names of the requests received.
+     * While serving a request the server reads the controller, as a callback received during an RMI call does.
+     */
+    private static class RecordingClient extends ClientRMI {
+        private final List<String> requests = new CopyOnWriteArrayList<>();
+
+        RecordingClient() {
+            super("");
+            isConnected = true;
+        }
+
+        @Override
+        public VirtualServer bindServer(String ip, Integer port) {
+            return (VirtualServer) Proxy.newProxyInstance(VirtualServer.class.getClassLoader(),
+                    new Class<?>[]{VirtualServer.class},
+                    (proxy, method, args) -> {
+                        controller.getMainPlayerUsername();
+                        requests.add(method.getName());
+                        return null;
+                    });
+        }
+    }
+
+    /**
+     * Test to check that the disconnection is sent, after the requests already queued, before
+     * <code>disconnect</code> returns
+     */
+    @Test
+    void disconnect_sendsTheQueuedRequestsFirst() throws Exception {
+        RecordingClient client = new RecordingClient();
+        ClientController controller = new ClientController(client);
+        controller.configureClient(null, "", 0);
+        controller.setMainPlayerUsername("alice");
+
+        controller.setPlayersNumber(2);
+        controller.disconnect("alice");
+
+        assertEquals(List.of("setPlayersNumber", "disconnect"), client.requests);
+    }
+}
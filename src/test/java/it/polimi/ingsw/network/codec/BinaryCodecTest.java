@@ -0,0 +1,102 @@
+package it.polimi.ingsw.network.codec;
+
+import it.polimi.ingsw.model.Game;
+import it.polimi.ingsw.model.board.Position;
+import it.polimi.ingsw.model.card.Card;
+import it.polimi.ingsw.model.card.CornerPosition;
+import it.polimi.ingsw.model.card.Side;
+import it.polimi.ingsw.model.card.Symbol;
+import it.polimi.ingsw.model.loader.CardsLoader;
+import it.polimi.ingsw.network.NetworkMessage;
+import it.polimi.ingsw.network.client.model.ClientGame;
+import it.polimi.ingsw.network.client.model.card.ClientCard;
+import it.polimi.ingsw.network.client.model.card.ClientFace;
+import it.polimi.ingsw.network.client.socket.message.UpdateAfterConnectionMessage;
+import it.polimi.ingsw.network.client.socket.message.UpdateAfterDrawMessage;
+import it.polimi.ingsw.network.client.socket.message.UpdateAfterPlaceMessage;
+import it.polimi.ingsw.network.heartbeat.HeartBeatMessage;
+import it.polimi.ingsw.network.server.socket.message.PlaceCardMessage;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryCodecTest {
+    private static NetworkMessage roundTrip(NetworkMessage message) throws IOException, MalformedMessageException {
+        byte[] frame = BinaryCodec.encode(message);
+        byte[] payload = BinaryCodec.readFrame(new ByteArrayInputStream(frame));
+        NetworkMessage decoded = BinaryCodec.decode(payload);
+        // the decoded message carries exactly the same information
+        assertArrayEquals(frame, BinaryCodec.encode(decoded));
+        return decoded;
+    }
+
+    @Test
+    void decode_clientMessagesAreRebuilt() throws IOException, MalformedMessageException {
+        PlaceCardMessage placeCard = (PlaceCardMessage) roundTrip(
+                new PlaceCardMessage("alice", 12, 52, Side.BACK, new Position(-3, 2)));
+        assertEquals("alice", placeCard.getSender());
+        assertEquals(12, placeCard.getFrontId());
+        assertEquals(Side.BACK, placeCard.getSide());
+        assertEquals(new Position(-3, 2), placeCard.getPosition());
+
+        HeartBeatMessage ping = (HeartBeatMessage) roundTrip(new HeartBeatMessage("bob", 1717171717171.0));
+        assertEquals(1717171717171.0, ping.getId());
+    }
+
+    @Test
+    void decode_cardsAreRebuiltFromTheirIds() throws IOException, MalformedMessageException {
+        Card card = CardsLoader.getResourceCards().getFirst();
+        ClientCard placedCard = new ClientCard(card);
+        CornerPosition coveredCorner = placedCard.getFront().getCorners().keySet().iterator().next();
+        placedCard.getFront().setCornerCovered(coveredCorner);
+
+        UpdateAfterPlaceMessage message = new UpdateAfterPlaceMessage(Map.of(new Position(1, 1), CornerPosition.LOWER_LEFT),
+                List.of(new Position(2, 2), new Position(0, 2)), List.of(new Position(1, 1)), Map.of(Symbol.FUNGI, 3), 4, "alice",
+                placedCard, Side.FRONT, new Position(1, 1));
+        UpdateAfterPlaceMessage decoded = (UpdateAfterPlaceMessage) roundTrip(message);
+
+        ClientFace front = decoded.getPlacedCard().getFront();
+        assertEquals(card.getFace(Side.FRONT).getId(), front.getFaceID());
+        assertEquals(card.getFace(Side.FRONT).getColor(), front.getColor());
+        assertTrue(front.isCornerCovered(coveredCorner));
+        // covering the corner of a client face never touches the loaded card
+        assertFalse(new ClientFace(card.getFace(Side.FRONT)).isCornerCovered(coveredCorner));
+        assertEquals(Map.of(Symbol.FUNGI, 3), decoded.getChangedResources());
+        assertEquals(List.of(new Position(2, 2), new Position(0, 2)), decoded.getAddedAvailablePositions());
+        assertEquals(List.of(new Position(1, 1)), decoded.getRemovedAvailablePositions());
+
+        UpdateAfterDrawMessage emptyDeck = (UpdateAfterDrawMessage) roundTrip(
+                new UpdateAfterDrawMessage(placedCard, null, null, "alice", 2));
+        assertNull(emptyDeck.getNewTopDeck());
+        assertNull(emptyDeck.getNewFaceUpCard());
+    }
+
+    @Test
+    void encode_gameIsSmallerThanItsJson() throws Exception {
+        Game game = new Game(List.of("alice", "bob", "carl"));
+        UpdateAfterConnectionMessage message = new UpdateAfterConnectionMessage(new ClientGame(game));
+
+        UpdateAfterConnectionMessage decoded = (UpdateAfterConnectionMessage) roundTrip(message);
+        assertEquals(3, decoded.getGame().getPlayers().size());
+        assertEquals(game.getPhase(), decoded.getGame().getCurrentPhase());
+
+        int jsonSize = JsonCodec.encode(message).getBytes(StandardCharsets.UTF_8).length;
+        assertTrue(BinaryCodec.encode(message).length * 4 < jsonSize);
+    }
+
+    @Test
+    void decode_malformedPayloadIsRejected() {
+        byte[] frame = BinaryCodec.encode(new PlaceCardMessage("alice", 12, 52, Side.BACK, new Position(0, 0)));
+        byte[] truncated = new byte[frame.length - 2];
+        System.arraycopy(frame, 1, truncated, 0, truncated.length);
+        assertThrows(MalformedMessageException.class, () -> BinaryCodec.decode(truncated));
+        assertThrows(MalformedMessageException.class, () -> BinaryCodec.decode(new byte[]{(byte) 0x7F}));
+        assertThrows(IOException.class, () -> BinaryCodec.readFrame(new ByteArrayInputStream(new byte[]{5, 1, 2})));
+    }
+}
@@ -0,0 +1,62 @@
+package it.polimi.ingsw.network.codec;
+
+import it.polimi.ingsw.model.board.Position;
+import it.polimi.ingsw.model.card.CornerPosition;
+import it.polimi.ingsw.model.card.Side;
+import it.polimi.ingsw.model.card.Symbol;
+import it.polimi.ingsw.model.loader.CardsLoader;
+import it.polimi.ingsw.network.NetworkMessage;
+import it.polimi.ingsw.network.Type;
+import it.polimi.ingsw.network.client.model.card.ClientCard;
+import it.polimi.ingsw.network.client.socket.message.UpdateAfterPlaceMessage;
+import it.polimi.ingsw.network.client.socket.message.UpdateCreatorMessage;
+import it.polimi.ingsw.network.server.socket.message.ConnectMessage;
+import it.polimi.ingsw.network.server.socket.message.PlaceCardMessage;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonCodecTest {
+    @Test
+    void decode_messageHasTheClassOfItsType() throws MalformedMessageException {
+        NetworkMessage placeCard = JsonCodec.decode(JsonCodec.encode(
+                new PlaceCardMessage("alice", 12, 52, Side.BACK, new Position(-3, 2))));
+        assertInstanceOf(PlaceCardMessage.class, placeCard);
+        assertEquals(new Position(-3, 2), ((PlaceCardMessage) placeCard).getPosition());
+
+        UpdateAfterPlaceMessage update = new UpdateAfterPlaceMessage(Map.of(new Position(1, 1), CornerPosition.LOWER_LEFT),
+                List.of(new Position(2, 2)), List.of(new Position(1, 1)), Map.of(Symbol.FUNGI, 3), 4, "alice",
+                new ClientCard(CardsLoader.getResourceCards().getFirst()), Side.FRONT, new Position(1, 1));
+        NetworkMessage decoded = JsonCodec.decode(JsonCodec.encode(update));
+        assertInstanceOf(UpdateAfterPlaceMessage.class, decoded);
+        assertEquals(Map.of(new Position(1, 1), CornerPosition.LOWER_LEFT),
+                ((UpdateAfterPlaceMessage) decoded).getPositionToCornerCovered());
+
+        assertInstanceOf(ConnectMessage.class, JsonCodec.decode("{\"networkType\":\"CONNECT\",\"sender\":\"bob\"}"));
+        assertInstanceOf(UpdateCreatorMessage.class, JsonCodec.decode(JsonCodec.encode(new UpdateCreatorMessage())));
+        assertEquals(Type.GAME_ALREADY_STARTED,
+                JsonCodec.decode("{\"networkType\":\"GAME_ALREADY_STARTED\",\"sender\":\"server\"}").getNetworkType());
+    }
+
+    @Test
+    void decode_typeIsFoundWhereverItIsWritten() throws MalformedMessageException {
+        // the type isn't written compactly
+        assertInstanceOf(ConnectMessage.class, JsonCodec.decode("{ \"networkType\" : \"CONNECT\", \"sender\" : \"bob\" }"));
+        // a nested key mustn't be mistaken for the type of the message
+        NetworkMessage message = JsonCodec.decode(
+                "{\"networkType\":\"PLACE_CARD\",\"sender\":\"bob\",\"frontId\":3,\"nested\":{\"networkType\":\"DRAW\"}}");
+        assertInstanceOf(PlaceCardMessage.class, message);
+        assertEquals(3, ((PlaceCardMessage) message).getFrontId());
+    }
+
+    @Test
+    void decode_malformedLineIsRejected() {
+        assertThrows(MalformedMessageException.class, () -> JsonCodec.decode("{\"sender\":\"bob\"}"));
+        assertThrows(MalformedMessageException.class, () -> JsonCodec.decode("{\"networkType\":\"UNKNOWN\"}"));
+        assertThrows(MalformedMessageException.class, () -> JsonCodec.decode("[1, 2]"));
+        assertThrows(MalformedMessageException.class, () -> JsonCodec.decode("{\"networkType\":"));
+    }
+}
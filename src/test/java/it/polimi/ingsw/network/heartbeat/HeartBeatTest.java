@@ -0,0 +1,56 @@
+package it.polimi.ingsw.network.heartbeat;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.rmi.RemoteException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HeartBeatTest {
+    HeartBeatScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new HeartBeatScheduler(10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdown();
+    }
+
+    @Test
+    void sweep_pingsAreSentToTheListener() throws InterruptedException {
+        CountDownLatch receivedPings = new CountDownLatch(3);
+        HeartBeat heartBeat = new HeartBeat(listener -> fail("listener is responsive"), "handler",
+                ping -> receivedPings.countDown(), "listener", scheduler);
+
+        heartBeat.startHeartBeat();
+        assertEquals(1, scheduler.getNumberOfHeartBeats());
+        assertTrue(receivedPings.await(5, TimeUnit.SECONDS));
+
+        heartBeat.terminate();
+        assertEquals(0, scheduler.getNumberOfHeartBeats());
+        assertFalse(heartBeat.isActive());
+    }
+
+    @Test
+    void sweep_crashedListenerIsReported() throws InterruptedException {
+        CountDownLatch reported = new CountDownLatch(1);
+        HeartBeat heartBeat = new HeartBeat(listener -> {
+            assertEquals("listener", listener);
+            reported.countDown();
+        }, "handler", ping -> {
+            throw new RemoteException("crashed");
+        }, "listener", scheduler);
+
+        heartBeat.startHeartBeat();
+        assertTrue(reported.await(5, TimeUnit.SECONDS));
+        // the unresponsive listener isn't swept anymore
+        assertEquals(0, scheduler.getNumberOfHeartBeats());
+    }
+}
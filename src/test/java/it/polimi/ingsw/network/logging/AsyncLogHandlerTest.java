@@ -0,0 +1,56 @@
+package it.polimi.ingsw.network.logging;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.logging.Formatter;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncLogHandlerTest {
+    private static final Formatter MESSAGE_FORMATTER = new Formatter() {
+        @Override
+        public String format(LogRecord record) {
+            return record.getMessage() + "\n";
+        }
+    };
+
+    @Test
+    void publish_recordsAreWrittenInOrder() {
+        PrintStream standardError = System.err;
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        System.setErr(new PrintStream(output, true, StandardCharsets.UTF_8));
+        try {
+            AsyncLogHandler handler = new AsyncLogHandler(1000, MESSAGE_FORMATTER);
+            for (int i = 0; i < 1000; i++) {
+                handler.publish(new LogRecord(Level.INFO, "record " + i));
+            }
+            handler.close();
+            // a closed handler discards the records
+            handler.publish(new LogRecord(Level.INFO, "late record"));
+
+            String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+            assertEquals(1000 - handler.getDroppedRecords(), lines.length);
+            int previous = -1;
+            for (String line : lines) {
+                int current = Integer.parseInt(line.substring("record ".length()));
+                assertTrue(current > previous);
+                previous = current;
+            }
+        } finally {
+            System.setErr(standardError);
+        }
+    }
+
+    @Test
+    void getPayloadLogger_payloadsAreOffByDefault() {
+        Logger payloadLogger = NetworkLog.getPayloadLogger();
+        assertFalse(payloadLogger.isLoggable(Level.FINEST));
+        payloadLogger.finest(() -> fail("The payload mustn't be built"));
+    }
+}
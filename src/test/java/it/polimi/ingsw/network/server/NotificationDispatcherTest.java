@@ -0,0 +1,52 @@
+package it.polimi.ingsw.network.server;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NotificationDispatcherTest {
+    @Test
+    void newLane_tasksOfALaneRunInOrderOnThePool() throws InterruptedException {
+        NotificationDispatcher dispatcher = new NotificationDispatcher(3, Thread.ofPlatform().factory());
+        int numLanes = 50;
+        int tasksPerLane = 200;
+        List<List<Integer>> executed = new ArrayList<>();
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        CountDownLatch done = new CountDownLatch(numLanes * tasksPerLane);
+
+        List<Executor> lanes = new ArrayList<>();
+        for (int i = 0; i < numLanes; i++) {
+            lanes.add(dispatcher.newLane());
+            executed.add(new ArrayList<>());
+        }
+        for (int task = 0; task < tasksPerLane; task++) {
+            for (int lane = 0; lane < numLanes; lane++) {
+                List<Integer> executedByLane = executed.get(lane);
+                int taskId = task;
+                lanes.get(lane).execute(() -> {
+                    // tasks of the same lane never overlap, hence the list needs no lock
+                    executedByLane.add(taskId);
+                    threads.add(Thread.currentThread());
+                    done.countDown();
+                });
+            }
+        }
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        for (List<Integer> executedByLane : executed) {
+            for (int task = 0; task < tasksPerLane; task++) {
+                assertEquals(task, executedByLane.get(task));
+            }
+        }
+        assertTrue(threads.size() <= dispatcher.getNumThreads());
+        dispatcher.shutdown();
+    }
+}
@@ -0,0 +1,136 @@
+package it.polimi.ingsw.network.server;
+
+import it.polimi.ingsw.model.gamephase.GamePhase;
+import it.polimi.ingsw.network.NetworkMessage;
+import it.polimi.ingsw.network.client.socket.message.UpdateChatMessage;
+import it.polimi.ingsw.network.client.socket.message.UpdateCurrentPlayerMessage;
+import it.polimi.ingsw.network.client.socket.message.UpdatePlayerStatusMessage;
+import it.polimi.ingsw.network.client.socket.message.UpdatePlayersInLobbyMessage;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OutboundQueueTest {
+    private final AtomicInteger evictions = new AtomicInteger();
+
+    private OutboundQueue<NetworkMessage> createQueue(OutboundLimits limits) {
+        return new OutboundQueue<>(limits, OutboundQueue::coalescingKeyOf, () -> 0, evictions::incrementAndGet);
+    }
+
+    @Test
+    void offer_onlyTheFirstUpdateSchedulesADrain() {
+        OutboundQueue<NetworkMessage> queue = createQueue(OutboundLimits.DEFAULT);
+
+        assertTrue(queue.offer(new UpdatePlayerStatusMessage(true, "alice")));
+        assertFalse(queue.offer(new UpdatePlayerStatusMessage(true, "bob")));
+        assertNotNull(queue.poll());
+        assertNotNull(queue.poll());
+        assertNull(queue.poll());
+        // the drain is over
+        assertTrue(queue.offer(new UpdatePlayerStatusMessage(false, "bob")));
+    }
+
+    @Test
+    void offer_supersededUpdatesAreDropped() {
+        OutboundQueue<NetworkMessage> queue = createQueue(OutboundLimits.DEFAULT);
+        long coalesced = OutboundQueue.getCoalescedUpdates();
+
+        UpdatePlayersInLobbyMessage latestLobby = new UpdatePlayersInLobbyMessage(List.of("alice", "bob", "carl"));
+        UpdatePlayerStatusMessage aliceStatus = new UpdatePlayerStatusMessage(true, "alice");
+        queue.offer(new UpdatePlayersInLobbyMessage(List.of("alice")));
+        queue.offer(aliceStatus);
+        queue.offer(new UpdatePlayersInLobbyMessage(List.of("alice", "bob")));
+        queue.offer(latestLobby);
+
+        assertEquals(2, queue.size());
+        assertEquals(2, OutboundQueue.getCoalescedUpdates() - coalesced);
+        assertEquals(List.of(aliceStatus, latestLobby), queue.drain());
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    void offer_gameUpdatesAreNeverDropped() {
+        OutboundQueue<NetworkMessage> queue = createQueue(OutboundLimits.DEFAULT);
+
+        List<NetworkMessage> updates = List.of(
+                new UpdateCurrentPlayerMessage(1, GamePhase.PlaceNormal),
+                new UpdatePlayerStatusMessage(true, "alice"),
+                new UpdateCurrentPlayerMessage(2, GamePhase.PlaceNormal),
+                new UpdatePlayerStatusMessage(false, "alice"));
+        updates.forEach(queue::offer);
+
+        // every update of a game is numbered by its log, the client has to receive all of them
+        assertEquals(updates, queue.drain());
+    }
+
+    @Test
+    void offer_slowStateFollowsTheWatermarks() {
+        OutboundQueue<NetworkMessage> queue = createQueue(new OutboundLimits(2, 4, 100, 60000));
+
+        for (int i = 0; i < 3; i++) {
+            queue.offer(new UpdateChatMessage(null));
+        }
+        assertFalse(queue.isSlow());
+        queue.offer(new UpdateChatMessage(null));
+        assertTrue(queue.isSlow());
+
+        // still slow until the queue drops below the low watermark
+        queue.poll();
+        queue.poll();
+        assertTrue(queue.isSlow());
+        queue.poll();
+        assertFalse(queue.isSlow());
+        assertEquals(0, evictions.get());
+    }
+
+    @Test
+    void offer_clientOverCapacityIsEvicted() {
+        OutboundQueue<NetworkMessage> queue = createQueue(new OutboundLimits(2, 4, 8, 60000));
+        long evicted = OutboundQueue.getEvictedConsumers();
+
+        for (int i = 0; i < 8; i++) {
+            queue.offer(new UpdateChatMessage(null));
+        }
+        assertFalse(queue.isEvicted());
+        queue.offer(new UpdateChatMessage(null));
+
+        assertTrue(queue.isEvicted());
+        assertEquals(1, evictions.get());
+        assertEquals(1, OutboundQueue.getEvictedConsumers() - evicted);
+        assertEquals(0, queue.size());
+        // later updates are discarded
+        assertFalse(queue.offer(new UpdateChatMessage(null)));
+        assertNull(queue.poll());
+        assertEquals(1, evictions.get());
+    }
+
+    @Test
+    void offer_clientSlowForTooLongIsEvicted() throws InterruptedException {
+        OutboundQueue<NetworkMessage> queue = createQueue(new OutboundLimits(1, 2, 100, 1));
+
+        queue.offer(new UpdateChatMessage(null));
+        queue.offer(new UpdateChatMessage(null));
+        assertTrue(queue.isSlow());
+        Thread.sleep(10);
+        queue.offer(new UpdateChatMessage(null));
+
+        assertTrue(queue.isEvicted());
+        assertEquals(1, evictions.get());
+    }
+
+    @Test
+    void offer_pendingMessagesOfTheConnectionCount() {
+        AtomicInteger pendingInConnection = new AtomicInteger(3);
+        OutboundQueue<NetworkMessage> queue = new OutboundQueue<>(new OutboundLimits(2, 4, 8, 60000),
+                OutboundQueue::coalescingKeyOf, pendingInConnection::get, evictions::incrementAndGet);
+
+        queue.offer(new UpdateChatMessage(null));
+        assertTrue(queue.isSlow());
+        pendingInConnection.set(0);
+        queue.poll();
+        assertFalse(queue.isSlow());
+    }
+}
@@ -0,0 +1,93 @@
+package it.polimi.ingsw.network.server;
+
+import it.polimi.ingsw.model.listenerhandler.EventLog;
+import it.polimi.ingsw.network.client.rmi.ClientRMI;
+import it.polimi.ingsw.network.heartbeat.HeartBeatMessage;
+import it.polimi.ingsw.network.server.rmi.RMIHandler;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ServerTest {
+    /**
+     * Handler whose login completes only once <code>loginsReleased</code> is counted down, and that counts the pings
+     * routed to it.
+     */
+    private static class SlowLoginHandler extends RMIHandler {
+        private final CountDownLatch loginsInFlight;
+        private final CountDownLatch loginsReleased;
+        private final AtomicInteger receivedPings;
+
+        SlowLoginHandler(Server server, String username, CountDownLatch loginsInFlight, CountDownLatch loginsReleased) {
+            super(server, new ClientRMI("127.0.0.1"), username);
+            this.loginsInFlight = loginsInFlight;
+            this.loginsReleased = loginsReleased;
+            this.receivedPings = new AtomicInteger();
+        }
+
+        @Override
+        public void startHeartBeat() {
+            loginsInFlight.countDown();
+            try {
+                loginsReleased.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public void registerPingFromClient(HeartBeatMessage ping) {
+            receivedPings.incrementAndGet();
+        }
+    }
+
+    @Test
+    void receivePing_pingsFlowWhileLoginsAreInFlight() throws InterruptedException {
+        Server server = new Server("127.0.0.1", 0, 0);
+        int numLogins = 300;
+        int numPings = 1000;
+        // usernames sharing a lock wait for each other, hence not all the logins reach the heart beat together
+        int numBlockedLogins = 32;
+
+        SlowLoginHandler pinger = new SlowLoginHandler(server, "pinger", new CountDownLatch(1), new CountDownLatch(0));
+        server.connect(pinger, "pinger", EventLog.NO_SEQUENCE_NUMBER);
+
+        CountDownLatch loginsInFlight = new CountDownLatch(numBlockedLogins);
+        CountDownLatch loginsReleased = new CountDownLatch(1);
+        List<SlowLoginHandler> handlers = new ArrayList<>();
+        List<Thread> logins = new ArrayList<>();
+        for (int i = 0; i < numLogins; i++) {
+            String username = "user" + i;
+            SlowLoginHandler handler = new SlowLoginHandler(server, username, loginsInFlight, loginsReleased);
+            handlers.add(handler);
+            logins.add(Thread.ofVirtual().start(
+                    () -> server.connect(handler, username, EventLog.NO_SEQUENCE_NUMBER)));
+        }
+        assertTrue(loginsInFlight.await(30, TimeUnit.SECONDS));
+
+        // the logins hold the locks of their usernames: the pings mustn't wait for any of them
+        Thread pings = Thread.ofVirtual().start(() -> {
+            for (int i = 0; i < numPings; i++) {
+                server.receivePing(new HeartBeatMessage("pinger", i));
+            }
+        });
+        pings.join(TimeUnit.SECONDS.toMillis(5));
+        assertFalse(pings.isAlive());
+        assertEquals(numPings, pinger.receivedPings.get());
+
+        loginsReleased.countDown();
+        for (Thread login : logins) {
+            login.join();
+        }
+        for (SlowLoginHandler handler : handlers) {
+            server.receivePing(new HeartBeatMessage(handler.getUsername(), 0));
+            assertEquals(1, handler.receivedPings.get());
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package it.polimi.ingsw.network.server;
+
+import it.polimi.ingsw.controller.PlainGameListener;
+import it.polimi.ingsw.model.GameListener;
+import it.polimi.ingsw.model.gamephase.GamePhase;
+import it.polimi.ingsw.network.Type;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SharedFrameBroadcasterTest {
+    private static class FrameListener extends PlainGameListener implements FrameRecipient {
+        private final List<SharedFrame> frames = new ArrayList<>();
+
+        @Override
+        public void sendFrame(SharedFrame frame) {
+            frames.add(frame);
+        }
+    }
+
+    private static class CountingListener extends PlainGameListener {
+        private int updates = 0;
+
+        @Override
+        public void showUpdateCurrentPlayer(int currentPlayerIdx, GamePhase phase) {
+            updates++;
+        }
+
+        @Override
+        public void resultOfLogin(boolean accepted, String details) {
+            updates++;
+        }
+    }
+
+    @Test
+    void broadcast_messageIsBuiltAndEncodedOnce() {
+        FrameListener first = new FrameListener();
+        FrameListener second = new FrameListener();
+        CountingListener rmiLike = new CountingListener();
+        List<GameListener> recipients = List.of(first, rmiLike, second);
+
+        new SharedFrameBroadcaster().broadcast(recipients, receiver -> receiver.showUpdateCurrentPlayer(1, GamePhase.PlaceNormal));
+
+        assertEquals(1, first.frames.size());
+        SharedFrame frame = first.frames.getFirst();
+        assertSame(frame, second.frames.getFirst());
+        assertSame(first.frames.getFirst().getEncodedLine(), second.frames.getFirst().getEncodedLine());
+        assertEquals(Type.SHOW_UPDATE_CURRENT_PLAYER, frame.getMessage().getNetworkType());
+        assertEquals(1, rmiLike.updates);
+    }
+
+    @Test
+    void broadcast_recipientDependentUpdateIsNotShared() {
+        FrameListener frameListener = new FrameListener();
+        CountingListener listener = new CountingListener();
+
+        new SharedFrameBroadcaster().broadcast(List.of(frameListener, listener), receiver -> receiver.resultOfLogin(true, ""));
+
+        assertTrue(frameListener.frames.isEmpty());
+        assertEquals(1, listener.updates);
+    }
+}
@@ -0,0 +1,59 @@
+package it.polimi.ingsw.network.server.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+    @Test
+    void getPercentile_isWithinTheBucketPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 10000; value++) {
+            histogram.record(value * 1000);
+        }
+
+        assertEquals(10000, histogram.getCount());
+        assertEquals(10_000_000, histogram.getMax());
+        assertEquals(5_000_500, histogram.getMean());
+        // a bucket is at most a quarter of its lower bound wide
+        assertEquals(5_000_000, histogram.getPercentile(50), 5_000_000 * 0.25);
+        assertEquals(9_900_000, histogram.getPercentile(99), 9_900_000 * 0.25);
+        assertTrue(histogram.getPercentile(99) >= 9_900_000);
+        assertEquals(10_000_000, histogram.getPercentile(100));
+    }
+
+    @Test
+    void getPercentile_emptyHistogramIsZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5);
+
+        assertEquals(0, histogram.getPercentile(99));
+        assertEquals(0, new LatencyHistogram().getPercentile(50));
+        assertEquals(0, new LatencyHistogram().getMean());
+    }
+
+    @Test
+    void record_concurrentRecordsAreAllCounted() throws InterruptedException {
+        LatencyHistogram histogram = new LatencyHistogram();
+        int numThreads = 8;
+        int recordsPerThread = 10000;
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < numThreads; i++) {
+            long value = (i + 1) * 1000L;
+            threads.add(Thread.ofVirtual().start(() -> {
+                for (int j = 0; j < recordsPerThread; j++) {
+                    histogram.record(value);
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals((long) numThreads * recordsPerThread, histogram.getCount());
+        assertEquals(numThreads * 1000L, histogram.getMax());
+    }
+}
@@ -0,0 +1,65 @@
+package it.polimi.ingsw.network.server.metrics;
+
+import it.polimi.ingsw.controller.GameEventLoop;
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.TabularData;
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ServerMetricsTest {
+    @Test
+    void recordOperation_latencyOfTheLoopIsSplitInQueuedExecutionAndFanOut() {
+        ServerMetrics metrics = ServerMetrics.getInstance();
+        String operation = "testOperation";
+        long countBefore = metrics.getOperationCounts().getOrDefault(operation, 0L);
+
+        GameEventLoop loop = new GameEventLoop();
+        loop.call(operation, controller -> {
+            ServerMetrics.addFanOutTime(2_000_000);
+            return null;
+        });
+        // the latency is recorded once the result is returned: wait for the command that follows
+        loop.call(controller -> null);
+        loop.shutdown();
+
+        assertEquals(countBefore + 1, metrics.getOperationCounts().get(operation));
+        assertTrue(metrics.getFanOutP99Millis().get(operation) >= 1.5);
+        assertTrue(metrics.getReport().contains(operation));
+    }
+
+    @Test
+    void recordMessages_countedPerTransport() {
+        ServerMetrics metrics = new ServerMetrics();
+        metrics.recordMessageIn(ServerMetrics.Transport.SOCKET, 10);
+        metrics.recordMessageIn(ServerMetrics.Transport.SOCKET, 20);
+        metrics.recordMessagesOut(ServerMetrics.Transport.RMI, 3, 0);
+
+        assertEquals(2, metrics.getMessagesIn().get("SOCKET"));
+        assertEquals(30, metrics.getBytesIn().get("SOCKET"));
+        assertEquals(0, metrics.getMessagesIn().get("RMI"));
+        assertEquals(3, metrics.getMessagesOut().get("RMI"));
+    }
+
+    @Test
+    void register_metricsAreReadableThroughJmx() throws Exception {
+        ServerMetrics metrics = new ServerMetrics();
+        metrics.setGauges(() -> 3, () -> 7);
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(ServerMetrics.OBJECT_NAME);
+        if (server.isRegistered(name)) {
+            server.unregisterMBean(name);
+        }
+        metrics.register();
+        try {
+            assertEquals(3, server.getAttribute(name, "ActiveGames"));
+            assertEquals(7, server.getAttribute(name, "ActivePlayers"));
+            assertInstanceOf(TabularData.class, server.getAttribute(name, "MessagesIn"));
+        } finally {
+            server.unregisterMBean(name);
+        }
+    }
+}
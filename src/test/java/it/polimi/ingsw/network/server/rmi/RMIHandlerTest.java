@@ -0,0 +1,92 @@
+package it.polimi.ingsw.network.server.rmi;
+
+import it.polimi.ingsw.controller.GameEventLoop;
+import it.polimi.ingsw.model.GameListener;
+import it.polimi.ingsw.model.card.color.PlayerColor;
+import it.polimi.ingsw.model.gamephase.GamePhase;
+import it.polimi.ingsw.model.listenerhandler.EventLog;
+import it.polimi.ingsw.model.listenerhandler.ListenerHandler;
+import it.polimi.ingsw.network.NetworkMessage;
+import it.polimi.ingsw.network.Type;
+import it.polimi.ingsw.network.client.rmi.ClientRMI;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RMIHandlerTest {
+    private static class BatchRecorder extends ClientRMI {
+        private final BlockingQueue<List<Type>> batches = new LinkedBlockingQueue<>();
+
+        BatchRecorder() {
+            super("");
+        }
+
+        @Override
+        public void applyUpdates(List<NetworkMessage> updates) {
+            batches.add(updates.stream().map(NetworkMessage::getNetworkType).toList());
+        }
+    }
+
+    @Test
+    void updates_sameStepIsSentInOneCall() throws InterruptedException {
+        BatchRecorder client = new BatchRecorder();
+        RMIHandler handler = new RMIHandler(null, client, "alice");
+
+        GameEventLoop loop = new GameEventLoop();
+        loop.call(controller -> {
+            handler.showUpdateColor(PlayerColor.RED, "bob");
+            handler.showUpdateCurrentPlayer(1, GamePhase.PlaceNormal);
+            handler.showUpdateGameState();
+            // nothing is sent until the command has been completed
+            assertTrue(client.batches.isEmpty());
+            return null;
+        });
+        loop.shutdown();
+        assertEquals(List.of(Type.SHOW_UPDATE_COLOR, Type.SHOW_UPDATE_CURRENT_PLAYER, Type.SHOW_UPDATE_SUSPENDED_GAME),
+                client.batches.poll(1, TimeUnit.SECONDS));
+
+        handler.showWinners(List.of("bob"));
+        assertEquals(List.of(Type.SHOW_WINNERS), client.batches.poll(1, TimeUnit.SECONDS));
+
+        handler.terminate();
+        handler.showUpdateGameState();
+        assertNull(client.batches.poll(100, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void updates_rejoiningClientIsNotSentTheUpdatesItHasApplied() throws InterruptedException {
+        ListenerHandler<GameListener> listenerHandler = new ListenerHandler<>(
+                (recipients, notifier) -> recipients.forEach(notifier::sendUpdate), new EventLog<>(16));
+        BatchRecorder client = new BatchRecorder();
+        listenerHandler.add("alice", new RMIHandler(null, client, "alice"));
+        long firstSequenceNumber = listenerHandler.getLastSequenceNumber();
+
+        GameEventLoop loop = new GameEventLoop();
+        loop.call(controller -> {
+            // later current players and statuses of the same step must not supersede the earlier ones
+            listenerHandler.notifyBroadcast(receiver -> receiver.showUpdateCurrentPlayer(1, GamePhase.PlaceNormal));
+            listenerHandler.notifyBroadcast(receiver -> receiver.showUpdatePlayerStatus(false, "bob"));
+            listenerHandler.notifyBroadcast(receiver -> receiver.showUpdateCurrentPlayer(2, GamePhase.PlaceNormal));
+            listenerHandler.notifyBroadcast(receiver -> receiver.showUpdatePlayerStatus(true, "bob"));
+            return null;
+        });
+        loop.shutdown();
+        List<Type> received = client.batches.poll(1, TimeUnit.SECONDS);
+
+        // the client counts the updates it has received to tell the server the last one when it rejoins
+        long lastSequenceNumber = firstSequenceNumber + received.size();
+        BatchRecorder rejoinedClient = new BatchRecorder();
+        listenerHandler.remove("alice");
+        listenerHandler.add("alice", new RMIHandler(null, rejoinedClient, "alice"));
+
+        assertTrue(listenerHandler.replay("alice", lastSequenceNumber));
+        assertNull(rejoinedClient.batches.poll(100, TimeUnit.MILLISECONDS));
+        assertEquals(List.of(Type.SHOW_UPDATE_CURRENT_PLAYER, Type.SHOW_UPDATE_PLAYER_STATUS,
+                Type.SHOW_UPDATE_CURRENT_PLAYER, Type.SHOW_UPDATE_PLAYER_STATUS), received);
+    }
+}